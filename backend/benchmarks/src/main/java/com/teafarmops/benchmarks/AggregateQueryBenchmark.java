@@ -0,0 +1,200 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.TeaFarmOpsApplication;
+import com.teafarmops.dto.DashboardSnapshot;
+import com.teafarmops.dto.HarvestCubeCellDto;
+import com.teafarmops.dto.WeatherRollupDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestCubeCell;
+import com.teafarmops.entities.HarvestPeriod;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.HarvestRecordsChangedEvent;
+import com.teafarmops.events.WeatherSamplesChangedEvent;
+import com.teafarmops.repositories.FieldRepository;
+import com.teafarmops.repositories.HarvestRecordRepository;
+import com.teafarmops.repositories.TaskRepository;
+import com.teafarmops.repositories.WeatherObservationRepository;
+import com.teafarmops.services.DashboardSnapshotService;
+import com.teafarmops.services.HarvestCubeService;
+import com.teafarmops.services.WeatherRollupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 集計クエリのベンチマーク
+ * 組み込みH2（PostgreSQL互換モード）でアプリケーションを起動し、ダッシュボードや統計で使う集計を測定する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregateQueryBenchmark {
+
+  private static final int FIELD_COUNT = 20;
+  private static final int OBSERVATION_DAYS = 180;
+
+  @Param({"10000", "100000"})
+  public int harvestRecords;
+
+  private ConfigurableApplicationContext context;
+  private HarvestRecordRepository harvestRecordRepository;
+  private TaskRepository taskRepository;
+  private WeatherRollupService weatherRollupService;
+  private HarvestCubeService harvestCubeService;
+  private DashboardSnapshotService dashboardSnapshotService;
+  private Long fieldId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // application.propertiesより優先させるため、コマンドライン引数として渡す
+    context = new SpringApplicationBuilder(TeaFarmOpsApplication.class).run(
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.properties.hibernate.format_sql=false",
+        "--spring.jpa.properties.hibernate.jdbc.batch_size=500",
+        "--server.port=0",
+        "--logging.level.root=WARN",
+        "--logging.level.com.teafarmops=WARN",
+        "--logging.level.org.springframework.security=WARN");
+    harvestRecordRepository = context.getBean(HarvestRecordRepository.class);
+    taskRepository = context.getBean(TaskRepository.class);
+    weatherRollupService = context.getBean(WeatherRollupService.class);
+    harvestCubeService = context.getBean(HarvestCubeService.class);
+    dashboardSnapshotService = context.getBean(DashboardSnapshotService.class);
+    seed();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Double totalHarvestQuantityBetween() {
+    return harvestRecordRepository.getTotalHarvestQuantityBetween(
+        BenchmarkData.BASE_DATE, BenchmarkData.BASE_DATE.plusDays(89));
+  }
+
+  @Benchmark
+  public Map<TeaGrade, Double> harvestQuantityByGrade() {
+    return harvestCubeService.getTotalsByGrade();
+  }
+
+  @Benchmark
+  public List<HarvestCubeCellDto> harvestCubeMonthlyByGrade() {
+    return harvestCubeService.query(HarvestPeriod.MONTHLY, BenchmarkData.BASE_DATE,
+        BenchmarkData.BASE_DATE.plusDays(364), null, null,
+        EnumSet.of(HarvestCubeService.Dimension.GRADE, HarvestCubeService.Dimension.PERIOD));
+  }
+
+  @Benchmark
+  public void taskStatusCounts(Blackhole blackhole) {
+    blackhole.consume(taskRepository.getPendingTaskCount());
+    blackhole.consume(taskRepository.getInProgressTaskCount());
+    blackhole.consume(taskRepository.getCompletedTaskCount());
+  }
+
+  @Benchmark
+  public WeatherRollupDto weatherSummary() {
+    return weatherRollupService.summarize(fieldId, BenchmarkData.BASE_DATE.minusDays(17),
+        BenchmarkData.BASE_DATE.plusDays(OBSERVATION_DAYS - 23));
+  }
+
+  @Benchmark
+  public DashboardSnapshot dashboardSnapshotRecompute() {
+    // 書き込みがあった直後と同じく、キャッシュを無効化してから取得する
+    dashboardSnapshotService.onEntityChanged(
+        new EntityChangedEvent(HarvestCubeCell.class, EntityChangedEvent.ChangeType.UPDATED, null));
+    return dashboardSnapshotService.getSnapshot();
+  }
+
+  /**
+   * 集計対象のデータを投入
+   */
+  private void seed() {
+    FieldRepository fieldRepository = context.getBean(FieldRepository.class);
+    WeatherObservationRepository weatherObservationRepository = context.getBean(WeatherObservationRepository.class);
+
+    List<Field> fields = new ArrayList<>();
+    for (int i = 1; i <= FIELD_COUNT; i++) {
+      Field field = BenchmarkData.field(i);
+      field.setId(null);
+      fields.add(field);
+    }
+    fields = fieldRepository.saveAll(fields);
+    fieldId = fields.get(0).getId();
+
+    List<HarvestRecord> records = new ArrayList<>(harvestRecords);
+    List<Task> tasks = new ArrayList<>(harvestRecords / 4);
+    for (int i = 1; i <= harvestRecords; i++) {
+      Field field = fields.get(i % FIELD_COUNT);
+      HarvestRecord record = BenchmarkData.harvestRecord(i, field);
+      record.setId(null);
+      records.add(record);
+      if (i % 4 == 0) {
+        Task task = BenchmarkData.task(i, field);
+        task.setId(null);
+        tasks.add(task);
+      }
+    }
+    harvestRecordRepository.saveAll(records);
+    taskRepository.saveAll(tasks);
+
+    // 収穫記録もリポジトリで直接保存するため、収穫集計の更新イベントを自分で発行する
+    Map<Long, Set<LocalDate>> harvestDatesByField = new HashMap<>();
+    for (HarvestRecord record : records) {
+      harvestDatesByField.computeIfAbsent(record.getField().getId(), id -> new HashSet<>())
+          .add(record.getHarvestDate());
+    }
+    harvestDatesByField.forEach((id, harvestDates) ->
+        context.publishEvent(new HarvestRecordsChangedEvent(id, harvestDates)));
+
+    // 天候観測はリポジトリで直接保存するため、集計の更新イベントを自分で発行する
+    for (Field field : fields) {
+      List<WeatherObservation> observations = new ArrayList<>(OBSERVATION_DAYS);
+      List<LocalDateTime> sampledAt = new ArrayList<>(OBSERVATION_DAYS);
+      for (int day = 0; day < OBSERVATION_DAYS; day++) {
+        WeatherObservation observation = BenchmarkData.weatherObservation(day, field);
+        observation.setId(null);
+        observations.add(observation);
+        sampledAt.add(observation.getDate().atStartOfDay());
+      }
+      weatherObservationRepository.saveAll(observations);
+      context.publishEvent(new WeatherSamplesChangedEvent(field.getId(), sampledAt));
+    }
+  }
+}
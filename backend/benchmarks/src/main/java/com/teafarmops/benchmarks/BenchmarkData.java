@@ -0,0 +1,128 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.dto.FieldDto;
+import com.teafarmops.dto.HarvestRecordDto;
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.WeatherObservationDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.repositories.FieldRepository;
+import com.teafarmops.services.FieldCatalog;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ベンチマーク用のサンプルデータ
+ * 実データに近い文字列長・値の分布になるよう固定値から生成する（乱数は使わない）
+ */
+final class BenchmarkData {
+
+  static final LocalDate BASE_DATE = LocalDate.of(2024, 4, 1);
+
+  private static final TeaGrade[] GRADES = TeaGrade.values();
+  private static final TaskType[] TASK_TYPES = TaskType.values();
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private BenchmarkData() {}
+
+  static Field field(long id) {
+    Field field = new Field("茶園" + id, "静岡県牧之原市" + id, 1.5 + id % 7, "赤黄色土", "南向き斜面の一番茶用圃場");
+    field.setId(id);
+    return field;
+  }
+
+  static FieldDto fieldDto(long id) {
+    return new FieldDto(id, "茶園" + id, "静岡県牧之原市" + id, 1.5 + id % 7, "赤黄色土", "南向き斜面の一番茶用圃場");
+  }
+
+  static Task task(long id, Field field) {
+    Task task = new Task(TASK_TYPES[(int) (id % TASK_TYPES.length)], field, "作業者" + id % 12,
+        BASE_DATE.plusDays(id % 180), BASE_DATE.plusDays(id % 180 + 2),
+        STATUSES[(int) (id % STATUSES.length)], "定期作業");
+    task.setId(id);
+    return task;
+  }
+
+  static TaskDto taskDto(long id) {
+    return new TaskDto(id, TASK_TYPES[(int) (id % TASK_TYPES.length)], id % 20 + 1, "茶園" + (id % 20 + 1),
+        "作業者" + id % 12, BASE_DATE.plusDays(id % 180), BASE_DATE.plusDays(id % 180 + 2),
+        STATUSES[(int) (id % STATUSES.length)], "定期作業");
+  }
+
+  static HarvestRecord harvestRecord(long id, Field field) {
+    HarvestRecord record = new HarvestRecord(field, BASE_DATE.plusDays(id % 180), 50.0 + id % 400,
+        GRADES[(int) (id % GRADES.length)], "一番茶");
+    record.setId(id);
+    return record;
+  }
+
+  static HarvestRecordDto harvestRecordDto(long id) {
+    return new HarvestRecordDto(id, id % 20 + 1, "茶園" + (id % 20 + 1), BASE_DATE.plusDays(id % 180),
+        50.0 + id % 400, GRADES[(int) (id % GRADES.length)], "一番茶");
+  }
+
+  static List<HarvestRecordDto> harvestRecordDtos(int size) {
+    List<HarvestRecordDto> dtos = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      dtos.add(harvestRecordDto(i));
+    }
+    return dtos;
+  }
+
+  static WeatherObservation weatherObservation(long id, Field field) {
+    WeatherObservation observation = new WeatherObservation(BASE_DATE.plusDays(id % 180), field,
+        12.0 + id % 20, (double) (id % 30), 55.0 + id % 40, id % 5 == 0 ? "チャノミドリヒメヨコバイ" : null, "晴れ");
+    observation.setId(id);
+    return observation;
+  }
+
+  static WeatherObservationDto weatherObservationDto(long id) {
+    return new WeatherObservationDto(id, BASE_DATE.plusDays(id % 180), id % 20 + 1, "茶園" + (id % 20 + 1),
+        12.0 + id % 20, (double) (id % 30), 55.0 + id % 40, id % 5 == 0 ? "チャノミドリヒメヨコバイ" : null, "晴れ");
+  }
+
+  /**
+   * ID 1〜size のフィールドを持つフィールドカタログ（データベースを使わない）
+   */
+  static FieldCatalog fieldCatalog(int size) {
+    List<FieldDto> fields = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      fields.add(fieldDto(i));
+    }
+    FieldRepository repository = (FieldRepository) Proxy.newProxyInstance(
+        FieldRepository.class.getClassLoader(), new Class<?>[] {FieldRepository.class},
+        (proxy, method, args) -> {
+          if (method.getName().equals("findAllDtos")) {
+            return fields;
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+    PlatformTransactionManager transactionManager = new PlatformTransactionManager() {
+      @Override
+      public TransactionStatus getTransaction(TransactionDefinition definition) {
+        return new SimpleTransactionStatus();
+      }
+
+      @Override
+      public void commit(TransactionStatus status) {}
+
+      @Override
+      public void rollback(TransactionStatus status) {}
+    };
+    FieldCatalog catalog = new FieldCatalog(repository, transactionManager);
+    catalog.loadOnStartup();
+    return catalog;
+  }
+}
@@ -0,0 +1,147 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.controllers.FieldApiController;
+import com.teafarmops.controllers.HarvestRecordApiController;
+import com.teafarmops.controllers.TaskApiController;
+import com.teafarmops.controllers.WeatherObservationApiController;
+import com.teafarmops.dto.FieldDto;
+import com.teafarmops.dto.HarvestRecordDto;
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.WeatherObservationDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.services.FieldCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各APIコントローラーのDTO⇔エンティティ変換のベンチマーク
+ * 変換メソッドはprivateのため、MethodHandleで直接呼び出す（static finalにしてJITでインライン化させる）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+  private static final MethodHandle FIELD_TO_DTO =
+      converter(FieldApiController.class, "convertToDto", FieldDto.class, Field.class);
+  private static final MethodHandle FIELD_TO_ENTITY =
+      converter(FieldApiController.class, "convertToEntity", Field.class, FieldDto.class);
+  private static final MethodHandle TASK_TO_DTO =
+      converter(TaskApiController.class, "convertToDto", TaskDto.class, Task.class);
+  private static final MethodHandle TASK_TO_ENTITY =
+      converter(TaskApiController.class, "convertToEntity", Task.class, TaskDto.class);
+  private static final MethodHandle HARVEST_RECORD_TO_DTO =
+      converter(HarvestRecordApiController.class, "convertToDto", HarvestRecordDto.class, HarvestRecord.class);
+  private static final MethodHandle HARVEST_RECORD_TO_ENTITY =
+      converter(HarvestRecordApiController.class, "convertToEntity", HarvestRecord.class, HarvestRecordDto.class);
+  private static final MethodHandle WEATHER_TO_DTO = converter(
+      WeatherObservationApiController.class, "convertToDto", WeatherObservationDto.class, WeatherObservation.class);
+  private static final MethodHandle WEATHER_TO_ENTITY = converter(
+      WeatherObservationApiController.class, "convertToEntity", WeatherObservation.class, WeatherObservationDto.class);
+
+  // 変換処理はサービスを使わないため、フィールド名を引くフィールドカタログ以外は依存なしで生成する
+  private final FieldCatalog fieldCatalog = BenchmarkData.fieldCatalog(20);
+  private final FieldApiController fieldController = new FieldApiController(null);
+  private final TaskApiController taskController = new TaskApiController(null, fieldCatalog);
+  private final HarvestRecordApiController harvestRecordController =
+      new HarvestRecordApiController(null, fieldCatalog);
+  private final WeatherObservationApiController weatherController =
+      new WeatherObservationApiController(null, fieldCatalog);
+
+  private Field field;
+  private FieldDto fieldDto;
+  private Task task;
+  private TaskDto taskDto;
+  private HarvestRecord harvestRecord;
+  private HarvestRecordDto harvestRecordDto;
+  private WeatherObservation weatherObservation;
+  private WeatherObservationDto weatherObservationDto;
+
+  @Setup
+  public void setUp() {
+    field = BenchmarkData.field(1);
+    fieldDto = BenchmarkData.fieldDto(1);
+    task = BenchmarkData.task(1, field);
+    taskDto = BenchmarkData.taskDto(1);
+    harvestRecord = BenchmarkData.harvestRecord(1, field);
+    harvestRecordDto = BenchmarkData.harvestRecordDto(1);
+    weatherObservation = BenchmarkData.weatherObservation(1, field);
+    weatherObservationDto = BenchmarkData.weatherObservationDto(1);
+  }
+
+  @Benchmark
+  public FieldDto fieldToDto() throws Throwable {
+    return (FieldDto) FIELD_TO_DTO.invokeExact(fieldController, field);
+  }
+
+  @Benchmark
+  public Field fieldToEntity() throws Throwable {
+    return (Field) FIELD_TO_ENTITY.invokeExact(fieldController, fieldDto);
+  }
+
+  @Benchmark
+  public TaskDto taskToDto() throws Throwable {
+    return (TaskDto) TASK_TO_DTO.invokeExact(taskController, task);
+  }
+
+  @Benchmark
+  public Task taskToEntity() throws Throwable {
+    return (Task) TASK_TO_ENTITY.invokeExact(taskController, taskDto);
+  }
+
+  @Benchmark
+  public HarvestRecordDto harvestRecordToDto() throws Throwable {
+    return (HarvestRecordDto) HARVEST_RECORD_TO_DTO.invokeExact(harvestRecordController, harvestRecord);
+  }
+
+  @Benchmark
+  public HarvestRecord harvestRecordToEntity() throws Throwable {
+    return (HarvestRecord) HARVEST_RECORD_TO_ENTITY.invokeExact(harvestRecordController, harvestRecordDto);
+  }
+
+  @Benchmark
+  public WeatherObservationDto weatherObservationToDto() throws Throwable {
+    return (WeatherObservationDto) WEATHER_TO_DTO.invokeExact(weatherController, weatherObservation);
+  }
+
+  @Benchmark
+  public WeatherObservation weatherObservationToEntity() throws Throwable {
+    return (WeatherObservation) WEATHER_TO_ENTITY.invokeExact(weatherController, weatherObservationDto);
+  }
+
+  /**
+   * privateな変換メソッドのMethodHandleを取得
+   * @param owner コントローラークラス
+   * @param name メソッド名
+   * @param returnType 戻り値の型
+   * @param parameterType 引数の型
+   * @return (owner, parameterType) -> returnType のMethodHandle
+   */
+  private static MethodHandle converter(Class<?> owner, String name, Class<?> returnType, Class<?> parameterType) {
+    try {
+      return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+          .findVirtual(owner, name, MethodType.methodType(returnType, parameterType));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.teafarmops.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.teafarmops.dto.HarvestRecordDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HarvestRecordDto一覧のJSONシリアライズ・デシリアライズのベンチマーク
+ * ObjectMapperはSpring MVCと同じビルダーで生成する（日付はISO形式）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HarvestRecordSerializationBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private ObjectMapper objectMapper;
+  private ObjectWriter listWriter;
+  private CollectionType listType;
+  private List<HarvestRecordDto> records;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws Exception {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    listType = objectMapper.getTypeFactory().constructCollectionType(List.class, HarvestRecordDto.class);
+    listWriter = objectMapper.writerFor(listType);
+    records = BenchmarkData.harvestRecordDtos(size);
+    json = listWriter.writeValueAsBytes(records);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws Exception {
+    return listWriter.writeValueAsBytes(records);
+  }
+
+  @Benchmark
+  public List<HarvestRecordDto> deserialize() throws Exception {
+    return objectMapper.readValue(json, listType);
+  }
+}
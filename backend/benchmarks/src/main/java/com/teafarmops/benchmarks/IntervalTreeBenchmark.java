@@ -0,0 +1,85 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.utils.IntervalTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タスクカレンダーの区間木のベンチマーク
+ * 1週間の期間と重なるタスクの検索を、全件の線形走査と比較する
+ * 追加は変更1件ごとの新しい木の作成（経路上のノードの複製）の時間を測定する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalTreeBenchmark {
+
+  private static final int DAYS = 3650;
+
+  @Param({"10000", "100000"})
+  public int size;
+
+  private List<TaskDto> tasks;
+  private IntervalTree<TaskDto> tree;
+  private TaskDto added;
+  private LocalDate from;
+  private LocalDate to;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    tasks = new ArrayList<>(size);
+    tree = IntervalTree.empty();
+    for (long id = 1; id <= size; id++) {
+      // 10年分に散らばった1〜3日のタスク（一部は30日以上続く）
+      LocalDate start = BenchmarkData.BASE_DATE.plusDays(id * 7919 % DAYS);
+      LocalDate end = start.plusDays(id % 50 == 0 ? 30 + id % 60 : id % 3);
+      TaskDto task = new TaskDto(id, null, id % 20 + 1, null, "作業者" + id % 12, start, end, null, null);
+      tasks.add(task);
+      tree = tree.with(id, start, end, task);
+    }
+    added = new TaskDto((long) size + 1, null, 1L, null, "作業者0",
+        BenchmarkData.BASE_DATE.plusDays(DAYS / 2), BenchmarkData.BASE_DATE.plusDays(DAYS / 2 + 2), null, null);
+    from = BenchmarkData.BASE_DATE.plusDays(DAYS / 2);
+    to = from.plusDays(6);
+  }
+
+  @Benchmark
+  public List<TaskDto> overlappingTree() {
+    return tree.overlapping(from, to);
+  }
+
+  @Benchmark
+  public List<TaskDto> overlappingScan() {
+    List<TaskDto> matched = new ArrayList<>();
+    for (TaskDto task : tasks) {
+      if (!task.getStartDate().isAfter(to) && !task.getEndDate().isBefore(from)) {
+        matched.add(task);
+      }
+    }
+    return matched;
+  }
+
+  @Benchmark
+  public IntervalTree<TaskDto> insert() {
+    return tree.with(added.getId(), added.getStartDate(), added.getEndDate(), added);
+  }
+}
@@ -0,0 +1,72 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.config.JwtConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWTの発行・検証のベンチマーク
+ * verifiedCacheSize=0 で検証キャッシュを無効にし、署名検証そのもののコストも測定する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+  private static final String USERNAME = "admin";
+
+  @Param({"10000", "0"})
+  public int verifiedCacheSize;
+
+  private AnnotationConfigApplicationContext context;
+  private JwtConfig jwtConfig;
+  private String token;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // @Valueの解決のため、本番と同じ設定値でJwtConfigだけを持つコンテキストを作る
+    context = new AnnotationConfigApplicationContext();
+    context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+        "jwt.secret", "teafarmopsSecretKeyForJWTTokenGeneration2024",
+        "jwt.expiration", "86400000",
+        "jwt.verified-cache-size", Integer.toString(verifiedCacheSize))));
+    context.register(JwtConfig.class);
+    context.refresh();
+    jwtConfig = context.getBean(JwtConfig.class);
+    token = jwtConfig.generateToken(USERNAME);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtConfig.generateToken(USERNAME);
+  }
+
+  @Benchmark
+  public Boolean validateToken() {
+    return jwtConfig.validateToken(token, USERNAME);
+  }
+}
@@ -0,0 +1,104 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.monitoring.MetricsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsServiceの記録処理のベンチマーク
+ * リクエストごとに呼ばれる経路を、本番と同じPrometheusレジストリ・複数スレッドで測定する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsRecordingBenchmark {
+
+  private static final String[] ENDPOINTS = {
+      "/api/fields", "/api/tasks", "/api/harvest-records", "/api/weather-observations", "/api/dashboard"
+  };
+
+  private MetricsService metricsService;
+  private Counter boundCounter;
+  private MetricsService.CustomGauge boundGauge;
+
+  @Setup
+  public void setUp() {
+    metricsService = new MetricsService(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), 1000);
+    // タグ付きメーターの初回登録はウォームアップで済ませ、計測対象はキャッシュ済みの経路にする
+    for (String endpoint : ENDPOINTS) {
+      metricsService.recordApiRequest(endpoint);
+    }
+    boundCounter = metricsService.customCounter("tea_farm_ops_benchmark_bound_total", "endpoint", ENDPOINTS[0]);
+    boundGauge = metricsService.customGauge("tea_farm_ops_benchmark_bound_value", "endpoint", ENDPOINTS[0]);
+  }
+
+  @Benchmark
+  public void recordApiRequest(ThreadCursor cursor) {
+    metricsService.recordApiRequest(ENDPOINTS[cursor.next()]);
+  }
+
+  @Benchmark
+  public void apiResponseTimer() {
+    Timer.Sample sample = metricsService.startApiResponseTimer();
+    metricsService.stopApiResponseTimer(sample);
+  }
+
+  @Benchmark
+  public void recordSensorFlush() {
+    metricsService.recordSensorFlush(500, 1_500_000L);
+  }
+
+  @Benchmark
+  public void recordCustomMetric(ThreadCursor cursor) {
+    metricsService.recordCustomMetric("tea_farm_ops_benchmark_value", cursor.next(),
+        "endpoint", ENDPOINTS[cursor.index]);
+  }
+
+  @Benchmark
+  public void incrementCustomCounter(ThreadCursor cursor) {
+    metricsService.incrementCustomCounter("tea_farm_ops_benchmark_total", "endpoint", ENDPOINTS[cursor.next()]);
+  }
+
+  @Benchmark
+  public void recordBoundGauge(ThreadCursor cursor) {
+    boundGauge.set(cursor.next());
+  }
+
+  @Benchmark
+  public void incrementBoundCounter() {
+    boundCounter.increment();
+  }
+
+  /**
+   * スレッドごとのエンドポイント選択位置
+   */
+  @State(Scope.Thread)
+  public static class ThreadCursor {
+
+    int index;
+
+    int next() {
+      index = index + 1 == ENDPOINTS.length ? 0 : index + 1;
+      return index;
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.teafarmops.benchmarks;
+
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.services.TaskScheduleSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タスク割り当てソルバーのベンチマーク
+ * 半年分の未着手タスクを、技能と休日の異なる作業者に割り当てる（現在の担当者は重なりを含む）
+ * 時間の上限は十分に大きくし、局所探索が収束するまでの時間を測定する
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskScheduleSolverBenchmark {
+
+  private static final int FIELDS = 60;
+  private static final int LOCATIONS = 6;
+  private static final int DAYS = 180;
+  private static final long TIME_LIMIT_MILLIS = 60_000;
+
+  @Param({"1000", "5000"})
+  public int taskCount;
+
+  @Param({"40"})
+  public int workerCount;
+
+  private List<TaskScheduleSolver.Job> jobs;
+  private List<TaskScheduleSolver.Worker> workers;
+  private List<TaskScheduleSolver.Commitment> commitments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TaskType[] types = TaskType.values();
+    workers = new ArrayList<>(workerCount);
+    for (int w = 0; w < workerCount; w++) {
+      // 作業者ごとに3種類の技能と週1日の休日を持たせる
+      EnumSet<TaskType> skills = EnumSet.of(types[w % types.length], types[(w + 2) % types.length],
+          types[(w + 5) % types.length]);
+      List<LocalDate> daysOff = new ArrayList<>();
+      for (int day = w % 7; day < DAYS; day += 7) {
+        daysOff.add(BenchmarkData.BASE_DATE.plusDays(day));
+      }
+      workers.add(new TaskScheduleSolver.Worker("作業者" + w, skills, null, null, daysOff));
+    }
+
+    jobs = new ArrayList<>(taskCount);
+    for (int i = 0; i < taskCount; i++) {
+      int field = i * 7 % FIELDS;
+      LocalDate start = BenchmarkData.BASE_DATE.plusDays((long) i * DAYS / taskCount);
+      jobs.add(new TaskScheduleSolver.Job(i + 1, types[i % types.length], field + 1, location(field), start,
+          start.plusDays(i % 3), "作業者" + i % workerCount, false));
+    }
+
+    commitments = new ArrayList<>();
+    for (int w = 0; w < workerCount; w += 4) {
+      LocalDate start = BenchmarkData.BASE_DATE.plusDays(w % 30);
+      commitments.add(new TaskScheduleSolver.Commitment("作業者" + w, w % FIELDS + 1, location(w % FIELDS),
+          start, start.plusDays(5)));
+    }
+  }
+
+  @Benchmark
+  public TaskScheduleSolver.Result solve() {
+    return TaskScheduleSolver.solve(jobs, workers, commitments, TIME_LIMIT_MILLIS);
+  }
+
+  private static String location(int field) {
+    return "静岡県牧之原市" + field % LOCATIONS;
+  }
+}
@@ -0,0 +1,60 @@
+package com.teafarmops.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 操作ごとの計測結果
+ * 応答時間はマイクロ秒単位でHdrHistogramに記録する（最大60秒、有効桁3桁）
+ */
+final class EndpointStats {
+
+  private static final long MAX_LATENCY_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+  private final TrafficOperation operation;
+  private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+  private final LongAdder errors = new LongAdder();
+  private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+  EndpointStats(TrafficOperation operation) {
+    this.operation = operation;
+  }
+
+  /**
+   * 1リクエストの結果を記録
+   * @param latencyNanos 応答時間（ナノ秒）
+   * @param status HTTPステータス（通信エラーの場合は0）
+   */
+  void record(long latencyNanos, int status) {
+    long micros = Math.min(MAX_LATENCY_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    latencies.recordValue(micros);
+    statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+    if (status < 200 || status >= 300) {
+      errors.increment();
+    }
+  }
+
+  TrafficOperation getOperation() {
+    return operation;
+  }
+
+  Histogram getLatencies() {
+    return latencies;
+  }
+
+  long getErrors() {
+    return errors.sum();
+  }
+
+  Map<Integer, Long> getStatusCounts() {
+    Map<Integer, Long> counts = new TreeMap<>();
+    statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+    return counts;
+  }
+}
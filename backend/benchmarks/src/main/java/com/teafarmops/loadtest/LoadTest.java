@@ -0,0 +1,290 @@
+package com.teafarmops.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teafarmops.TeaFarmOpsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * HTTP負荷試験
+ * ログイン・ダッシュボード・各一覧APIの検索・一括書き込みを重み付きで混在させて送信し、
+ * 操作ごとの応答時間分布（HdrHistogram）とスループットをレポートする
+ *
+ * --rate を指定した場合は一定間隔で送信し、応答時間を「送信予定時刻」から計測する
+ * （サーバーが詰まって送信が遅れた分も応答時間に含め、coordinated omission を避ける）
+ */
+public final class LoadTest {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+  private static final int SEED_FIELD_COUNT = 5;
+
+  private final LoadTestOptions options;
+  private final String baseUrl;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final List<EndpointStats> stats = new ArrayList<>();
+
+  private LoadTest(LoadTestOptions options, String baseUrl) {
+    this.options = options;
+    this.baseUrl = baseUrl;
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    for (TrafficOperation operation : TrafficOperation.values()) {
+      stats.add(new EndpointStats(operation));
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(LoadTestOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    Map<String, String> environment = new LinkedHashMap<>();
+    ConfigurableApplicationContext application = null;
+    String baseUrl = options.target;
+    if (options.isEmbedded()) {
+      application = startApplication(options);
+      baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+      environment.put("target", "embedded");
+      environment.put("database", application.getEnvironment().getProperty("spring.datasource.url"));
+      environment.put("hikariMaximumPoolSize",
+          application.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size", "10"));
+      environment.put("tomcatMaxThreads",
+          application.getEnvironment().getProperty("server.tomcat.threads.max", "200"));
+      environment.put("virtualThreads",
+          application.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+    } else {
+      environment.put("target", baseUrl);
+    }
+
+    try {
+      new LoadTest(options, baseUrl).run(environment);
+    } finally {
+      if (application != null) {
+        application.close();
+      }
+    }
+  }
+
+  /**
+   * 負荷をかけてレポートを出力
+   * @param environment 対象環境の説明
+   */
+  private void run(Map<String, String> environment) throws Exception {
+    long[] fieldIds = prepareFields();
+    System.out.printf("対象: %s（フィールド数: %d）%n", baseUrl, fieldIds.length);
+    System.out.printf("構成: %s、同時実行数: %d、目標レート: %s%n", options.mix, options.concurrency,
+        options.rate > 0 ? options.rate + " req/s" : "なし（応答を待って次を送信）");
+    System.out.printf("ウォームアップ %ds の後、%ds 計測します...%n",
+        options.warmup.toSeconds(), options.duration.toSeconds());
+
+    long startNanos = System.nanoTime();
+    long measureStartNanos = startNanos + options.warmup.toNanos();
+    long endNanos = measureStartNanos + options.duration.toNanos();
+    OffsetDateTime measureStartedAt = OffsetDateTime.now().plus(options.warmup);
+
+    ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < options.concurrency; i++) {
+        int index = i;
+        futures.add(workers.submit(() -> {
+          work(index, fieldIds, startNanos, measureStartNanos, endNanos);
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+
+    LoadTestReport report = new LoadTestReport(options, environment, measureStartedAt, options.duration, stats);
+    report.print(System.out);
+    if (options.compare != null) {
+      report.printComparison(Path.of(options.compare), System.out);
+    }
+    report.write(Path.of(options.report));
+    System.out.printf("%nレポートを出力しました: %s%n", options.report);
+  }
+
+  /**
+   * 1ワーカーの送信ループ
+   * 乱数はシードとワーカー番号から決まるため、同じ条件なら同じリクエスト列を再生する
+   */
+  private void work(int index, long[] fieldIds, long startNanos, long measureStartNanos, long endNanos)
+      throws InterruptedException {
+    SplittableRandom random = new SplittableRandom(options.seed * 1_000_003L + index);
+    TrafficOperation.RequestContext context = new TrafficOperation.RequestContext(
+        baseUrl, options.username, options.password, fieldIds, options.bulkSize, options.baseDate, random);
+    String token = login(context);
+
+    long intervalNanos = options.rate > 0 ? (long) (options.concurrency * 1_000_000_000L / options.rate) : 0;
+    // ワーカーごとに送信タイミングをずらす
+    long scheduled = startNanos + intervalNanos * index / options.concurrency;
+    while (!Thread.currentThread().isInterrupted()) {
+      long intended = intervalNanos > 0 ? scheduled : System.nanoTime();
+      if (intended >= endNanos) {
+        break;
+      }
+      if (intervalNanos > 0) {
+        waitUntil(intended);
+      }
+
+      TrafficOperation operation = options.mix.next(random);
+      HttpRequest.Builder request = operation.request(context).timeout(REQUEST_TIMEOUT);
+      if (token != null) {
+        request.header("Authorization", "Bearer " + token);
+      }
+      int status;
+      try {
+        if (operation == TrafficOperation.LOGIN) {
+          HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+          status = response.statusCode();
+          if (status == 200) {
+            token = objectMapper.readTree(response.body()).path("token").asText(token);
+          }
+        } else {
+          status = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+      } catch (IOException e) {
+        status = 0;
+      }
+      long completed = System.nanoTime();
+
+      if (intended >= measureStartNanos) {
+        stats.get(operation.ordinal()).record(completed - intended, status);
+      }
+      scheduled += intervalNanos;
+    }
+  }
+
+  /**
+   * 計測前のログイン（失敗した場合はトークンなしで続行する）
+   */
+  private String login(TrafficOperation.RequestContext context) throws InterruptedException {
+    try {
+      HttpResponse<byte[]> response = httpClient.send(
+          TrafficOperation.LOGIN.request(context).timeout(REQUEST_TIMEOUT).build(),
+          HttpResponse.BodyHandlers.ofByteArray());
+      if (response.statusCode() == 200) {
+        return objectMapper.readTree(response.body()).path("token").asText(null);
+      }
+    } catch (IOException e) {
+      System.err.println("ログインに失敗しました: " + e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * 書き込み先のフィールドを取得（なければ作成）
+   */
+  private long[] prepareFields() throws IOException, InterruptedException {
+    long[] fieldIds = fetchFieldIds();
+    if (fieldIds.length > 0) {
+      return fieldIds;
+    }
+    for (int i = 1; i <= SEED_FIELD_COUNT; i++) {
+      String body = "{\"name\":\"負荷試験フィールド" + i + "\",\"location\":\"負荷試験\",\"areaSize\":1.0}";
+      HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/fields"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(body))
+          .build();
+      httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+    fieldIds = fetchFieldIds();
+    if (fieldIds.length == 0) {
+      throw new IllegalStateException("負荷試験用のフィールドを作成できませんでした");
+    }
+    return fieldIds;
+  }
+
+  private long[] fetchFieldIds() throws IOException, InterruptedException {
+    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/fields"))
+        .timeout(REQUEST_TIMEOUT)
+        .GET()
+        .build();
+    HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    if (response.statusCode() != 200) {
+      throw new IllegalStateException("フィールド一覧の取得に失敗しました（HTTP " + response.statusCode() + "）");
+    }
+    JsonNode fields = objectMapper.readTree(response.body());
+    long[] ids = new long[fields.size()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = fields.get(i).path("id").asLong();
+    }
+    return ids;
+  }
+
+  private static void waitUntil(long deadlineNanos) throws InterruptedException {
+    long remaining;
+    while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(remaining);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+    }
+  }
+
+  /**
+   * アプリケーションを組み込み起動
+   * 指定のない設定は、計測に影響しないよう SQL ログとアプリケーションログを抑えた値にする
+   */
+  private static ConfigurableApplicationContext startApplication(LoadTestOptions options) {
+    Map<String, String> properties = new LinkedHashMap<>();
+    if (options.jdbcUrl == null) {
+      properties.put("spring.datasource.url",
+          "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+      properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+      properties.put("spring.datasource.username", "sa");
+      properties.put("spring.datasource.password", "");
+    } else {
+      properties.put("spring.datasource.url", options.jdbcUrl);
+      properties.put("spring.datasource.username", options.jdbcUsername);
+      properties.put("spring.datasource.password", options.jdbcPassword);
+    }
+    properties.put("server.port", "0");
+    properties.put("spring.jpa.show-sql", "false");
+    properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+    properties.put("logging.level.root", "WARN");
+    properties.put("logging.level.com.teafarmops", "WARN");
+    properties.put("logging.level.org.springframework.security", "WARN");
+    // 利用者の指定を優先する（同じキーを二重に渡すと値が連結されるため、上書きしてから引数にする）
+    for (String arg : options.applicationArgs) {
+      int separator = arg.indexOf('=');
+      properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    List<String> args = new ArrayList<>();
+    properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+    return new SpringApplicationBuilder(TeaFarmOpsApplication.class).run(args.toArray(new String[0]));
+  }
+}
@@ -0,0 +1,172 @@
+package com.teafarmops.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 負荷試験の実行オプション
+ * 引数は --key=value 形式で指定する。--spring.* / --server.* / --teafarmops.* は組み込み起動するアプリケーションにそのまま渡す
+ */
+final class LoadTestOptions {
+
+  /**
+   * 日付の基準日の既定値（実行日によってリクエスト列が変わらないよう固定する）
+   */
+  static final LocalDate DEFAULT_BASE_DATE = LocalDate.of(2024, 12, 31);
+
+  static final String USAGE = String.join("\n",
+      "使用方法: java -cp benchmarks.jar com.teafarmops.loadtest.LoadTest [オプション]",
+      "  --target=URL           既存のサーバーを対象にする（省略時はアプリケーションを組み込み起動）",
+      "  --jdbc-url=URL         組み込み起動時のデータベース（省略時はH2インメモリ）",
+      "  --jdbc-username=NAME   組み込み起動時のデータベースユーザー",
+      "  --jdbc-password=PASS   組み込み起動時のデータベースパスワード",
+      "  --concurrency=N        同時実行ワーカー数（既定: 16）",
+      "  --rate=N               全体の目標リクエスト数/秒（既定: 0 = 応答を待って次を送る）",
+      "  --warmup=DURATION      計測前のウォームアップ時間（既定: 10s）",
+      "  --duration=DURATION    計測時間（既定: 60s）",
+      "  --mix=NAME:WEIGHT,...  トラフィック構成（既定: " + TrafficMix.DEFAULT + "）",
+      "  --bulk-size=N          一括書き込み1回あたりの件数（既定: 200）",
+      "  --seed=N               リクエスト列の乱数シード。同じシードなら同じ順序で再生される（既定: 42）",
+      "  --base-date=YYYY-MM-DD 検索条件・書き込みの日付の基準日（この日から過去1年、既定: " + DEFAULT_BASE_DATE + "）",
+      "  --username=NAME        ログインユーザー（既定: admin）",
+      "  --password=PASS        ログインパスワード（既定: admin123）",
+      "  --report=PATH          JSONレポートの出力先（既定: loadtest-report.json）",
+      "  --compare=PATH         比較対象のJSONレポート",
+      "  --spring.*=VALUE       組み込み起動時の設定（例: --spring.datasource.hikari.maximum-pool-size=30）");
+
+  String target;
+  String jdbcUrl;
+  String jdbcUsername = "postgres";
+  String jdbcPassword = "";
+  int concurrency = 16;
+  double rate;
+  Duration warmup = Duration.ofSeconds(10);
+  Duration duration = Duration.ofSeconds(60);
+  TrafficMix mix = TrafficMix.parse(TrafficMix.DEFAULT);
+  int bulkSize = 200;
+  long seed = 42;
+  LocalDate baseDate = DEFAULT_BASE_DATE;
+  String username = "admin";
+  String password = "admin123";
+  String report = "loadtest-report.json";
+  String compare;
+  final List<String> applicationArgs = new ArrayList<>();
+
+  private LoadTestOptions() {}
+
+  /**
+   * 引数を解析
+   * @param args コマンドライン引数
+   * @return 実行オプション
+   * @throws IllegalArgumentException 不正な引数の場合
+   */
+  static LoadTestOptions parse(String[] args) {
+    LoadTestOptions options = new LoadTestOptions();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("不正な引数です: " + arg);
+      }
+      String key = arg.substring(2, separator);
+      String value = arg.substring(separator + 1);
+      if (key.startsWith("spring.") || key.startsWith("server.") || key.startsWith("teafarmops.")) {
+        options.applicationArgs.add(arg);
+        continue;
+      }
+      switch (key) {
+        case "target":
+          options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+          break;
+        case "jdbc-url":
+          options.jdbcUrl = value;
+          break;
+        case "jdbc-username":
+          options.jdbcUsername = value;
+          break;
+        case "jdbc-password":
+          options.jdbcPassword = value;
+          break;
+        case "concurrency":
+          options.concurrency = positive(key, Integer.parseInt(value));
+          break;
+        case "rate":
+          options.rate = Double.parseDouble(value);
+          break;
+        case "warmup":
+          options.warmup = parseDuration(value);
+          break;
+        case "duration":
+          options.duration = parseDuration(value);
+          break;
+        case "mix":
+          options.mix = TrafficMix.parse(value);
+          break;
+        case "bulk-size":
+          options.bulkSize = positive(key, Integer.parseInt(value));
+          break;
+        case "seed":
+          options.seed = Long.parseLong(value);
+          break;
+        case "base-date":
+          options.baseDate = parseDate(key, value);
+          break;
+        case "username":
+          options.username = value;
+          break;
+        case "password":
+          options.password = value;
+          break;
+        case "report":
+          options.report = value;
+          break;
+        case "compare":
+          options.compare = value;
+          break;
+        default:
+          throw new IllegalArgumentException("不明なオプションです: --" + key);
+      }
+    }
+    return options;
+  }
+
+  boolean isEmbedded() {
+    return target == null;
+  }
+
+  /**
+   * 時間の指定を解析（例: 90, 90s, 5m）
+   * @param value 時間の指定
+   * @return 時間
+   */
+  static Duration parseDuration(String value) {
+    String trimmed = value.trim().toLowerCase();
+    if (trimmed.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+    }
+    if (trimmed.endsWith("m")) {
+      return Duration.ofMinutes(Long.parseLong(trimmed.substring(0, trimmed.length() - 1)));
+    }
+    if (trimmed.endsWith("s")) {
+      trimmed = trimmed.substring(0, trimmed.length() - 1);
+    }
+    return Duration.ofSeconds(Long.parseLong(trimmed));
+  }
+
+  private static LocalDate parseDate(String key, String value) {
+    try {
+      return LocalDate.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("--" + key + " は YYYY-MM-DD 形式で指定してください", e);
+    }
+  }
+
+  private static int positive(String key, int value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException("--" + key + " は1以上を指定してください");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,179 @@
+package com.teafarmops.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 負荷試験のレポート
+ * 実行条件・操作ごとのスループットと応答時間の分位点をJSONで出力し、過去のレポートと比較できるようにする
+ * 各操作の応答時間分布は圧縮したHdrHistogramとしても保存する（後から任意の分位点を再計算できる）
+ */
+final class LoadTestReport {
+
+  private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+  private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p99_9"};
+
+  private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private final ObjectNode root;
+
+  /**
+   * 計測結果からレポートを作成
+   * @param options 実行オプション
+   * @param environment 対象環境の説明（URL・データベース）
+   * @param startedAt 計測開始時刻
+   * @param measured 計測時間
+   * @param stats 操作ごとの計測結果
+   */
+  LoadTestReport(LoadTestOptions options, Map<String, String> environment, OffsetDateTime startedAt,
+                 Duration measured, List<EndpointStats> stats) {
+    root = objectMapper.createObjectNode();
+    root.put("startedAt", startedAt.toString());
+    ObjectNode settings = root.putObject("settings");
+    environment.forEach(settings::put);
+    settings.put("concurrency", options.concurrency);
+    settings.put("rate", options.rate);
+    settings.put("warmupSeconds", options.warmup.toSeconds());
+    settings.put("durationSeconds", options.duration.toSeconds());
+    settings.put("mix", options.mix.toString());
+    settings.put("bulkSize", options.bulkSize);
+    settings.put("seed", options.seed);
+    settings.put("baseDate", options.baseDate.toString());
+    ArrayNode applicationArgs = settings.putArray("applicationArgs");
+    options.applicationArgs.forEach(applicationArgs::add);
+
+    double seconds = measured.toNanos() / 1_000_000_000.0;
+    Histogram total = new Histogram(3);
+    long totalErrors = 0;
+    ObjectNode endpoints = objectMapper.createObjectNode();
+    for (EndpointStats endpoint : stats) {
+      Histogram latencies = endpoint.getLatencies();
+      if (latencies.getTotalCount() == 0) {
+        continue;
+      }
+      total.add(latencies);
+      totalErrors += endpoint.getErrors();
+
+      ObjectNode node = summary(latencies, endpoint.getErrors(), seconds);
+      node.put("request", endpoint.getOperation().getDescription());
+      ObjectNode statuses = node.putObject("statusCounts");
+      endpoint.getStatusCounts().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+      node.put("histogram", encode(latencies));
+      endpoints.set(endpoint.getOperation().getKey(), node);
+    }
+    root.put("histogramUnit", "microseconds");
+    root.set("total", summary(total, totalErrors, seconds));
+    root.set("endpoints", endpoints);
+  }
+
+  /**
+   * 結果を表形式で出力
+   * @param out 出力先
+   */
+  void print(PrintStream out) {
+    out.printf("%n%-22s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+    Iterator<Map.Entry<String, JsonNode>> endpoints = root.get("endpoints").fields();
+    while (endpoints.hasNext()) {
+      Map.Entry<String, JsonNode> entry = endpoints.next();
+      printRow(out, entry.getKey(), entry.getValue());
+    }
+    printRow(out, "TOTAL", root.get("total"));
+  }
+
+  /**
+   * 過去のレポートとの差分を出力
+   * @param baselinePath 比較対象のJSONレポート
+   * @param out 出力先
+   * @throws IOException 読み込みに失敗した場合
+   */
+  void printComparison(Path baselinePath, PrintStream out) throws IOException {
+    JsonNode baseline = objectMapper.readTree(baselinePath.toFile());
+    out.printf("%n比較対象: %s（%s）%n", baselinePath, baseline.path("startedAt").asText());
+    out.printf("%-22s %20s %20s %20s%n", "endpoint", "req/s", "p50(ms)", "p99(ms)");
+    Iterator<Map.Entry<String, JsonNode>> endpoints = root.get("endpoints").fields();
+    while (endpoints.hasNext()) {
+      Map.Entry<String, JsonNode> entry = endpoints.next();
+      printComparisonRow(out, entry.getKey(), entry.getValue(), baseline.path("endpoints").path(entry.getKey()));
+    }
+    printComparisonRow(out, "TOTAL", root.get("total"), baseline.path("total"));
+  }
+
+  /**
+   * JSONで保存
+   * @param path 出力先
+   * @throws IOException 書き込みに失敗した場合
+   */
+  void write(Path path) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    objectMapper.writeValue(path.toFile(), root);
+  }
+
+  private ObjectNode summary(Histogram latencies, long errors, double seconds) {
+    ObjectNode node = objectMapper.createObjectNode();
+    node.put("requests", latencies.getTotalCount());
+    node.put("errors", errors);
+    node.put("throughput", round(latencies.getTotalCount() / seconds));
+    ObjectNode latency = node.putObject("latencyMillis");
+    latency.put("mean", round(latencies.getMean() / 1000.0));
+    for (int i = 0; i < PERCENTILES.length; i++) {
+      latency.put(PERCENTILE_KEYS[i], round(latencies.getValueAtPercentile(PERCENTILES[i]) / 1000.0));
+    }
+    latency.put("max", round(latencies.getMaxValue() / 1000.0));
+    return node;
+  }
+
+  private static void printRow(PrintStream out, String name, JsonNode node) {
+    JsonNode latency = node.get("latencyMillis");
+    out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+        name, node.get("requests").asLong(), node.get("errors").asLong(), node.get("throughput").asDouble(),
+        latency.get("p50").asDouble(), latency.get("p90").asDouble(), latency.get("p99").asDouble(),
+        latency.get("p99_9").asDouble(), latency.get("max").asDouble());
+  }
+
+  private static void printComparisonRow(PrintStream out, String name, JsonNode current, JsonNode baseline) {
+    out.printf("%-22s %20s %20s %20s%n", name,
+        delta(current.path("throughput"), baseline.path("throughput")),
+        delta(current.path("latencyMillis").path("p50"), baseline.path("latencyMillis").path("p50")),
+        delta(current.path("latencyMillis").path("p99"), baseline.path("latencyMillis").path("p99")));
+  }
+
+  private static String delta(JsonNode current, JsonNode baseline) {
+    if (baseline.isMissingNode() || baseline.asDouble() == 0) {
+      return String.format("%.2f (新規)", current.asDouble());
+    }
+    double change = (current.asDouble() - baseline.asDouble()) / baseline.asDouble() * 100;
+    return String.format("%.2f (%+.1f%%)", current.asDouble(), change);
+  }
+
+  private static String encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    byte[] bytes = new byte[length];
+    buffer.flip();
+    buffer.get(bytes);
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+
+  private static double round(double value) {
+    return Math.round(value * 100) / 100.0;
+  }
+}
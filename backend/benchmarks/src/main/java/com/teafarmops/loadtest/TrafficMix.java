@@ -0,0 +1,92 @@
+package com.teafarmops.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * トラフィック構成（操作ごとの重み）
+ * 例: dashboard:15,tasks:20,harvest-bulk:3
+ */
+final class TrafficMix {
+
+  static final String DEFAULT = "login:2,dashboard:15,fields:15,tasks:20,harvest-records:15,"
+      + "weather-observations:15,harvest-bulk:3,sensor-batch:15";
+
+  private final Map<TrafficOperation, Integer> weights;
+  private final TrafficOperation[] operations;
+  private final int[] cumulativeWeights;
+
+  private TrafficMix(Map<TrafficOperation, Integer> weights) {
+    this.weights = weights;
+    this.operations = weights.keySet().toArray(new TrafficOperation[0]);
+    this.cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += weights.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  /**
+   * 構成の指定を解析
+   * @param spec 構成の指定
+   * @return トラフィック構成
+   * @throws IllegalArgumentException 不正な指定の場合
+   */
+  static TrafficMix parse(String spec) {
+    Map<TrafficOperation, Integer> weights = new EnumMap<>(TrafficOperation.class);
+    for (String entry : spec.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("不正なトラフィック構成です: " + entry);
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("重みは0以上を指定してください: " + entry);
+      }
+      if (weight > 0) {
+        weights.merge(TrafficOperation.fromKey(parts[0].trim()), weight, Integer::sum);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("トラフィック構成が空です");
+    }
+    return new TrafficMix(weights);
+  }
+
+  /**
+   * 重みに従って次の操作を選択
+   * @param random ワーカーの乱数
+   * @return 操作
+   */
+  TrafficOperation next(SplittableRandom random) {
+    int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (value < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    return operations[operations.length - 1];
+  }
+
+  Map<TrafficOperation, Integer> getWeights() {
+    return weights;
+  }
+
+  boolean contains(TrafficOperation operation) {
+    return weights.containsKey(operation);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    weights.forEach((operation, weight) -> {
+      if (builder.length() > 0) {
+        builder.append(',');
+      }
+      builder.append(operation.getKey()).append(':').append(weight);
+    });
+    return builder.toString();
+  }
+}
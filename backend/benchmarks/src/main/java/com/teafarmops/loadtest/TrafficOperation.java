@@ -0,0 +1,204 @@
+package com.teafarmops.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * 負荷試験で送信する操作
+ * 検索条件や書き込み内容はワーカーごとの乱数と基準日から決めるため、同じシード・基準日なら同じリクエスト列になる
+ */
+enum TrafficOperation {
+
+  LOGIN("login", "POST /api/auth/login") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      String body = "{\"username\":\"" + context.username + "\",\"password\":\"" + context.password + "\"}";
+      return context.json("/api/auth/login").POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+  },
+
+  DASHBOARD("dashboard", "GET /api/dashboard/stats") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      return context.get("/api/dashboard/stats");
+    }
+  },
+
+  FIELDS("fields", "GET /api/fields") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      switch (context.random.nextInt(3)) {
+        case 0:
+          return context.get("/api/fields");
+        case 1:
+          return context.get("/api/fields?soilType=" + URLEncoder.encode(context.pick(SOIL_TYPES), StandardCharsets.UTF_8));
+        default:
+          return context.get("/api/fields?name=" + context.random.nextInt(10));
+      }
+    }
+  },
+
+  TASKS("tasks", "GET /api/tasks") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      LocalDate start = context.randomDate();
+      return context.get("/api/tasks?status=" + context.pick(TASK_STATUSES)
+          + "&fieldId=" + context.randomFieldId()
+          + "&startDate=" + start + "&endDate=" + start.plusDays(30));
+    }
+  },
+
+  HARVEST_RECORDS("harvest-records", "GET /api/harvest-records") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      LocalDate start = context.randomDate();
+      return context.get("/api/harvest-records?teaGrade=" + context.pick(TEA_GRADES)
+          + "&startDate=" + start + "&endDate=" + start.plusDays(30));
+    }
+  },
+
+  WEATHER_OBSERVATIONS("weather-observations", "GET /api/weather-observations") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      LocalDate start = context.randomDate();
+      return context.get("/api/weather-observations?fieldId=" + context.randomFieldId()
+          + "&startDate=" + start + "&endDate=" + start.plusDays(30));
+    }
+  },
+
+  HARVEST_BULK("harvest-bulk", "POST /api/harvest-records/bulk") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      StringBuilder body = new StringBuilder(context.bulkSize * 100).append('[');
+      for (int i = 0; i < context.bulkSize; i++) {
+        if (i > 0) {
+          body.append(',');
+        }
+        body.append("{\"fieldId\":").append(context.randomFieldId())
+            .append(",\"harvestDate\":\"").append(context.randomDate())
+            .append("\",\"quantityKg\":").append(20 + context.random.nextInt(480))
+            .append(",\"teaGrade\":\"").append(context.pick(TEA_GRADES))
+            .append("\",\"notes\":\"負荷試験\"}");
+      }
+      body.append(']');
+      return context.json("/api/harvest-records/bulk").POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+  },
+
+  SENSOR_BATCH("sensor-batch", "POST /api/fields/{id}/sensor-readings") {
+    @Override
+    HttpRequest.Builder request(RequestContext context) {
+      LocalDateTime base = context.randomDate().atStartOfDay().plusSeconds(context.random.nextInt(86_400));
+      StringBuilder body = new StringBuilder(context.bulkSize * 100).append('[');
+      for (int i = 0; i < context.bulkSize; i++) {
+        if (i > 0) {
+          body.append(',');
+        }
+        body.append("{\"recordedAt\":\"").append(base.minusSeconds(context.bulkSize - i))
+            .append("\",\"temperature\":").append(10 + context.random.nextInt(200) / 10.0)
+            .append(",\"humidity\":").append(40 + context.random.nextInt(60))
+            .append(",\"rainfall\":").append(context.random.nextInt(50) / 10.0)
+            .append('}');
+      }
+      body.append(']');
+      return context.json("/api/fields/" + context.randomFieldId() + "/sensor-readings")
+          .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+  };
+
+  private static final String[] SOIL_TYPES = {"赤黄色土", "黒ボク土", "褐色森林土"};
+  private static final String[] TASK_STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+  private static final String[] TEA_GRADES = {"PREMIUM", "HIGH", "MEDIUM", "STANDARD"};
+
+  private final String key;
+  private final String description;
+
+  TrafficOperation(String key, String description) {
+    this.key = key;
+    this.description = description;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  String getDescription() {
+    return description;
+  }
+
+  /**
+   * リクエストを作成
+   * @param context ワーカーごとのリクエスト作成情報
+   * @return リクエストビルダー（認証ヘッダーは呼び出し側で付与）
+   */
+  abstract HttpRequest.Builder request(RequestContext context);
+
+  /**
+   * キーから取得
+   * @param key キー（例: harvest-records）
+   * @return 操作
+   * @throws IllegalArgumentException 該当する操作がない場合
+   */
+  static TrafficOperation fromKey(String key) {
+    for (TrafficOperation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("不明な操作です: " + key);
+  }
+
+  /**
+   * ワーカーごとのリクエスト作成情報
+   */
+  static final class RequestContext {
+
+    final String baseUrl;
+    final String username;
+    final String password;
+    final long[] fieldIds;
+    final int bulkSize;
+    final LocalDate baseDate;
+    final SplittableRandom random;
+
+    RequestContext(String baseUrl, String username, String password, long[] fieldIds, int bulkSize,
+                   LocalDate baseDate, SplittableRandom random) {
+      this.baseUrl = baseUrl;
+      this.username = username;
+      this.password = password;
+      this.fieldIds = fieldIds;
+      this.bulkSize = bulkSize;
+      this.baseDate = baseDate;
+      this.random = random;
+    }
+
+    HttpRequest.Builder get(String path) {
+      return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    HttpRequest.Builder json(String path) {
+      return HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/json");
+    }
+
+    long randomFieldId() {
+      return fieldIds[random.nextInt(fieldIds.length)];
+    }
+
+    LocalDate randomDate() {
+      return baseDate.minusDays(random.nextInt(365));
+    }
+
+    String pick(String[] values) {
+      return values[random.nextInt(values.length)];
+    }
+
+    private URI uri(String path) {
+      return URI.create(baseUrl + path);
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package com.teafarmops.querycount;
+
+import com.teafarmops.TeaFarmOpsApplication;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.repositories.FieldRepository;
+import com.teafarmops.repositories.HarvestRecordRepository;
+import com.teafarmops.repositories.TaskRepository;
+import com.teafarmops.repositories.WeatherObservationRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一覧APIのSQL文数チェック
+ * アプリケーションを組み込み起動し、一覧APIを1件ずつ呼び出して発行されたSQL文を数える
+ * データを増やす前後で文数が変わった場合（N+1）や上限を超えた場合は終了コード1で終了する
+ *
+ * 二次キャッシュがあると関連の読み込みが隠れるため、キャッシュを無効にして計測する
+ */
+public final class QueryCountCheck {
+
+  private static final int FIELDS_PER_ROUND = 5;
+  private static final int ROWS_PER_FIELD = 8;
+
+  /**
+   * 対象のAPIとSQL文数の上限
+   */
+  private static final Map<String, Integer> BUDGETS = new LinkedHashMap<>();
+
+  static {
+    BUDGETS.put("/api/fields", 1);
+    BUDGETS.put("/api/harvest-records", 1);
+    BUDGETS.put("/api/harvest-records?teaGrade=PREMIUM", 1);
+    BUDGETS.put("/api/harvest-records/page?limit=100", 1);
+    BUDGETS.put("/api/tasks", 1);
+    BUDGETS.put("/api/tasks?status=PENDING", 1);
+    BUDGETS.put("/api/tasks/page?limit=100", 1);
+    BUDGETS.put("/api/tasks/calendar?startDate=2024-04-01&endDate=2024-12-31", 1);
+    BUDGETS.put("/api/weather-observations", 1);
+  }
+
+  private QueryCountCheck() {}
+
+  public static void main(String[] args) throws Exception {
+    ConfigurableApplicationContext application = startApplication(args);
+    boolean passed;
+    try {
+      passed = check(application);
+    } finally {
+      application.close();
+    }
+    System.exit(passed ? 0 : 1);
+  }
+
+  private static boolean check(ConfigurableApplicationContext application) throws IOException, InterruptedException {
+    String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    seed(application, 0);
+    Map<String, Long> before = measure(httpClient, baseUrl);
+    seed(application, 1);
+    Map<String, Long> after = measure(httpClient, baseUrl);
+
+    boolean passed = true;
+    System.out.printf("%n%-60s %8s %8s %8s  %s%n", "endpoint", "before", "after", "budget", "result");
+    for (Map.Entry<String, Integer> budget : BUDGETS.entrySet()) {
+      long first = before.get(budget.getKey());
+      long second = after.get(budget.getKey());
+      List<String> problems = new ArrayList<>();
+      if (second != first) {
+        problems.add("件数に応じて増加（N+1）");
+      }
+      if (Math.max(first, second) > budget.getValue()) {
+        problems.add("上限超過");
+      }
+      passed &= problems.isEmpty();
+      System.out.printf("%-60s %8d %8d %8d  %s%n", budget.getKey(), first, second, budget.getValue(),
+          problems.isEmpty() ? "OK" : "NG: " + String.join("、", problems));
+    }
+    System.out.println(passed ? "\nSQL文数チェックに合格しました" : "\nSQL文数チェックに失敗しました");
+    return passed;
+  }
+
+  /**
+   * 各APIを1回ずつ呼び出し、発行されたSQL文の数を取得
+   */
+  private static Map<String, Long> measure(HttpClient httpClient, String baseUrl)
+      throws IOException, InterruptedException {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    for (String path : BUDGETS.keySet()) {
+      HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+      long start = StatementCountingInspector.count();
+      HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException(path + " が HTTP " + response.statusCode() + " を返しました");
+      }
+      counts.put(path, StatementCountingInspector.count() - start);
+    }
+    return counts;
+  }
+
+  /**
+   * 新しいフィールドとそれぞれの収穫記録・タスク・天候観測を作成
+   * フィールドとタスクはサービスと同じく変更イベントを発行し、フィールドカタログとタスクカレンダーを読み込み直させる
+   */
+  private static void seed(ConfigurableApplicationContext application, int round) {
+    FieldRepository fieldRepository = application.getBean(FieldRepository.class);
+    HarvestRecordRepository harvestRecordRepository = application.getBean(HarvestRecordRepository.class);
+    TaskRepository taskRepository = application.getBean(TaskRepository.class);
+    WeatherObservationRepository weatherObservationRepository =
+        application.getBean(WeatherObservationRepository.class);
+    TransactionTemplate transaction = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+
+    LocalDate baseDate = LocalDate.of(2024, 4, 1);
+    transaction.executeWithoutResult(status -> {
+      for (int f = 0; f < FIELDS_PER_ROUND; f++) {
+        Field field = fieldRepository.save(
+            new Field("計測フィールド" + round + "-" + f, "計測", 1.0 + f, "砂壌土", null));
+        application.publishEvent(
+            new EntityChangedEvent(Field.class, EntityChangedEvent.ChangeType.CREATED, field.getId()));
+        for (int i = 0; i < ROWS_PER_FIELD; i++) {
+          LocalDate date = baseDate.plusDays(round * 100L + i);
+          harvestRecordRepository.save(new HarvestRecord(
+              field, date, 10.0 + i, TeaGrade.values()[i % TeaGrade.values().length], null));
+          taskRepository.save(new Task(TaskType.values()[i % TaskType.values().length], field, "作業者" + i,
+              date, date.plusDays(1), TaskStatus.values()[i % TaskStatus.values().length], null));
+          weatherObservationRepository.save(new WeatherObservation(date, field, 18.0, 2.0, 70.0, null, null));
+        }
+      }
+    });
+    application.publishEvent(new EntityChangedEvent(Task.class, EntityChangedEvent.ChangeType.CREATED, null));
+  }
+
+  /**
+   * アプリケーションを組み込み起動（H2、二次キャッシュ無効、SQL文の計数あり）
+   * 引数の --spring.* などはそのまま渡す
+   */
+  private static ConfigurableApplicationContext startApplication(String[] args) {
+    Map<String, String> properties = new LinkedHashMap<>();
+    properties.put("spring.datasource.url",
+        "jdbc:h2:mem:querycount;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+    properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+    properties.put("spring.datasource.username", "sa");
+    properties.put("spring.datasource.password", "");
+    properties.put("server.port", "0");
+    properties.put("spring.jpa.show-sql", "false");
+    properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+    properties.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", "false");
+    properties.put("spring.jpa.properties.hibernate.cache.use_query_cache", "false");
+    properties.put("spring.jpa.properties.hibernate.session_factory.statement_inspector",
+        StatementCountingInspector.class.getName());
+    properties.put("logging.level.root", "WARN");
+    properties.put("logging.level.com.teafarmops", "WARN");
+    properties.put("logging.level.org.springframework.security", "WARN");
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("不正な引数です: " + arg);
+      }
+      properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+    }
+
+    List<String> applicationArgs = new ArrayList<>();
+    properties.forEach((key, value) -> applicationArgs.add("--" + key + "=" + value));
+    return new SpringApplicationBuilder(TeaFarmOpsApplication.class).run(applicationArgs.toArray(new String[0]));
+  }
+}
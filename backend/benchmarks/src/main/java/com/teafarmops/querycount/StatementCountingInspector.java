@@ -0,0 +1,28 @@
+package com.teafarmops.querycount;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernateが発行するSQL文の数を数えるインスペクター
+ * hibernate.session_factory.statement_inspector に指定して使う（SQL文は変更しない）
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+  private static final AtomicLong COUNT = new AtomicLong();
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.incrementAndGet();
+    return sql;
+  }
+
+  /**
+   * これまでに発行されたSQL文の数を取得
+   * @return SQL文の数
+   */
+  static long count() {
+    return COUNT.get();
+  }
+}
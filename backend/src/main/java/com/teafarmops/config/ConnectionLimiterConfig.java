@@ -0,0 +1,72 @@
+package com.teafarmops.config;
+
+import com.teafarmops.monitoring.MetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * 接続数制限の設定
+ * teafarmops.datasource.limiter.enabled=true の場合、HikariCPのデータソースを
+ * プールの最大サイズを上限とする {@link ConnectionLimitingDataSource} で包む
+ */
+@Configuration
+@ConditionalOnProperty(name = "teafarmops.datasource.limiter.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConnectionLimiterConfig.class);
+
+  private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+  // 他のBeanより先に生成されるため、依存先は利用時に取得する
+  @Bean
+  public static BeanPostProcessor connectionLimiterPostProcessor(Environment environment,
+                                                                 ObjectProvider<MetricsService> metricsService) {
+    return new ConnectionLimiterPostProcessor(environment, metricsService);
+  }
+
+  /**
+   * HikariCPのデータソースを包む処理
+   * 読み取りレプリカへの振り分けなど、データソースを包む他の処理より先に適用する
+   */
+  private static final class ConnectionLimiterPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final Environment environment;
+    private final ObjectProvider<MetricsService> metricsService;
+
+    private ConnectionLimiterPostProcessor(Environment environment, ObjectProvider<MetricsService> metricsService) {
+      this.environment = environment;
+      this.metricsService = metricsService;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!(bean instanceof HikariDataSource)) {
+        return bean;
+      }
+      HikariDataSource dataSource = (HikariDataSource) bean;
+      // 未設定の場合、HikariCPはプールの開始時に既定値を適用するため、ここでは同じ既定値を使う
+      int maxConnections = dataSource.getMaximumPoolSize() > 0
+          ? dataSource.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+      int maxWaiters = environment.getProperty("teafarmops.datasource.limiter.max-waiters", Integer.class, 1000);
+      long acquireTimeoutMillis = environment.getProperty(
+          "teafarmops.datasource.limiter.acquire-timeout-ms", Long.class, 5000L);
+      logger.info("接続数制限を有効化: 同時接続 {}、待ち上限 {}、待ち時間上限 {}ms",
+          maxConnections, maxWaiters, acquireTimeoutMillis);
+      return new ConnectionLimitingDataSource(dataSource, maxConnections, maxWaiters, acquireTimeoutMillis,
+          metricsService);
+    }
+
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+  }
+}
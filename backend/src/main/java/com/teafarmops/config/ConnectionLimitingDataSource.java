@@ -0,0 +1,168 @@
+package com.teafarmops.config;
+
+import com.teafarmops.monitoring.MetricsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 接続数を制限するデータソース
+ * コネクションプールの手前で、同時に保持できる接続数をプールの最大サイズに揃える
+ * 仮想スレッドではリクエスト数だけスレッドが作られるため、プールの待ち行列に際限なく並ばないよう
+ * 待ち数と待ち時間に上限を設け、超えた分はすぐに失敗させる
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+  private final Semaphore permits;
+  private final int maxWaiters;
+  private final long acquireTimeoutNanos;
+  private final ObjectProvider<MetricsService> metricsService;
+
+  /**
+   * @param target 接続元のデータソース（コネクションプール）
+   * @param maxConnections 同時に保持できる接続数
+   * @param maxWaiters 接続を待てるスレッド数（超えた場合は待たずに失敗する）
+   * @param acquireTimeoutMillis 接続を待つ最大時間（ミリ秒）
+   * @param metricsService 待ち時間・拒否数の記録先
+   */
+  public ConnectionLimitingDataSource(DataSource target, int maxConnections, int maxWaiters,
+                                      long acquireTimeoutMillis, ObjectProvider<MetricsService> metricsService) {
+    super(target);
+    this.permits = new Semaphore(maxConnections, true);
+    this.maxWaiters = maxWaiters;
+    this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+    this.metricsService = metricsService;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return limit(() -> super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return limit(() -> super.getConnection(username, password));
+  }
+
+  /**
+   * 現在接続を待っているスレッド数を取得
+   * @return 待ちスレッド数
+   */
+  public int getWaiting() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * 現在空いている接続数を取得
+   * @return 空き接続数
+   */
+  public int getAvailable() {
+    return permits.availablePermits();
+  }
+
+  private void acquire() throws SQLException {
+    long started = System.nanoTime();
+    if (permits.tryAcquire()) {
+      recordWait(0);
+      return;
+    }
+    if (permits.getQueueLength() >= maxWaiters) {
+      reject("接続待ちが上限（" + maxWaiters + "）に達しています");
+    }
+    try {
+      if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        reject("接続を " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + "ms 以内に確保できませんでした");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("接続待ちが中断されました", e);
+    }
+    recordWait(System.nanoTime() - started);
+  }
+
+  private Connection limit(ConnectionSupplier supplier) throws SQLException {
+    Connection connection;
+    try {
+      connection = supplier.get();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+    return limited(connection);
+  }
+
+  /**
+   * 閉じたときに一度だけ枠を返す接続を作成
+   */
+  private Connection limited(Connection connection) {
+    AtomicBoolean released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+        ConnectionLimitingDataSource.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return proxy == args[0];
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "close":
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+              } finally {
+                if (released.compareAndSet(false, true)) {
+                  permits.release();
+                }
+              }
+            default:
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+              }
+          }
+        });
+  }
+
+  private void reject(String message) throws SQLException {
+    MetricsService metrics = metricsService.getIfAvailable();
+    if (metrics != null) {
+      metrics.recordConnectionLimiterRejected();
+    }
+    throw new ConnectionLimitExceededException(message);
+  }
+
+  private void recordWait(long waitNanos) {
+    MetricsService metrics = metricsService.getIfAvailable();
+    if (metrics != null) {
+      metrics.recordConnectionLimiterWait(waitNanos);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+
+  /**
+   * 接続数の上限により接続を確保できなかったことを示す例外
+   */
+  public static class ConnectionLimitExceededException extends SQLTransientConnectionException {
+
+    public ConnectionLimitExceededException(String message) {
+      super(message);
+    }
+  }
+}
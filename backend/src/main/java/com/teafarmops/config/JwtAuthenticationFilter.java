@@ -43,21 +43,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       return;
     }
 
-    // Bearerトークンを抽出
+    // Bearerトークンを抽出し、署名と有効期限を一度だけ検証
     jwt = authHeader.substring(7);
-    try {
-      username = jwtConfig.extractUsername(jwt);
-    } catch (Exception e) {
-      filterChain.doFilter(request, response);
-      return;
-    }
+    username = jwtConfig.verifyToken(jwt);
 
     // ユーザー名が存在し、認証が設定されていない場合
     if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
       UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
       
-      // トークンが有効な場合、認証を設定
-      if (jwtConfig.validateToken(jwt, userDetails.getUsername())) {
+      // トークンの主体とユーザーが一致する場合、認証を設定
+      if (username.equals(userDetails.getUsername())) {
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
             userDetails,
             null,
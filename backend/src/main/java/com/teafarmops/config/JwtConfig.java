@@ -1,9 +1,15 @@
 package com.teafarmops.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,9 +17,13 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -27,15 +37,56 @@ public class JwtConfig {
   @Value("${jwt.expiration:86400000}")
   private long expiration;
 
+  @Value("${jwt.verified-cache-size:10000}")
+  private int verifiedCacheSize;
+
+  // 署名鍵とパーサーは起動時に一度だけ生成し、以降は共有する（いずれもスレッドセーフ）
+  private SigningContext signingContext;
+
+  // 検証済みトークンのダイジェスト → 検証結果（件数上限付き、各エントリはトークンの有効期限まで保持）
+  private Cache<String, VerifiedToken> verifiedTokens;
+
+  @PostConstruct
+  void init() {
+    signingContext = createSigningContext();
+    verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(verifiedCacheSize)
+        .expireAfter(new Expiry<String, VerifiedToken>() {
+          @Override
+          public long expireAfterCreate(String digest, VerifiedToken verified, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verified.expiresAtMillis - System.currentTimeMillis()));
+          }
+
+          @Override
+          public long expireAfterUpdate(String digest, VerifiedToken verified, long currentTime,
+                                        long currentDuration) {
+            return expireAfterCreate(digest, verified, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(String digest, VerifiedToken verified, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+  }
+
   private SecretKey getSigningKey() {
+    return signingContext.key;
+  }
+
+  private SigningContext createSigningContext() {
     logger.info("=== JWT CONFIG: Creating signing key ===");
-    logger.info("=== JWT CONFIG: Secret length: {} ===", secret.length());
     logger.info("=== JWT CONFIG: Secret bytes length: {} ===", secret.getBytes(StandardCharsets.UTF_8).length);
-    
+
     try {
       SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+      JwtParser parser = Jwts.parserBuilder()
+          .setSigningKey(key)
+          .build();
       logger.info("=== JWT CONFIG: Signing key created successfully ===");
-      return key;
+      return new SigningContext(key, parser);
     } catch (Exception e) {
       logger.error("=== JWT CONFIG: Error creating signing key: {} ===", e.getMessage());
       throw e;
@@ -84,6 +135,36 @@ public class JwtConfig {
     }
   }
 
+  /**
+   * トークンを検証してユーザー名を取得
+   * 署名と有効期限の検証はトークンごとに一度だけ行い、結果を有効期限まで再利用する
+   * @param token JWTトークン
+   * @return ユーザー名（不正または期限切れの場合はnull）
+   */
+  public String verifyToken(String token) {
+    String digest = digest(token);
+    long now = System.currentTimeMillis();
+
+    VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+    if (cached != null) {
+      return cached.expiresAtMillis > now ? cached.username : null;
+    }
+
+    Claims claims;
+    try {
+      claims = extractAllClaims(token);
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+    Date expiresAt = claims.getExpiration();
+    if (claims.getSubject() == null || expiresAt == null || expiresAt.getTime() <= now) {
+      return null;
+    }
+
+    verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), expiresAt.getTime()));
+    return claims.getSubject();
+  }
+
   public String extractUsername(String token) {
     return extractClaim(token, Claims::getSubject);
   }
@@ -98,19 +179,56 @@ public class JwtConfig {
   }
 
   private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSigningKey())
-        .build()
+    return signingContext.parser
         .parseClaimsJws(token)
         .getBody();
   }
 
-  private Boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
+  public Boolean validateToken(String token, String username) {
+    final String verifiedUsername = verifyToken(token);
+    return verifiedUsername != null && verifiedUsername.equals(username);
   }
 
-  public Boolean validateToken(String token, String username) {
-    final String extractedUsername = extractUsername(token);
-    return (extractedUsername.equals(username) && !isTokenExpired(token));
+  /**
+   * トークンのSHA-256ダイジェストを取得（トークン本体をメモリに保持しないため）
+   * @param token JWTトークン
+   * @return Base64エンコードされたダイジェスト
+   */
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+          .digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * 署名鍵と再利用可能なパーサー
+   */
+  private static final class SigningContext {
+
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    private SigningContext(SecretKey key, JwtParser parser) {
+      this.key = key;
+      this.parser = parser;
+    }
+  }
+
+  /**
+   * 検証済みトークンの情報
+   */
+  private static final class VerifiedToken {
+
+    private final String username;
+    private final long expiresAtMillis;
+
+    private VerifiedToken(String username, long expiresAtMillis) {
+      this.username = username;
+      this.expiresAtMillis = expiresAtMillis;
+    }
   }
-} 
\ No newline at end of file
+}
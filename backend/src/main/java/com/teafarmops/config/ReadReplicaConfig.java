@@ -0,0 +1,101 @@
+package com.teafarmops.config;
+
+import com.teafarmops.monitoring.MetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 読み取りレプリカの設定
+ * teafarmops.datasource.replica.enabled=true の場合、アプリケーションのデータソースを
+ * 読み取り専用トランザクションをレプリカに振り分ける {@link ReadReplicaRoutingDataSource} に置き換える
+ * レプリカの接続プールはデータソースのBeanにしない（Spring Bootのデータソース自動設定を止めないため）
+ * レプリカ有効時はHibernateの二次キャッシュとクエリキャッシュを無効にする
+ */
+@Configuration
+@ConditionalOnProperty(name = "teafarmops.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+  private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+  /**
+   * 遅延（ミリ秒）を返すPostgreSQLのSQL
+   * 受信済みのWALをすべて適用済みなら0、プライマリ（リカバリ中でない）も0とする
+   */
+  private static final String POSTGRES_LAG_QUERY =
+      "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+      + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+      + "ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS BIGINT) END";
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Value("${teafarmops.datasource.replica.url}") String url,
+      @Value("${teafarmops.datasource.replica.username:${spring.datasource.username:}}") String username,
+      @Value("${teafarmops.datasource.replica.password:${spring.datasource.password:}}") String password,
+      @Value("${teafarmops.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+      @Value("${teafarmops.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMillis,
+      @Value("${teafarmops.datasource.replica.max-lag-ms:5000}") long maxLagMillis,
+      @Value("${teafarmops.datasource.replica.check-interval-ms:1000}") long checkIntervalMillis,
+      @Value("${teafarmops.datasource.replica.lag-query:}") String lagQuery,
+      ObjectProvider<MetricsService> metricsService,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    HikariDataSource replica = new HikariDataSource();
+    replica.setPoolName("replica");
+    replica.setJdbcUrl(url);
+    replica.setUsername(username);
+    replica.setPassword(password);
+    replica.setMaximumPoolSize(maximumPoolSize);
+    // レプリカが止まっていても長く待たずにプライマリへ切り替える
+    replica.setConnectionTimeout(connectionTimeoutMillis);
+    replica.setReadOnly(true);
+    logger.info("読み取りレプリカを有効化: {}（遅延上限 {}ms、測定間隔 {}ms）", url, maxLagMillis, checkIntervalMillis);
+    return new ReplicaLagMonitor(replica, maxLagMillis, checkIntervalMillis,
+        lagQuery.isEmpty() ? POSTGRES_LAG_QUERY : lagQuery, metricsService, meterRegistry);
+  }
+
+  /**
+   * 二次キャッシュとクエリキャッシュ（Field のエンティティと検索結果）を無効にする
+   * 遅延したレプリカから読んだ行をキャッシュに戻すと、プライマリでの更新・削除で無効化した後も
+   * 古い行を返し続けるため（キャッシュはプライマリの書き込み時にしか無効化されない）
+   * @return Hibernate設定のカスタマイザー
+   */
+  @Bean
+  public HibernatePropertiesCustomizer replicaSafeCachePropertiesCustomizer() {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+      properties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+      logger.info("読み取りレプリカ有効のため、二次キャッシュとクエリキャッシュを無効化します");
+    };
+  }
+
+  // 他のBeanより先に生成されるため、依存先は利用時に取得する
+  @Bean
+  public static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReplicaLagMonitor> replica,
+                                                                  ObjectProvider<MetricsService> metricsService) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || !PRIMARY_DATA_SOURCE.equals(beanName)) {
+          return bean;
+        }
+        // 接続の取得を最初のSQL実行まで遅らせ、トランザクションの読み取り専用指定を見てから振り分ける
+        return new LazyConnectionDataSourceProxy(
+            new ReadReplicaRoutingDataSource((DataSource) bean, replica.getObject(), metricsService));
+      }
+    };
+  }
+}
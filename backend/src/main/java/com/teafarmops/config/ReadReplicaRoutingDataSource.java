@@ -0,0 +1,78 @@
+package com.teafarmops.config;
+
+import com.teafarmops.monitoring.MetricsService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 読み取り専用トランザクションをレプリカに振り分けるデータソース
+ * 読み取り専用トランザクション中の接続はレプリカから、それ以外はプライマリから取得する
+ * レプリカの遅延が上限を超えている場合や接続できない場合はプライマリから取得する
+ * トランザクションの開始後に接続を取得する必要があるため、LazyConnectionDataSourceProxy で包んで使う
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+  private final DataSource primary;
+  private final ReplicaLagMonitor replica;
+  private final ObjectProvider<MetricsService> metricsService;
+
+  /**
+   * @param primary プライマリのデータソース
+   * @param replica レプリカ（遅延監視）
+   * @param metricsService 振り分け結果の記録先
+   */
+  public ReadReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor replica,
+                                      ObjectProvider<MetricsService> metricsService) {
+    this.primary = primary;
+    this.replica = replica;
+    this.metricsService = metricsService;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      if (replica.isAvailable()) {
+        try {
+          Connection connection = replica.getConnection();
+          recordRead(true);
+          return connection;
+        } catch (SQLException e) {
+          replica.markUnavailable(e);
+        }
+      }
+      recordRead(false);
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    // 認証情報を指定した接続はプライマリのみ
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    return primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || primary.isWrapperFor(iface);
+  }
+
+  private void recordRead(boolean fromReplica) {
+    MetricsService metrics = metricsService.getIfAvailable();
+    if (metrics != null) {
+      metrics.recordReadOnlyConnection(fromReplica);
+    }
+  }
+}
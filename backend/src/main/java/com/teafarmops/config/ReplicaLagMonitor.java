@@ -0,0 +1,172 @@
+package com.teafarmops.config;
+
+import com.teafarmops.monitoring.MetricsService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 読み取りレプリカの遅延監視
+ * レプリカの接続プールを保持し、一定間隔でレプリケーション遅延を測定する
+ * 遅延が上限を超えた場合や測定に失敗した場合は、次に上限内に戻るまでレプリカを使わない
+ * 起動直後は最初の測定が成功するまで使わない
+ */
+public class ReplicaLagMonitor implements SmartLifecycle, AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private final HikariDataSource replica;
+  private final long maxLagMillis;
+  private final long checkIntervalMillis;
+  private final String lagQuery;
+  private final ObjectProvider<MetricsService> metricsService;
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "replica-lag-check");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private volatile boolean available;
+  private volatile long lagMillis = -1;
+
+  /**
+   * @param replica レプリカの接続プール
+   * @param maxLagMillis レプリカを使う遅延の上限（ミリ秒）
+   * @param checkIntervalMillis 遅延の測定間隔（ミリ秒）
+   * @param lagQuery 遅延（ミリ秒）を1行1列で返すSQL
+   * @param metricsService 遅延・振り分けの記録先
+   * @param meterRegistry 接続プールのメトリクスの登録先
+   */
+  public ReplicaLagMonitor(HikariDataSource replica, long maxLagMillis, long checkIntervalMillis, String lagQuery,
+                           ObjectProvider<MetricsService> metricsService,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+    this.replica = replica;
+    this.maxLagMillis = maxLagMillis;
+    this.checkIntervalMillis = checkIntervalMillis;
+    this.lagQuery = lagQuery;
+    this.metricsService = metricsService;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 遅延の測定を開始
+   */
+  @Override
+  public void start() {
+    if (!running.compareAndSet(false, true)) {
+      return;
+    }
+    // 接続プールは最初の接続時に開始されるため、それより前に登録する
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      replica.setMetricRegistry(registry);
+    }
+    checker.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (running.compareAndSet(true, false)) {
+      checker.shutdownNow();
+      available = false;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  /**
+   * 接続プールを閉じる
+   */
+  @Override
+  public void close() {
+    stop();
+    replica.close();
+  }
+
+  /**
+   * レプリカを読み取りに使えるか
+   * @return 直近の測定で遅延が上限内だった場合はtrue
+   */
+  public boolean isAvailable() {
+    return available;
+  }
+
+  /**
+   * 直近に測定した遅延を取得
+   * @return 遅延（ミリ秒、測定できていない場合は-1）
+   */
+  public long getLagMillis() {
+    return lagMillis;
+  }
+
+  /**
+   * レプリカから接続を取得
+   * @return 接続
+   * @throws SQLException 接続できなかった場合
+   */
+  public Connection getConnection() throws SQLException {
+    return replica.getConnection();
+  }
+
+  /**
+   * 接続の失敗を受けて次の測定までレプリカを使わないようにする
+   * @param cause 失敗の原因
+   */
+  public void markUnavailable(SQLException cause) {
+    if (available) {
+      available = false;
+      logger.warn("読み取りレプリカに接続できないため、プライマリから読み取ります: {}", cause.getMessage());
+      record();
+    }
+  }
+
+  private void check() {
+    boolean wasAvailable = available;
+    try (Connection connection = replica.getConnection();
+         Statement statement = connection.createStatement()) {
+      statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(checkIntervalMillis)));
+      try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+        resultSet.next();
+        lagMillis = resultSet.getLong(1);
+      }
+      available = lagMillis <= maxLagMillis;
+      if (wasAvailable && !available) {
+        logger.warn("読み取りレプリカの遅延が {}ms（上限 {}ms）のため、プライマリから読み取ります", lagMillis, maxLagMillis);
+      } else if (!wasAvailable && available) {
+        logger.info("読み取りレプリカの遅延が {}ms のため、読み取り専用トランザクションをレプリカに振り分けます", lagMillis);
+      }
+    } catch (SQLException | RuntimeException e) {
+      lagMillis = -1;
+      available = false;
+      if (wasAvailable) {
+        logger.warn("読み取りレプリカの遅延を測定できないため、プライマリから読み取ります: {}", e.getMessage());
+      }
+    }
+    record();
+  }
+
+  private void record() {
+    MetricsService metrics = metricsService.getIfAvailable();
+    if (metrics != null) {
+      metrics.setReplicaLag(lagMillis, available);
+    }
+  }
+}
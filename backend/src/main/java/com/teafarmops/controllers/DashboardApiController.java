@@ -0,0 +1,33 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.DashboardSnapshot;
+import com.teafarmops.services.DashboardSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * ダッシュボードREST APIコントローラー
+ * ダッシュボード関連のREST APIエンドポイント
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardApiController {
+
+  private final DashboardSnapshotService dashboardSnapshotService;
+
+  @Autowired
+  public DashboardApiController(DashboardSnapshotService dashboardSnapshotService) {
+    this.dashboardSnapshotService = dashboardSnapshotService;
+  }
+
+  /**
+   * ダッシュボード統計を取得
+   * @return ダッシュボードスナップショット
+   */
+  @GetMapping("/stats")
+  public ResponseEntity<DashboardSnapshot> getStats() {
+    return ResponseEntity.ok(dashboardSnapshotService.getSnapshot());
+  }
+}
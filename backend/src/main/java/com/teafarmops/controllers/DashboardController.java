@@ -1,14 +1,11 @@
 package com.teafarmops.controllers;
 
-import com.teafarmops.services.FieldService;
-import com.teafarmops.services.TaskService;
-import com.teafarmops.services.HarvestRecordService;
-import com.teafarmops.services.WeatherObservationService;
+import com.teafarmops.dto.DashboardSnapshot;
+import com.teafarmops.services.DashboardSnapshotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
-import java.time.LocalDate;
 
 /**
  * ダッシュボードコントローラー
@@ -17,20 +14,11 @@ import java.time.LocalDate;
 @Controller
 public class DashboardController {
 
-  private final FieldService fieldService;
-  private final TaskService taskService;
-  private final HarvestRecordService harvestRecordService;
-  private final WeatherObservationService weatherObservationService;
+  private final DashboardSnapshotService dashboardSnapshotService;
 
   @Autowired
-  public DashboardController(FieldService fieldService, 
-                           TaskService taskService,
-                           HarvestRecordService harvestRecordService,
-                           WeatherObservationService weatherObservationService) {
-    this.fieldService = fieldService;
-    this.taskService = taskService;
-    this.harvestRecordService = harvestRecordService;
-    this.weatherObservationService = weatherObservationService;
+  public DashboardController(DashboardSnapshotService dashboardSnapshotService) {
+    this.dashboardSnapshotService = dashboardSnapshotService;
   }
 
   /**
@@ -40,31 +28,25 @@ public class DashboardController {
    */
   @GetMapping("/")
   public String dashboard(Model model) {
+    DashboardSnapshot snapshot = dashboardSnapshotService.getSnapshot();
+
     // 基本統計情報
-    model.addAttribute("totalFields", fieldService.getFieldCount());
-    model.addAttribute("totalArea", fieldService.getTotalArea());
-    model.addAttribute("completedTasks", taskService.getCompletedTaskCount());
-    model.addAttribute("inProgressTasks", taskService.getInProgressTaskCount());
-    model.addAttribute("pendingTasks", taskService.getPendingTaskCount());
-    model.addAttribute("totalHarvest", harvestRecordService.getTotalHarvestQuantity());
+    model.addAttribute("totalFields", snapshot.getTotalFields());
+    model.addAttribute("totalArea", snapshot.getTotalArea());
+    model.addAttribute("completedTasks", snapshot.getCompletedTasks());
+    model.addAttribute("inProgressTasks", snapshot.getInProgressTasks());
+    model.addAttribute("pendingTasks", snapshot.getPendingTasks());
+    model.addAttribute("totalHarvest", snapshot.getTotalHarvest());
 
     // 今月の統計
-    LocalDate now = LocalDate.now();
-    LocalDate startOfMonth = now.withDayOfMonth(1);
-    LocalDate endOfMonth = now.withDayOfMonth(now.lengthOfMonth());
-
-    model.addAttribute("monthlyHarvest", 
-                      harvestRecordService.getTotalHarvestQuantityBetween(startOfMonth, endOfMonth));
-    model.addAttribute("averageTemperature", 
-                      weatherObservationService.getAverageTemperatureBetween(startOfMonth, endOfMonth));
-    model.addAttribute("totalRainfall", 
-                      weatherObservationService.getTotalRainfallBetween(startOfMonth, endOfMonth));
-    model.addAttribute("averageHumidity", 
-                      weatherObservationService.getAverageHumidityBetween(startOfMonth, endOfMonth));
+    model.addAttribute("monthlyHarvest", snapshot.getMonthlyHarvest());
+    model.addAttribute("averageTemperature", snapshot.getAverageTemperature());
+    model.addAttribute("totalRainfall", snapshot.getTotalRainfall());
+    model.addAttribute("averageHumidity", snapshot.getAverageHumidity());
 
     // 茶葉グレード別収穫量
-    model.addAttribute("harvestByGrade", harvestRecordService.getTotalHarvestQuantityByGrade());
+    model.addAttribute("harvestByGrade", snapshot.getHarvestByGrade());
 
     return "dashboard";
   }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.services.DataExportService;
+import com.teafarmops.services.DataExportService.Dataset;
+import com.teafarmops.services.DataExportService.Format;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * データエクスポートREST APIコントローラー
+ * フィールド・タスク・収穫記録・天候観測をCSVまたはNDJSONでストリーム出力する
+ */
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class DataExportApiController {
+
+  private final DataExportService dataExportService;
+
+  @Autowired
+  public DataExportApiController(DataExportService dataExportService) {
+    this.dataExportService = dataExportService;
+  }
+
+  /**
+   * データをエクスポート
+   * クライアントがgzipを受け付ける場合は圧縮して返す
+   * 出力は非同期で行い、spring.mvc.async.request-timeout を超えると打ち切られる
+   * @param dataset エクスポート対象（fields, tasks, harvest-records, weather-observations）
+   * @param format 出力形式（csv, ndjson）
+   * @param acceptEncoding Accept-Encodingヘッダー
+   * @return エクスポートデータ
+   */
+  @GetMapping("/{dataset}")
+  public ResponseEntity<StreamingResponseBody> export(
+      @PathVariable String dataset,
+      @RequestParam(defaultValue = "csv") String format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    Dataset exportDataset;
+    Format exportFormat;
+    try {
+      exportDataset = Dataset.fromPath(dataset);
+      exportFormat = Format.valueOf(format.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    String fileName = exportDataset.getFileName() + "_" + LocalDate.now() + exportFormat.getExtension();
+
+    StreamingResponseBody body = out -> {
+      OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+      dataExportService.export(exportDataset, exportFormat, target);
+      if (gzip) {
+        ((GZIPOutputStream) target).finish();
+      }
+    };
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+}
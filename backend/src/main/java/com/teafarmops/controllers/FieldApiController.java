@@ -1,7 +1,9 @@
 package com.teafarmops.controllers;
 
+import com.teafarmops.dto.CursorPage;
 import com.teafarmops.dto.FieldDto;
 import com.teafarmops.entities.Field;
+import com.teafarmops.services.FieldCatalog;
 import com.teafarmops.services.FieldService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * フィールドREST APIコントローラー
@@ -29,31 +30,76 @@ public class FieldApiController {
 
   /**
    * フィールド一覧を取得
+   * 指定した検索条件はすべて満たすもの（AND）に絞り込む
    * @param name フィールド名（検索用）
    * @param location 場所（検索用）
    * @param soilType 土壌タイプ（検索用）
+   * @param minArea 最小面積（検索用）
+   * @param maxArea 最大面積（検索用）
    * @return フィールド一覧
    */
   @GetMapping
   public ResponseEntity<List<FieldDto>> getFields(
       @RequestParam(required = false) String name,
       @RequestParam(required = false) String location,
-      @RequestParam(required = false) String soilType) {
+      @RequestParam(required = false) String soilType,
+      @RequestParam(required = false) Double minArea,
+      @RequestParam(required = false) Double maxArea) {
     
-    List<Field> fields;
-    if (name != null || location != null || soilType != null) {
-      fields = fieldService.searchFields(name, location, soilType);
+    List<FieldDto> fieldDtos;
+    if (name != null || location != null || soilType != null || minArea != null || maxArea != null) {
+      fieldDtos = fieldService.searchFieldDtos(name, location, soilType, minArea, maxArea);
     } else {
-      fields = fieldService.getAllFields();
+      fieldDtos = fieldService.getAllFieldDtos();
     }
     
-    List<FieldDto> fieldDtos = fields.stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
-    
     return ResponseEntity.ok(fieldDtos);
   }
 
+  /**
+   * フィールド一覧をキーセットページネーションで取得
+   * @param name フィールド名（検索用）
+   * @param location 場所（検索用）
+   * @param soilType 土壌タイプ（検索用）
+   * @param minArea 最小面積（検索用）
+   * @param maxArea 最大面積（検索用）
+   * @param sort 並び順のキー（ID, NAME, LOCATION, AREA_SIZE, SOIL_TYPE）
+   * @param direction 並び順の方向（ASC, DESC）
+   * @param cursor 継続トークン
+   * @param limit ページサイズ
+   * @return フィールドページ
+   */
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<FieldDto>> getFieldPage(
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String location,
+      @RequestParam(required = false) String soilType,
+      @RequestParam(required = false) Double minArea,
+      @RequestParam(required = false) Double maxArea,
+      @RequestParam(defaultValue = "ID") String sort,
+      @RequestParam(defaultValue = "ASC") String direction,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    try {
+      FieldCatalog.SortKey sortKey = FieldCatalog.SortKey.valueOf(sort.trim().toUpperCase().replace('-', '_'));
+      boolean descending;
+      switch (direction.trim().toUpperCase()) {
+        case "ASC":
+          descending = false;
+          break;
+        case "DESC":
+          descending = true;
+          break;
+        default:
+          return ResponseEntity.badRequest().build();
+      }
+      return ResponseEntity.ok(fieldService.searchFieldPage(
+          name, location, soilType, minArea, maxArea, sortKey, descending, cursor, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   /**
    * フィールド詳細を取得
    * @param id フィールドID
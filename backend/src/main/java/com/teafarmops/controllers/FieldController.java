@@ -145,7 +145,7 @@ public class FieldController {
   }
 
   /**
-   * フィールドを検索
+   * フィールドを検索（指定された条件をANDで結合）
    * @param name フィールド名
    * @param location 場所
    * @param soilType 土壌タイプ
@@ -157,15 +157,8 @@ public class FieldController {
                             @RequestParam(required = false) String location,
                             @RequestParam(required = false) String soilType,
                             Model model) {
-    if (name != null && !name.trim().isEmpty()) {
-      model.addAttribute("fields", fieldService.searchFieldsByName(name));
-    } else if (location != null && !location.trim().isEmpty()) {
-      model.addAttribute("fields", fieldService.searchFieldsByLocation(location));
-    } else if (soilType != null && !soilType.trim().isEmpty()) {
-      model.addAttribute("fields", fieldService.searchFieldsBySoilType(soilType));
-    } else {
-      model.addAttribute("fields", fieldService.getAllFields());
-    }
+    // 指定された条件をすべて満たすフィールドをフィールドカタログから取得する
+    model.addAttribute("fields", fieldService.searchFieldDtos(name, location, soilType, null, null));
     return "fields/index";
   }
 } 
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.teafarmops.controllers;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -11,6 +16,19 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+  /**
+   * データベース接続を確保できなかった場合の処理
+   * 接続数の上限や待ち時間の上限に達した場合は、リダイレクトせず503とRetry-Afterを返して再送を促す
+   * @param ex 例外
+   * @return 503レスポンス
+   */
+  @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+  public ResponseEntity<Void> handleConnectionUnavailable(RuntimeException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+  }
+
   /**
    * RuntimeExceptionの処理
    * @param ex 例外
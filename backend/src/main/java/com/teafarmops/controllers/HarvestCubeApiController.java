@@ -0,0 +1,88 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.HarvestCubeCellDto;
+import com.teafarmops.entities.HarvestPeriod;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.services.HarvestCubeService;
+import com.teafarmops.utils.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 収穫集計REST APIコントローラー
+ * フィールド×茶葉グレード×期間の収穫統計（合計・件数・最小・最大）を提供
+ */
+@RestController
+@RequestMapping("/api/harvest-cube")
+@CrossOrigin(origins = "*")
+public class HarvestCubeApiController {
+
+  private final HarvestCubeService harvestCubeService;
+
+  @Autowired
+  public HarvestCubeApiController(HarvestCubeService harvestCubeService) {
+    this.harvestCubeService = harvestCubeService;
+  }
+
+  /**
+   * 収穫統計を取得
+   * @param period 集計期間（DAILY, WEEKLY, MONTHLY, SEASONAL）
+   * @param startDate 開始日（この日を含む期間から）
+   * @param endDate 終了日（この日を含む期間まで）
+   * @param fieldId フィールドID（省略時は全フィールド）
+   * @param teaGrade 茶葉グレード（省略時は全グレード）
+   * @param groupBy 集計の単位にする軸（FIELD, GRADE, PERIOD のカンマ区切り、NONEで全体）
+   * @return 集計の単位ごとの収穫統計
+   */
+  @GetMapping
+  public ResponseEntity<List<HarvestCubeCellDto>> getCells(
+      @RequestParam(defaultValue = "MONTHLY") String period,
+      @RequestParam String startDate,
+      @RequestParam String endDate,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) String teaGrade,
+      @RequestParam(defaultValue = "FIELD,GRADE,PERIOD") String groupBy) {
+    try {
+      HarvestPeriod harvestPeriod = HarvestPeriod.valueOf(period.trim().toUpperCase());
+      LocalDate start = DateUtils.parseDate(startDate);
+      LocalDate end = DateUtils.parseDate(endDate);
+      if (start == null || end == null || end.isBefore(start)) {
+        return ResponseEntity.badRequest().build();
+      }
+      TeaGrade grade = teaGrade == null || teaGrade.isBlank()
+          ? null : TeaGrade.valueOf(teaGrade.trim().toUpperCase());
+      return ResponseEntity.ok(harvestCubeService.query(
+          harvestPeriod, start, end, fieldId, grade, parseDimensions(groupBy)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * 茶葉グレード別の総収穫量を取得
+   * @return 茶葉グレードごとの総収穫量（kg）
+   */
+  @GetMapping("/totals-by-grade")
+  public ResponseEntity<Map<TeaGrade, Double>> getTotalsByGrade() {
+    return ResponseEntity.ok(harvestCubeService.getTotalsByGrade());
+  }
+
+  private static Set<HarvestCubeService.Dimension> parseDimensions(String groupBy) {
+    Set<HarvestCubeService.Dimension> dimensions = EnumSet.noneOf(HarvestCubeService.Dimension.class);
+    for (String name : groupBy.split(",")) {
+      String trimmed = name.trim().toUpperCase();
+      if (!trimmed.isEmpty() && !"NONE".equals(trimmed)) {
+        dimensions.add(HarvestCubeService.Dimension.valueOf(trimmed));
+      }
+    }
+    return dimensions;
+  }
+}
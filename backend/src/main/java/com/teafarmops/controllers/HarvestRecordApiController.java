@@ -1,15 +1,19 @@
 package com.teafarmops.controllers;
 
+import com.teafarmops.dto.CursorPage;
 import com.teafarmops.dto.HarvestRecordDto;
 import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.services.FieldCatalog;
 import com.teafarmops.services.HarvestRecordService;
+import com.teafarmops.utils.DateUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 収穫記録REST APIコントローラー
@@ -21,10 +25,13 @@ import java.util.stream.Collectors;
 public class HarvestRecordApiController {
 
   private final HarvestRecordService harvestRecordService;
+  private final FieldCatalog fieldCatalog;
 
   @Autowired
-  public HarvestRecordApiController(HarvestRecordService harvestRecordService) {
+  public HarvestRecordApiController(HarvestRecordService harvestRecordService,
+                                    FieldCatalog fieldCatalog) {
     this.harvestRecordService = harvestRecordService;
+    this.fieldCatalog = fieldCatalog;
   }
 
   /**
@@ -42,15 +49,48 @@ public class HarvestRecordApiController {
       @RequestParam(required = false) String endDate,
       @RequestParam(required = false) Long fieldId) {
     
-    List<HarvestRecord> records = harvestRecordService.getAllHarvestRecords();
-    
-    List<HarvestRecordDto> recordDtos = records.stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    List<HarvestRecordDto> recordDtos;
+    try {
+      recordDtos = harvestRecordService.searchHarvestRecordDtos(
+          parseTeaGrade(teaGrade), DateUtils.parseDate(startDate), DateUtils.parseDate(endDate), fieldId);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
     
     return ResponseEntity.ok(recordDtos);
   }
 
+  /**
+   * 収穫記録をキーセットページネーションで取得
+   * @param teaGrade 茶葉グレード（検索用）
+   * @param startDate 開始日（検索用）
+   * @param endDate 終了日（検索用）
+   * @param fieldId フィールドID（検索用）
+   * @param cursor 前ページの継続トークン
+   * @param limit ページサイズ
+   * @return 収穫記録ページ
+   */
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<HarvestRecordDto>> getHarvestRecordPage(
+      @RequestParam(required = false) String teaGrade,
+      @RequestParam(required = false) String startDate,
+      @RequestParam(required = false) String endDate,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+
+    CursorPage<HarvestRecordDto> page;
+    try {
+      page = harvestRecordService.searchHarvestRecordPage(
+          parseTeaGrade(teaGrade), DateUtils.parseDate(startDate), DateUtils.parseDate(endDate),
+          fieldId, cursor, limit);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    return ResponseEntity.ok(page);
+  }
+
   /**
    * 収穫記録詳細を取得
    * @param id 収穫記録ID
@@ -109,6 +149,19 @@ public class HarvestRecordApiController {
     }
   }
 
+  /**
+   * 茶葉グレードのリクエストパラメータを変換
+   * @param teaGrade 茶葉グレード文字列
+   * @return 茶葉グレード（未指定の場合はnull）
+   * @throws IllegalArgumentException 不正な値の場合
+   */
+  private TeaGrade parseTeaGrade(String teaGrade) {
+    if (teaGrade == null || teaGrade.trim().isEmpty()) {
+      return null;
+    }
+    return TeaGrade.valueOf(teaGrade.trim().toUpperCase());
+  }
+
   /**
    * HarvestRecordDtoをHarvestRecordエンティティに変換
    * @param recordDto DTO
@@ -145,7 +198,8 @@ public class HarvestRecordApiController {
     
     if (record.getField() != null) {
       dto.setFieldId(record.getField().getId());
-      dto.setFieldName(record.getField().getName());
+      // フィールド名はカタログから引き、フィールドを読み込まない
+      dto.setFieldName(fieldCatalog.getName(record.getField().getId()));
     }
     
     return dto;
@@ -0,0 +1,62 @@
+package com.teafarmops.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.teafarmops.dto.BulkImportResult;
+import com.teafarmops.services.HarvestRecordImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 収穫記録一括取り込みREST APIコントローラー
+ * リクエスト本文を全件メモリに載せずにストリームで取り込む
+ */
+@RestController
+@RequestMapping("/api/harvest-records/bulk")
+@CrossOrigin(origins = "*")
+public class HarvestRecordBulkApiController {
+
+  private final HarvestRecordImportService harvestRecordImportService;
+
+  @Autowired
+  public HarvestRecordBulkApiController(HarvestRecordImportService harvestRecordImportService) {
+    this.harvestRecordImportService = harvestRecordImportService;
+  }
+
+  /**
+   * JSON配列形式の収穫記録を一括取り込み
+   * @param request HTTPリクエスト（本文は収穫記録DTOのJSON配列）
+   * @return 取り込み結果（本文がJSON配列で始まらない場合は400、途中の構文エラーは行のエラーとして返す）
+   * @throws IOException 本文の読み込みに失敗した場合
+   */
+  @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BulkImportResult> importJson(HttpServletRequest request) throws IOException {
+    try {
+      return ResponseEntity.ok(harvestRecordImportService.importJson(request.getInputStream()));
+    } catch (IllegalArgumentException | JsonProcessingException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * CSV形式の収穫記録を一括取り込み
+   * @param request HTTPリクエスト（本文はヘッダー行付きのCSV）
+   * @return 取り込み結果
+   * @throws IOException 本文の読み込みに失敗した場合
+   */
+  @PostMapping(consumes = "text/csv")
+  public ResponseEntity<BulkImportResult> importCsv(HttpServletRequest request) throws IOException {
+    try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+      return ResponseEntity.ok(harvestRecordImportService.importCsv(reader));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.SearchResultDto;
+import com.teafarmops.entities.SearchDocumentType;
+import com.teafarmops.services.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 全文検索REST APIコントローラー
+ * フィールド・作業・収穫記録・天候観測を横断して検索する
+ */
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchApiController {
+
+  private final SearchIndexService searchIndexService;
+
+  @Autowired
+  public SearchApiController(SearchIndexService searchIndexService) {
+    this.searchIndexService = searchIndexService;
+  }
+
+  /**
+   * 全文検索
+   * @param q 検索語（空白で区切った語をすべて含む文書を検索）
+   * @param types 検索対象の種別（FIELD, TASK, HARVEST_RECORD, WEATHER_OBSERVATION のカンマ区切り、省略時は全種別）
+   * @param fieldId フィールドID（省略時は全フィールド）
+   * @param limit 最大件数（省略時は20件、上限100件）
+   * @return 関連度の高い順の検索結果
+   */
+  @GetMapping
+  public ResponseEntity<List<SearchResultDto>> search(
+      @RequestParam String q,
+      @RequestParam(required = false) String types,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) Integer limit) {
+    try {
+      return ResponseEntity.ok(searchIndexService.search(q, parseTypes(types), fieldId, limit));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  private static Set<SearchDocumentType> parseTypes(String types) {
+    Set<SearchDocumentType> parsed = EnumSet.noneOf(SearchDocumentType.class);
+    if (types != null) {
+      for (String name : types.split(",")) {
+        String trimmed = name.trim().toUpperCase().replace('-', '_');
+        if (!trimmed.isEmpty()) {
+          parsed.add(SearchDocumentType.valueOf(trimmed));
+        }
+      }
+    }
+    return parsed;
+  }
+}
@@ -0,0 +1,59 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.SensorReadingDto;
+import com.teafarmops.services.SensorIngestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * センサー計測値REST APIコントローラー
+ * フィールドごとのセンサーゲートウェイから計測値をまとめて受け付ける
+ */
+@RestController
+@RequestMapping("/api/fields/{fieldId}/sensor-readings")
+@CrossOrigin(origins = "*")
+public class SensorReadingApiController {
+
+  private final SensorIngestionService sensorIngestionService;
+
+  @Autowired
+  public SensorReadingApiController(SensorIngestionService sensorIngestionService) {
+    this.sensorIngestionService = sensorIngestionService;
+  }
+
+  /**
+   * センサー計測値をまとめて受け付け
+   * 書き込みは非同期に行われるため、受け付け時点では202を返す
+   * バッファが満杯の場合は429とRetry-Afterを返す（送信分は1件も受け付けない）
+   * @param fieldId フィールドID
+   * @param readings センサー計測値
+   * @return 受け付け結果
+   */
+  @PostMapping
+  public ResponseEntity<Void> ingestReadings(@PathVariable Long fieldId,
+                                             @RequestBody List<SensorReadingDto> readings) {
+    SensorIngestionService.Result result;
+    try {
+      result = sensorIngestionService.accept(fieldId, readings);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    switch (result) {
+      case ACCEPTED:
+        return ResponseEntity.accepted().build();
+      case UNKNOWN_FIELD:
+        return ResponseEntity.notFound().build();
+      default:
+        long retryAfterSeconds = Math.max(1, (sensorIngestionService.getFlushIntervalMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .build();
+    }
+  }
+}
@@ -1,15 +1,20 @@
 package com.teafarmops.controllers;
 
+import com.teafarmops.dto.CursorPage;
 import com.teafarmops.dto.TaskDto;
 import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.services.FieldCatalog;
 import com.teafarmops.services.TaskService;
+import com.teafarmops.utils.DateUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * タスクREST APIコントローラー
@@ -21,10 +26,13 @@ import java.util.stream.Collectors;
 public class TaskApiController {
 
   private final TaskService taskService;
+  private final FieldCatalog fieldCatalog;
 
   @Autowired
-  public TaskApiController(TaskService taskService) {
+  public TaskApiController(TaskService taskService,
+                           FieldCatalog fieldCatalog) {
     this.taskService = taskService;
+    this.fieldCatalog = fieldCatalog;
   }
 
   /**
@@ -32,23 +40,67 @@ public class TaskApiController {
    * @param taskType タスクタイプ（検索用）
    * @param status ステータス（検索用）
    * @param assignedWorker 担当者（検索用）
+   * @param fieldId フィールドID（検索用）
+   * @param startDate 開始日の下限（検索用）
+   * @param endDate 終了日の上限（検索用）
    * @return タスク一覧
    */
   @GetMapping
   public ResponseEntity<List<TaskDto>> getTasks(
       @RequestParam(required = false) String taskType,
       @RequestParam(required = false) String status,
-      @RequestParam(required = false) String assignedWorker) {
+      @RequestParam(required = false) String assignedWorker,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) String startDate,
+      @RequestParam(required = false) String endDate) {
     
-    List<Task> tasks = taskService.getAllTasks();
-    
-    List<TaskDto> taskDtos = tasks.stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    List<TaskDto> taskDtos;
+    try {
+      taskDtos = taskService.searchTaskDtos(
+          parseEnum(TaskType.class, taskType), parseEnum(TaskStatus.class, status), assignedWorker,
+          fieldId, DateUtils.parseDate(startDate), DateUtils.parseDate(endDate));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
     
     return ResponseEntity.ok(taskDtos);
   }
 
+  /**
+   * タスクをキーセットページネーションで取得
+   * @param taskType タスクタイプ（検索用）
+   * @param status ステータス（検索用）
+   * @param assignedWorker 担当者（検索用）
+   * @param fieldId フィールドID（検索用）
+   * @param startDate 開始日の下限（検索用）
+   * @param endDate 終了日の上限（検索用）
+   * @param cursor 前ページの継続トークン
+   * @param limit ページサイズ
+   * @return タスクページ
+   */
+  @GetMapping("/page")
+  public ResponseEntity<CursorPage<TaskDto>> getTaskPage(
+      @RequestParam(required = false) String taskType,
+      @RequestParam(required = false) String status,
+      @RequestParam(required = false) String assignedWorker,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) String startDate,
+      @RequestParam(required = false) String endDate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+
+    CursorPage<TaskDto> page;
+    try {
+      page = taskService.searchTaskPage(
+          parseEnum(TaskType.class, taskType), parseEnum(TaskStatus.class, status), assignedWorker,
+          fieldId, DateUtils.parseDate(startDate), DateUtils.parseDate(endDate), cursor, limit);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    return ResponseEntity.ok(page);
+  }
+
   /**
    * タスク詳細を取得
    * @param id タスクID
@@ -107,6 +159,21 @@ public class TaskApiController {
     }
   }
 
+  /**
+   * 列挙型のリクエストパラメータを変換
+   * @param type 列挙型
+   * @param value パラメータ値
+   * @param <E> 列挙型
+   * @return 列挙値（未指定の場合はnull）
+   * @throws IllegalArgumentException 不正な値の場合
+   */
+  private <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return null;
+    }
+    return Enum.valueOf(type, value.trim().toUpperCase());
+  }
+
   /**
    * TaskDtoをTaskエンティティに変換
    * @param taskDto DTO
@@ -147,7 +214,8 @@ public class TaskApiController {
     
     if (task.getField() != null) {
       dto.setFieldId(task.getField().getId());
-      dto.setFieldName(task.getField().getName());
+      // フィールド名はカタログから引き、フィールドを読み込まない
+      dto.setFieldName(fieldCatalog.getName(task.getField().getId()));
     }
     
     return dto;
@@ -0,0 +1,85 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.TaskOverlapDto;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.services.TaskCalendar;
+import com.teafarmops.utils.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * タスクカレンダーREST APIコントローラー
+ * 期間中に実施中のタスクと、同じ担当者で期間が重なるタスクを提供
+ */
+@RestController
+@RequestMapping("/api/tasks/calendar")
+@CrossOrigin(origins = "*")
+public class TaskCalendarApiController {
+
+  private final TaskCalendar taskCalendar;
+
+  @Autowired
+  public TaskCalendarApiController(TaskCalendar taskCalendar) {
+    this.taskCalendar = taskCalendar;
+  }
+
+  /**
+   * 期間中に実施中のタスクを取得（期間より前に開始し期間中も続くタスクを含む）
+   * @param startDate 期間の開始日
+   * @param endDate 期間の終了日（この日を含む）
+   * @param fieldId フィールドID（省略時は全フィールド）
+   * @param worker 担当者名（完全一致、省略時は全担当者）
+   * @param status ステータス（省略時は全ステータス）
+   * @return タスク一覧（開始日順）
+   */
+  @GetMapping
+  public ResponseEntity<List<TaskDto>> getActiveTasks(
+      @RequestParam String startDate,
+      @RequestParam String endDate,
+      @RequestParam(required = false) Long fieldId,
+      @RequestParam(required = false) String worker,
+      @RequestParam(required = false) String status) {
+    try {
+      LocalDate start = DateUtils.parseDate(startDate);
+      LocalDate end = DateUtils.parseDate(endDate);
+      if (start == null || end == null || end.isBefore(start)) {
+        return ResponseEntity.badRequest().build();
+      }
+      TaskStatus taskStatus = status == null || status.trim().isEmpty()
+          ? null : TaskStatus.valueOf(status.trim().toUpperCase());
+      return ResponseEntity.ok(taskCalendar.findActive(start, end, fieldId, worker, taskStatus));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * 同じ担当者で期間が重なる未完了のタスクを取得
+   * @param startDate 期間の開始日
+   * @param endDate 期間の終了日（この日を含む）
+   * @param worker 担当者名（完全一致、省略時は全担当者）
+   * @return タスクの重なり一覧
+   */
+  @GetMapping("/overlaps")
+  public ResponseEntity<List<TaskOverlapDto>> getOverlaps(
+      @RequestParam String startDate,
+      @RequestParam String endDate,
+      @RequestParam(required = false) String worker) {
+    try {
+      LocalDate start = DateUtils.parseDate(startDate);
+      LocalDate end = DateUtils.parseDate(endDate);
+      if (start == null || end == null || end.isBefore(start)) {
+        return ResponseEntity.badRequest().build();
+      }
+      return ResponseEntity.ok(taskCalendar.findOverlaps(start, end, worker));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
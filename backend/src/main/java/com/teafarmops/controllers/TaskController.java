@@ -3,6 +3,7 @@ package com.teafarmops.controllers;
 import com.teafarmops.entities.Field;
 import com.teafarmops.entities.Task;
 import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
 import com.teafarmops.services.FieldService;
 import com.teafarmops.services.TaskService;
 import jakarta.validation.Valid;
@@ -164,21 +165,11 @@ public class TaskController {
    * @return ビュー名
    */
   @GetMapping("/search")
-  public String searchTasks(@RequestParam(required = false) String taskType,
+  public String searchTasks(@RequestParam(required = false) TaskType taskType,
                            @RequestParam(required = false) TaskStatus status,
                            @RequestParam(required = false) String assignedWorker,
                            Model model) {
-    List<Task> tasks;
-    
-    if (taskType != null && !taskType.trim().isEmpty()) {
-      tasks = taskService.getTasksByType(taskType);
-    } else if (status != null) {
-      tasks = taskService.getTasksByStatus(status);
-    } else if (assignedWorker != null && !assignedWorker.trim().isEmpty()) {
-      tasks = taskService.getTasksByWorker(assignedWorker);
-    } else {
-      tasks = taskService.getAllTasks();
-    }
+    List<Task> tasks = taskService.searchTasks(taskType, status, assignedWorker, null, null, null);
     
     model.addAttribute("tasks", tasks);
     model.addAttribute("taskStatuses", TaskStatus.values());
@@ -0,0 +1,62 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.TaskSchedulePlan;
+import com.teafarmops.dto.TaskScheduleRequest;
+import com.teafarmops.services.TaskSchedulingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * タスク割り当てREST APIコントローラー
+ * 割り当て計画のプレビューと適用のエンドポイント
+ */
+@RestController
+@RequestMapping("/api/tasks/schedule")
+@CrossOrigin(origins = "*")
+public class TaskScheduleApiController {
+
+  private final TaskSchedulingService taskSchedulingService;
+
+  @Autowired
+  public TaskScheduleApiController(TaskSchedulingService taskSchedulingService) {
+    this.taskSchedulingService = taskSchedulingService;
+  }
+
+  /**
+   * 割り当て計画を作成（データは変更しない）
+   * @param request 作成条件（対象期間、作業者の技能・勤務可能日、現在の担当者を維持するか）
+   * @return 割り当て計画
+   */
+  @PostMapping("/preview")
+  public ResponseEntity<TaskSchedulePlan> preview(@Valid @RequestBody TaskScheduleRequest request) {
+    try {
+      return ResponseEntity.ok(taskSchedulingService.preview(request));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * 割り当て計画を適用
+   * プレビューで得た計画をそのまま送る（担当者が変わるタスクだけを更新する）
+   * @param plan 割り当て計画
+   * @return 更新したタスク（計画の作成後の変更で適用できない場合や、同時の適用とのロック競合時は409）
+   */
+  @PostMapping("/apply")
+  public ResponseEntity<List<TaskDto>> apply(@RequestBody TaskSchedulePlan plan) {
+    try {
+      return ResponseEntity.ok(taskSchedulingService.apply(plan.getAssignments()));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    } catch (IllegalStateException | PessimisticLockingFailureException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+  }
+}
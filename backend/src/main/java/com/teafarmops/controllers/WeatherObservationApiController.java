@@ -2,14 +2,16 @@ package com.teafarmops.controllers;
 
 import com.teafarmops.dto.WeatherObservationDto;
 import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.services.FieldCatalog;
 import com.teafarmops.services.WeatherObservationService;
+import com.teafarmops.utils.DateUtils;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 天候観測REST APIコントローラー
@@ -21,10 +23,13 @@ import java.util.stream.Collectors;
 public class WeatherObservationApiController {
 
   private final WeatherObservationService weatherObservationService;
+  private final FieldCatalog fieldCatalog;
 
   @Autowired
-  public WeatherObservationApiController(WeatherObservationService weatherObservationService) {
+  public WeatherObservationApiController(WeatherObservationService weatherObservationService,
+                                         FieldCatalog fieldCatalog) {
     this.weatherObservationService = weatherObservationService;
+    this.fieldCatalog = fieldCatalog;
   }
 
   /**
@@ -32,7 +37,7 @@ public class WeatherObservationApiController {
    * @param startDate 開始日（検索用）
    * @param endDate 終了日（検索用）
    * @param fieldId フィールドID（検索用）
-   * @return 天候観測一覧
+   * @return 天候観測一覧（日付の形式が不正な場合は400）
    */
   @GetMapping
   public ResponseEntity<List<WeatherObservationDto>> getWeatherObservations(
@@ -40,11 +45,13 @@ public class WeatherObservationApiController {
       @RequestParam(required = false) String endDate,
       @RequestParam(required = false) Long fieldId) {
     
-    List<WeatherObservation> observations = weatherObservationService.getAllWeatherObservations();
-    
-    List<WeatherObservationDto> observationDtos = observations.stream()
-        .map(this::convertToDto)
-        .collect(Collectors.toList());
+    List<WeatherObservationDto> observationDtos;
+    try {
+      observationDtos = weatherObservationService.searchWeatherObservationDtos(
+          DateUtils.parseDate(startDate), DateUtils.parseDate(endDate), fieldId);
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
     
     return ResponseEntity.ok(observationDtos);
   }
@@ -147,7 +154,8 @@ public class WeatherObservationApiController {
     
     if (observation.getField() != null) {
       dto.setFieldId(observation.getField().getId());
-      dto.setFieldName(observation.getField().getName());
+      // フィールド名はカタログから引き、フィールドを読み込まない
+      dto.setFieldName(fieldCatalog.getName(observation.getField().getId()));
     }
     
     return dto;
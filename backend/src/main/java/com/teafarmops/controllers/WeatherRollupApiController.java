@@ -0,0 +1,82 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.WeatherRollupDto;
+import com.teafarmops.entities.RollupGranularity;
+import com.teafarmops.services.WeatherRollupService;
+import com.teafarmops.utils.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 天候集計REST APIコントローラー
+ * 期間の天候統計とトレンドグラフ用の時系列を提供
+ */
+@RestController
+@RequestMapping("/api/weather-rollups")
+@CrossOrigin(origins = "*")
+public class WeatherRollupApiController {
+
+  private final WeatherRollupService weatherRollupService;
+
+  @Autowired
+  public WeatherRollupApiController(WeatherRollupService weatherRollupService) {
+    this.weatherRollupService = weatherRollupService;
+  }
+
+  /**
+   * 期間の天候統計を取得
+   * @param startDate 開始日
+   * @param endDate 終了日（この日を含む）
+   * @param fieldId フィールドID（省略時は全フィールド）
+   * @return 天候統計
+   */
+  @GetMapping("/summary")
+  public ResponseEntity<WeatherRollupDto> getSummary(
+      @RequestParam String startDate,
+      @RequestParam String endDate,
+      @RequestParam(required = false) Long fieldId) {
+    try {
+      LocalDate start = DateUtils.parseDate(startDate);
+      LocalDate end = DateUtils.parseDate(endDate);
+      if (start == null || end == null || end.isBefore(start)) {
+        return ResponseEntity.badRequest().build();
+      }
+      return ResponseEntity.ok(weatherRollupService.summarize(fieldId, start, end));
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * 天候統計の時系列を取得
+   * @param granularity 時間粒度（HOURLY, DAILY, MONTHLY）
+   * @param startDate 開始日
+   * @param endDate 終了日（この日を含む）
+   * @param fieldId フィールドID（省略時は全フィールド）
+   * @return バケットごとの天候統計
+   */
+  @GetMapping("/series")
+  public ResponseEntity<List<WeatherRollupDto>> getSeries(
+      @RequestParam(defaultValue = "DAILY") String granularity,
+      @RequestParam String startDate,
+      @RequestParam String endDate,
+      @RequestParam(required = false) Long fieldId) {
+    try {
+      RollupGranularity rollupGranularity = RollupGranularity.valueOf(granularity.trim().toUpperCase());
+      LocalDate start = DateUtils.parseDate(startDate);
+      LocalDate end = DateUtils.parseDate(endDate);
+      if (start == null || end == null || end.isBefore(start)) {
+        return ResponseEntity.badRequest().build();
+      }
+      return ResponseEntity.ok(weatherRollupService.getSeries(
+          fieldId, rollupGranularity, start.atStartOfDay(), end.plusDays(1).atStartOfDay()));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.teafarmops.controllers;
+
+import com.teafarmops.dto.FieldYieldDto;
+import com.teafarmops.services.YieldAnalyticsService;
+import com.teafarmops.services.YieldAnalyticsService.SeasonYield;
+import com.teafarmops.utils.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * 収量分析REST APIコントローラー
+ * フィールドごとの面積あたり収穫量を提供（内容が変わらなければIf-None-Matchに304を返す）
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class YieldAnalyticsApiController {
+
+  private final YieldAnalyticsService yieldAnalyticsService;
+
+  @Autowired
+  public YieldAnalyticsApiController(YieldAnalyticsService yieldAnalyticsService) {
+    this.yieldAnalyticsService = yieldAnalyticsService;
+  }
+
+  /**
+   * 季節のフィールド別面積あたり収穫量を取得
+   * @param season 季節に含まれる日付（省略時は今日）
+   * @return 面積あたり収穫量の降順のフィールド別収量
+   */
+  @GetMapping("/yield-per-hectare")
+  public ResponseEntity<List<FieldYieldDto>> getYieldPerHectare(@RequestParam(required = false) String season) {
+    try {
+      LocalDate date = DateUtils.parseDate(season);
+      SeasonYield yield = yieldAnalyticsService.getSeasonYield(date != null ? date : LocalDate.now());
+      // ETagが一致する場合は本文を返さずに304になる
+      return ResponseEntity.ok()
+          .eTag(yield.getETag())
+          .cacheControl(CacheControl.noCache())
+          .body(yield.getFields());
+    } catch (DateTimeParseException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+}
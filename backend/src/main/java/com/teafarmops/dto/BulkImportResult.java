@@ -0,0 +1,95 @@
+package com.teafarmops.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一括取り込み結果DTO
+ * 取り込み件数と行ごとのエラーを保持
+ */
+public class BulkImportResult {
+
+  private long received;
+  private long imported;
+  private long failed;
+  private boolean errorsTruncated;
+  private List<RowError> errors = new ArrayList<>();
+
+  // デフォルトコンストラクタ
+  public BulkImportResult() {}
+
+  // Getter and Setter methods
+  public long getReceived() {
+    return received;
+  }
+
+  public void setReceived(long received) {
+    this.received = received;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public void setImported(long imported) {
+    this.imported = imported;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public void setFailed(long failed) {
+    this.failed = failed;
+  }
+
+  public boolean isErrorsTruncated() {
+    return errorsTruncated;
+  }
+
+  public void setErrorsTruncated(boolean errorsTruncated) {
+    this.errorsTruncated = errorsTruncated;
+  }
+
+  public List<RowError> getErrors() {
+    return errors;
+  }
+
+  public void setErrors(List<RowError> errors) {
+    this.errors = errors;
+  }
+
+  /**
+   * 行エラー
+   */
+  public static class RowError {
+
+    private long row;
+    private String message;
+
+    // デフォルトコンストラクタ
+    public RowError() {}
+
+    // コンストラクタ
+    public RowError(long row, String message) {
+      this.row = row;
+      this.message = message;
+    }
+
+    public long getRow() {
+      return row;
+    }
+
+    public void setRow(long row) {
+      this.row = row;
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public void setMessage(String message) {
+      this.message = message;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.teafarmops.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * カーソルページDTO
+ * キーセットページネーションの結果と継続トークンを保持
+ * @param <T> 要素の型
+ */
+public class CursorPage<T> {
+
+  /**
+   * ページサイズの既定値
+   */
+  public static final int DEFAULT_PAGE_SIZE = 50;
+
+  /**
+   * ページサイズの上限
+   */
+  public static final int MAX_PAGE_SIZE = 500;
+
+  private List<T> items;
+  private String nextCursor;
+  private boolean hasNext;
+
+  // デフォルトコンストラクタ
+  public CursorPage() {}
+
+  // コンストラクタ
+  public CursorPage(List<T> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+    this.hasNext = nextCursor != null;
+  }
+
+  /**
+   * 1件多く取得した行からページを組み立てる
+   * @param rows pageSize + 1件を上限に取得した行
+   * @param pageSize ページサイズ
+   * @param cursorOf 行から継続トークンを生成する関数
+   * @param <T> 要素の型
+   * @return ページ
+   */
+  public static <T> CursorPage<T> fromLookahead(List<T> rows, int pageSize,
+                                                Function<? super T, String> cursorOf) {
+    if (rows.size() <= pageSize) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, pageSize);
+    return new CursorPage<>(items, cursorOf.apply(items.get(pageSize - 1)));
+  }
+
+  /**
+   * ページサイズを既定値と上限の範囲に正規化
+   * @param limit 要求されたページサイズ
+   * @return 正規化されたページサイズ
+   */
+  public static int normalizePageSize(Integer limit) {
+    if (limit == null || limit <= 0) {
+      return DEFAULT_PAGE_SIZE;
+    }
+    return Math.min(limit, MAX_PAGE_SIZE);
+  }
+
+  /**
+   * 要素を変換した新しいページを返す
+   * @param mapper 変換関数
+   * @param <R> 変換後の型
+   * @return 変換後のページ
+   */
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    List<R> mapped = items.stream()
+        .map(mapper)
+        .collect(Collectors.toList());
+    return new CursorPage<>(mapped, nextCursor);
+  }
+
+  // Getter and Setter methods
+  public List<T> getItems() {
+    return items;
+  }
+
+  public void setItems(List<T> items) {
+    this.items = items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  public boolean isHasNext() {
+    return hasNext;
+  }
+
+  public void setHasNext(boolean hasNext) {
+    this.hasNext = hasNext;
+  }
+}
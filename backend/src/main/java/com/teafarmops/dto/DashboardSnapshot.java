@@ -0,0 +1,108 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.TeaGrade;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * ダッシュボードスナップショット
+ * ダッシュボード表示に必要な集計値を一括で保持する不変オブジェクト
+ */
+public final class DashboardSnapshot {
+
+  private final YearMonth month;
+  private final Long totalFields;
+  private final Double totalArea;
+  private final Long completedTasks;
+  private final Long inProgressTasks;
+  private final Long pendingTasks;
+  private final Double totalHarvest;
+  private final Double monthlyHarvest;
+  private final Double averageTemperature;
+  private final Double totalRainfall;
+  private final Double averageHumidity;
+  private final Map<TeaGrade, Double> harvestByGrade;
+  private final boolean partial;
+
+  // コンストラクタ
+  public DashboardSnapshot(YearMonth month, Long totalFields, Double totalArea,
+                           Long completedTasks, Long inProgressTasks, Long pendingTasks,
+                           Double totalHarvest, Double monthlyHarvest,
+                           Double averageTemperature, Double totalRainfall, Double averageHumidity,
+                           Map<TeaGrade, Double> harvestByGrade, boolean partial) {
+    this.month = month;
+    this.totalFields = totalFields;
+    this.totalArea = totalArea;
+    this.completedTasks = completedTasks;
+    this.inProgressTasks = inProgressTasks;
+    this.pendingTasks = pendingTasks;
+    this.totalHarvest = totalHarvest;
+    this.monthlyHarvest = monthlyHarvest;
+    this.averageTemperature = averageTemperature;
+    this.totalRainfall = totalRainfall;
+    this.averageHumidity = averageHumidity;
+    this.harvestByGrade = harvestByGrade.isEmpty()
+        ? Collections.emptyMap()
+        : Collections.unmodifiableMap(new EnumMap<>(harvestByGrade));
+    this.partial = partial;
+  }
+
+  // Getter methods
+  public YearMonth getMonth() {
+    return month;
+  }
+
+  public Long getTotalFields() {
+    return totalFields;
+  }
+
+  public Double getTotalArea() {
+    return totalArea;
+  }
+
+  public Long getCompletedTasks() {
+    return completedTasks;
+  }
+
+  public Long getInProgressTasks() {
+    return inProgressTasks;
+  }
+
+  public Long getPendingTasks() {
+    return pendingTasks;
+  }
+
+  public Double getTotalHarvest() {
+    return totalHarvest;
+  }
+
+  public Double getMonthlyHarvest() {
+    return monthlyHarvest;
+  }
+
+  public Double getAverageTemperature() {
+    return averageTemperature;
+  }
+
+  public Double getTotalRainfall() {
+    return totalRainfall;
+  }
+
+  public Double getAverageHumidity() {
+    return averageHumidity;
+  }
+
+  public Map<TeaGrade, Double> getHarvestByGrade() {
+    return harvestByGrade;
+  }
+
+  /**
+   * 時間内に得られなかった集計を前回の値（なければnull）で補ったかどうか
+   * @return 一部の集計が欠けている場合はtrue
+   */
+  public boolean isPartial() {
+    return partial;
+  }
+}
@@ -0,0 +1,108 @@
+package com.teafarmops.dto;
+
+import java.time.LocalDate;
+
+/**
+ * フィールド収量DTO
+ * 季節ごとのフィールドの面積あたり収穫量（kg/ha）と前年同季節との差、フィールド間の順位
+ */
+public class FieldYieldDto {
+
+  private Long fieldId;
+  private String fieldName;
+  private LocalDate season;
+  private Double areaSize;
+  private double harvestKg;
+  private double yieldPerHectare;
+  private Double previousYieldPerHectare;
+  private int rank;
+
+  // デフォルトコンストラクタ
+  public FieldYieldDto() {}
+
+  // コンストラクタ
+  public FieldYieldDto(Long fieldId, String fieldName, LocalDate season, Double areaSize, double harvestKg,
+                       double yieldPerHectare, Double previousYieldPerHectare, int rank) {
+    this.fieldId = fieldId;
+    this.fieldName = fieldName;
+    this.season = season;
+    this.areaSize = areaSize;
+    this.harvestKg = harvestKg;
+    this.yieldPerHectare = yieldPerHectare;
+    this.previousYieldPerHectare = previousYieldPerHectare;
+    this.rank = rank;
+  }
+
+  // Getter and Setter methods
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public void setFieldId(Long fieldId) {
+    this.fieldId = fieldId;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public void setFieldName(String fieldName) {
+    this.fieldName = fieldName;
+  }
+
+  public LocalDate getSeason() {
+    return season;
+  }
+
+  public void setSeason(LocalDate season) {
+    this.season = season;
+  }
+
+  public Double getAreaSize() {
+    return areaSize;
+  }
+
+  public void setAreaSize(Double areaSize) {
+    this.areaSize = areaSize;
+  }
+
+  public double getHarvestKg() {
+    return harvestKg;
+  }
+
+  public void setHarvestKg(double harvestKg) {
+    this.harvestKg = harvestKg;
+  }
+
+  public double getYieldPerHectare() {
+    return yieldPerHectare;
+  }
+
+  public void setYieldPerHectare(double yieldPerHectare) {
+    this.yieldPerHectare = yieldPerHectare;
+  }
+
+  public Double getPreviousYieldPerHectare() {
+    return previousYieldPerHectare;
+  }
+
+  public void setPreviousYieldPerHectare(Double previousYieldPerHectare) {
+    this.previousYieldPerHectare = previousYieldPerHectare;
+  }
+
+  public int getRank() {
+    return rank;
+  }
+
+  public void setRank(int rank) {
+    this.rank = rank;
+  }
+
+  /**
+   * 前年同季節からの収量の増減を取得
+   * @return 増減（kg/ha、前年同季節に収穫がない場合はnull）
+   */
+  public Double getYieldChange() {
+    return previousYieldPerHectare == null ? null : yieldPerHectare - previousYieldPerHectare;
+  }
+}
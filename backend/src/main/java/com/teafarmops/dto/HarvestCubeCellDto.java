@@ -0,0 +1,112 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.HarvestPeriod;
+import com.teafarmops.entities.TeaGrade;
+
+import java.time.LocalDate;
+
+/**
+ * 収穫集計セルDTO
+ * 集計の単位（フィールド・茶葉グレード・期間）ごとの収穫量の統計値
+ * 集計の単位に含めなかった軸の値はnull
+ */
+public class HarvestCubeCellDto {
+
+  private Long fieldId;
+  private TeaGrade teaGrade;
+  private HarvestPeriod period;
+  private LocalDate periodStart;
+  private double totalKg;
+  private long recordCount;
+  private Double minKg;
+  private Double maxKg;
+
+  // デフォルトコンストラクタ
+  public HarvestCubeCellDto() {}
+
+  // コンストラクタ
+  public HarvestCubeCellDto(Long fieldId, TeaGrade teaGrade, HarvestPeriod period, LocalDate periodStart,
+                            double totalKg, long recordCount, Double minKg, Double maxKg) {
+    this.fieldId = fieldId;
+    this.teaGrade = teaGrade;
+    this.period = period;
+    this.periodStart = periodStart;
+    this.totalKg = totalKg;
+    this.recordCount = recordCount;
+    this.minKg = minKg;
+    this.maxKg = maxKg;
+  }
+
+  // Getter and Setter methods
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public void setFieldId(Long fieldId) {
+    this.fieldId = fieldId;
+  }
+
+  public TeaGrade getTeaGrade() {
+    return teaGrade;
+  }
+
+  public void setTeaGrade(TeaGrade teaGrade) {
+    this.teaGrade = teaGrade;
+  }
+
+  public HarvestPeriod getPeriod() {
+    return period;
+  }
+
+  public void setPeriod(HarvestPeriod period) {
+    this.period = period;
+  }
+
+  public LocalDate getPeriodStart() {
+    return periodStart;
+  }
+
+  public void setPeriodStart(LocalDate periodStart) {
+    this.periodStart = periodStart;
+  }
+
+  public double getTotalKg() {
+    return totalKg;
+  }
+
+  public void setTotalKg(double totalKg) {
+    this.totalKg = totalKg;
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  public Double getMinKg() {
+    return minKg;
+  }
+
+  public void setMinKg(Double minKg) {
+    this.minKg = minKg;
+  }
+
+  public Double getMaxKg() {
+    return maxKg;
+  }
+
+  public void setMaxKg(Double maxKg) {
+    this.maxKg = maxKg;
+  }
+
+  /**
+   * 1件あたりの平均収穫量を取得
+   * @return 平均収穫量（件数が0の場合はnull）
+   */
+  public Double getAverageKg() {
+    return recordCount == 0 ? null : totalKg / recordCount;
+  }
+}
@@ -0,0 +1,92 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.SearchDocumentType;
+
+import java.util.List;
+
+/**
+ * 検索結果DTO
+ * 一致した文書の種別・ID・関連度と、一致箇所を <mark> で囲んだ抜粋
+ */
+public class SearchResultDto {
+
+  private SearchDocumentType type;
+  private Long id;
+  private Long fieldId;
+  private String fieldName;
+  private String title;
+  private double score;
+  private List<String> highlights;
+
+  // デフォルトコンストラクタ
+  public SearchResultDto() {}
+
+  // コンストラクタ
+  public SearchResultDto(SearchDocumentType type, Long id, Long fieldId, String fieldName, String title,
+                         double score, List<String> highlights) {
+    this.type = type;
+    this.id = id;
+    this.fieldId = fieldId;
+    this.fieldName = fieldName;
+    this.title = title;
+    this.score = score;
+    this.highlights = highlights;
+  }
+
+  // Getter and Setter methods
+  public SearchDocumentType getType() {
+    return type;
+  }
+
+  public void setType(SearchDocumentType type) {
+    this.type = type;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public void setFieldId(Long fieldId) {
+    this.fieldId = fieldId;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public void setFieldName(String fieldName) {
+    this.fieldName = fieldName;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public void setScore(double score) {
+    this.score = score;
+  }
+
+  public List<String> getHighlights() {
+    return highlights;
+  }
+
+  public void setHighlights(List<String> highlights) {
+    this.highlights = highlights;
+  }
+}
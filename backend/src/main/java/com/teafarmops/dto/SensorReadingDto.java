@@ -0,0 +1,64 @@
+package com.teafarmops.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * センサー計測値DTO
+ * センサーゲートウェイからの送信用のデータ転送オブジェクト
+ */
+public class SensorReadingDto {
+
+  @NotNull(message = "計測日時は必須です")
+  private LocalDateTime recordedAt;
+
+  private Double temperature;
+  private Double humidity;
+  private Double rainfall;
+
+  // デフォルトコンストラクタ
+  public SensorReadingDto() {}
+
+  // コンストラクタ
+  public SensorReadingDto(LocalDateTime recordedAt, Double temperature,
+                          Double humidity, Double rainfall) {
+    this.recordedAt = recordedAt;
+    this.temperature = temperature;
+    this.humidity = humidity;
+    this.rainfall = rainfall;
+  }
+
+  // Getter and Setter methods
+  public LocalDateTime getRecordedAt() {
+    return recordedAt;
+  }
+
+  public void setRecordedAt(LocalDateTime recordedAt) {
+    this.recordedAt = recordedAt;
+  }
+
+  public Double getTemperature() {
+    return temperature;
+  }
+
+  public void setTemperature(Double temperature) {
+    this.temperature = temperature;
+  }
+
+  public Double getHumidity() {
+    return humidity;
+  }
+
+  public void setHumidity(Double humidity) {
+    this.humidity = humidity;
+  }
+
+  public Double getRainfall() {
+    return rainfall;
+  }
+
+  public void setRainfall(Double rainfall) {
+    this.rainfall = rainfall;
+  }
+}
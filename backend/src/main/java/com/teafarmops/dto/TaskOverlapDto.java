@@ -0,0 +1,70 @@
+package com.teafarmops.dto;
+
+import java.time.LocalDate;
+
+/**
+ * タスクの重なりDTO
+ * 同じ担当者の2つのタスクと、期間が重なる日付範囲を保持
+ */
+public class TaskOverlapDto {
+
+  private String worker;
+  private TaskDto first;
+  private TaskDto second;
+  private LocalDate overlapStart;
+  private LocalDate overlapEnd;
+
+  // デフォルトコンストラクタ
+  public TaskOverlapDto() {}
+
+  // コンストラクタ
+  public TaskOverlapDto(String worker, TaskDto first, TaskDto second, LocalDate overlapStart,
+                        LocalDate overlapEnd) {
+    this.worker = worker;
+    this.first = first;
+    this.second = second;
+    this.overlapStart = overlapStart;
+    this.overlapEnd = overlapEnd;
+  }
+
+  // Getter and Setter methods
+  public String getWorker() {
+    return worker;
+  }
+
+  public void setWorker(String worker) {
+    this.worker = worker;
+  }
+
+  public TaskDto getFirst() {
+    return first;
+  }
+
+  public void setFirst(TaskDto first) {
+    this.first = first;
+  }
+
+  public TaskDto getSecond() {
+    return second;
+  }
+
+  public void setSecond(TaskDto second) {
+    this.second = second;
+  }
+
+  public LocalDate getOverlapStart() {
+    return overlapStart;
+  }
+
+  public void setOverlapStart(LocalDate overlapStart) {
+    this.overlapStart = overlapStart;
+  }
+
+  public LocalDate getOverlapEnd() {
+    return overlapEnd;
+  }
+
+  public void setOverlapEnd(LocalDate overlapEnd) {
+    this.overlapEnd = overlapEnd;
+  }
+}
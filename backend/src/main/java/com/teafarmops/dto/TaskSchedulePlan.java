@@ -0,0 +1,310 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.TaskType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * タスク割り当て計画DTO
+ * 割り当て結果と割り当てられなかったタスク、移動コストなどの評価値を保持
+ * 適用時は割り当て（taskId・previousWorker・worker）だけを使う
+ */
+public class TaskSchedulePlan {
+
+  /**
+   * 割り当てられなかった理由
+   */
+  public enum UnassignedReason {
+    NO_SKILLED_WORKER("技能を持つ作業者がいない"),
+    NOT_AVAILABLE("期間中に勤務できる作業者がいない"),
+    CONFLICT("勤務できる作業者の予定がすべて重なっている");
+
+    private final String displayName;
+
+    UnassignedReason(String displayName) {
+      this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+      return displayName;
+    }
+  }
+
+  private List<Assignment> assignments = new ArrayList<>();
+  private List<Unassigned> unassigned = new ArrayList<>();
+  private int changedCount;
+  private long travelCost;
+  private long previousTravelCost;
+  private int previousConflicts;
+  private boolean timedOut;
+  private long elapsedMillis;
+
+  // デフォルトコンストラクタ
+  public TaskSchedulePlan() {}
+
+  // Getter and Setter methods
+  public List<Assignment> getAssignments() {
+    return assignments;
+  }
+
+  public void setAssignments(List<Assignment> assignments) {
+    this.assignments = assignments;
+  }
+
+  public List<Unassigned> getUnassigned() {
+    return unassigned;
+  }
+
+  public void setUnassigned(List<Unassigned> unassigned) {
+    this.unassigned = unassigned;
+  }
+
+  public int getChangedCount() {
+    return changedCount;
+  }
+
+  public void setChangedCount(int changedCount) {
+    this.changedCount = changedCount;
+  }
+
+  public long getTravelCost() {
+    return travelCost;
+  }
+
+  public void setTravelCost(long travelCost) {
+    this.travelCost = travelCost;
+  }
+
+  public long getPreviousTravelCost() {
+    return previousTravelCost;
+  }
+
+  public void setPreviousTravelCost(long previousTravelCost) {
+    this.previousTravelCost = previousTravelCost;
+  }
+
+  public int getPreviousConflicts() {
+    return previousConflicts;
+  }
+
+  public void setPreviousConflicts(int previousConflicts) {
+    this.previousConflicts = previousConflicts;
+  }
+
+  public boolean isTimedOut() {
+    return timedOut;
+  }
+
+  public void setTimedOut(boolean timedOut) {
+    this.timedOut = timedOut;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * タスクの割り当て
+   */
+  public static class Assignment {
+
+    private Long taskId;
+    private TaskType taskType;
+    private Long fieldId;
+    private String fieldName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String previousWorker;
+    private String worker;
+
+    // デフォルトコンストラクタ
+    public Assignment() {}
+
+    // コンストラクタ
+    public Assignment(Long taskId, TaskType taskType, Long fieldId, String fieldName, LocalDate startDate,
+                      LocalDate endDate, String previousWorker, String worker) {
+      this.taskId = taskId;
+      this.taskType = taskType;
+      this.fieldId = fieldId;
+      this.fieldName = fieldName;
+      this.startDate = startDate;
+      this.endDate = endDate;
+      this.previousWorker = previousWorker;
+      this.worker = worker;
+    }
+
+    /**
+     * 担当者が変わるかを判定
+     * @return 変わる場合true
+     */
+    public boolean isChanged() {
+      return !Objects.equals(previousWorker, worker);
+    }
+
+    public Long getTaskId() {
+      return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+      this.taskId = taskId;
+    }
+
+    public TaskType getTaskType() {
+      return taskType;
+    }
+
+    public void setTaskType(TaskType taskType) {
+      this.taskType = taskType;
+    }
+
+    public Long getFieldId() {
+      return fieldId;
+    }
+
+    public void setFieldId(Long fieldId) {
+      this.fieldId = fieldId;
+    }
+
+    public String getFieldName() {
+      return fieldName;
+    }
+
+    public void setFieldName(String fieldName) {
+      this.fieldName = fieldName;
+    }
+
+    public LocalDate getStartDate() {
+      return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+      this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+      return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+      this.endDate = endDate;
+    }
+
+    public String getPreviousWorker() {
+      return previousWorker;
+    }
+
+    public void setPreviousWorker(String previousWorker) {
+      this.previousWorker = previousWorker;
+    }
+
+    public String getWorker() {
+      return worker;
+    }
+
+    public void setWorker(String worker) {
+      this.worker = worker;
+    }
+  }
+
+  /**
+   * 割り当てられなかったタスク
+   */
+  public static class Unassigned {
+
+    private Long taskId;
+    private TaskType taskType;
+    private Long fieldId;
+    private String fieldName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String previousWorker;
+    private UnassignedReason reason;
+
+    // デフォルトコンストラクタ
+    public Unassigned() {}
+
+    // コンストラクタ
+    public Unassigned(Long taskId, TaskType taskType, Long fieldId, String fieldName, LocalDate startDate,
+                      LocalDate endDate, String previousWorker, UnassignedReason reason) {
+      this.taskId = taskId;
+      this.taskType = taskType;
+      this.fieldId = fieldId;
+      this.fieldName = fieldName;
+      this.startDate = startDate;
+      this.endDate = endDate;
+      this.previousWorker = previousWorker;
+      this.reason = reason;
+    }
+
+    public Long getTaskId() {
+      return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+      this.taskId = taskId;
+    }
+
+    public TaskType getTaskType() {
+      return taskType;
+    }
+
+    public void setTaskType(TaskType taskType) {
+      this.taskType = taskType;
+    }
+
+    public Long getFieldId() {
+      return fieldId;
+    }
+
+    public void setFieldId(Long fieldId) {
+      this.fieldId = fieldId;
+    }
+
+    public String getFieldName() {
+      return fieldName;
+    }
+
+    public void setFieldName(String fieldName) {
+      this.fieldName = fieldName;
+    }
+
+    public LocalDate getStartDate() {
+      return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+      this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+      return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+      this.endDate = endDate;
+    }
+
+    public String getPreviousWorker() {
+      return previousWorker;
+    }
+
+    public void setPreviousWorker(String previousWorker) {
+      this.previousWorker = previousWorker;
+    }
+
+    public UnassignedReason getReason() {
+      return reason;
+    }
+
+    public void setReason(UnassignedReason reason) {
+      this.reason = reason;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.TaskType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * タスク割り当て計画の作成条件DTO
+ * 対象期間の未着手タスクを、指定した作業者の技能・勤務可能日に従って割り当てる
+ */
+public class TaskScheduleRequest {
+
+  private LocalDate startDate;
+  private LocalDate endDate;
+
+  @Valid
+  private List<WorkerAvailability> workers = new ArrayList<>();
+
+  private boolean keepAssigned;
+
+  // デフォルトコンストラクタ
+  public TaskScheduleRequest() {}
+
+  // Getter and Setter methods
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+
+  public void setStartDate(LocalDate startDate) {
+    this.startDate = startDate;
+  }
+
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+
+  public void setEndDate(LocalDate endDate) {
+    this.endDate = endDate;
+  }
+
+  public List<WorkerAvailability> getWorkers() {
+    return workers;
+  }
+
+  public void setWorkers(List<WorkerAvailability> workers) {
+    this.workers = workers;
+  }
+
+  public boolean isKeepAssigned() {
+    return keepAssigned;
+  }
+
+  public void setKeepAssigned(boolean keepAssigned) {
+    this.keepAssigned = keepAssigned;
+  }
+
+  /**
+   * 作業者の技能と勤務可能日
+   */
+  public static class WorkerAvailability {
+
+    @NotBlank(message = "作業者名は必須です")
+    private String name;
+
+    private Set<TaskType> skills;
+    private LocalDate availableFrom;
+    private LocalDate availableTo;
+    private List<LocalDate> unavailableDates = new ArrayList<>();
+
+    // デフォルトコンストラクタ
+    public WorkerAvailability() {}
+
+    // コンストラクタ
+    public WorkerAvailability(String name, Set<TaskType> skills, LocalDate availableFrom, LocalDate availableTo,
+                              List<LocalDate> unavailableDates) {
+      this.name = name;
+      this.skills = skills;
+      this.availableFrom = availableFrom;
+      this.availableTo = availableTo;
+      this.unavailableDates = unavailableDates;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public Set<TaskType> getSkills() {
+      return skills;
+    }
+
+    public void setSkills(Set<TaskType> skills) {
+      this.skills = skills;
+    }
+
+    public LocalDate getAvailableFrom() {
+      return availableFrom;
+    }
+
+    public void setAvailableFrom(LocalDate availableFrom) {
+      this.availableFrom = availableFrom;
+    }
+
+    public LocalDate getAvailableTo() {
+      return availableTo;
+    }
+
+    public void setAvailableTo(LocalDate availableTo) {
+      this.availableTo = availableTo;
+    }
+
+    public List<LocalDate> getUnavailableDates() {
+      return unavailableDates;
+    }
+
+    public void setUnavailableDates(List<LocalDate> unavailableDates) {
+      this.unavailableDates = unavailableDates;
+    }
+  }
+}
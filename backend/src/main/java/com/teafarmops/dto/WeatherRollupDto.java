@@ -0,0 +1,134 @@
+package com.teafarmops.dto;
+
+import com.teafarmops.entities.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 天候集計DTO
+ * 集計バケット（または期間全体）の気温・湿度・降水量の統計値
+ */
+public class WeatherRollupDto {
+
+  private RollupGranularity granularity;
+  private LocalDateTime bucketStart;
+  private MetricStats temperature;
+  private MetricStats humidity;
+  private MetricStats rainfall;
+
+  // デフォルトコンストラクタ
+  public WeatherRollupDto() {}
+
+  // コンストラクタ
+  public WeatherRollupDto(RollupGranularity granularity, LocalDateTime bucketStart,
+                          MetricStats temperature, MetricStats humidity, MetricStats rainfall) {
+    this.granularity = granularity;
+    this.bucketStart = bucketStart;
+    this.temperature = temperature;
+    this.humidity = humidity;
+    this.rainfall = rainfall;
+  }
+
+  // Getter and Setter methods
+  public RollupGranularity getGranularity() {
+    return granularity;
+  }
+
+  public void setGranularity(RollupGranularity granularity) {
+    this.granularity = granularity;
+  }
+
+  public LocalDateTime getBucketStart() {
+    return bucketStart;
+  }
+
+  public void setBucketStart(LocalDateTime bucketStart) {
+    this.bucketStart = bucketStart;
+  }
+
+  public MetricStats getTemperature() {
+    return temperature;
+  }
+
+  public void setTemperature(MetricStats temperature) {
+    this.temperature = temperature;
+  }
+
+  public MetricStats getHumidity() {
+    return humidity;
+  }
+
+  public void setHumidity(MetricStats humidity) {
+    this.humidity = humidity;
+  }
+
+  public MetricStats getRainfall() {
+    return rainfall;
+  }
+
+  public void setRainfall(MetricStats rainfall) {
+    this.rainfall = rainfall;
+  }
+
+  /**
+   * 1指標の統計値
+   */
+  public static class MetricStats {
+
+    private Double min;
+    private Double max;
+    private Double sum;
+    private long count;
+
+    // デフォルトコンストラクタ
+    public MetricStats() {}
+
+    // コンストラクタ
+    public MetricStats(Double min, Double max, Double sum, long count) {
+      this.min = min;
+      this.max = max;
+      this.sum = sum;
+      this.count = count;
+    }
+
+    public Double getMin() {
+      return min;
+    }
+
+    public void setMin(Double min) {
+      this.min = min;
+    }
+
+    public Double getMax() {
+      return max;
+    }
+
+    public void setMax(Double max) {
+      this.max = max;
+    }
+
+    public Double getSum() {
+      return sum;
+    }
+
+    public void setSum(Double sum) {
+      this.sum = sum;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public void setCount(long count) {
+      this.count = count;
+    }
+
+    /**
+     * 平均値を取得
+     * @return 平均値（件数が0の場合はnull）
+     */
+    public Double getAverage() {
+      return count == 0 || sum == null ? null : sum / count;
+    }
+  }
+}
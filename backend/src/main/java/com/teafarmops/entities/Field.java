@@ -4,19 +4,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 茶園フィールドエンティティ
  * 茶園の各フィールドの情報を管理
+ * 読み取りが中心のため二次キャッシュ（領域: fields）に保持する
  */
 @Entity
 @Table(name = "fields")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Field.CACHE_REGION)
 public class Field {
 
+  public static final String CACHE_REGION = "fields";
+  public static final String QUERY_CACHE_REGION = "fields-queries";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequenceId(sequenceName = "fields_seq")
   private Long id;
 
   @NotBlank(message = "フィールド名は必須です")
@@ -0,0 +1,125 @@
+package com.teafarmops.entities;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 収穫集計セルエンティティ
+ * フィールド・茶葉グレード・期間ごとの収穫量の合計・件数・最小・最大を管理
+ * 収穫記録から導出され、HarvestCubeServiceだけが更新する
+ */
+@Entity
+@Table(name = "harvest_cube", indexes = {
+    @Index(name = "idx_harvest_cube_period_start", columnList = "period, period_start")
+})
+public class HarvestCubeCell {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "total_kg", nullable = false)
+  private double totalKg;
+
+  @Column(name = "record_count", nullable = false)
+  private long recordCount;
+
+  @Column(name = "min_kg", nullable = false)
+  private double minKg;
+
+  @Column(name = "max_kg", nullable = false)
+  private double maxKg;
+
+  // デフォルトコンストラクタ
+  public HarvestCubeCell() {}
+
+  // Getter methods
+  public Key getKey() {
+    return key;
+  }
+
+  public double getTotalKg() {
+    return totalKg;
+  }
+
+  public long getRecordCount() {
+    return recordCount;
+  }
+
+  public double getMinKg() {
+    return minKg;
+  }
+
+  public double getMaxKg() {
+    return maxKg;
+  }
+
+  /**
+   * 収穫集計セルの複合キー（フィールド・茶葉グレード・期間・期間の開始日）
+   */
+  @Embeddable
+  public static class Key implements Serializable {
+
+    @Column(name = "field_id", nullable = false)
+    private Long fieldId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tea_grade", nullable = false, length = 16)
+    private TeaGrade teaGrade;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private HarvestPeriod period;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    // デフォルトコンストラクタ
+    public Key() {}
+
+    // コンストラクタ
+    public Key(Long fieldId, TeaGrade teaGrade, HarvestPeriod period, LocalDate periodStart) {
+      this.fieldId = fieldId;
+      this.teaGrade = teaGrade;
+      this.period = period;
+      this.periodStart = periodStart;
+    }
+
+    public Long getFieldId() {
+      return fieldId;
+    }
+
+    public TeaGrade getTeaGrade() {
+      return teaGrade;
+    }
+
+    public HarvestPeriod getPeriod() {
+      return period;
+    }
+
+    public LocalDate getPeriodStart() {
+      return periodStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return Objects.equals(fieldId, other.fieldId)
+          && teaGrade == other.teaGrade
+          && period == other.period
+          && Objects.equals(periodStart, other.periodStart);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fieldId, teaGrade, period, periodStart);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.teafarmops.entities;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 収穫集計の期間の列挙型
+ * 集計セルの期間の区切り方を定義（週は月曜始まり、季節は3〜5月・6〜8月・9〜11月・12〜2月）
+ */
+public enum HarvestPeriod {
+  DAILY("日"),
+  WEEKLY("週"),
+  MONTHLY("月"),
+  SEASONAL("季節");
+
+  private final String displayName;
+
+  HarvestPeriod(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * 日付を含む期間の開始日を取得
+   * @param date 日付
+   * @return 期間の開始日
+   */
+  public LocalDate truncate(LocalDate date) {
+    switch (this) {
+      case DAILY:
+        return date;
+      case WEEKLY:
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTHLY:
+        return date.withDayOfMonth(1);
+      default:
+        // 12月始まりの3か月単位（2月は前年12月の季節に含まれる）
+        LocalDate month = date.withDayOfMonth(1);
+        return month.minusMonths(month.getMonthValue() % 3);
+    }
+  }
+
+  /**
+   * 次の期間の開始日を取得
+   * @param periodStart 期間の開始日
+   * @return 次の期間の開始日
+   */
+  public LocalDate next(LocalDate periodStart) {
+    switch (this) {
+      case DAILY:
+        return periodStart.plusDays(1);
+      case WEEKLY:
+        return periodStart.plusWeeks(1);
+      case MONTHLY:
+        return periodStart.plusMonths(1);
+      default:
+        return periodStart.plusMonths(3);
+    }
+  }
+
+  /**
+   * 期間の開始日の間にある期間の数を取得
+   * @param from 開始日（期間の開始日）
+   * @param to 終了日（期間の開始日、含まない）
+   * @return 期間の数
+   */
+  public long between(LocalDate from, LocalDate to) {
+    switch (this) {
+      case DAILY:
+        return ChronoUnit.DAYS.between(from, to);
+      case WEEKLY:
+        return ChronoUnit.WEEKS.between(from, to);
+      case MONTHLY:
+        return ChronoUnit.MONTHS.between(from, to);
+      default:
+        return ChronoUnit.MONTHS.between(from, to) / 3;
+    }
+  }
+}
@@ -11,11 +11,18 @@ import java.time.LocalDate;
  * 茶園での収穫記録を管理
  */
 @Entity
-@Table(name = "harvest_records")
+@Table(name = "harvest_records", indexes = {
+    @Index(name = "idx_harvest_records_date_id", columnList = "harvest_date, id"),
+    @Index(name = "idx_harvest_records_field_date", columnList = "field_id, harvest_date")
+})
+@NamedEntityGraph(name = HarvestRecord.WITH_FIELD, attributeNodes = @NamedAttributeNode("field"))
 public class HarvestRecord {
 
+  // フィールドを同じクエリで取得するエンティティグラフ（一覧でのN+1を避ける）
+  public static final String WITH_FIELD = "HarvestRecord.withField";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequenceId(sequenceName = "harvest_records_seq")
   private Long id;
 
   @NotNull(message = "フィールドは必須です")
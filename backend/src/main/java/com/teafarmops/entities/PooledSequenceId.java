@@ -0,0 +1,25 @@
+package com.teafarmops.entities;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * プール型シーケンスID
+ * pooled-loオプティマイザでシーケンスから主キーをまとめて払い出す
+ * IDENTITYと異なり、INSERT前にIDが確定するためJDBCバッチ挿入が有効になる
+ */
+@IdGeneratorType(PooledSequenceIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequenceId {
+
+  /**
+   * シーケンス名
+   * @return シーケンス名
+   */
+  String sequenceName();
+}
@@ -0,0 +1,50 @@
+package com.teafarmops.entities;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+/**
+ * プール型シーケンスIDジェネレーター
+ * 払い出し単位は設定値 teafarmops.id.allocation_size（既定値50）から取得する
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+  /**
+   * 払い出し単位の設定キー（spring.jpa.properties経由で指定）
+   */
+  public static final String ALLOCATION_SIZE_SETTING = "teafarmops.id.allocation_size";
+
+  /**
+   * 払い出し単位の既定値
+   */
+  public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+  private final String sequenceName;
+
+  public PooledSequenceIdGenerator(PooledSequenceId config, Member member,
+                                   CustomIdGeneratorCreationContext context) {
+    this.sequenceName = config.sequenceName();
+  }
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry)
+      throws MappingException {
+    int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+        .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+    parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+    parameters.setProperty(INITIAL_PARAM, "1");
+    parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+    parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+    super.configure(type, parameters, serviceRegistry);
+  }
+}
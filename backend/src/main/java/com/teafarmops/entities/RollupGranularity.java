@@ -0,0 +1,76 @@
+package com.teafarmops.entities;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 天候集計の時間粒度の列挙型
+ * 集計バケットの区切り方を定義
+ */
+public enum RollupGranularity {
+  HOURLY("時間", "hour"),
+  DAILY("日", "day"),
+  MONTHLY("月", "month");
+
+  private final String displayName;
+  private final String sqlUnit;
+
+  RollupGranularity(String displayName, String sqlUnit) {
+    this.displayName = displayName;
+    this.sqlUnit = sqlUnit;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * DATE_TRUNCに渡す単位を取得
+   * @return SQLの時間単位
+   */
+  public String getSqlUnit() {
+    return sqlUnit;
+  }
+
+  /**
+   * 日時を含むバケットの開始日時を取得
+   * @param dateTime 日時
+   * @return バケットの開始日時
+   */
+  public LocalDateTime truncate(LocalDateTime dateTime) {
+    switch (this) {
+      case HOURLY:
+        return dateTime.truncatedTo(ChronoUnit.HOURS);
+      case DAILY:
+        return dateTime.truncatedTo(ChronoUnit.DAYS);
+      default:
+        return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+    }
+  }
+
+  /**
+   * 次のバケットの開始日時を取得
+   * @param bucketStart バケットの開始日時
+   * @return 次のバケットの開始日時
+   */
+  public LocalDateTime next(LocalDateTime bucketStart) {
+    switch (this) {
+      case HOURLY:
+        return bucketStart.plusHours(1);
+      case DAILY:
+        return bucketStart.plusDays(1);
+      default:
+        return bucketStart.plusMonths(1);
+    }
+  }
+
+  /**
+   * 日時以降で最初のバケットの開始日時を取得
+   * @param dateTime 日時
+   * @return バケットの開始日時（日時がバケットの境界であればそのまま）
+   */
+  public LocalDateTime ceil(LocalDateTime dateTime) {
+    LocalDateTime start = truncate(dateTime);
+    return start.equals(dateTime) ? start : next(start);
+  }
+}
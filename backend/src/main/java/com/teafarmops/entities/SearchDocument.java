@@ -0,0 +1,113 @@
+package com.teafarmops.entities;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * 検索文書エンティティ
+ * フィールド・作業・収穫記録・天候観測の検索対象の文字列を1か所にまとめた全文検索の索引
+ * 元のエンティティから導出され、SearchIndexServiceだけが更新する
+ */
+@Entity
+@Table(name = "search_documents", indexes = {
+    @Index(name = "idx_search_documents_field", columnList = "field_id")
+})
+public class SearchDocument {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "field_id", nullable = false)
+  private Long fieldId;
+
+  @Column(nullable = false)
+  private String title;
+
+  // 名前・作業者・害虫など、本文より重く評価する短い文字列
+  @Column(columnDefinition = "TEXT")
+  private String keywords;
+
+  @Column(columnDefinition = "TEXT")
+  private String body;
+
+  // 検索用に正規化（NFKC・小文字化）したキーワードと本文
+  @Column(name = "search_text", nullable = false, columnDefinition = "TEXT")
+  private String searchText;
+
+  // デフォルトコンストラクタ
+  public SearchDocument() {}
+
+  // Getter methods
+  public Key getKey() {
+    return key;
+  }
+
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getKeywords() {
+    return keywords;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public String getSearchText() {
+    return searchText;
+  }
+
+  /**
+   * 検索文書の複合キー（種別・元のエンティティID）
+   */
+  @Embeddable
+  public static class Key implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private SearchDocumentType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // デフォルトコンストラクタ
+    public Key() {}
+
+    // コンストラクタ
+    public Key(SearchDocumentType entityType, Long entityId) {
+      this.entityType = entityType;
+      this.entityId = entityId;
+    }
+
+    public SearchDocumentType getEntityType() {
+      return entityType;
+    }
+
+    public Long getEntityId() {
+      return entityId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return entityType == other.entityType && Objects.equals(entityId, other.entityId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(entityType, entityId);
+    }
+  }
+}
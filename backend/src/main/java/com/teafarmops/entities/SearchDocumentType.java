@@ -0,0 +1,22 @@
+package com.teafarmops.entities;
+
+/**
+ * 検索対象の種別の列挙型
+ * 全文検索の索引に登録するエンティティの種類を定義
+ */
+public enum SearchDocumentType {
+  FIELD("フィールド"),
+  TASK("作業"),
+  HARVEST_RECORD("収穫記録"),
+  WEATHER_OBSERVATION("天候観測");
+
+  private final String displayName;
+
+  SearchDocumentType(String displayName) {
+    this.displayName = displayName;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+}
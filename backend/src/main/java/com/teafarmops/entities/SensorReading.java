@@ -0,0 +1,100 @@
+package com.teafarmops.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.time.LocalDateTime;
+
+/**
+ * センサー計測値エンティティ
+ * フィールドごとのセンサーゲートウェイから送られる分単位の計測値を管理
+ */
+@Entity
+@Table(name = "sensor_readings", indexes = {
+    @Index(name = "idx_sensor_readings_field_recorded", columnList = "field_id, recorded_at")
+})
+public class SensorReading {
+
+  @Id
+  @PooledSequenceId(sequenceName = "sensor_readings_seq")
+  private Long id;
+
+  @NotNull(message = "フィールドは必須です")
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "field_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE) // フィールドの削除時はデータベースで計測値も削除する
+  private Field field;
+
+  @NotNull(message = "計測日時は必須です")
+  @Column(name = "recorded_at", nullable = false)
+  private LocalDateTime recordedAt;
+
+  private Double temperature;
+
+  private Double humidity;
+
+  private Double rainfall;
+
+  // デフォルトコンストラクタ
+  public SensorReading() {}
+
+  // コンストラクタ
+  public SensorReading(Field field, LocalDateTime recordedAt, Double temperature,
+                       Double humidity, Double rainfall) {
+    this.field = field;
+    this.recordedAt = recordedAt;
+    this.temperature = temperature;
+    this.humidity = humidity;
+    this.rainfall = rainfall;
+  }
+
+  // Getter and Setter methods
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  public void setField(Field field) {
+    this.field = field;
+  }
+
+  public LocalDateTime getRecordedAt() {
+    return recordedAt;
+  }
+
+  public void setRecordedAt(LocalDateTime recordedAt) {
+    this.recordedAt = recordedAt;
+  }
+
+  public Double getTemperature() {
+    return temperature;
+  }
+
+  public void setTemperature(Double temperature) {
+    this.temperature = temperature;
+  }
+
+  public Double getHumidity() {
+    return humidity;
+  }
+
+  public void setHumidity(Double humidity) {
+    this.humidity = humidity;
+  }
+
+  public Double getRainfall() {
+    return rainfall;
+  }
+
+  public void setRainfall(Double rainfall) {
+    this.rainfall = rainfall;
+  }
+}
@@ -10,11 +10,18 @@ import java.time.LocalDate;
  * 茶園での作業タスクを管理
  */
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_start_date_id", columnList = "start_date, id"),
+    @Index(name = "idx_tasks_status_start_date", columnList = "status, start_date")
+})
+@NamedEntityGraph(name = Task.WITH_FIELD, attributeNodes = @NamedAttributeNode("field"))
 public class Task {
 
+  // フィールドを同じクエリで取得するエンティティグラフ（一覧でのN+1を避ける）
+  public static final String WITH_FIELD = "Task.withField";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequenceId(sequenceName = "tasks_seq")
   private Long id;
 
   @NotNull(message = "タスクタイプは必須です")
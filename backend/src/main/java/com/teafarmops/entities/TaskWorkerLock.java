@@ -0,0 +1,29 @@
+package com.teafarmops.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * 作業者ロックエンティティ
+ * タスクの割り当ての適用を作業者ごとに直列化するための行（作業者名ごとに1行、削除しない）
+ * 進行中・未着手のタスクがない作業者でも書き込みロックを取れるようにする
+ */
+@Entity
+@Table(name = "task_worker_locks")
+public class TaskWorkerLock {
+
+  @Id
+  @Column(name = "worker", nullable = false)
+  private String worker;
+
+  // デフォルトコンストラクタ
+  public TaskWorkerLock() {}
+
+  // コンストラクタ
+  public TaskWorkerLock(String worker) {
+    this.worker = worker;
+  }
+
+  public String getWorker() {
+    return worker;
+  }
+}
@@ -10,10 +10,14 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "weather_observations")
+@NamedEntityGraph(name = WeatherObservation.WITH_FIELD, attributeNodes = @NamedAttributeNode("field"))
 public class WeatherObservation {
 
+  // フィールドを同じクエリで取得するエンティティグラフ（一覧でのN+1を避ける）
+  public static final String WITH_FIELD = "WeatherObservation.withField";
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @PooledSequenceId(sequenceName = "weather_observations_seq")
   private Long id;
 
   @NotNull(message = "観測日は必須です")
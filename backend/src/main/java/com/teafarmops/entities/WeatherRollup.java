@@ -0,0 +1,169 @@
+package com.teafarmops.entities;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 天候集計エンティティ
+ * フィールドごと・時間粒度ごとの天候の最小・最大・合計・件数を管理
+ * センサー計測値と天候観測から導出され、WeatherRollupServiceだけが更新する
+ */
+@Entity
+@Table(name = "weather_rollups")
+public class WeatherRollup {
+
+  @EmbeddedId
+  private Key key;
+
+  @Column(name = "temperature_min")
+  private Double temperatureMin;
+
+  @Column(name = "temperature_max")
+  private Double temperatureMax;
+
+  @Column(name = "temperature_sum")
+  private Double temperatureSum;
+
+  @Column(name = "temperature_count", nullable = false)
+  private long temperatureCount;
+
+  @Column(name = "humidity_min")
+  private Double humidityMin;
+
+  @Column(name = "humidity_max")
+  private Double humidityMax;
+
+  @Column(name = "humidity_sum")
+  private Double humiditySum;
+
+  @Column(name = "humidity_count", nullable = false)
+  private long humidityCount;
+
+  @Column(name = "rainfall_min")
+  private Double rainfallMin;
+
+  @Column(name = "rainfall_max")
+  private Double rainfallMax;
+
+  @Column(name = "rainfall_sum")
+  private Double rainfallSum;
+
+  @Column(name = "rainfall_count", nullable = false)
+  private long rainfallCount;
+
+  // デフォルトコンストラクタ
+  public WeatherRollup() {}
+
+  // Getter methods
+  public Key getKey() {
+    return key;
+  }
+
+  public Double getTemperatureMin() {
+    return temperatureMin;
+  }
+
+  public Double getTemperatureMax() {
+    return temperatureMax;
+  }
+
+  public Double getTemperatureSum() {
+    return temperatureSum;
+  }
+
+  public long getTemperatureCount() {
+    return temperatureCount;
+  }
+
+  public Double getHumidityMin() {
+    return humidityMin;
+  }
+
+  public Double getHumidityMax() {
+    return humidityMax;
+  }
+
+  public Double getHumiditySum() {
+    return humiditySum;
+  }
+
+  public long getHumidityCount() {
+    return humidityCount;
+  }
+
+  public Double getRainfallMin() {
+    return rainfallMin;
+  }
+
+  public Double getRainfallMax() {
+    return rainfallMax;
+  }
+
+  public Double getRainfallSum() {
+    return rainfallSum;
+  }
+
+  public long getRainfallCount() {
+    return rainfallCount;
+  }
+
+  /**
+   * 天候集計の複合キー（フィールド・時間粒度・バケット開始日時）
+   */
+  @Embeddable
+  public static class Key implements Serializable {
+
+    @Column(name = "field_id", nullable = false)
+    private Long fieldId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // デフォルトコンストラクタ
+    public Key() {}
+
+    // コンストラクタ
+    public Key(Long fieldId, RollupGranularity granularity, LocalDateTime bucketStart) {
+      this.fieldId = fieldId;
+      this.granularity = granularity;
+      this.bucketStart = bucketStart;
+    }
+
+    public Long getFieldId() {
+      return fieldId;
+    }
+
+    public RollupGranularity getGranularity() {
+      return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+      return bucketStart;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return Objects.equals(fieldId, other.fieldId)
+          && granularity == other.granularity
+          && Objects.equals(bucketStart, other.bucketStart);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fieldId, granularity, bucketStart);
+    }
+  }
+}
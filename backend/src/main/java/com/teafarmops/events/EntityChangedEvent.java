@@ -0,0 +1,81 @@
+package com.teafarmops.events;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * エンティティ変更イベント
+ * サービス層での作成・更新・削除を購読側（集計・キャッシュ等）へ通知
+ * 一括取り込みなどでは、同じ種別の複数の変更を1つのイベントで通知する
+ */
+public class EntityChangedEvent {
+
+  /**
+   * 変更種別
+   */
+  public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+
+  private final Class<?> entityType;
+  private final ChangeType changeType;
+  private final List<Long> entityIds;
+
+  // コンストラクタ（IDがnullの場合は変更されたエンティティを特定しない）
+  public EntityChangedEvent(Class<?> entityType, ChangeType changeType, Long entityId) {
+    this(entityType, changeType, entityId == null ? List.of() : List.of(entityId));
+  }
+
+  private EntityChangedEvent(Class<?> entityType, ChangeType changeType, List<Long> entityIds) {
+    this.entityType = entityType;
+    this.changeType = changeType;
+    this.entityIds = entityIds;
+  }
+
+  /**
+   * 複数のエンティティの変更イベントを作成
+   * @param entityType エンティティの型
+   * @param changeType 変更の種類
+   * @param entityIds 変更されたエンティティのID
+   * @return エンティティ変更イベント
+   */
+  public static EntityChangedEvent ofAll(Class<?> entityType, ChangeType changeType, Collection<Long> entityIds) {
+    return new EntityChangedEvent(entityType, changeType, List.copyOf(entityIds));
+  }
+
+  /**
+   * 指定したエンティティ型の変更かを判定
+   * @param type エンティティ型
+   * @return 一致する場合true
+   */
+  public boolean isAbout(Class<?> type) {
+    return entityType.equals(type);
+  }
+
+  // Getter methods
+  public Class<?> getEntityType() {
+    return entityType;
+  }
+
+  public ChangeType getChangeType() {
+    return changeType;
+  }
+
+  /**
+   * 変更されたエンティティのIDを取得
+   * @return ID（特定しない場合と、複数のエンティティの変更の場合はnull）
+   */
+  public Long getEntityId() {
+    return entityIds.size() == 1 ? entityIds.get(0) : null;
+  }
+
+  /**
+   * 変更されたエンティティのIDをすべて取得
+   * @return IDリスト（特定しない場合は空）
+   */
+  public List<Long> getEntityIds() {
+    return entityIds;
+  }
+}
@@ -0,0 +1,31 @@
+package com.teafarmops.events;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 収穫記録変更イベント
+ * 収穫記録の追加・変更・削除で影響を受けるフィールドと収穫日を収穫集計へ通知
+ * 変更の場合は変更前と変更後の両方を通知する
+ */
+public class HarvestRecordsChangedEvent {
+
+  private final Long fieldId;
+  private final List<LocalDate> harvestDates;
+
+  // コンストラクタ
+  public HarvestRecordsChangedEvent(Long fieldId, Collection<LocalDate> harvestDates) {
+    this.fieldId = fieldId;
+    this.harvestDates = List.copyOf(harvestDates);
+  }
+
+  // Getter methods
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public List<LocalDate> getHarvestDates() {
+    return harvestDates;
+  }
+}
@@ -0,0 +1,31 @@
+package com.teafarmops.events;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 天候サンプル変更イベント
+ * センサー計測値・天候観測の追加や変更で影響を受ける日時を天候集計へ通知
+ * 天候観測は観測日の0時のサンプルとして扱う
+ */
+public class WeatherSamplesChangedEvent {
+
+  private final Long fieldId;
+  private final List<LocalDateTime> sampledAt;
+
+  // コンストラクタ
+  public WeatherSamplesChangedEvent(Long fieldId, Collection<LocalDateTime> sampledAt) {
+    this.fieldId = fieldId;
+    this.sampledAt = List.copyOf(sampledAt);
+  }
+
+  // Getter methods
+  public Long getFieldId() {
+    return fieldId;
+  }
+
+  public List<LocalDateTime> getSampledAt() {
+    return sampledAt;
+  }
+}
@@ -2,12 +2,23 @@ package com.teafarmops.monitoring;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.noop.NoopCounter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * カスタムメトリクスを収集するサービス
@@ -18,26 +29,57 @@ public class MetricsService {
 
     private final MeterRegistry meterRegistry;
     
+    // メーターキャッシュ（リクエスト毎のビルダー生成とレジストリ検索を避ける）
+    private final int maxCachedMeters;
+    private final ConcurrentMap<String, Counter> endpointCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> errorTypeCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, Counter> customCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MeterKey, CustomGauge> customGauges = new ConcurrentHashMap<>();
+    // 指定順のタグ配列からの検索用（同じメーターを指す。整列済みのキーは登録時だけ作る）
+    private final ConcurrentMap<RawMeterKey, Counter> customCounterLookup = new ConcurrentHashMap<>();
+    private final ConcurrentMap<RawMeterKey, CustomGauge> customGaugeLookup = new ConcurrentHashMap<>();
+    private final Counter meterOverflowCounter;
+    
     // カウンター
     private final Counter loginAttemptsCounter;
     private final Counter successfulLoginsCounter;
     private final Counter failedLoginsCounter;
     private final Counter apiRequestsCounter;
     private final Counter errorsCounter;
+    private final Counter sensorReadingsAcceptedCounter;
+    private final Counter sensorReadingsRejectedCounter;
+    private final Counter sensorReadingsPersistedCounter;
+    private final Counter sensorReadingsDroppedCounter;
+    private final Counter connectionLimiterRejectedCounter;
+    private final Counter virtualThreadPinnedCounter;
+    private final Counter replicaReadsCounter;
+    private final Counter replicaFallbackReadsCounter;
     
     // ゲージ
     private final AtomicInteger activeUsersGauge;
     private final AtomicInteger totalFieldsGauge;
     private final AtomicInteger totalTasksGauge;
     private final AtomicInteger pendingTasksGauge;
+    private final AtomicLong sensorBufferedReadingsGauge;
+    private final AtomicLong replicaLagGauge;
+    private final AtomicInteger replicaAvailableGauge;
     
     // タイマー
     private final Timer apiResponseTimeTimer;
     private final Timer databaseQueryTimer;
+    private final Timer sensorFlushLagTimer;
+    private final Timer connectionLimiterWaitTimer;
+    private final Timer virtualThreadPinnedTimer;
 
     @Autowired
-    public MetricsService(MeterRegistry meterRegistry) {
+    public MetricsService(MeterRegistry meterRegistry,
+                          @Value("${metrics.max-cached-meters:1000}") int maxCachedMeters) {
         this.meterRegistry = meterRegistry;
+        this.maxCachedMeters = maxCachedMeters;
+        
+        this.meterOverflowCounter = Counter.builder("tea_farm_ops_meter_overflow_total")
+                .description("タグ数上限により記録されなかったメトリクス数")
+                .register(meterRegistry);
         
         // カウンターの初期化
         this.loginAttemptsCounter = Counter.builder("tea_farm_ops_login_attempts_total")
@@ -60,12 +102,47 @@ public class MetricsService {
         this.errorsCounter = Counter.builder("tea_farm_ops_errors_total")
                 .description("アプリケーションエラー総数")
                 .register(meterRegistry);
+                
+        this.sensorReadingsAcceptedCounter = Counter.builder("tea_farm_ops_sensor_readings_accepted_total")
+                .description("バッファに受け付けたセンサー計測値数")
+                .register(meterRegistry);
+                
+        this.sensorReadingsRejectedCounter = Counter.builder("tea_farm_ops_sensor_readings_rejected_total")
+                .description("バッファ満杯により拒否したセンサー計測値数")
+                .register(meterRegistry);
+                
+        this.sensorReadingsPersistedCounter = Counter.builder("tea_farm_ops_sensor_readings_persisted_total")
+                .description("データベースに書き込んだセンサー計測値数")
+                .register(meterRegistry);
+                
+        this.sensorReadingsDroppedCounter = Counter.builder("tea_farm_ops_sensor_readings_dropped_total")
+                .description("書き込みの再試行上限に達して破棄したセンサー計測値数")
+                .register(meterRegistry);
+                
+        this.connectionLimiterRejectedCounter = Counter.builder("tea_farm_ops_connection_limiter_rejected_total")
+                .description("接続数制限により確保できなかったデータベース接続数")
+                .register(meterRegistry);
+                
+        this.virtualThreadPinnedCounter = Counter.builder("tea_farm_ops_virtual_thread_pinned_total")
+                .description("しきい値を超えて仮想スレッドがピン留めされた回数")
+                .register(meterRegistry);
+                
+        this.replicaReadsCounter = Counter.builder("tea_farm_ops_replica_reads_total")
+                .description("読み取りレプリカから取得した読み取り専用トランザクションの接続数")
+                .register(meterRegistry);
+                
+        this.replicaFallbackReadsCounter = Counter.builder("tea_farm_ops_replica_fallback_reads_total")
+                .description("レプリカの遅延・障害によりプライマリから取得した読み取り専用トランザクションの接続数")
+                .register(meterRegistry);
         
         // ゲージの初期化
         this.activeUsersGauge = new AtomicInteger(0);
         this.totalFieldsGauge = new AtomicInteger(0);
         this.totalTasksGauge = new AtomicInteger(0);
         this.pendingTasksGauge = new AtomicInteger(0);
+        this.sensorBufferedReadingsGauge = new AtomicLong(0);
+        this.replicaLagGauge = new AtomicLong(-1);
+        this.replicaAvailableGauge = new AtomicInteger(0);
         
         Gauge.builder("tea_farm_ops_active_users", activeUsersGauge, AtomicInteger::get)
                 .description("アクティブユーザー数")
@@ -82,6 +159,18 @@ public class MetricsService {
         Gauge.builder("tea_farm_ops_pending_tasks", pendingTasksGauge, AtomicInteger::get)
                 .description("保留中タスク数")
                 .register(meterRegistry);
+                
+        Gauge.builder("tea_farm_ops_sensor_buffered_readings", sensorBufferedReadingsGauge, AtomicLong::get)
+                .description("書き込み待ちのセンサー計測値数")
+                .register(meterRegistry);
+                
+        Gauge.builder("tea_farm_ops_replica_lag_seconds", replicaLagGauge, lag -> lag.get() / 1000.0)
+                .description("読み取りレプリカのレプリケーション遅延（測定できない場合は負の値）")
+                .register(meterRegistry);
+                
+        Gauge.builder("tea_farm_ops_replica_available", replicaAvailableGauge, AtomicInteger::get)
+                .description("読み取りレプリカを使用中かどうか（1: 使用中、0: プライマリで代替）")
+                .register(meterRegistry);
         
         // タイマーの初期化
         this.apiResponseTimeTimer = Timer.builder("tea_farm_ops_api_response_time")
@@ -91,6 +180,20 @@ public class MetricsService {
         this.databaseQueryTimer = Timer.builder("tea_farm_ops_database_query_time")
                 .description("データベースクエリ実行時間")
                 .register(meterRegistry);
+                
+        this.sensorFlushLagTimer = Timer.builder("tea_farm_ops_sensor_flush_lag")
+                .description("センサー計測値の受け付けからデータベース書き込みまでの遅延")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+                
+        this.connectionLimiterWaitTimer = Timer.builder("tea_farm_ops_connection_limiter_wait")
+                .description("接続数制限でデータベース接続の空きを待った時間")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+                
+        this.virtualThreadPinnedTimer = Timer.builder("tea_farm_ops_virtual_thread_pinned")
+                .description("仮想スレッドがピン留めされた時間")
+                .register(meterRegistry);
     }
 
     /**
@@ -119,10 +222,15 @@ public class MetricsService {
      * @param endpoint エンドポイント名
      */
     public void recordApiRequest(String endpoint) {
-        Counter.builder("tea_farm_ops_api_requests_total")
-                .tag("endpoint", endpoint)
-                .register(meterRegistry)
-                .increment();
+        Counter counter = endpointCounters.get(endpoint);
+        if (counter == null) {
+            counter = cacheMeter(endpointCounters, endpoint, () -> Counter.builder("tea_farm_ops_api_requests_total")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry));
+        }
+        if (counter != null) {
+            counter.increment();
+        }
         apiRequestsCounter.increment();
     }
 
@@ -131,10 +239,15 @@ public class MetricsService {
      * @param errorType エラータイプ
      */
     public void recordError(String errorType) {
-        Counter.builder("tea_farm_ops_errors_total")
-                .tag("error_type", errorType)
-                .register(meterRegistry)
-                .increment();
+        Counter counter = errorTypeCounters.get(errorType);
+        if (counter == null) {
+            counter = cacheMeter(errorTypeCounters, errorType, () -> Counter.builder("tea_farm_ops_errors_total")
+                    .tag("error_type", errorType)
+                    .register(meterRegistry));
+        }
+        if (counter != null) {
+            counter.increment();
+        }
         errorsCounter.increment();
     }
 
@@ -202,26 +315,302 @@ public class MetricsService {
         sample.stop(databaseQueryTimer);
     }
 
+    /**
+     * バッファに受け付けたセンサー計測値を記録
+     * @param count 件数
+     */
+    public void recordSensorReadingsAccepted(int count) {
+        sensorReadingsAcceptedCounter.increment(count);
+    }
+
+    /**
+     * バッファ満杯により拒否したセンサー計測値を記録
+     * @param count 件数
+     */
+    public void recordSensorReadingsRejected(int count) {
+        sensorReadingsRejectedCounter.increment(count);
+    }
+
+    /**
+     * センサー計測値の書き込みを記録
+     * @param count 書き込んだ件数
+     * @param lagNanos バッチ内で最も古い計測値の受け付けから書き込み完了までの時間（ナノ秒）
+     */
+    public void recordSensorFlush(int count, long lagNanos) {
+        sensorReadingsPersistedCounter.increment(count);
+        sensorFlushLagTimer.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 破棄したセンサー計測値を記録
+     * @param count 件数
+     */
+    public void recordSensorReadingsDropped(int count) {
+        sensorReadingsDroppedCounter.increment(count);
+    }
+
+    /**
+     * 書き込み待ちのセンサー計測値数を設定
+     * @param count 件数
+     */
+    public void setSensorBufferedReadings(long count) {
+        sensorBufferedReadingsGauge.set(count);
+    }
+
+    /**
+     * 接続数制限での接続待ち時間を記録
+     * @param waitNanos 待ち時間（ナノ秒、待たずに確保できた場合は0）
+     */
+    public void recordConnectionLimiterWait(long waitNanos) {
+        connectionLimiterWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 接続数制限により確保できなかった接続を記録
+     */
+    public void recordConnectionLimiterRejected() {
+        connectionLimiterRejectedCounter.increment();
+    }
+
+    /**
+     * 仮想スレッドのピン留めを記録
+     * @param duration ピン留めされていた時間
+     */
+    public void recordVirtualThreadPinned(Duration duration) {
+        virtualThreadPinnedCounter.increment();
+        virtualThreadPinnedTimer.record(duration);
+    }
+
+    /**
+     * 読み取りレプリカの遅延と使用可否を設定
+     * @param lagMillis 遅延（ミリ秒、測定できない場合は-1）
+     * @param available レプリカを使用中の場合はtrue
+     */
+    public void setReplicaLag(long lagMillis, boolean available) {
+        replicaLagGauge.set(lagMillis);
+        replicaAvailableGauge.set(available ? 1 : 0);
+    }
+
+    /**
+     * 読み取り専用トランザクションの接続の取得先を記録
+     * @param fromReplica レプリカから取得した場合はtrue、プライマリで代替した場合はfalse
+     */
+    public void recordReadOnlyConnection(boolean fromReplica) {
+        if (fromReplica) {
+            replicaReadsCounter.increment();
+        } else {
+            replicaFallbackReadsCounter.increment();
+        }
+    }
+
     /**
      * カスタムメトリクスを記録
+     * 名前とタグの組ごとに一度だけゲージを登録し、以降は保持している値を更新する
+     * 同じ呼び出し箇所から繰り返し記録する場合は customGauge() で取得したハンドルを使う
      * @param name メトリクス名
      * @param value 値
-     * @param tags タグ
+     * @param tags タグ（キーと値の組）
      */
     public void recordCustomMetric(String name, double value, String... tags) {
-        Gauge.builder(name, () -> value)
-                .register(meterRegistry);
+        // 指定順のタグ配列のまま引く（ヒット時はタグの整列・Tagの生成を行わない）
+        CustomGauge gauge = customGaugeLookup.get(new RawMeterKey(name, tags));
+        if (gauge == null) {
+            gauge = lookupCustomGauge(name, value, tags);
+        }
+        if (gauge != null) {
+            gauge.set(value);
+        }
     }
 
     /**
      * カスタムカウンターを記録
+     * 同じ呼び出し箇所から繰り返し記録する場合は customCounter() で取得したカウンターを使う
      * @param name メトリクス名
-     * @param tags タグ
+     * @param tags タグ（キーと値の組）
      */
     public void incrementCustomCounter(String name, String... tags) {
-        Counter.builder(name)
-                .tags(tags)
-                .register(meterRegistry)
-                .increment();
+        // 指定順のタグ配列のまま引く（ヒット時はタグの整列・Tagの生成を行わない）
+        Counter counter = customCounterLookup.get(new RawMeterKey(name, tags));
+        if (counter == null) {
+            counter = lookupCustomCounter(name, tags);
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * タグが固定のカスタムゲージのハンドルを取得
+     * 呼び出し側で保持して set() すれば、記録ごとのキャッシュ検索も行わない
+     * キャッシュが上限に達している場合は、レジストリに登録されないハンドルを返す
+     * @param name メトリクス名
+     * @param tags タグ（キーと値の組）
+     * @return ゲージのハンドル
+     */
+    public CustomGauge customGauge(String name, String... tags) {
+        CustomGauge gauge = lookupCustomGauge(name, 0, tags);
+        return gauge != null ? gauge : new CustomGauge(0);
+    }
+
+    /**
+     * タグが固定のカスタムカウンターを取得
+     * 呼び出し側で保持して increment() すれば、記録ごとのキャッシュ検索も行わない
+     * キャッシュが上限に達している場合は、レジストリに登録されないカウンターを返す
+     * @param name メトリクス名
+     * @param tags タグ（キーと値の組）
+     * @return カウンター
+     */
+    public Counter customCounter(String name, String... tags) {
+        Counter counter = lookupCustomCounter(name, tags);
+        return counter != null ? counter : new NoopCounter(new Meter.Id(name, Tags.of(tags), null, null,
+                Meter.Type.COUNTER));
+    }
+
+    private CustomGauge lookupCustomGauge(String name, double initialValue, String... tags) {
+        MeterKey key = new MeterKey(name, Tags.of(tags));
+        CustomGauge gauge = customGauges.get(key);
+        if (gauge == null) {
+            gauge = cacheMeter(customGauges, key, () -> {
+                CustomGauge created = new CustomGauge(initialValue);
+                Gauge.builder(name, created, CustomGauge::get)
+                        .tags(key.tags)
+                        .strongReference(true)
+                        .register(meterRegistry);
+                return created;
+            });
+        }
+        cacheLookup(customGaugeLookup, name, tags, gauge);
+        return gauge;
+    }
+
+    private Counter lookupCustomCounter(String name, String... tags) {
+        MeterKey key = new MeterKey(name, Tags.of(tags));
+        Counter counter = customCounters.get(key);
+        if (counter == null) {
+            counter = cacheMeter(customCounters, key, () -> Counter.builder(name)
+                    .tags(key.tags)
+                    .register(meterRegistry));
+        }
+        cacheLookup(customCounterLookup, name, tags, counter);
+        return counter;
+    }
+
+    /**
+     * 指定順のタグ配列からメーターを引けるように登録
+     * 呼び出し側が配列を書き換えてもよいよう、キーには複製を保持する
+     * 同じタグの組でも指定順ごとにエントリができるため、件数はメーターのキャッシュと同じ上限で打ち切る
+     */
+    private <M> void cacheLookup(ConcurrentMap<RawMeterKey, M> lookup, String name, String[] tags, M meter) {
+        if (meter != null && lookup.size() < maxCachedMeters) {
+            lookup.putIfAbsent(new RawMeterKey(name, tags.clone()), meter);
+        }
+    }
+
+    /**
+     * キャッシュ未登録のメーターを登録
+     * 呼び出し側で先にget()することで、ヒット時はラムダも生成しない
+     * キャッシュが上限に達している場合は登録せず、オーバーフローとして記録する
+     * @param cache キャッシュ
+     * @param key キー
+     * @param factory メーター生成処理
+     * @return キャッシュ済みのメーター（上限超過時はnull）
+     */
+    private <K, M> M cacheMeter(ConcurrentMap<K, M> cache, K key, Supplier<M> factory) {
+        if (cache.size() >= maxCachedMeters) {
+            meterOverflowCounter.increment();
+            return null;
+        }
+        return cache.computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     * カスタムゲージのハンドル
+     * 値はdoubleのビット列として保持し、ロックなしで更新・読み取りする
+     */
+    public static final class CustomGauge {
+
+        private final AtomicLong bits;
+
+        private CustomGauge(double initialValue) {
+            this.bits = new AtomicLong(Double.doubleToRawLongBits(initialValue));
+        }
+
+        /**
+         * 値を設定
+         * @param value 値
+         */
+        public void set(double value) {
+            bits.set(Double.doubleToRawLongBits(value));
+        }
+
+        private double get() {
+            return Double.longBitsToDouble(bits.get());
+        }
+    }
+
+    /**
+     * メトリクス名と指定順のタグ配列からなる検索キー
+     * 検索時は呼び出し側の配列をそのまま使い、複製や整列を行わない
+     */
+    private static final class RawMeterKey {
+
+        private final String name;
+        private final String[] tags;
+        private final int hash;
+
+        private RawMeterKey(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RawMeterKey)) {
+                return false;
+            }
+            RawMeterKey other = (RawMeterKey) o;
+            return hash == other.hash && name.equals(other.name) && Arrays.equals(tags, other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * メトリクス名とタグの組からなるキャッシュキー
+     * タグはキー順に整列した不変の Tags で保持するため、指定順によらず同じタグの組は同じキーになる
+     */
+    private static final class MeterKey {
+
+        private final String name;
+        private final Tags tags;
+
+        private MeterKey(String name, Tags tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey other = (MeterKey) o;
+            return name.equals(other.name) && tags.equals(other.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + tags.hashCode();
+        }
     }
-} 
\ No newline at end of file
+}
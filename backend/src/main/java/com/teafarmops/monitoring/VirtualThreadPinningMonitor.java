@@ -0,0 +1,97 @@
+package com.teafarmops.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 仮想スレッドのピン留め監視
+ * synchronized ブロック内やネイティブ呼び出し中のブロッキングで仮想スレッドがキャリアスレッドを
+ * 占有した場合（JFRイベント jdk.VirtualThreadPinned）に、回数と時間を記録して発生箇所をログに出す
+ * 仮想スレッドモード（Java 21以上かつ spring.threads.virtual.enabled=true）でのみ有効
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+  private static final String APPLICATION_PACKAGE = "com.teafarmops.";
+  private static final int LOGGED_FRAMES = 8;
+
+  private final MetricsService metricsService;
+  private final Duration threshold;
+
+  private volatile RecordingStream stream;
+
+  @Autowired
+  public VirtualThreadPinningMonitor(MetricsService metricsService,
+                                     @Value("${teafarmops.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+    this.metricsService = metricsService;
+    this.threshold = Duration.ofMillis(thresholdMillis);
+  }
+
+  @Override
+  public void start() {
+    RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+    stream = recording;
+    logger.info("仮想スレッドのピン留め監視を開始しました（しきい値: {}ms）", threshold.toMillis());
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream recording = stream;
+    stream = null;
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    metricsService.recordVirtualThreadPinned(event.getDuration());
+    logger.warn("仮想スレッドが {}ms ピン留めされました（{}）\n{}",
+        event.getDuration().toMillis(),
+        event.getThread() != null ? event.getThread().getJavaName() : "不明なスレッド",
+        describe(event.getStackTrace()));
+  }
+
+  /**
+   * 発生箇所をアプリケーションのフレームを優先して整形
+   */
+  private static String describe(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "\tスタックトレースなし";
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    List<RecordedFrame> applicationFrames = frames.stream()
+        .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+        .collect(Collectors.toList());
+    return (applicationFrames.isEmpty() ? frames : applicationFrames).stream()
+        .limit(LOGGED_FRAMES)
+        .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + "(line " + frame.getLineNumber() + ")")
+        .collect(Collectors.joining("\n"));
+  }
+}
@@ -1,23 +1,48 @@
 package com.teafarmops.repositories;
 
+import com.teafarmops.dto.FieldDto;
 import com.teafarmops.entities.Field;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * フィールドリポジトリ
  * フィールドエンティティのデータアクセス層
+ * 検索結果はクエリキャッシュ（領域: fields-queries）に保持し、fields への書き込みで無効化される
+ * （読み取りレプリカ有効時はクエリキャッシュを使わない。ReadReplicaConfig を参照）
  */
 @Repository
 public interface FieldRepository extends JpaRepository<Field, Long> {
 
+  /**
+   * DTOプロジェクションの列（FieldDto のコンストラクタ引数の順）
+   */
+  String DTO_COLUMNS = "new com.teafarmops.dto.FieldDto(f.id, f.name, f.location, f.areaSize, f.soilType, f.notes)";
+
+  /**
+   * 全フィールドを取得
+   * @return フィールドリスト
+   */
+  @Override
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Field.QUERY_CACHE_REGION)})
+  List<Field> findAll();
+
   /**
    * 名前でフィールドを検索
    * @param name フィールド名
    * @return フィールドリスト
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Field.QUERY_CACHE_REGION)})
   List<Field> findByNameContainingIgnoreCase(String name);
 
   /**
@@ -25,6 +50,9 @@ public interface FieldRepository extends JpaRepository<Field, Long> {
    * @param location 場所
    * @return フィールドリスト
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Field.QUERY_CACHE_REGION)})
   List<Field> findByLocationContainingIgnoreCase(String location);
 
   /**
@@ -32,19 +60,28 @@ public interface FieldRepository extends JpaRepository<Field, Long> {
    * @param soilType 土壌タイプ
    * @return フィールドリスト
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Field.QUERY_CACHE_REGION)})
   List<Field> findBySoilType(String soilType);
 
   /**
-   * 総面積を取得
-   * @return 総面積（ヘクタール）
+   * 全フィールドをDTOとして取得（エンティティを読み込まない）
+   * @return フィールドDTOリスト
    */
-  @Query("SELECT SUM(f.areaSize) FROM Field f")
-  Double getTotalArea();
+  @Query("SELECT " + DTO_COLUMNS + " FROM Field f")
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Field.QUERY_CACHE_REGION),
+      @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")})
+  List<FieldDto> findAllDtos();
 
   /**
-   * フィールド数を取得
-   * @return フィールド数
+   * IDでフィールドをDTOとして取得（エンティティを読み込まない）
+   * @param id フィールドID
+   * @return フィールドDTO（オプショナル）
    */
-  @Query("SELECT COUNT(f) FROM Field f")
-  Long getFieldCount();
-} 
\ No newline at end of file
+  @Query("SELECT " + DTO_COLUMNS + " FROM Field f WHERE f.id = ?1")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL"))
+  Optional<FieldDto> findDtoById(Long id);
+}
@@ -0,0 +1,23 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.HarvestRecordDto;
+import com.teafarmops.entities.HarvestRecord;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * 収穫記録のDTO検索
+ * 一覧表示用に、エンティティを経由せず収穫記録とフィールド名をDTOとして取得する
+ */
+public interface HarvestRecordDtoRepository {
+
+  /**
+   * 条件に一致する収穫記録をDTOとして取得
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @param limit 最大件数（0以下の場合は制限なし）
+   * @return 収穫記録DTOリスト
+   */
+  List<HarvestRecordDto> findDtos(Specification<HarvestRecord> spec, Sort sort, int limit);
+}
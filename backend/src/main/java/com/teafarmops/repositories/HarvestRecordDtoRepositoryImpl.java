@@ -0,0 +1,33 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.HarvestRecordDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * 収穫記録のDTO検索の実装
+ */
+public class HarvestRecordDtoRepositoryImpl implements HarvestRecordDtoRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<HarvestRecordDto> findDtos(Specification<HarvestRecord> spec, Sort sort, int limit) {
+    return SpecificationProjection.findAll(entityManager, HarvestRecord.class, HarvestRecordDto.class,
+        (root, cb) -> {
+          Join<HarvestRecord, Field> field = root.join("field");
+          return new Selection<?>[] {
+              root.get("id"), field.get("id"), field.get("name"), root.get("harvestDate"),
+              root.get("quantityKg"), root.get("teaGrade"), root.get("notes")};
+        },
+        spec, sort, limit);
+  }
+}
@@ -1,7 +1,11 @@
 package com.teafarmops.repositories;
 
 import com.teafarmops.entities.HarvestRecord;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
@@ -12,13 +16,33 @@ import java.util.List;
  * 収穫記録エンティティのデータアクセス層
  */
 @Repository
-public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Long> {
+public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Long>,
+    JpaSpecificationExecutor<HarvestRecord>, HarvestRecordDtoRepository {
+
+  /**
+   * 全収穫記録を取得
+   * @return 収穫記録リスト
+   */
+  @Override
+  @EntityGraph(HarvestRecord.WITH_FIELD)
+  List<HarvestRecord> findAll();
+
+  /**
+   * 条件に一致する収穫記録を取得
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @return 収穫記録リスト
+   */
+  @Override
+  @EntityGraph(HarvestRecord.WITH_FIELD)
+  List<HarvestRecord> findAll(Specification<HarvestRecord> spec, Sort sort);
 
   /**
    * フィールドIDで収穫記録を検索
    * @param fieldId フィールドID
    * @return 収穫記録リスト
    */
+  @EntityGraph(HarvestRecord.WITH_FIELD)
   List<HarvestRecord> findByFieldId(Long fieldId);
 
   /**
@@ -26,6 +50,7 @@ public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Lo
    * @param harvestDate 収穫日
    * @return 収穫記録リスト
    */
+  @EntityGraph(HarvestRecord.WITH_FIELD)
   List<HarvestRecord> findByHarvestDate(LocalDate harvestDate);
 
   /**
@@ -34,6 +59,7 @@ public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Lo
    * @param endDate 終了日
    * @return 収穫記録リスト
    */
+  @EntityGraph(HarvestRecord.WITH_FIELD)
   List<HarvestRecord> findByHarvestDateBetween(LocalDate startDate, LocalDate endDate);
 
   /**
@@ -41,6 +67,7 @@ public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Lo
    * @param teaGrade 茶葉グレード
    * @return 収穫記録リスト
    */
+  @EntityGraph(HarvestRecord.WITH_FIELD)
   List<HarvestRecord> findByTeaGrade(String teaGrade);
 
   /**
@@ -58,11 +85,4 @@ public interface HarvestRecordRepository extends JpaRepository<HarvestRecord, Lo
    */
   @Query("SELECT SUM(h.quantityKg) FROM HarvestRecord h WHERE h.harvestDate BETWEEN ?1 AND ?2")
   Double getTotalHarvestQuantityBetween(LocalDate startDate, LocalDate endDate);
-
-  /**
-   * 茶葉グレード別の総収穫量を取得
-   * @return 茶葉グレード別の総収穫量
-   */
-  @Query("SELECT h.teaGrade, SUM(h.quantityKg) FROM HarvestRecord h GROUP BY h.teaGrade")
-  List<Object[]> getTotalHarvestQuantityByGrade();
 } 
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.TeaGrade;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+
+/**
+ * 収穫記録検索条件
+ * 収穫記録のフィルタとキーセット条件をSpecificationとして提供
+ */
+public final class HarvestRecordSpecifications {
+
+  /**
+   * キーセットページネーションの並び順（収穫日降順、ID降順）
+   */
+  public static final Sort KEYSET_SORT = Sort.by(
+      Sort.Order.desc("harvestDate"), Sort.Order.desc("id"));
+
+  private HarvestRecordSpecifications() {}
+
+  /**
+   * 茶葉グレードで絞り込み
+   * @param teaGrade 茶葉グレード（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> hasTeaGrade(TeaGrade teaGrade) {
+    return (root, query, cb) -> teaGrade == null
+        ? null
+        : cb.equal(root.get("teaGrade"), teaGrade);
+  }
+
+  /**
+   * 収穫日の下限で絞り込み
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> harvestedOnOrAfter(LocalDate startDate) {
+    return (root, query, cb) -> startDate == null
+        ? null
+        : cb.greaterThanOrEqualTo(root.get("harvestDate"), startDate);
+  }
+
+  /**
+   * 収穫日の上限で絞り込み
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> harvestedOnOrBefore(LocalDate endDate) {
+    return (root, query, cb) -> endDate == null
+        ? null
+        : cb.lessThanOrEqualTo(root.get("harvestDate"), endDate);
+  }
+
+  /**
+   * フィールドIDで絞り込み
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> hasFieldId(Long fieldId) {
+    return (root, query, cb) -> fieldId == null
+        ? null
+        : cb.equal(root.get("field").get("id"), fieldId);
+  }
+
+  /**
+   * キーセットカーソルより後ろの行に絞り込み（KEYSET_SORTの順序）
+   * @param harvestDate 直前ページ最終行の収穫日（nullの場合は条件なし）
+   * @param id 直前ページ最終行のID
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> after(LocalDate harvestDate, Long id) {
+    return (root, query, cb) -> harvestDate == null
+        ? null
+        : cb.or(
+            cb.lessThan(root.get("harvestDate"), harvestDate),
+            cb.and(
+                cb.equal(root.get("harvestDate"), harvestDate),
+                cb.lessThan(root.get("id"), id)));
+  }
+
+  /**
+   * 複数の条件をANDで結合
+   * @param teaGrade 茶葉グレード
+   * @param startDate 開始日
+   * @param endDate 終了日
+   * @param fieldId フィールドID
+   * @return 検索条件
+   */
+  public static Specification<HarvestRecord> matching(TeaGrade teaGrade, LocalDate startDate,
+                                                      LocalDate endDate, Long fieldId) {
+    return Specification.where(hasTeaGrade(teaGrade))
+        .and(harvestedOnOrAfter(startDate))
+        .and(harvestedOnOrBefore(endDate))
+        .and(hasFieldId(fieldId));
+  }
+}
@@ -0,0 +1,61 @@
+package com.teafarmops.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Specificationを使ったDTOプロジェクション検索
+ * エンティティを永続化コンテキストに読み込まず、コンストラクタ式で必要な列だけをDTOに詰めて返す
+ * 読み取り専用のため、検索前の自動フラッシュも行わない（FlushMode.MANUAL）
+ */
+final class SpecificationProjection {
+
+  private SpecificationProjection() {}
+
+  /**
+   * 条件に一致する行をDTOとして取得
+   * @param entityManager エンティティマネージャー
+   * @param entityType 検索対象のエンティティ
+   * @param dtoType DTOの型（columns の順に引数を受け取るコンストラクタが必要）
+   * @param columns DTOのコンストラクタに渡す列
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @param limit 最大件数（0以下の場合は制限なし）
+   * @return DTOリスト
+   */
+  static <T, D> List<D> findAll(EntityManager entityManager, Class<T> entityType, Class<D> dtoType,
+                                BiFunction<Root<T>, CriteriaBuilder, Selection<?>[]> columns,
+                                Specification<T> spec, Sort sort, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<D> query = cb.createQuery(dtoType);
+    Root<T> root = query.from(entityType);
+    query.select(cb.construct(dtoType, columns.apply(root, cb)));
+
+    Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    if (sort.isSorted()) {
+      query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+
+    TypedQuery<D> typedQuery = entityManager.createQuery(query)
+        .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+    if (limit > 0) {
+      typedQuery.setMaxResults(limit);
+    }
+    return typedQuery.getResultList();
+  }
+}
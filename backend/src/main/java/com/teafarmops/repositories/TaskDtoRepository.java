@@ -0,0 +1,23 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.entities.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * タスクのDTO検索
+ * 一覧表示用に、エンティティを経由せずタスクとフィールド名をDTOとして取得する
+ */
+public interface TaskDtoRepository {
+
+  /**
+   * 条件に一致するタスクをDTOとして取得
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @param limit 最大件数（0以下の場合は制限なし）
+   * @return タスクDTOリスト
+   */
+  List<TaskDto> findDtos(Specification<Task> spec, Sort sort, int limit);
+}
@@ -0,0 +1,34 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * タスクのDTO検索の実装
+ */
+public class TaskDtoRepositoryImpl implements TaskDtoRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<TaskDto> findDtos(Specification<Task> spec, Sort sort, int limit) {
+    return SpecificationProjection.findAll(entityManager, Task.class, TaskDto.class,
+        (root, cb) -> {
+          Join<Task, Field> field = root.join("field");
+          return new Selection<?>[] {
+              root.get("id"), root.get("taskType"), field.get("id"), field.get("name"),
+              root.get("assignedWorker"), root.get("startDate"), root.get("endDate"),
+              root.get("status"), root.get("notes")};
+        },
+        spec, sort, limit);
+  }
+}
@@ -2,10 +2,18 @@ package com.teafarmops.repositories;
 
 import com.teafarmops.entities.Task;
 import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,13 +21,33 @@ import java.util.List;
  * タスクエンティティのデータアクセス層
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+    TaskDtoRepository {
+
+  /**
+   * 全タスクを取得
+   * @return タスクリスト
+   */
+  @Override
+  @EntityGraph(Task.WITH_FIELD)
+  List<Task> findAll();
+
+  /**
+   * 条件に一致するタスクを取得
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @return タスクリスト
+   */
+  @Override
+  @EntityGraph(Task.WITH_FIELD)
+  List<Task> findAll(Specification<Task> spec, Sort sort);
 
   /**
    * フィールドIDでタスクを検索
    * @param fieldId フィールドID
    * @return タスクリスト
    */
+  @EntityGraph(Task.WITH_FIELD)
   List<Task> findByFieldId(Long fieldId);
 
   /**
@@ -27,13 +55,15 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
    * @param taskType タスクタイプ
    * @return タスクリスト
    */
-  List<Task> findByTaskType(String taskType);
+  @EntityGraph(Task.WITH_FIELD)
+  List<Task> findByTaskType(TaskType taskType);
 
   /**
    * ステータスでタスクを検索
    * @param status タスクステータス
    * @return タスクリスト
    */
+  @EntityGraph(Task.WITH_FIELD)
   List<Task> findByStatus(TaskStatus status);
 
   /**
@@ -41,6 +71,7 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
    * @param assignedWorker 担当者名
    * @return タスクリスト
    */
+  @EntityGraph(Task.WITH_FIELD)
   List<Task> findByAssignedWorkerContainingIgnoreCase(String assignedWorker);
 
   /**
@@ -48,15 +79,33 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
    * @param startDate 開始日
    * @return タスクリスト
    */
+  @EntityGraph(Task.WITH_FIELD)
   List<Task> findByStartDate(LocalDate startDate);
 
   /**
-   * 開始日範囲でタスクを検索
-   * @param startDate 開始日
-   * @param endDate 終了日
-   * @return タスクリスト
+   * 指定IDのタスクと、担当者・ステータスが一致するタスクをID順に書き込みロックして取得（フィールドは読み込まない）
+   * 1つの文でID順にロックするため、同時に実行してもロックの順序が揃う
+   * @param ids タスクID
+   * @param assignedWorkers 担当者名
+   * @param statuses タスクステータス
+   * @return タスクリスト（ID順）
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT t FROM Task t WHERE t.id IN ?1 OR (t.assignedWorker IN ?2 AND t.status IN ?3) ORDER BY t.id")
+  List<Task> findForScheduleUpdate(Collection<Long> ids, Collection<String> assignedWorkers,
+                                   Collection<TaskStatus> statuses);
+
+  /**
+   * 期間と重なるタスクを検索（期間より前に開始し期間中も続くタスクを含む）
+   * 終了日が未設定のタスクは開始日だけの期間として扱う
+   * @param startDate 期間の開始日
+   * @param endDate 期間の終了日
+   * @return タスクリスト（開始日・ID順）
    */
-  List<Task> findByStartDateBetween(LocalDate startDate, LocalDate endDate);
+  @EntityGraph(Task.WITH_FIELD)
+  @Query("SELECT t FROM Task t WHERE t.startDate <= ?2 AND COALESCE(t.endDate, t.startDate) >= ?1 "
+      + "ORDER BY t.startDate, t.id")
+  List<Task> findOverlapping(LocalDate startDate, LocalDate endDate);
 
   /**
    * 完了タスク数を取得
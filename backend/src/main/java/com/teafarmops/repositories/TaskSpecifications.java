@@ -0,0 +1,153 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * タスク検索条件
+ * タスクのフィルタとキーセット条件をSpecificationとして提供
+ */
+public final class TaskSpecifications {
+
+  /**
+   * キーセットページネーションの並び順（開始日降順、ID降順）
+   */
+  public static final Sort KEYSET_SORT = Sort.by(
+      Sort.Order.desc("startDate"), Sort.Order.desc("id"));
+
+  private TaskSpecifications() {}
+
+  /**
+   * IDで絞り込み
+   * @param id タスクID（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> hasId(Long id) {
+    return (root, query, cb) -> id == null
+        ? null
+        : cb.equal(root.get("id"), id);
+  }
+
+  /**
+   * タスクタイプで絞り込み
+   * @param taskType タスクタイプ（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> hasTaskType(TaskType taskType) {
+    return (root, query, cb) -> taskType == null
+        ? null
+        : cb.equal(root.get("taskType"), taskType);
+  }
+
+  /**
+   * ステータスで絞り込み
+   * @param status タスクステータス（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> hasStatus(TaskStatus status) {
+    return (root, query, cb) -> status == null
+        ? null
+        : cb.equal(root.get("status"), status);
+  }
+
+  /**
+   * 複数のステータスのいずれかで絞り込み
+   * @param statuses タスクステータス（空の場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> hasStatusIn(Collection<TaskStatus> statuses) {
+    return (root, query, cb) -> statuses == null || statuses.isEmpty()
+        ? null
+        : root.get("status").in(statuses);
+  }
+
+  /**
+   * 担当者名の部分一致で絞り込み（大文字小文字を区別しない）
+   * findByAssignedWorkerContainingIgnoreCase と同じく UPPER(列) で比較し、同じトライグラム索引を使う
+   * @param assignedWorker 担当者名（空の場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> assignedWorkerContains(String assignedWorker) {
+    return (root, query, cb) -> assignedWorker == null || assignedWorker.trim().isEmpty()
+        ? null
+        : cb.like(cb.upper(root.get("assignedWorker")),
+            "%" + assignedWorker.trim().toUpperCase(Locale.ROOT) + "%");
+  }
+
+  /**
+   * フィールドIDで絞り込み
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> hasFieldId(Long fieldId) {
+    return (root, query, cb) -> fieldId == null
+        ? null
+        : cb.equal(root.get("field").get("id"), fieldId);
+  }
+
+  /**
+   * 開始日が指定日以降のタスクに絞り込み
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> startsOnOrAfter(LocalDate startDate) {
+    return (root, query, cb) -> startDate == null
+        ? null
+        : cb.greaterThanOrEqualTo(root.get("startDate"), startDate);
+  }
+
+  /**
+   * 終了日（未設定の場合は開始日）が指定日以前のタスクに絞り込み
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<Task> endsOnOrBefore(LocalDate endDate) {
+    return (root, query, cb) -> endDate == null
+        ? null
+        : cb.lessThanOrEqualTo(
+            cb.coalesce(root.<LocalDate>get("endDate"), root.<LocalDate>get("startDate")), endDate);
+  }
+
+  /**
+   * キーセットカーソルより後ろの行に絞り込み（KEYSET_SORTの順序）
+   * @param startDate 直前ページ最終行の開始日（nullの場合は条件なし）
+   * @param id 直前ページ最終行のID
+   * @return 検索条件
+   */
+  public static Specification<Task> after(LocalDate startDate, Long id) {
+    return (root, query, cb) -> startDate == null
+        ? null
+        : cb.or(
+            cb.lessThan(root.get("startDate"), startDate),
+            cb.and(
+                cb.equal(root.get("startDate"), startDate),
+                cb.lessThan(root.get("id"), id)));
+  }
+
+  /**
+   * 複数の条件をANDで結合
+   * @param taskType タスクタイプ
+   * @param status タスクステータス
+   * @param assignedWorker 担当者名
+   * @param fieldId フィールドID
+   * @param startDate 開始日
+   * @param endDate 終了日
+   * @return 検索条件
+   */
+  public static Specification<Task> matching(TaskType taskType, TaskStatus status,
+                                             String assignedWorker, Long fieldId,
+                                             LocalDate startDate, LocalDate endDate) {
+    return Specification.where(hasTaskType(taskType))
+        .and(hasStatus(status))
+        .and(assignedWorkerContains(assignedWorker))
+        .and(hasFieldId(fieldId))
+        .and(startsOnOrAfter(startDate))
+        .and(endsOnOrBefore(endDate));
+  }
+}
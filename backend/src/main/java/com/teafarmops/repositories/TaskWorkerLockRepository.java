@@ -0,0 +1,25 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.entities.TaskWorkerLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 作業者ロックリポジトリ
+ * 作業者ロックエンティティのデータアクセス層
+ */
+@Repository
+public interface TaskWorkerLockRepository extends JpaRepository<TaskWorkerLock, String> {
+
+  /**
+   * 作業者のロック行を名前順に書き込みロックする（同時の適用どうしでロックの順序を揃える）
+   * @param workers 作業者名
+   * @return 作業者ロックリスト
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<TaskWorkerLock> findByWorkerInOrderByWorker(Collection<String> workers);
+}
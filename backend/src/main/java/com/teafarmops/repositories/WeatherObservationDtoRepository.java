@@ -0,0 +1,23 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.WeatherObservationDto;
+import com.teafarmops.entities.WeatherObservation;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * 天候観測のDTO検索
+ * 一覧表示用に、エンティティを経由せず天候観測とフィールド名をDTOとして取得する
+ */
+public interface WeatherObservationDtoRepository {
+
+  /**
+   * 条件に一致する天候観測をDTOとして取得
+   * @param spec 検索条件
+   * @param sort 並び順
+   * @param limit 最大件数（0以下の場合は制限なし）
+   * @return 天候観測DTOリスト
+   */
+  List<WeatherObservationDto> findDtos(Specification<WeatherObservation> spec, Sort sort, int limit);
+}
@@ -0,0 +1,34 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.dto.WeatherObservationDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.WeatherObservation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.List;
+
+/**
+ * 天候観測のDTO検索の実装
+ */
+public class WeatherObservationDtoRepositoryImpl implements WeatherObservationDtoRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<WeatherObservationDto> findDtos(Specification<WeatherObservation> spec, Sort sort, int limit) {
+    return SpecificationProjection.findAll(entityManager, WeatherObservation.class, WeatherObservationDto.class,
+        (root, cb) -> {
+          Join<WeatherObservation, Field> field = root.join("field");
+          return new Selection<?>[] {
+              root.get("id"), root.get("date"), field.get("id"), field.get("name"),
+              root.get("temperature"), root.get("rainfall"), root.get("humidity"),
+              root.get("pestsSeen"), root.get("notes")};
+        },
+        spec, sort, limit);
+  }
+}
@@ -0,0 +1,60 @@
+package com.teafarmops.repositories;
+
+import com.teafarmops.entities.WeatherObservation;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+
+/**
+ * 天候観測検索条件
+ * 天候観測のフィルタをSpecificationとして提供
+ */
+public final class WeatherObservationSpecifications {
+
+  private WeatherObservationSpecifications() {}
+
+  /**
+   * 観測日の下限で絞り込み
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<WeatherObservation> observedOnOrAfter(LocalDate startDate) {
+    return (root, query, cb) -> startDate == null
+        ? null
+        : cb.greaterThanOrEqualTo(root.get("date"), startDate);
+  }
+
+  /**
+   * 観測日の上限で絞り込み
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<WeatherObservation> observedOnOrBefore(LocalDate endDate) {
+    return (root, query, cb) -> endDate == null
+        ? null
+        : cb.lessThanOrEqualTo(root.get("date"), endDate);
+  }
+
+  /**
+   * フィールドIDで絞り込み
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @return 検索条件
+   */
+  public static Specification<WeatherObservation> hasFieldId(Long fieldId) {
+    return (root, query, cb) -> fieldId == null
+        ? null
+        : cb.equal(root.get("field").get("id"), fieldId);
+  }
+
+  /**
+   * 複数の条件をANDで結合
+   * @param startDate 開始日
+   * @param endDate 終了日
+   * @param fieldId フィールドID
+   * @return 検索条件
+   */
+  public static Specification<WeatherObservation> matching(LocalDate startDate, LocalDate endDate, Long fieldId) {
+    return Specification.where(observedOnOrAfter(startDate))
+        .and(observedOnOrBefore(endDate))
+        .and(hasFieldId(fieldId));
+  }
+}
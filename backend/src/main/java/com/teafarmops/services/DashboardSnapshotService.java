@@ -0,0 +1,362 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.DashboardSnapshot;
+import com.teafarmops.dto.WeatherRollupDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestCubeCell;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.entities.WeatherRollup;
+import com.teafarmops.events.EntityChangedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ダッシュボードスナップショットサービス
+ * ダッシュボードの集計値を2本のSQLと天候集計から並行して算出し、書き込みがあるまでメモリ上で再利用する
+ * フィールド数・総面積はフィールドカタログから求め、データベースにアクセスしない
+ * 時間内に得られなかった集計は前回の値（なければnull）で補い、次回読み取り時に再計算する
+ * 読み取りレプリカを使う場合、変更直後（遅延の上限以内）に算出した値はレプリカに未反映の可能性があるため再利用しない
+ */
+@Service
+public class DashboardSnapshotService {
+
+  private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+  private static final String QUERY_TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+
+  /**
+   * 集計の数（並行して実行するスレッド数）
+   */
+  private static final int QUERY_COUNT = 3;
+
+  /**
+   * タスクの状態別件数（1行）
+   */
+  private static final String SUMMARY_SQL =
+      "SELECT COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END), "
+      + "COUNT(CASE WHEN status = 'IN_PROGRESS' THEN 1 END), "
+      + "COUNT(CASE WHEN status = 'PENDING' THEN 1 END) FROM tasks";
+
+  /**
+   * 茶葉グレード別の総収穫量と当月収穫量（グレードごとに1行）
+   * 収穫記録を走査せず、収穫集計の季節単位のセルと当月のセルから求める
+   */
+  private static final String HARVEST_SQL =
+      "SELECT tea_grade, SUM(CASE WHEN period = 'SEASONAL' THEN total_kg END), "
+      + "SUM(CASE WHEN period = 'MONTHLY' THEN total_kg END) "
+      + "FROM harvest_cube WHERE period = 'SEASONAL' OR (period = 'MONTHLY' AND period_start = :monthStart) "
+      + "GROUP BY tea_grade";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final FieldCatalog fieldCatalog;
+  private final WeatherRollupService weatherRollupService;
+  private final AtomicInteger threadCount = new AtomicInteger();
+  /**
+   * 集計専用のスレッドプール
+   * MVCの非同期処理（エクスポート）と共有しないよう、applicationTaskExecutor は使わない
+   * 再計算は1回ずつのため、期限切れで取り消した集計が残っている間だけ待ち行列を使い、溢れた集計は失敗として扱う
+   */
+  private final ThreadPoolExecutor queryExecutor = new ThreadPoolExecutor(
+      QUERY_COUNT, QUERY_COUNT, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUERY_COUNT),
+      runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-query-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+  private final TransactionTemplate readOnlyTransaction;
+  private final long queryTimeoutMillis;
+  private final long replicaSettleNanos;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private final AtomicLong changeVersion = new AtomicLong();
+
+  private volatile long lastChangeNanos;
+
+  private volatile CachedSnapshot cached;
+
+  @Autowired
+  public DashboardSnapshotService(FieldCatalog fieldCatalog,
+                                  WeatherRollupService weatherRollupService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${teafarmops.dashboard.query-timeout-ms:2000}") long queryTimeoutMillis,
+                                  @Value("${teafarmops.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                  @Value("${teafarmops.datasource.replica.max-lag-ms:5000}") long replicaMaxLagMillis) {
+    this.fieldCatalog = fieldCatalog;
+    this.weatherRollupService = weatherRollupService;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.queryTimeoutMillis = queryTimeoutMillis;
+    this.replicaSettleNanos = replicaEnabled ? TimeUnit.MILLISECONDS.toNanos(replicaMaxLagMillis) : 0;
+    this.lastChangeNanos = System.nanoTime() - replicaSettleNanos;
+  }
+
+  /**
+   * 現在のスナップショットを取得
+   * 書き込みや月替わりがなければ再計算せずにメモリ上の値を返す
+   * 他のスレッドが再計算中の場合は、完了を待たずに前回の値を返す
+   * @return ダッシュボードスナップショット
+   */
+  public DashboardSnapshot getSnapshot() {
+    YearMonth month = YearMonth.now();
+    CachedSnapshot current = cached;
+    if (current != null && current.isFresh(changeVersion.get(), month)) {
+      return current.snapshot;
+    }
+
+    // 同時アクセス時の再計算は1回にまとめ、他のスレッドは3つの集計の完了を待たない
+    // （前回の値がない初回だけは再計算の完了を待つ）
+    if (!refreshLock.tryLock()) {
+      if (current != null) {
+        return current.snapshot;
+      }
+      refreshLock.lock();
+    }
+    try {
+      long version = changeVersion.get();
+      current = cached;
+      if (current != null && current.isFresh(version, month)) {
+        return current.snapshot;
+      }
+      boolean settled = System.nanoTime() - lastChangeNanos >= replicaSettleNanos;
+      DashboardSnapshot snapshot = compute(month, current != null ? current.snapshot : null);
+      cached = new CachedSnapshot(snapshot, version, settled);
+      return snapshot;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  /**
+   * 集計対象エンティティの変更を受けてスナップショットを無効化
+   * コミット後に呼ばれるため、次回読み取り時に確定済みのデータで再計算される
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isAbout(Field.class) || event.isAbout(Task.class)
+        || event.isAbout(HarvestCubeCell.class) || event.isAbout(WeatherRollup.class)) {
+      lastChangeNanos = System.nanoTime();
+      changeVersion.incrementAndGet();
+    }
+  }
+
+  /**
+   * スナップショットを算出
+   * 3つの集計は互いに独立しているため並行して実行し、共通の期限までに揃ったものを使う
+   * @param month 対象月
+   * @param previous 前回のスナップショット（補完用、なければnull）
+   * @return ダッシュボードスナップショット
+   */
+  private DashboardSnapshot compute(YearMonth month, DashboardSnapshot previous) {
+    LocalDate startOfMonth = month.atDay(1);
+    LocalDate endOfMonth = month.atEndOfMonth();
+    DashboardSnapshot fallback = previous != null && previous.getMonth().equals(month) ? previous : null;
+
+    Future<Object[]> summaryFuture = submit(
+        () -> readOnlyTransaction.execute(status -> querySummary()));
+    // 当月の天候は月単位の天候集計から取得する
+    Future<WeatherRollupDto> weatherFuture = submit(
+        () -> weatherRollupService.summarize(null, startOfMonth, endOfMonth));
+    Future<List<Object[]>> harvestFuture = submit(
+        () -> readOnlyTransaction.execute(status -> queryHarvest(startOfMonth)));
+
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(queryTimeoutMillis);
+    Object[] summary = await(summaryFuture, deadline, "タスク集計");
+    WeatherRollupDto weather = await(weatherFuture, deadline, "天候集計");
+    List<Object[]> harvestRows = await(harvestFuture, deadline, "収穫量集計");
+
+    // フィールドの変更はカタログが先に反映するため、ここでは常に最新の値になる
+    Long totalFields = fieldCatalog.count();
+    Double totalArea = fieldCatalog.getTotalArea();
+    Long completedTasks;
+    Long inProgressTasks;
+    Long pendingTasks;
+    if (summary != null) {
+      completedTasks = toLong(summary[0]);
+      inProgressTasks = toLong(summary[1]);
+      pendingTasks = toLong(summary[2]);
+    } else if (fallback != null) {
+      completedTasks = fallback.getCompletedTasks();
+      inProgressTasks = fallback.getInProgressTasks();
+      pendingTasks = fallback.getPendingTasks();
+    } else {
+      completedTasks = null;
+      inProgressTasks = null;
+      pendingTasks = null;
+    }
+
+    Double averageTemperature;
+    Double totalRainfall;
+    Double averageHumidity;
+    if (weather != null) {
+      averageTemperature = weather.getTemperature().getAverage();
+      totalRainfall = weather.getRainfall().getSum();
+      averageHumidity = weather.getHumidity().getAverage();
+    } else if (fallback != null) {
+      averageTemperature = fallback.getAverageTemperature();
+      totalRainfall = fallback.getTotalRainfall();
+      averageHumidity = fallback.getAverageHumidity();
+    } else {
+      averageTemperature = null;
+      totalRainfall = null;
+      averageHumidity = null;
+    }
+
+    Map<TeaGrade, Double> harvestByGrade = new EnumMap<>(TeaGrade.class);
+    Double totalHarvest = null;
+    Double monthlyHarvest = null;
+    if (harvestRows != null) {
+      for (Object[] row : harvestRows) {
+        Double gradeTotal = toDouble(row[1]);
+        harvestByGrade.put(TeaGrade.valueOf((String) row[0]), gradeTotal);
+        totalHarvest = add(totalHarvest, gradeTotal);
+        monthlyHarvest = add(monthlyHarvest, toDouble(row[2]));
+      }
+    } else if (fallback != null) {
+      harvestByGrade.putAll(fallback.getHarvestByGrade());
+      totalHarvest = fallback.getTotalHarvest();
+      monthlyHarvest = fallback.getMonthlyHarvest();
+    }
+
+    return new DashboardSnapshot(
+        month,
+        totalFields,
+        totalArea,
+        completedTasks,
+        inProgressTasks,
+        pendingTasks,
+        totalHarvest,
+        monthlyHarvest,
+        averageTemperature,
+        totalRainfall,
+        averageHumidity,
+        harvestByGrade,
+        summary == null || weather == null || harvestRows == null);
+  }
+
+  private Object[] querySummary() {
+    return (Object[]) entityManager.createNativeQuery(SUMMARY_SQL)
+        .setHint(QUERY_TIMEOUT_HINT, (int) queryTimeoutMillis)
+        .getSingleResult();
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object[]> queryHarvest(LocalDate startOfMonth) {
+    List<Object[]> rows = entityManager.createNativeQuery(HARVEST_SQL)
+        .setHint(QUERY_TIMEOUT_HINT, (int) queryTimeoutMillis)
+        .setParameter("monthStart", startOfMonth)
+        .getResultList();
+    return rows != null ? rows : Collections.emptyList();
+  }
+
+  /**
+   * 集計を専用のスレッドプールで実行
+   * 待ち行列が満杯の場合は失敗した集計として返す
+   * @param query 集計
+   * @return 集計結果
+   */
+  private <T> Future<T> submit(Callable<T> query) {
+    try {
+      return queryExecutor.submit(query);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(new RejectedExecutionException("集計の待ち行列が満杯です", e));
+    }
+  }
+
+  /**
+   * 集計スレッドを停止
+   */
+  @PreDestroy
+  public void shutdown() {
+    queryExecutor.shutdownNow();
+  }
+
+  /**
+   * 集計結果を期限まで待つ
+   * 期限切れ・失敗の場合は実行を取り消してnullを返す
+   * @param future 集計
+   * @param deadline 期限（System.nanoTime基準）
+   * @param name ログ用の集計名
+   * @return 集計結果（得られなかった場合はnull）
+   */
+  private <T> T await(Future<T> future, long deadline, String name) {
+    try {
+      return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      logger.warn("ダッシュボードの{}が {}ms 以内に完了しませんでした", name, queryTimeoutMillis);
+    } catch (ExecutionException e) {
+      logger.warn("ダッシュボードの{}に失敗しました: {}", name, e.getCause().getMessage());
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  private static Double add(Double total, Double value) {
+    if (value == null) {
+      return total;
+    }
+    return total == null ? value : total + value;
+  }
+
+  private static Double toDouble(Object value) {
+    return value == null ? null : ((Number) value).doubleValue();
+  }
+
+  private static Long toLong(Object value) {
+    return value == null ? null : ((Number) value).longValue();
+  }
+
+  /**
+   * 算出時点の変更バージョンを伴うスナップショット
+   */
+  private static final class CachedSnapshot {
+
+    private final DashboardSnapshot snapshot;
+    private final long version;
+    private final boolean settled;
+
+    private CachedSnapshot(DashboardSnapshot snapshot, long version, boolean settled) {
+      this.snapshot = snapshot;
+      this.version = version;
+      this.settled = settled;
+    }
+
+    // 一部の集計が欠けたスナップショット、レプリカへの反映前に算出したスナップショットは次回読み取り時に再計算する
+    private boolean isFresh(long currentVersion, YearMonth currentMonth) {
+      return version == currentVersion && snapshot.getMonth().equals(currentMonth) && !snapshot.isPartial()
+          && settled;
+    }
+  }
+}
@@ -0,0 +1,338 @@
+package com.teafarmops.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.teafarmops.utils.CsvUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * データエクスポートサービス
+ * 前方専用のJDBCカーソルから1行ずつ読み出し、エンティティを生成せずに出力ストリームへ書き込む
+ */
+@Service
+public class DataExportService {
+
+  /**
+   * 出力形式
+   */
+  public enum Format {
+    CSV("text/csv", ".csv"),
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    Format(String contentType, String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    public String getContentType() {
+      return contentType;
+    }
+
+    public String getExtension() {
+      return extension;
+    }
+  }
+
+  /**
+   * エクスポート対象
+   */
+  public enum Dataset {
+    FIELDS("fields",
+        "SELECT id, name, location, area_size, soil_type, notes FROM fields ORDER BY id",
+        List.of(
+            Column.number("id", "ID"),
+            Column.text("name", "フィールド名"),
+            Column.text("location", "場所"),
+            Column.decimal("areaSize", "面積(ha)"),
+            Column.text("soilType", "土壌タイプ"),
+            Column.text("notes", "備考"))),
+    TASKS("tasks",
+        "SELECT t.id, t.field_id, f.name, t.task_type, t.assigned_worker, t.start_date, t.end_date, "
+        + "t.status, t.notes FROM tasks t JOIN fields f ON f.id = t.field_id ORDER BY t.id",
+        List.of(
+            Column.number("id", "ID"),
+            Column.number("fieldId", "フィールドID"),
+            Column.text("fieldName", "フィールド名"),
+            Column.text("taskType", "タスクタイプ"),
+            Column.text("assignedWorker", "担当者"),
+            Column.date("startDate", "開始日"),
+            Column.date("endDate", "終了日"),
+            Column.text("status", "ステータス"),
+            Column.text("notes", "備考"))),
+    HARVEST_RECORDS("harvest_records",
+        "SELECT h.id, h.field_id, f.name, h.harvest_date, h.quantity_kg, h.tea_grade, h.notes "
+        + "FROM harvest_records h JOIN fields f ON f.id = h.field_id ORDER BY h.id",
+        List.of(
+            Column.number("id", "ID"),
+            Column.number("fieldId", "フィールドID"),
+            Column.text("fieldName", "フィールド名"),
+            Column.date("harvestDate", "収穫日"),
+            Column.decimal("quantityKg", "収穫量(kg)"),
+            Column.text("teaGrade", "茶葉グレード"),
+            Column.text("notes", "備考"))),
+    WEATHER_OBSERVATIONS("weather_observations",
+        "SELECT w.id, w.field_id, f.name, w.date, w.temperature, w.rainfall, w.humidity, w.pests_seen, "
+        + "w.notes FROM weather_observations w JOIN fields f ON f.id = w.field_id ORDER BY w.id",
+        List.of(
+            Column.number("id", "ID"),
+            Column.number("fieldId", "フィールドID"),
+            Column.text("fieldName", "フィールド名"),
+            Column.date("date", "観測日"),
+            Column.decimal("temperature", "気温(°C)"),
+            Column.decimal("rainfall", "降水量(mm)"),
+            Column.decimal("humidity", "湿度(%)"),
+            Column.text("pestsSeen", "害虫の有無"),
+            Column.text("notes", "備考")));
+
+    private final String fileName;
+    private final String sql;
+    private final List<Column> columns;
+
+    Dataset(String fileName, String sql, List<Column> columns) {
+      this.fileName = fileName;
+      this.sql = sql;
+      this.columns = columns;
+    }
+
+    public String getFileName() {
+      return fileName;
+    }
+
+    /**
+     * URLのパス表記（例: harvest-records）から取得
+     * @param path パス表記
+     * @return エクスポート対象
+     * @throws IllegalArgumentException 該当する対象がない場合
+     */
+    public static Dataset fromPath(String path) {
+      return valueOf(path.trim().toUpperCase().replace('-', '_'));
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  @Autowired
+  public DataExportService(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${teafarmops.export.fetch-size:1000}") int fetchSize) {
+    // フェッチサイズを指定して、結果セットを一度に読み込まずにカーソルで少しずつ取得する
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+    // PostgreSQLはトランザクション内でのみカーソルによる分割取得を行う
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * データを出力ストリームへ書き込み
+   * @param dataset エクスポート対象
+   * @param format 出力形式
+   * @param out 出力先（呼び出し側で閉じる）
+   * @return 書き込んだ行数
+   * @throws IOException 書き込みに失敗した場合
+   */
+  public long export(Dataset dataset, Format format, OutputStream out) throws IOException {
+    RowWriter writer = format == Format.CSV
+        ? new CsvRowWriter(out, dataset.columns)
+        : new NdjsonRowWriter(out, dataset.columns);
+    long[] rows = new long[1];
+    try {
+      readOnlyTransaction.executeWithoutResult(status ->
+          jdbcTemplate.query(dataset.sql, (RowCallbackHandler) resultSet -> {
+            try {
+              writer.write(resultSet);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+          }));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.finish();
+    return rows[0];
+  }
+
+  /**
+   * 出力列の定義
+   */
+  private static final class Column {
+
+    private enum Type { TEXT, NUMBER, DECIMAL, DATE }
+
+    private final String key;
+    private final String label;
+    private final Type type;
+
+    private Column(String key, String label, Type type) {
+      this.key = key;
+      this.label = label;
+      this.type = type;
+    }
+
+    private static Column text(String key, String label) {
+      return new Column(key, label, Type.TEXT);
+    }
+
+    private static Column number(String key, String label) {
+      return new Column(key, label, Type.NUMBER);
+    }
+
+    private static Column decimal(String key, String label) {
+      return new Column(key, label, Type.DECIMAL);
+    }
+
+    private static Column date(String key, String label) {
+      return new Column(key, label, Type.DATE);
+    }
+  }
+
+  /**
+   * 1行ずつの書き込み処理
+   */
+  private interface RowWriter {
+
+    void write(ResultSet resultSet) throws SQLException, IOException;
+
+    void finish() throws IOException;
+  }
+
+  /**
+   * CSV形式（Excelで文字化けしないようBOM付きUTF-8）
+   */
+  private static final class CsvRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final List<Column> columns;
+
+    private CsvRowWriter(OutputStream out, List<Column> columns) throws IOException {
+      this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      this.columns = columns;
+      writer.write('\uFEFF');
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        writer.write(CsvUtils.escape(columns.get(i).label));
+      }
+      writer.write('\n');
+    }
+
+    @Override
+    public void write(ResultSet resultSet) throws SQLException, IOException {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        int index = i + 1;
+        switch (columns.get(i).type) {
+          case NUMBER:
+            long number = resultSet.getLong(index);
+            if (!resultSet.wasNull()) {
+              writer.write(Long.toString(number));
+            }
+            break;
+          case DECIMAL:
+            double decimal = resultSet.getDouble(index);
+            if (!resultSet.wasNull()) {
+              writer.write(Double.toString(decimal));
+            }
+            break;
+          case DATE:
+            LocalDate date = resultSet.getObject(index, LocalDate.class);
+            if (date != null) {
+              writer.write(date.toString());
+            }
+            break;
+          default:
+            writer.write(CsvUtils.escape(resultSet.getString(index)));
+        }
+      }
+      writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+      writer.flush();
+    }
+  }
+
+  /**
+   * NDJSON形式（1行に1オブジェクト）
+   */
+  private final class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final List<Column> columns;
+
+    private NdjsonRowWriter(OutputStream out, List<Column> columns) throws IOException {
+      this.generator = jsonFactory.createGenerator(out);
+      this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      this.columns = columns;
+    }
+
+    @Override
+    public void write(ResultSet resultSet) throws SQLException, IOException {
+      generator.writeStartObject();
+      for (int i = 0; i < columns.size(); i++) {
+        Column column = columns.get(i);
+        int index = i + 1;
+        generator.writeFieldName(column.key);
+        switch (column.type) {
+          case NUMBER:
+            long number = resultSet.getLong(index);
+            if (resultSet.wasNull()) {
+              generator.writeNull();
+            } else {
+              generator.writeNumber(number);
+            }
+            break;
+          case DECIMAL:
+            double decimal = resultSet.getDouble(index);
+            if (resultSet.wasNull()) {
+              generator.writeNull();
+            } else {
+              generator.writeNumber(decimal);
+            }
+            break;
+          case DATE:
+            LocalDate date = resultSet.getObject(index, LocalDate.class);
+            generator.writeString(date == null ? null : date.toString());
+            break;
+          default:
+            generator.writeString(resultSet.getString(index));
+        }
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+      generator.flush();
+    }
+  }
+}
@@ -0,0 +1,439 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.CursorPage;
+import com.teafarmops.dto.FieldDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.repositories.FieldRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * フィールドカタログ
+ * フィールドは件数が少なく頻繁に参照されるため、全件をID・名前・場所・土壌タイプで索引付けした
+ * 不変のスナップショットとしてメモリ上に保持し、データベースにアクセスせずに参照・検索する
+ * 読み取りはロックを取らずに現在のスナップショットを参照し、フィールドの変更はコミット後に
+ * 変更されたフィールドだけを差し替えた新しいスナップショットを作って参照を入れ替える
+ * FieldDto は変更可能なため、スナップショットの要素は外に出さず、呼び出し元にはコピーを返す
+ */
+@Service
+public class FieldCatalog {
+
+  private static final char SEPARATOR = ':';
+
+  /**
+   * 並び順のキー（同じ値の場合はID順）
+   */
+  public enum SortKey {
+    ID(FieldDto::getId),
+    NAME(FieldDto::getName),
+    LOCATION(FieldDto::getLocation),
+    AREA_SIZE(FieldDto::getAreaSize),
+    SOIL_TYPE(FieldDto::getSoilType);
+
+    private final Comparator<FieldDto> ascending;
+
+    <U extends Comparable<? super U>> SortKey(Function<FieldDto, U> key) {
+      this.ascending = Comparator.comparing(key, Comparator.nullsLast(Comparator.<U>naturalOrder()))
+          .thenComparing(FieldDto::getId);
+    }
+
+    /**
+     * 並び順のキーと継続トークンの値から、比較用のフィールドを作成
+     */
+    private FieldDto probe(String value, Long id) {
+      FieldDto probe = new FieldDto();
+      probe.setId(id);
+      switch (this) {
+        case NAME:
+          probe.setName(value);
+          break;
+        case LOCATION:
+          probe.setLocation(value);
+          break;
+        case AREA_SIZE:
+          probe.setAreaSize(value == null ? null : Double.valueOf(value));
+          break;
+        case SOIL_TYPE:
+          probe.setSoilType(value);
+          break;
+        default:
+          break;
+      }
+      return probe;
+    }
+
+    private String value(FieldDto field) {
+      switch (this) {
+        case NAME:
+          return field.getName();
+        case LOCATION:
+          return field.getLocation();
+        case AREA_SIZE:
+          return field.getAreaSize() == null ? null : field.getAreaSize().toString();
+        case SOIL_TYPE:
+          return field.getSoilType();
+        default:
+          return "";
+      }
+    }
+  }
+
+  private final FieldRepository fieldRepository;
+  private final TransactionTemplate loadTransaction;
+  private final Object writeLock = new Object();
+
+  private volatile Snapshot snapshot;
+
+  @Autowired
+  public FieldCatalog(FieldRepository fieldRepository, PlatformTransactionManager transactionManager) {
+    this.fieldRepository = fieldRepository;
+    // 変更直後に読み込むため、読み取り専用トランザクション中に呼ばれても読み取りレプリカではなくプライマリから読む
+    this.loadTransaction = new TransactionTemplate(transactionManager);
+    this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 全フィールドを取得
+   * @return フィールドDTOのコピーのリスト（ID順、変更不可）
+   */
+  public List<FieldDto> getAll() {
+    return copyAll(current().fields);
+  }
+
+  /**
+   * IDでフィールドを取得
+   * @param id フィールドID
+   * @return フィールドDTOのコピー（オプショナル）
+   */
+  public Optional<FieldDto> findById(Long id) {
+    return id == null ? Optional.empty() : Optional.ofNullable(current().byId.get(id)).map(FieldCatalog::copy);
+  }
+
+  /**
+   * フィールドが存在するかを判定
+   * @param id フィールドID
+   * @return 存在する場合true
+   */
+  public boolean contains(Long id) {
+    return id != null && current().byId.containsKey(id);
+  }
+
+  /**
+   * フィールド名を取得
+   * @param id フィールドID
+   * @return フィールド名（存在しない場合null）
+   */
+  public String getName(Long id) {
+    FieldDto field = id == null ? null : current().byId.get(id);
+    return field == null ? null : field.getName();
+  }
+
+  /**
+   * 名前でフィールドを取得（完全一致、大文字小文字を区別しない）
+   * @param name フィールド名
+   * @return フィールドDTOのコピーのリスト（ID順、変更不可）
+   */
+  public List<FieldDto> findByName(String name) {
+    return copyAll(lookup(current().byName, lower(name)));
+  }
+
+  /**
+   * 場所でフィールドを取得（完全一致、大文字小文字を区別しない）
+   * @param location 場所
+   * @return フィールドDTOのコピーのリスト（ID順、変更不可）
+   */
+  public List<FieldDto> findByLocation(String location) {
+    return copyAll(lookup(current().byLocation, lower(location)));
+  }
+
+  /**
+   * 土壌タイプでフィールドを取得（完全一致）
+   * @param soilType 土壌タイプ
+   * @return フィールドDTOのコピーのリスト（ID順、変更不可）
+   */
+  public List<FieldDto> findBySoilType(String soilType) {
+    return copyAll(lookup(current().bySoilType, trim(soilType)));
+  }
+
+  /**
+   * フィールド数を取得
+   * @return フィールド数
+   */
+  public long count() {
+    return current().fields.size();
+  }
+
+  /**
+   * 総面積を取得
+   * @return 総面積（ヘクタール、フィールドがない場合null）
+   */
+  public Double getTotalArea() {
+    return current().totalArea;
+  }
+
+  /**
+   * 条件をすべて満たすフィールドを検索
+   * 土壌タイプを指定した場合は土壌タイプの索引で候補を絞ってから残りの条件を調べる
+   * @param name フィールド名（部分一致、大文字小文字を区別しない、空の場合は条件なし）
+   * @param location 場所（部分一致、大文字小文字を区別しない、空の場合は条件なし）
+   * @param soilType 土壌タイプ（完全一致、空の場合は条件なし）
+   * @param minArea 最小面積（ヘクタール、この値を含む、nullの場合は条件なし）
+   * @param maxArea 最大面積（ヘクタール、この値を含む、nullの場合は条件なし）
+   * @param sortKey 並び順のキー
+   * @param descending 降順の場合true
+   * @return フィールドDTOのコピーのリスト（変更不可）
+   */
+  public List<FieldDto> search(String name, String location, String soilType, Double minArea, Double maxArea,
+                               SortKey sortKey, boolean descending) {
+    String nameQuery = lower(name);
+    String locationQuery = lower(location);
+    String soilTypeQuery = trim(soilType);
+
+    Snapshot current = current();
+    List<FieldDto> candidates = soilTypeQuery == null ? current.fields : lookup(current.bySoilType, soilTypeQuery);
+    List<FieldDto> matched = new ArrayList<>();
+    for (FieldDto field : candidates) {
+      if ((nameQuery == null || contains(field.getName(), nameQuery))
+          && (locationQuery == null || contains(field.getLocation(), locationQuery))
+          && (minArea == null || (field.getAreaSize() != null && field.getAreaSize() >= minArea))
+          && (maxArea == null || (field.getAreaSize() != null && field.getAreaSize() <= maxArea))) {
+        matched.add(field);
+      }
+    }
+    matched.sort(comparator(sortKey, descending));
+    return copyAll(matched);
+  }
+
+  /**
+   * 条件をすべて満たすフィールドをキーセットページネーションで取得
+   * 継続トークンは直前ページ最終行の並び順のキーとIDで、以降の変更があってもページが重複・欠落しない
+   * @param name フィールド名
+   * @param location 場所
+   * @param soilType 土壌タイプ
+   * @param minArea 最小面積
+   * @param maxArea 最大面積
+   * @param sortKey 並び順のキー
+   * @param descending 降順の場合true
+   * @param cursor 継続トークン（nullの場合は先頭ページ）
+   * @param limit ページサイズ
+   * @return フィールドDTOページ
+   * @throws IllegalArgumentException 継続トークンが不正な場合
+   */
+  public CursorPage<FieldDto> searchPage(String name, String location, String soilType, Double minArea,
+                                         Double maxArea, SortKey sortKey, boolean descending,
+                                         String cursor, Integer limit) {
+    int pageSize = CursorPage.normalizePageSize(limit);
+    List<FieldDto> matched = search(name, location, soilType, minArea, maxArea, sortKey, descending);
+    int from = 0;
+    if (cursor != null && !cursor.isEmpty()) {
+      // 並び替え済みのため、継続トークンより後ろの先頭位置を二分探索で求める
+      int index = Collections.binarySearch(matched, decode(sortKey, cursor), comparator(sortKey, descending));
+      from = index >= 0 ? index + 1 : -index - 1;
+    }
+    List<FieldDto> rows = matched.subList(from, Math.min(matched.size(), from + pageSize + 1));
+    return CursorPage.fromLookahead(new ArrayList<>(rows), pageSize, last -> encode(sortKey, last));
+  }
+
+  /**
+   * 起動時に全フィールドを読み込む
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  /**
+   * フィールドの変更（FieldService の登録・更新・削除）を受けて新しいスナップショットに入れ替える
+   * コミット後に呼ばれ、変更されたフィールドだけをプライマリから読み直す（IDがない場合は全件）
+   * フィールドを参照する他の購読側（ダッシュボード等）が新しい値を読めるよう、先に実行する
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (!event.isAbout(Field.class)) {
+      return;
+    }
+    Long id = event.getEntityId();
+    if (id == null) {
+      reload();
+      return;
+    }
+    synchronized (writeLock) {
+      Snapshot current = snapshot;
+      if (current == null) {
+        reload();
+        return;
+      }
+      // 同じフィールドへの変更が続いた場合も、最後に読み直した時点の確定値が残る
+      Optional<FieldDto> loaded = loadTransaction.execute(status -> fieldRepository.findDtoById(id));
+      Map<Long, FieldDto> fields = new HashMap<>(current.byId);
+      if (loaded.isPresent()) {
+        fields.put(id, loaded.get());
+      } else {
+        fields.remove(id);
+      }
+      snapshot = Snapshot.of(fields.values());
+    }
+  }
+
+  /**
+   * 全フィールドを読み込み、スナップショットを入れ替える
+   */
+  private void reload() {
+    synchronized (writeLock) {
+      snapshot = Snapshot.of(loadTransaction.execute(status -> fieldRepository.findAllDtos()));
+    }
+  }
+
+  private Snapshot current() {
+    Snapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    // 起動完了前の参照に備え、未読み込みの場合だけ読み込む
+    synchronized (writeLock) {
+      if (snapshot == null) {
+        snapshot = Snapshot.of(loadTransaction.execute(status -> fieldRepository.findAllDtos()));
+      }
+      return snapshot;
+    }
+  }
+
+  private static List<FieldDto> lookup(Map<String, List<FieldDto>> index, String key) {
+    if (key == null) {
+      return Collections.emptyList();
+    }
+    return index.getOrDefault(key, Collections.emptyList());
+  }
+
+  private static FieldDto copy(FieldDto field) {
+    return new FieldDto(field.getId(), field.getName(), field.getLocation(), field.getAreaSize(),
+        field.getSoilType(), field.getNotes());
+  }
+
+  private static List<FieldDto> copyAll(List<FieldDto> fields) {
+    List<FieldDto> copies = new ArrayList<>(fields.size());
+    for (FieldDto field : fields) {
+      copies.add(copy(field));
+    }
+    return Collections.unmodifiableList(copies);
+  }
+
+  private static Comparator<FieldDto> comparator(SortKey sortKey, boolean descending) {
+    return descending ? sortKey.ascending.reversed() : sortKey.ascending;
+  }
+
+  private static String trim(String value) {
+    return value == null || value.trim().isEmpty() ? null : value.trim();
+  }
+
+  private static String lower(String value) {
+    String trimmed = trim(value);
+    return trimmed == null ? null : trimmed.toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean contains(String value, String lowerQuery) {
+    return value != null && value.toLowerCase(Locale.ROOT).contains(lowerQuery);
+  }
+
+  /**
+   * 並び順のキーの値とIDから継続トークンを生成（値がnullの場合は区切り文字だけ）
+   */
+  private static String encode(SortKey sortKey, FieldDto last) {
+    String value = sortKey.value(last);
+    String raw = last.getId() + String.valueOf(SEPARATOR) + (value == null ? "" : SEPARATOR + value);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static FieldDto decode(SortKey sortKey, String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator <= 0) {
+        throw new IllegalArgumentException("不正なカーソルです: " + token);
+      }
+      Long id = Long.valueOf(raw.substring(0, separator));
+      String rest = raw.substring(separator + 1);
+      String value = rest.isEmpty() ? null : rest.substring(1);
+      return sortKey.probe(value, id);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("不正なカーソルです: " + token, e);
+    }
+  }
+
+  /**
+   * ある時点の全フィールドと索引（作成後は変更しない）
+   */
+  private static final class Snapshot {
+
+    private final List<FieldDto> fields;
+    private final Map<Long, FieldDto> byId;
+    private final Map<String, List<FieldDto>> byName;
+    private final Map<String, List<FieldDto>> byLocation;
+    private final Map<String, List<FieldDto>> bySoilType;
+    private final Double totalArea;
+
+    private Snapshot(List<FieldDto> fields) {
+      this.fields = Collections.unmodifiableList(fields);
+      Map<Long, FieldDto> byId = new HashMap<>(fields.size() * 2);
+      Map<String, List<FieldDto>> byName = new HashMap<>();
+      Map<String, List<FieldDto>> byLocation = new HashMap<>();
+      Map<String, List<FieldDto>> bySoilType = new HashMap<>();
+      Double totalArea = null;
+      for (FieldDto field : fields) {
+        byId.put(field.getId(), field);
+        index(byName, lower(field.getName()), field);
+        index(byLocation, lower(field.getLocation()), field);
+        index(bySoilType, trim(field.getSoilType()), field);
+        if (field.getAreaSize() != null) {
+          totalArea = totalArea == null ? field.getAreaSize() : totalArea + field.getAreaSize();
+        }
+      }
+      this.byId = Collections.unmodifiableMap(byId);
+      this.byName = freeze(byName);
+      this.byLocation = freeze(byLocation);
+      this.bySoilType = freeze(bySoilType);
+      this.totalArea = totalArea;
+    }
+
+    private static Snapshot of(Collection<FieldDto> fields) {
+      List<FieldDto> sorted = new ArrayList<>(fields);
+      sorted.sort(SortKey.ID.ascending);
+      return new Snapshot(sorted);
+    }
+
+    private static void index(Map<String, List<FieldDto>> index, String key, FieldDto field) {
+      if (key != null) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(field);
+      }
+    }
+
+    private static Map<String, List<FieldDto>> freeze(Map<String, List<FieldDto>> index) {
+      index.replaceAll((key, fields) -> Collections.unmodifiableList(fields));
+      return Collections.unmodifiableMap(index);
+    }
+  }
+}
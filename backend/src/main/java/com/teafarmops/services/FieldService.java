@@ -1,8 +1,13 @@
 package com.teafarmops.services;
 
+import com.teafarmops.dto.CursorPage;
+import com.teafarmops.dto.FieldDto;
 import com.teafarmops.entities.Field;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
 import com.teafarmops.repositories.FieldRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -17,16 +22,23 @@ import java.util.Optional;
 public class FieldService {
 
   private final FieldRepository fieldRepository;
+  private final FieldCatalog fieldCatalog;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public FieldService(FieldRepository fieldRepository) {
+  public FieldService(FieldRepository fieldRepository,
+                      FieldCatalog fieldCatalog,
+                      ApplicationEventPublisher eventPublisher) {
     this.fieldRepository = fieldRepository;
+    this.fieldCatalog = fieldCatalog;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * 全フィールドを取得
    * @return フィールドリスト
    */
+  @Transactional(readOnly = true)
   public List<Field> getAllFields() {
     return fieldRepository.findAll();
   }
@@ -46,7 +58,10 @@ public class FieldService {
    * @return 保存されたフィールド
    */
   public Field saveField(Field field) {
-    return fieldRepository.save(field);
+    ChangeType changeType = field.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+    Field saved = fieldRepository.save(field);
+    publishChange(changeType, saved.getId());
+    return saved;
   }
 
   /**
@@ -65,7 +80,9 @@ public class FieldService {
     field.setSoilType(fieldDetails.getSoilType());
     field.setNotes(fieldDetails.getNotes());
 
-    return fieldRepository.save(field);
+    Field saved = fieldRepository.save(field);
+    publishChange(ChangeType.UPDATED, id);
+    return saved;
   }
 
   /**
@@ -76,6 +93,7 @@ public class FieldService {
     Field field = fieldRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("フィールドが見つかりません: " + id));
     fieldRepository.delete(field);
+    publishChange(ChangeType.DELETED, id);
   }
 
   /**
@@ -83,6 +101,7 @@ public class FieldService {
    * @param name フィールド名
    * @return フィールドリスト
    */
+  @Transactional(readOnly = true)
   public List<Field> searchFieldsByName(String name) {
     return fieldRepository.findByNameContainingIgnoreCase(name);
   }
@@ -92,6 +111,7 @@ public class FieldService {
    * @param location 場所
    * @return フィールドリスト
    */
+  @Transactional(readOnly = true)
   public List<Field> searchFieldsByLocation(String location) {
     return fieldRepository.findByLocationContainingIgnoreCase(location);
   }
@@ -101,42 +121,82 @@ public class FieldService {
    * @param soilType 土壌タイプ
    * @return フィールドリスト
    */
+  @Transactional(readOnly = true)
   public List<Field> searchFieldsBySoilType(String soilType) {
     return fieldRepository.findBySoilType(soilType);
   }
 
   /**
-   * 複数条件でフィールドを検索
-   * @param name フィールド名
-   * @param location 場所
-   * @param soilType 土壌タイプ
-   * @return フィールドリスト
+   * 全フィールドをDTOとして取得（フィールドカタログから取得し、データベースにアクセスしない）
+   * @return フィールドDTOリスト
+   */
+  @Transactional(readOnly = true)
+  public List<FieldDto> getAllFieldDtos() {
+    return fieldCatalog.getAll();
+  }
+
+  /**
+   * 条件をすべて満たすフィールドをDTOとして取得（ID順）
+   * 空の条件は無視し、指定された条件をANDで結合する
+   * @param name フィールド名（部分一致）
+   * @param location 場所（部分一致）
+   * @param soilType 土壌タイプ（完全一致）
+   * @param minArea 最小面積（ヘクタール）
+   * @param maxArea 最大面積（ヘクタール）
+   * @return フィールドDTOリスト
    */
-  public List<Field> searchFields(String name, String location, String soilType) {
-    if (name != null && !name.trim().isEmpty()) {
-      return searchFieldsByName(name);
-    } else if (location != null && !location.trim().isEmpty()) {
-      return searchFieldsByLocation(location);
-    } else if (soilType != null && !soilType.trim().isEmpty()) {
-      return searchFieldsBySoilType(soilType);
-    } else {
-      return getAllFields();
-    }
+  @Transactional(readOnly = true)
+  public List<FieldDto> searchFieldDtos(String name, String location, String soilType,
+                                        Double minArea, Double maxArea) {
+    return fieldCatalog.search(name, location, soilType, minArea, maxArea, FieldCatalog.SortKey.ID, false);
   }
 
   /**
-   * 総面積を取得
+   * 条件をすべて満たすフィールドをキーセットページネーションでDTOとして取得
+   * @param name フィールド名（部分一致）
+   * @param location 場所（部分一致）
+   * @param soilType 土壌タイプ（完全一致）
+   * @param minArea 最小面積（ヘクタール）
+   * @param maxArea 最大面積（ヘクタール）
+   * @param sortKey 並び順のキー
+   * @param descending 降順の場合true
+   * @param cursor 継続トークン（nullの場合は先頭ページ）
+   * @param limit ページサイズ
+   * @return フィールドDTOページ
+   * @throws IllegalArgumentException 継続トークンが不正な場合
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<FieldDto> searchFieldPage(String name, String location, String soilType,
+                                              Double minArea, Double maxArea,
+                                              FieldCatalog.SortKey sortKey, boolean descending,
+                                              String cursor, Integer limit) {
+    return fieldCatalog.searchPage(name, location, soilType, minArea, maxArea, sortKey, descending, cursor, limit);
+  }
+
+  /**
+   * 総面積を取得（フィールドカタログから算出）
    * @return 総面積（ヘクタール）
    */
+  @Transactional(readOnly = true)
   public Double getTotalArea() {
-    return fieldRepository.getTotalArea();
+    return fieldCatalog.getTotalArea();
   }
 
   /**
-   * フィールド数を取得
+   * フィールド数を取得（フィールドカタログから算出）
    * @return フィールド数
    */
+  @Transactional(readOnly = true)
   public Long getFieldCount() {
-    return fieldRepository.getFieldCount();
+    return fieldCatalog.count();
+  }
+
+  /**
+   * 変更イベントを発行
+   * @param changeType 変更種別
+   * @param id エンティティID
+   */
+  private void publishChange(ChangeType changeType, Long id) {
+    eventPublisher.publishEvent(new EntityChangedEvent(Field.class, changeType, id));
   }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,376 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.HarvestCubeCellDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestCubeCell;
+import com.teafarmops.entities.HarvestPeriod;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.HarvestRecordsChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 収穫集計サービス
+ * フィールド×茶葉グレード×期間（日・週・月・季節）の収穫集計セルを保持し、集計の問い合わせをセルだけで処理する
+ * セルは収穫記録の変更をコミット後に受け取り、影響する期間だけを再計算する
+ * 日単位のセルは収穫記録から、それより粗い期間のセルは日単位のセルから作成する
+ */
+@Service
+public class HarvestCubeService {
+
+  private static final Logger logger = LoggerFactory.getLogger(HarvestCubeService.class);
+
+  private static final LocalDate MIN_DATE = LocalDate.of(1900, 1, 1);
+  private static final LocalDate MAX_DATE = LocalDate.of(3000, 1, 1);
+  private static final long MAX_QUERY_PERIODS = 5000;
+
+  private static final String CUBE_COLUMNS =
+      "field_id, tea_grade, period, period_start, total_kg, record_count, min_kg, max_kg";
+
+  private static final String DELETE_SQL =
+      "DELETE FROM harvest_cube WHERE field_id = :fieldId AND period = :period "
+      + "AND period_start >= :fromDate AND period_start < :toDate";
+
+  private static final String INSERT_DAILY_SQL =
+      "INSERT INTO harvest_cube (" + CUBE_COLUMNS + ") "
+      + "SELECT field_id, tea_grade, 'DAILY', harvest_date, "
+      + "SUM(quantity_kg), COUNT(*), MIN(quantity_kg), MAX(quantity_kg) FROM harvest_records "
+      + "WHERE field_id = :fieldId AND harvest_date >= :fromDate AND harvest_date < :toDate "
+      + "AND quantity_kg IS NOT NULL AND tea_grade IS NOT NULL "
+      + "GROUP BY field_id, tea_grade, harvest_date";
+
+  private static final String INSERT_FROM_DAILY_SQL =
+      "INSERT INTO harvest_cube (" + CUBE_COLUMNS + ") "
+      + "SELECT field_id, tea_grade, :period, :periodStart, "
+      + "SUM(total_kg), SUM(record_count), MIN(min_kg), MAX(max_kg) FROM harvest_cube "
+      + "WHERE field_id = :fieldId AND period = 'DAILY' "
+      + "AND period_start >= :fromDate AND period_start < :toDate "
+      + "GROUP BY field_id, tea_grade";
+
+  /**
+   * 集計の単位にする軸
+   */
+  public enum Dimension {
+    FIELD("field_id"),
+    GRADE("tea_grade"),
+    PERIOD("period_start");
+
+    private final String column;
+
+    Dimension(String column) {
+      this.column = column;
+    }
+  }
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate refreshTransaction;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  @Autowired
+  public HarvestCubeService(PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+    // コミット後のイベントから呼ばれるため、常に新しいトランザクションで書き込む
+    this.refreshTransaction = new TransactionTemplate(transactionManager);
+    this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 収穫集計を取得（スライス・ダイス）
+   * 期間は集計期間の単位に広げて扱い、開始日を含む期間から終了日を含む期間までを対象にする
+   * @param period 集計期間
+   * @param startDate 開始日
+   * @param endDate 終了日（この日を含む）
+   * @param fieldId フィールドID（nullの場合は全フィールド）
+   * @param teaGrade 茶葉グレード（nullの場合は全グレード）
+   * @param groupBy 集計の単位にする軸（空の場合は全体で1件）
+   * @return 集計の単位ごとの収穫統計（収穫のない組み合わせは含まない）
+   * @throws IllegalArgumentException 期間ごとに集計する場合に期間数が上限を超えるとき
+   */
+  @Transactional(readOnly = true)
+  public List<HarvestCubeCellDto> query(HarvestPeriod period, LocalDate startDate, LocalDate endDate,
+                                        Long fieldId, TeaGrade teaGrade, Set<Dimension> groupBy) {
+    LocalDate from = period.truncate(startDate);
+    LocalDate to = period.next(period.truncate(endDate));
+    if (groupBy.contains(Dimension.PERIOD) && period.between(from, to) > MAX_QUERY_PERIODS) {
+      throw new IllegalArgumentException("期間が長すぎます。より粗い集計期間を指定してください");
+    }
+
+    StringBuilder columns = new StringBuilder();
+    for (Dimension dimension : groupBy) {
+      columns.append(columns.length() > 0 ? ", " : "").append(dimension.column);
+    }
+    StringBuilder sql = new StringBuilder("SELECT ");
+    if (columns.length() > 0) {
+      sql.append(columns).append(", ");
+    }
+    sql.append("SUM(total_kg), SUM(record_count), MIN(min_kg), MAX(max_kg) FROM harvest_cube ")
+        .append("WHERE period = :period AND period_start >= :fromDate AND period_start < :toDate");
+    if (fieldId != null) {
+      sql.append(" AND field_id = :fieldId");
+    }
+    if (teaGrade != null) {
+      sql.append(" AND tea_grade = :teaGrade");
+    }
+    if (columns.length() > 0) {
+      sql.append(" GROUP BY ").append(columns).append(" ORDER BY ").append(columns);
+    }
+
+    Query query = entityManager.createNativeQuery(sql.toString())
+        .setParameter("period", period.name())
+        .setParameter("fromDate", from)
+        .setParameter("toDate", to);
+    if (fieldId != null) {
+      query.setParameter("fieldId", fieldId);
+    }
+    if (teaGrade != null) {
+      query.setParameter("teaGrade", teaGrade.name());
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+    List<HarvestCubeCellDto> cells = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      cells.add(toDto(period, groupBy, row));
+    }
+    return cells;
+  }
+
+  /**
+   * 茶葉グレード別の総収穫量を取得
+   * 最もセル数の少ない季節単位のセルから集計する
+   * @return 茶葉グレードごとの総収穫量（収穫のないグレードは含まない）
+   */
+  @Transactional(readOnly = true)
+  public Map<TeaGrade, Double> getTotalsByGrade() {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = entityManager.createNativeQuery(
+        "SELECT tea_grade, SUM(total_kg) FROM harvest_cube WHERE period = 'SEASONAL' GROUP BY tea_grade")
+        .getResultList();
+    Map<TeaGrade, Double> totals = new EnumMap<>(TeaGrade.class);
+    for (Object[] row : rows) {
+      totals.put(TeaGrade.valueOf((String) row[0]), ((Number) row[1]).doubleValue());
+    }
+    return totals;
+  }
+
+  /**
+   * 収穫記録の変更を受けて、影響するセルを再計算
+   * @param event 収穫記録変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHarvestRecordsChanged(HarvestRecordsChangedEvent event) {
+    if (event.getFieldId() == null || event.getHarvestDates().isEmpty()) {
+      return;
+    }
+    try {
+      refresh(event.getFieldId(), dailyRanges(event.getHarvestDates()), event.getHarvestDates());
+    } catch (RuntimeException e) {
+      // 元の書き込みは確定済みのため、呼び出し元には伝えない
+      logger.error("フィールド{}の収穫集計の更新に失敗しました", event.getFieldId(), e);
+    }
+  }
+
+  /**
+   * フィールドの削除を受けて、そのフィールドのセルを削除
+   * 収穫記録はフィールドと連鎖して削除され、収穫記録変更イベントが発行されないため、ここで取り除く
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (!event.isAbout(Field.class) || event.getChangeType() != ChangeType.DELETED
+        || event.getEntityId() == null) {
+      return;
+    }
+    Long fieldId = event.getEntityId();
+    try {
+      refreshLock.lock();
+      try {
+        refreshTransaction.executeWithoutResult(status -> entityManager
+            .createNativeQuery("DELETE FROM harvest_cube WHERE field_id = :fieldId")
+            .setParameter("fieldId", fieldId)
+            .executeUpdate());
+      } finally {
+        refreshLock.unlock();
+      }
+      eventPublisher.publishEvent(new EntityChangedEvent(HarvestCubeCell.class, ChangeType.DELETED, fieldId));
+    } catch (RuntimeException e) {
+      // 元の削除は確定済みのため、呼び出し元には伝えない
+      logger.error("フィールド{}の収穫集計の削除に失敗しました", fieldId, e);
+    }
+  }
+
+  /**
+   * 集計が空の場合に既存の収穫記録から全件作成
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfEmpty() {
+    Number existing = (Number) entityManager
+        .createNativeQuery("SELECT COUNT(*) FROM harvest_cube")
+        .getSingleResult();
+    if (existing.longValue() > 0) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = entityManager
+        .createNativeQuery("SELECT DISTINCT field_id, harvest_date FROM harvest_records "
+            + "WHERE field_id IS NOT NULL AND harvest_date IS NOT NULL")
+        .getResultList();
+    Map<Long, List<LocalDate>> datesByField = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      datesByField.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+          .add(toLocalDate(row[1]));
+    }
+    List<DateRange> all = List.of(new DateRange(MIN_DATE, MAX_DATE));
+    for (Map.Entry<Long, List<LocalDate>> entry : datesByField.entrySet()) {
+      refresh(entry.getKey(), all, entry.getValue());
+    }
+    logger.info("収穫集計を作成しました（フィールド数: {}）", datesByField.size());
+  }
+
+  /**
+   * セルを再計算
+   * 日単位のセルを作り直してから、収穫日を含む週・月・季節のセルを日単位のセルから作り直す
+   * @param fieldId フィールドID
+   * @param dailyRanges 再計算する日単位の範囲
+   * @param harvestDates 影響する収穫日
+   */
+  private void refresh(Long fieldId, List<DateRange> dailyRanges, Collection<LocalDate> harvestDates) {
+    refreshLock.lock();
+    try {
+      refreshTransaction.executeWithoutResult(status -> {
+        for (DateRange range : dailyRanges) {
+          delete(fieldId, HarvestPeriod.DAILY, range);
+          entityManager.createNativeQuery(INSERT_DAILY_SQL)
+              .setParameter("fieldId", fieldId)
+              .setParameter("fromDate", range.from)
+              .setParameter("toDate", range.to)
+              .executeUpdate();
+        }
+        for (HarvestPeriod period : HarvestPeriod.values()) {
+          if (period == HarvestPeriod.DAILY) {
+            continue;
+          }
+          TreeSet<LocalDate> periodStarts = new TreeSet<>();
+          for (LocalDate date : harvestDates) {
+            periodStarts.add(period.truncate(date));
+          }
+          for (LocalDate periodStart : periodStarts) {
+            DateRange range = new DateRange(periodStart, period.next(periodStart));
+            delete(fieldId, period, range);
+            entityManager.createNativeQuery(INSERT_FROM_DAILY_SQL)
+                .setParameter("period", period.name())
+                .setParameter("periodStart", periodStart)
+                .setParameter("fieldId", fieldId)
+                .setParameter("fromDate", range.from)
+                .setParameter("toDate", range.to)
+                .executeUpdate();
+          }
+        }
+      });
+    } finally {
+      refreshLock.unlock();
+    }
+    eventPublisher.publishEvent(new EntityChangedEvent(HarvestCubeCell.class, ChangeType.UPDATED, fieldId));
+  }
+
+  private void delete(Long fieldId, HarvestPeriod period, DateRange range) {
+    entityManager.createNativeQuery(DELETE_SQL)
+        .setParameter("fieldId", fieldId)
+        .setParameter("period", period.name())
+        .setParameter("fromDate", range.from)
+        .setParameter("toDate", range.to)
+        .executeUpdate();
+  }
+
+  /**
+   * 収穫日を、連続する日ごとに1つの範囲へまとめる
+   * @param harvestDates 収穫日
+   * @return 日付範囲のリスト
+   */
+  private static List<DateRange> dailyRanges(Collection<LocalDate> harvestDates) {
+    List<DateRange> ranges = new ArrayList<>();
+    LocalDate rangeStart = null;
+    LocalDate rangeEnd = null;
+    for (LocalDate date : new TreeSet<>(harvestDates)) {
+      if (rangeEnd != null && rangeEnd.equals(date)) {
+        rangeEnd = date.plusDays(1);
+        continue;
+      }
+      if (rangeStart != null) {
+        ranges.add(new DateRange(rangeStart, rangeEnd));
+      }
+      rangeStart = date;
+      rangeEnd = date.plusDays(1);
+    }
+    if (rangeStart != null) {
+      ranges.add(new DateRange(rangeStart, rangeEnd));
+    }
+    return ranges;
+  }
+
+  private static HarvestCubeCellDto toDto(HarvestPeriod period, Set<Dimension> groupBy, Object[] row) {
+    int column = 0;
+    Long fieldId = groupBy.contains(Dimension.FIELD) ? ((Number) row[column++]).longValue() : null;
+    TeaGrade teaGrade = groupBy.contains(Dimension.GRADE) ? TeaGrade.valueOf((String) row[column++]) : null;
+    LocalDate periodStart = groupBy.contains(Dimension.PERIOD) ? toLocalDate(row[column++]) : null;
+    return new HarvestCubeCellDto(fieldId, teaGrade, period, periodStart,
+        row[column] == null ? 0 : ((Number) row[column]).doubleValue(),
+        row[column + 1] == null ? 0 : ((Number) row[column + 1]).longValue(),
+        toDouble(row[column + 2]),
+        toDouble(row[column + 3]));
+  }
+
+  private static Double toDouble(Object value) {
+    return value == null ? null : ((Number) value).doubleValue();
+  }
+
+  private static LocalDate toLocalDate(Object value) {
+    return value instanceof Date ? ((Date) value).toLocalDate() : (LocalDate) value;
+  }
+
+  /**
+   * 日付の範囲（終了は含まない）
+   */
+  private static final class DateRange {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    private DateRange(LocalDate from, LocalDate to) {
+      this.from = from;
+      this.to = to;
+    }
+  }
+}
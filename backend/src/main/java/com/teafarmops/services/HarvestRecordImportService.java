@@ -0,0 +1,361 @@
+package com.teafarmops.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teafarmops.dto.BulkImportResult;
+import com.teafarmops.dto.FieldDto;
+import com.teafarmops.dto.HarvestRecordDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.HarvestRecordsChangedEvent;
+import com.teafarmops.utils.CsvUtils;
+import com.teafarmops.utils.DateUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 収穫記録一括取り込みサービス
+ * JSON配列またはCSVをストリームで読み込み、チャンク単位のJDBCバッチで保存する
+ * 不正な行はエラーとして報告し、残りの行の取り込みは継続する
+ */
+@Service
+public class HarvestRecordImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(HarvestRecordImportService.class);
+
+  private static final int MAX_REPORTED_ERRORS = 1000;
+
+  /**
+   * データエクスポート（DataExportService）のCSVの見出しと列名の対応
+   * エクスポートしたCSVをそのまま取り込めるようにする
+   */
+  private static final Map<String, String> EXPORT_HEADER_ALIASES = Map.of(
+      "フィールドID", "fieldId",
+      "収穫日", "harvestDate",
+      "収穫量(kg)", "quantityKg",
+      "茶葉グレード", "teaGrade",
+      "備考", "notes");
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final FieldCatalog fieldCatalog;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate chunkTransaction;
+  private final int chunkSize;
+
+  @Autowired
+  public HarvestRecordImportService(FieldCatalog fieldCatalog,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${teafarmops.import.chunk-size:500}") int chunkSize) {
+    this.fieldCatalog = fieldCatalog;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+    this.chunkTransaction = new TransactionTemplate(transactionManager);
+    this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * JSON配列形式の収穫記録を取り込み
+   * 配列の途中で構文エラーや終端に達した場合は、その行をエラーにしてそれまでの行を保存する
+   * @param input 収穫記録DTOのJSON配列
+   * @return 取り込み結果
+   * @throws IllegalArgumentException 先頭がJSON配列でない場合
+   * @throws IOException 入力の読み込みに失敗した場合（先頭をJSONとして読めない場合は JsonProcessingException）
+   */
+  public BulkImportResult importJson(InputStream input) throws IOException {
+    ChunkWriter writer = new ChunkWriter();
+    try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IllegalArgumentException("JSON配列を指定してください");
+      }
+      long row = 0;
+      try {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+          if (token == null) {
+            writer.reject(row + 1, "JSON配列が閉じられていません");
+            break;
+          }
+          long current = row + 1;
+          if (token != JsonToken.START_OBJECT) {
+            // オブジェクト以外の要素はその行だけをエラーにして読み飛ばす
+            writer.reject(current, "JSONオブジェクトではありません");
+            parser.skipChildren();
+          } else {
+            // 1要素ずつツリーとして読み込み、変換エラーをその行だけに閉じ込める
+            JsonNode node = parser.readValueAsTree();
+            try {
+              writer.add(current, objectMapper.treeToValue(node, HarvestRecordDto.class));
+            } catch (JsonProcessingException e) {
+              writer.reject(current, "JSONを変換できません: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+              writer.reject(current, "JSONを変換できません: " + e.getMessage());
+            }
+          }
+          row = current;
+        }
+      } catch (JsonProcessingException e) {
+        // 構文エラー以降は要素の区切りが分からないため、その行をエラーにして読み込みを終える（それまでの行は保存する）
+        writer.reject(row + 1, "JSONの構文エラー: " + e.getOriginalMessage());
+      }
+    }
+    return writer.finish();
+  }
+
+  /**
+   * CSV形式の収穫記録を取り込み
+   * 1行目はヘッダー（fieldId, harvestDate, quantityKg, teaGrade, notes。データエクスポートの見出しも可）
+   * ダブルクォートで囲まれた列は改行を含んでもよい
+   * @param input CSV
+   * @return 取り込み結果
+   * @throws IOException 入力の読み込みに失敗した場合
+   */
+  public BulkImportResult importCsv(Reader input) throws IOException {
+    ChunkWriter writer = new ChunkWriter();
+    BufferedReader reader = input instanceof BufferedReader
+        ? (BufferedReader) input
+        : new BufferedReader(input);
+
+    List<String> headerColumns = CsvUtils.readRecord(reader);
+    if (headerColumns == null) {
+      return writer.finish();
+    }
+    Map<String, Integer> header = indexHeader(headerColumns);
+    for (String required : new String[] {"fieldId", "harvestDate", "quantityKg", "teaGrade"}) {
+      if (!header.containsKey(required)) {
+        throw new IllegalArgumentException("CSVヘッダーに列がありません: " + required);
+      }
+    }
+
+    long row = 0;
+    while (true) {
+      List<String> columns;
+      try {
+        columns = CsvUtils.readRecord(reader);
+      } catch (IllegalArgumentException e) {
+        // クォートが閉じられないまま入力が終わったため、残りはこの行として扱う
+        writer.reject(row + 1, "CSVを変換できません: " + e.getMessage());
+        break;
+      }
+      if (columns == null) {
+        break;
+      }
+      if (columns.size() == 1 && columns.get(0).isEmpty()) {
+        continue;
+      }
+      row++;
+      try {
+        writer.add(row, toDto(columns, header));
+      } catch (RuntimeException e) {
+        writer.reject(row, "CSVを変換できません: " + e.getMessage());
+      }
+    }
+    return writer.finish();
+  }
+
+  private Map<String, Integer> indexHeader(List<String> columns) {
+    Map<String, Integer> header = new HashMap<>();
+    for (int i = 0; i < columns.size(); i++) {
+      String name = i == 0 ? stripBom(columns.get(i).trim()) : columns.get(i).trim();
+      header.put(EXPORT_HEADER_ALIASES.getOrDefault(name, name), i);
+    }
+    return header;
+  }
+
+  private HarvestRecordDto toDto(List<String> columns, Map<String, Integer> header) {
+    HarvestRecordDto dto = new HarvestRecordDto();
+    String fieldId = column(columns, header, "fieldId");
+    String quantityKg = column(columns, header, "quantityKg");
+    String teaGrade = column(columns, header, "teaGrade");
+    dto.setFieldId(fieldId == null ? null : Long.valueOf(fieldId));
+    dto.setHarvestDate(DateUtils.parseDate(column(columns, header, "harvestDate")));
+    dto.setQuantityKg(quantityKg == null ? null : Double.valueOf(quantityKg));
+    dto.setTeaGrade(teaGrade == null ? null : TeaGrade.valueOf(teaGrade.toUpperCase(Locale.ROOT)));
+    dto.setNotes(column(columns, header, "notes"));
+    return dto;
+  }
+
+  private String column(List<String> columns, Map<String, Integer> header, String name) {
+    Integer index = header.get(name);
+    if (index == null || index >= columns.size()) {
+      return null;
+    }
+    String value = columns.get(index).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private String stripBom(String value) {
+    return !value.isEmpty() && value.charAt(0) == '\uFEFF' ? value.substring(1) : value;
+  }
+
+  /**
+   * 行を検証してチャンクに蓄積し、チャンクサイズごとに保存する
+   * 1回の取り込みの間だけ使われ、スレッド間で共有しない
+   */
+  private final class ChunkWriter {
+
+    private final BulkImportResult result = new BulkImportResult();
+    private final Set<Long> knownFieldIds;
+    private final List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+    private ChunkWriter() {
+      // 取り込み開始時点のフィールドIDをフィールドカタログから取得しておく
+      this.knownFieldIds = fieldCatalog.getAll().stream()
+          .map(FieldDto::getId)
+          .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private void add(long row, HarvestRecordDto dto) {
+      result.setReceived(result.getReceived() + 1);
+
+      Set<ConstraintViolation<HarvestRecordDto>> violations = validator.validate(dto);
+      if (!violations.isEmpty()) {
+        fail(row, violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", ")));
+        return;
+      }
+      if (dto.getFieldId() == null) {
+        fail(row, "フィールドは必須です");
+        return;
+      }
+      if (!knownFieldIds.contains(dto.getFieldId())) {
+        fail(row, "フィールドが見つかりません: " + dto.getFieldId());
+        return;
+      }
+
+      chunk.add(new PendingRow(row, dto));
+      if (chunk.size() >= chunkSize) {
+        flush();
+      }
+    }
+
+    private void reject(long row, String message) {
+      result.setReceived(result.getReceived() + 1);
+      fail(row, message);
+    }
+
+    private BulkImportResult finish() {
+      flush();
+      return result;
+    }
+
+    private void flush() {
+      if (chunk.isEmpty()) {
+        return;
+      }
+      try {
+        chunkTransaction.executeWithoutResult(status -> persist(chunk));
+        result.setImported(result.getImported() + chunk.size());
+      } catch (RuntimeException e) {
+        // チャンク全体が失敗した場合は1行ずつ保存し直して原因の行を特定する
+        logger.warn("収穫記録のチャンク保存に失敗したため行単位で再試行します: {}", e.getMessage());
+        for (PendingRow pending : chunk) {
+          try {
+            chunkTransaction.executeWithoutResult(status -> persist(List.of(pending)));
+            result.setImported(result.getImported() + 1);
+          } catch (RuntimeException rowError) {
+            fail(pending.row, "保存に失敗しました: " + rowError.getMessage());
+          }
+        }
+      }
+      chunk.clear();
+    }
+
+    private void persist(List<PendingRow> rows) {
+      entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+      List<HarvestRecord> records = new ArrayList<>(rows.size());
+      for (PendingRow pending : rows) {
+        HarvestRecordDto dto = pending.dto;
+        HarvestRecord record = new HarvestRecord(
+            entityManager.getReference(Field.class, dto.getFieldId()),
+            dto.getHarvestDate(),
+            dto.getQuantityKg(),
+            dto.getTeaGrade(),
+            dto.getNotes());
+        entityManager.persist(record);
+        records.add(record);
+      }
+      entityManager.flush();
+      Map<Long, Set<LocalDate>> harvestDatesByField = new HashMap<>();
+      for (PendingRow pending : rows) {
+        harvestDatesByField.computeIfAbsent(pending.dto.getFieldId(), id -> new HashSet<>())
+            .add(pending.dto.getHarvestDate());
+      }
+      // 検索文書などの購読側がチャンク単位でまとめて更新できるよう、1つのイベントで通知する
+      List<Long> ids = new ArrayList<>(records.size());
+      for (HarvestRecord record : records) {
+        ids.add(record.getId());
+      }
+      eventPublisher.publishEvent(EntityChangedEvent.ofAll(HarvestRecord.class, ChangeType.CREATED, ids));
+      // 収穫集計はチャンクのコミット後にフィールドごとにまとめて更新する
+      harvestDatesByField.forEach((fieldId, harvestDates) ->
+          eventPublisher.publishEvent(new HarvestRecordsChangedEvent(fieldId, harvestDates)));
+      entityManager.clear();
+    }
+
+    private void fail(long row, String message) {
+      result.setFailed(result.getFailed() + 1);
+      if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+        result.getErrors().add(new BulkImportResult.RowError(row, message));
+      } else {
+        result.setErrorsTruncated(true);
+      }
+    }
+  }
+
+  /**
+   * 保存待ちの行
+   */
+  private static final class PendingRow {
+
+    private final long row;
+    private final HarvestRecordDto dto;
+
+    private PendingRow(long row, HarvestRecordDto dto) {
+      this.row = row;
+      this.dto = dto;
+    }
+  }
+}
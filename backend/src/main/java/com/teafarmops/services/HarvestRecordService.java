@@ -1,14 +1,26 @@
 package com.teafarmops.services;
 
+import com.teafarmops.dto.CursorPage;
+import com.teafarmops.dto.HarvestRecordDto;
 import com.teafarmops.entities.Field;
 import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.HarvestRecordsChangedEvent;
 import com.teafarmops.repositories.FieldRepository;
 import com.teafarmops.repositories.HarvestRecordRepository;
+import com.teafarmops.repositories.HarvestRecordSpecifications;
+import com.teafarmops.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -21,22 +33,78 @@ public class HarvestRecordService {
 
   private final HarvestRecordRepository harvestRecordRepository;
   private final FieldRepository fieldRepository;
+  private final HarvestCubeService harvestCubeService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
   public HarvestRecordService(HarvestRecordRepository harvestRecordRepository, 
-                             FieldRepository fieldRepository) {
+                             FieldRepository fieldRepository,
+                              HarvestCubeService harvestCubeService,
+                              ApplicationEventPublisher eventPublisher) {
     this.harvestRecordRepository = harvestRecordRepository;
     this.fieldRepository = fieldRepository;
+    this.harvestCubeService = harvestCubeService;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * 全収穫記録を取得
    * @return 収穫記録リスト
    */
+  @Transactional(readOnly = true)
   public List<HarvestRecord> getAllHarvestRecords() {
     return harvestRecordRepository.findAll();
   }
 
+  /**
+   * 条件に一致する収穫記録をDTOとして取得
+   * 全ての条件はSQLで適用され、収穫日降順・ID降順で返される
+   * エンティティを読み込まず、必要な列だけをDTOに直接射影する
+   * @param teaGrade 茶葉グレード（nullの場合は条件なし）
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @return 収穫記録DTOリスト
+   */
+  @Transactional(readOnly = true)
+  public List<HarvestRecordDto> searchHarvestRecordDtos(TeaGrade teaGrade, LocalDate startDate,
+                                                        LocalDate endDate, Long fieldId) {
+    return harvestRecordRepository.findDtos(
+        HarvestRecordSpecifications.matching(teaGrade, startDate, endDate, fieldId),
+        HarvestRecordSpecifications.KEYSET_SORT, 0);
+  }
+
+  /**
+   * 条件に一致する収穫記録をキーセットページネーションでDTOとして取得
+   * 件数クエリやOFFSETを使わないため、ページ位置に関わらず一定のコストで取得できる
+   * @param teaGrade 茶葉グレード（nullの場合は条件なし）
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @param cursor 継続トークン（nullの場合は先頭ページ）
+   * @param limit ページサイズ
+   * @return 収穫記録DTOページ
+   * @throws IllegalArgumentException 継続トークンが不正な場合
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<HarvestRecordDto> searchHarvestRecordPage(TeaGrade teaGrade, LocalDate startDate,
+                                                             LocalDate endDate, Long fieldId,
+                                                             String cursor, Integer limit) {
+    int pageSize = CursorPage.normalizePageSize(limit);
+    Specification<HarvestRecord> spec =
+        HarvestRecordSpecifications.matching(teaGrade, startDate, endDate, fieldId);
+    if (cursor != null && !cursor.isEmpty()) {
+      KeysetCursor position = KeysetCursor.decode(cursor);
+      spec = spec.and(HarvestRecordSpecifications.after(position.getDate(), position.getId()));
+    }
+
+    // 次ページの有無を判定するため1件多く取得
+    List<HarvestRecordDto> rows =
+        harvestRecordRepository.findDtos(spec, HarvestRecordSpecifications.KEYSET_SORT, pageSize + 1);
+    return CursorPage.fromLookahead(rows, pageSize,
+        last -> KeysetCursor.encode(last.getHarvestDate(), last.getId()));
+  }
+
   /**
    * IDで収穫記録を取得
    * @param id 収穫記録ID
@@ -52,7 +120,16 @@ public class HarvestRecordService {
    * @return 保存された収穫記録
    */
   public HarvestRecord saveHarvestRecord(HarvestRecord harvestRecord) {
-    return harvestRecordRepository.save(harvestRecord);
+    ChangeType changeType = harvestRecord.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+    if (changeType == ChangeType.UPDATED) {
+      harvestRecordRepository.findById(harvestRecord.getId())
+          .filter(existing -> existing != harvestRecord)
+          .ifPresent(this::publishHarvestChange);
+    }
+    HarvestRecord saved = harvestRecordRepository.save(harvestRecord);
+    publishChange(changeType, saved.getId());
+    publishHarvestChange(saved);
+    return saved;
   }
 
   /**
@@ -64,6 +141,8 @@ public class HarvestRecordService {
   public HarvestRecord updateHarvestRecord(Long id, HarvestRecord harvestRecordDetails) {
     HarvestRecord harvestRecord = harvestRecordRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("収穫記録が見つかりません: " + id));
+    Long previousFieldId = fieldIdOf(harvestRecord);
+    LocalDate previousDate = harvestRecord.getHarvestDate();
 
     harvestRecord.setField(harvestRecordDetails.getField());
     harvestRecord.setHarvestDate(harvestRecordDetails.getHarvestDate());
@@ -71,7 +150,13 @@ public class HarvestRecordService {
     harvestRecord.setTeaGrade(harvestRecordDetails.getTeaGrade());
     harvestRecord.setNotes(harvestRecordDetails.getNotes());
 
-    return harvestRecordRepository.save(harvestRecord);
+    HarvestRecord saved = harvestRecordRepository.save(harvestRecord);
+    publishChange(ChangeType.UPDATED, id);
+    if (!Objects.equals(previousFieldId, fieldIdOf(saved)) || !Objects.equals(previousDate, saved.getHarvestDate())) {
+      publishHarvestChange(previousFieldId, previousDate);
+    }
+    publishHarvestChange(saved);
+    return saved;
   }
 
   /**
@@ -82,6 +167,8 @@ public class HarvestRecordService {
     HarvestRecord harvestRecord = harvestRecordRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("収穫記録が見つかりません: " + id));
     harvestRecordRepository.delete(harvestRecord);
+    publishChange(ChangeType.DELETED, id);
+    publishHarvestChange(harvestRecord);
   }
 
   /**
@@ -89,6 +176,7 @@ public class HarvestRecordService {
    * @param fieldId フィールドID
    * @return 収穫記録リスト
    */
+  @Transactional(readOnly = true)
   public List<HarvestRecord> getHarvestRecordsByFieldId(Long fieldId) {
     return harvestRecordRepository.findByFieldId(fieldId);
   }
@@ -98,6 +186,7 @@ public class HarvestRecordService {
    * @param harvestDate 収穫日
    * @return 収穫記録リスト
    */
+  @Transactional(readOnly = true)
   public List<HarvestRecord> getHarvestRecordsByDate(LocalDate harvestDate) {
     return harvestRecordRepository.findByHarvestDate(harvestDate);
   }
@@ -108,6 +197,7 @@ public class HarvestRecordService {
    * @param endDate 終了日
    * @return 収穫記録リスト
    */
+  @Transactional(readOnly = true)
   public List<HarvestRecord> getHarvestRecordsByDateRange(LocalDate startDate, LocalDate endDate) {
     return harvestRecordRepository.findByHarvestDateBetween(startDate, endDate);
   }
@@ -117,6 +207,7 @@ public class HarvestRecordService {
    * @param teaGrade 茶葉グレード
    * @return 収穫記録リスト
    */
+  @Transactional(readOnly = true)
   public List<HarvestRecord> getHarvestRecordsByGrade(String teaGrade) {
     return harvestRecordRepository.findByTeaGrade(teaGrade);
   }
@@ -125,6 +216,7 @@ public class HarvestRecordService {
    * 総収穫量を取得
    * @return 総収穫量（kg）
    */
+  @Transactional(readOnly = true)
   public Double getTotalHarvestQuantity() {
     return harvestRecordRepository.getTotalHarvestQuantity();
   }
@@ -135,16 +227,19 @@ public class HarvestRecordService {
    * @param endDate 終了日
    * @return 総収穫量（kg）
    */
+  @Transactional(readOnly = true)
   public Double getTotalHarvestQuantityBetween(LocalDate startDate, LocalDate endDate) {
     return harvestRecordRepository.getTotalHarvestQuantityBetween(startDate, endDate);
   }
 
   /**
    * 茶葉グレード別の総収穫量を取得
-   * @return 茶葉グレード別の総収穫量
+   * 収穫記録を走査せず、収穫集計のセルから集計する
+   * @return 茶葉グレード別の総収穫量（収穫のないグレードは含まない）
    */
-  public List<Object[]> getTotalHarvestQuantityByGrade() {
-    return harvestRecordRepository.getTotalHarvestQuantityByGrade();
+  @Transactional(readOnly = true)
+  public Map<TeaGrade, Double> getTotalHarvestQuantityByGrade() {
+    return harvestCubeService.getTotalsByGrade();
   }
 
   /**
@@ -155,4 +250,31 @@ public class HarvestRecordService {
   public Optional<Field> getFieldById(Long fieldId) {
     return fieldRepository.findById(fieldId);
   }
-} 
\ No newline at end of file
+
+  /**
+   * 変更イベントを発行
+   * @param changeType 変更種別
+   * @param id エンティティID
+   */
+  private void publishChange(ChangeType changeType, Long id) {
+    eventPublisher.publishEvent(new EntityChangedEvent(HarvestRecord.class, changeType, id));
+  }
+
+  /**
+   * 収穫集計へ収穫記録の変更を通知
+   * @param harvestRecord 収穫記録
+   */
+  private void publishHarvestChange(HarvestRecord harvestRecord) {
+    publishHarvestChange(fieldIdOf(harvestRecord), harvestRecord.getHarvestDate());
+  }
+
+  private void publishHarvestChange(Long fieldId, LocalDate harvestDate) {
+    if (fieldId != null && harvestDate != null) {
+      eventPublisher.publishEvent(new HarvestRecordsChangedEvent(fieldId, List.of(harvestDate)));
+    }
+  }
+
+  private static Long fieldIdOf(HarvestRecord harvestRecord) {
+    return harvestRecord.getField() == null ? null : harvestRecord.getField().getId();
+  }
+}
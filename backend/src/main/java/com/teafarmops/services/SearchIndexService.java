@@ -0,0 +1,452 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.SearchResultDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestRecord;
+import com.teafarmops.entities.SearchDocumentType;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.entities.TeaGrade;
+import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 全文検索サービス
+ * フィールド・作業・収穫記録・天候観測の名前・作業者・害虫・備考を検索文書（search_documents）にまとめ、
+ * 書き込みのコミット後に変更されたエンティティの文書だけを作り直す
+ * 文字列はNFKCで正規化（全角英数・半角カナの統一）して小文字化し、部分一致で検索する
+ * 日本語は分かち書きせず文字単位で一致させる。PostgreSQLではトライグラム索引（pg_trgm）で絞り込むが、
+ * 3文字未満の語（害虫・剪定など）は索引で絞り込めず、すべての語が3文字未満の場合は検索文書を全件走査する
+ */
+@Service
+public class SearchIndexService {
+
+  private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+  private static final int DEFAULT_RESULTS = 20;
+  private static final int MAX_RESULTS = 100;
+  private static final int MAX_TERMS = 8;
+  private static final int MAX_HIGHLIGHTS = 3;
+  private static final int SNIPPET_CONTEXT = 30;
+  private static final int INSERT_BATCH_SIZE = 500;
+
+  // BM25の飽和・文書長補正の係数と、キーワード（名前・作業者・害虫）の重み
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final double KEYWORD_WEIGHT = 2.0;
+
+  private static final String INSERT_SQL =
+      "INSERT INTO search_documents (entity_type, entity_id, field_id, title, keywords, body, search_text) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+  /**
+   * 検索文書の元になるエンティティ
+   * SQLは id, field_id, タイトル用の値2つ, キーワード, 本文 の順に返す
+   */
+  private enum Source {
+    FIELD(SearchDocumentType.FIELD, Field.class,
+        "SELECT id, id, name, NULL, CONCAT_WS(' ', name, location), CONCAT_WS(' ', soil_type, notes) FROM fields"),
+    TASK(SearchDocumentType.TASK, Task.class,
+        "SELECT id, field_id, task_type, start_date, assigned_worker, notes FROM tasks"),
+    HARVEST_RECORD(SearchDocumentType.HARVEST_RECORD, HarvestRecord.class,
+        "SELECT id, field_id, tea_grade, harvest_date, NULL, notes FROM harvest_records"),
+    WEATHER_OBSERVATION(SearchDocumentType.WEATHER_OBSERVATION, WeatherObservation.class,
+        "SELECT id, field_id, NULL, date, pests_seen, notes FROM weather_observations");
+
+    private final SearchDocumentType type;
+    private final Class<?> entityType;
+    private final String sql;
+
+    Source(SearchDocumentType type, Class<?> entityType, String sql) {
+      this.type = type;
+      this.entityType = entityType;
+      this.sql = sql;
+    }
+
+    private static Source of(EntityChangedEvent event) {
+      for (Source source : values()) {
+        if (event.isAbout(source.entityType)) {
+          return source;
+        }
+      }
+      return null;
+    }
+
+    private String title(String value, String date) {
+      switch (this) {
+        case FIELD:
+          return value;
+        case TASK:
+          return TaskType.valueOf(value).getDisplayName() + " " + date;
+        case HARVEST_RECORD:
+          return date + " " + TeaGrade.valueOf(value).getDisplayName();
+        default:
+          return date;
+      }
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate refreshTransaction;
+  private final int candidateLimit;
+
+  @Autowired
+  public SearchIndexService(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${teafarmops.search.candidate-limit:1000}") int candidateLimit) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    // コミット後のイベントから呼ばれるため、常に新しいトランザクションで書き込む
+    this.refreshTransaction = new TransactionTemplate(transactionManager);
+    this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.candidateLimit = candidateLimit;
+  }
+
+  /**
+   * 全文検索
+   * 空白で区切った語をすべて含む文書を、語の出現回数と一致箇所（キーワードを重視）で順位付けして返す
+   * 順位付けの対象は種別ごとに新しい順（IDの降順）で candidate-limit 件まで
+   * （IDは種別ごとの採番のため、種別をまたいだ新旧の比較には使わない）
+   * 一致が candidate-limit 件を超える種別では、それより古い文書は関連度が高くても返らない
+   * また ORDER BY ... LIMIT のため、一致が多い場合は索引を使わず主キーを降順に走査する実行計画になることがある
+   * @param query 検索語（全角・半角の空白で区切る）
+   * @param types 検索対象の種別（空の場合は全種別）
+   * @param fieldId フィールドID（nullの場合は全フィールド）
+   * @param limit 最大件数（nullの場合は20件、上限100件）
+   * @return 関連度の高い順の検索結果
+   * @throws IllegalArgumentException 検索語がない場合
+   */
+  @Transactional(readOnly = true)
+  public List<SearchResultDto> search(String query, Set<SearchDocumentType> types, Long fieldId, Integer limit) {
+    List<String> terms = terms(query);
+    if (terms.isEmpty()) {
+      throw new IllegalArgumentException("検索語を指定してください");
+    }
+    int maxResults = limit == null || limit <= 0 ? DEFAULT_RESULTS : Math.min(limit, MAX_RESULTS);
+
+    StringBuilder sql = new StringBuilder(
+        "SELECT d.entity_type, d.entity_id, d.field_id, f.name, d.title, d.keywords, d.body "
+        + "FROM search_documents d JOIN fields f ON f.id = d.field_id WHERE d.entity_type = ?");
+    List<Object> params = new ArrayList<>();
+    params.add(null);
+    for (String term : terms) {
+      sql.append(" AND d.search_text LIKE ? ESCAPE '\\'");
+      params.add("%" + escapeLike(term) + "%");
+    }
+    if (fieldId != null) {
+      sql.append(" AND d.field_id = ?");
+      params.add(fieldId);
+    }
+    sql.append(" ORDER BY d.entity_id DESC LIMIT ?");
+    params.add(candidateLimit);
+
+    List<Candidate> candidates = new ArrayList<>();
+    for (SearchDocumentType type : types.isEmpty() ? EnumSet.allOf(SearchDocumentType.class) : types) {
+      params.set(0, type.name());
+      candidates.addAll(jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Candidate(
+          type, rs.getLong(2), rs.getLong(3), rs.getString(4),
+          rs.getString(5), rs.getString(6), rs.getString(7)), params.toArray()));
+    }
+    if (candidates.isEmpty()) {
+      return List.of();
+    }
+
+    double averageLength = candidates.stream().mapToInt(c -> length(c.body)).average().orElse(1);
+    for (Candidate candidate : candidates) {
+      candidate.score = score(candidate, terms, Math.max(1, averageLength));
+    }
+    candidates.sort(Comparator.comparingDouble((Candidate c) -> c.score).reversed()
+        .thenComparing((Candidate c) -> c.type)
+        .thenComparing(Comparator.comparingLong((Candidate c) -> c.id).reversed()));
+
+    List<SearchResultDto> results = new ArrayList<>(Math.min(maxResults, candidates.size()));
+    for (Candidate candidate : candidates.subList(0, Math.min(maxResults, candidates.size()))) {
+      List<String> highlights = new ArrayList<>(MAX_HIGHLIGHTS);
+      highlight(candidate.keywords, terms, highlights);
+      highlight(candidate.body, terms, highlights);
+      results.add(new SearchResultDto(candidate.type, candidate.id, candidate.fieldId, candidate.fieldName,
+          candidate.title, candidate.score, highlights));
+    }
+    return results;
+  }
+
+  /**
+   * エンティティの変更を受けて、その検索文書を作り直す
+   * 複数のエンティティの変更（一括取り込みのチャンクなど）は1つのトランザクションでまとめて作り直す
+   * フィールドの削除時は、そのフィールドに属する文書もまとめて削除する
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    Source source = Source.of(event);
+    if (source == null || event.getEntityIds().isEmpty()) {
+      return;
+    }
+    List<Long> ids = event.getEntityIds();
+    try {
+      refreshTransaction.executeWithoutResult(status -> {
+        for (int from = 0; from < ids.size(); from += INSERT_BATCH_SIZE) {
+          List<Long> batch = ids.subList(from, Math.min(ids.size(), from + INSERT_BATCH_SIZE));
+          Object[] params = new Object[batch.size() + 1];
+          params[0] = source.type.name();
+          for (int i = 0; i < batch.size(); i++) {
+            params[i + 1] = batch.get(i);
+          }
+          jdbcTemplate.update("DELETE FROM search_documents WHERE entity_type = ? AND entity_id IN ("
+              + placeholders(batch.size()) + ")", params);
+          if (event.getChangeType() == ChangeType.DELETED) {
+            if (source == Source.FIELD) {
+              jdbcTemplate.update("DELETE FROM search_documents WHERE field_id IN ("
+                  + placeholders(batch.size()) + ")", batch.toArray());
+            }
+            continue;
+          }
+          List<Object[]> documents = new ArrayList<>(batch.size());
+          jdbcTemplate.query(source.sql + " WHERE id IN (" + placeholders(batch.size()) + ")",
+              (RowCallbackHandler) rs -> addDocument(source, rs, documents), batch.toArray());
+          jdbcTemplate.batchUpdate(INSERT_SQL, documents);
+        }
+      });
+    } catch (RuntimeException e) {
+      // 元の書き込みは確定済みのため、呼び出し元には伝えない
+      logger.error("検索文書の更新に失敗しました: {} {}件（先頭ID {}）", source.type, ids.size(), ids.get(0), e);
+    }
+  }
+
+  /**
+   * 検索文書が空の場合に既存のデータから全件作成
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfEmpty() {
+    Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM search_documents", Long.class);
+    if (existing != null && existing > 0) {
+      return;
+    }
+    long[] created = new long[1];
+    for (Source source : Source.values()) {
+      refreshTransaction.executeWithoutResult(status -> {
+        List<Object[]> documents = new ArrayList<>(INSERT_BATCH_SIZE);
+        jdbcTemplate.query(source.sql, (RowCallbackHandler) rs -> {
+          addDocument(source, rs, documents);
+          if (documents.size() >= INSERT_BATCH_SIZE) {
+            created[0] += documents.size();
+            jdbcTemplate.batchUpdate(INSERT_SQL, documents);
+            documents.clear();
+          }
+        });
+        created[0] += documents.size();
+        jdbcTemplate.batchUpdate(INSERT_SQL, documents);
+      });
+    }
+    logger.info("検索文書を作成しました（{}件）", created[0]);
+  }
+
+  /**
+   * 元のエンティティの行から検索文書の挿入パラメータを作成
+   * 検索できる文字列がない行は登録しない
+   */
+  private static void addDocument(Source source, ResultSet rs, List<Object[]> documents) throws SQLException {
+    String keywords = normalize(rs.getString(5));
+    String body = normalize(rs.getString(6));
+    if (rs.getObject(2) == null || (keywords == null && body == null)) {
+      return;
+    }
+    String searchText = ((keywords != null ? keywords : "") + "\n" + (body != null ? body : ""))
+        .toLowerCase(Locale.ROOT);
+    documents.add(new Object[] {source.type.name(), rs.getLong(1), rs.getLong(2),
+        source.title(rs.getString(3), rs.getString(4)), keywords, body, searchText});
+  }
+
+  /**
+   * 検索語を正規化して分割（重複は除く）
+   */
+  private static List<String> terms(String query) {
+    String normalized = normalize(query);
+    Set<String> terms = new LinkedHashSet<>();
+    if (normalized != null) {
+      for (String term : normalized.toLowerCase(Locale.ROOT).split("\\s+")) {
+        if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+          terms.add(term);
+        }
+      }
+    }
+    return new ArrayList<>(terms);
+  }
+
+  /**
+   * NFKCで正規化（全角英数・全角空白・半角カナを統一）
+   * @return 正規化した文字列（空の場合はnull）
+   */
+  private static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC).trim();
+    return normalized.isEmpty() ? null : normalized;
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private static String escapeLike(String term) {
+    return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+
+  /**
+   * 関連度を算出（BM25の語の出現回数の飽和と文書長の補正を用いる）
+   * 検索語はすべての候補に含まれるため、語ごとの希少度は用いない
+   */
+  private static double score(Candidate candidate, List<String> terms, double averageLength) {
+    String keywords = lower(candidate.keywords);
+    String body = lower(candidate.body);
+    double lengthRatio = length(candidate.body) / averageLength;
+    double score = 0;
+    for (String term : terms) {
+      score += KEYWORD_WEIGHT * saturate(count(keywords, term), 1)
+          + saturate(count(body, term), lengthRatio);
+    }
+    return score;
+  }
+
+  private static double saturate(int termFrequency, double lengthRatio) {
+    if (termFrequency == 0) {
+      return 0;
+    }
+    return termFrequency * (K1 + 1) / (termFrequency + K1 * (1 - B + B * lengthRatio));
+  }
+
+  private static int count(String text, String term) {
+    int count = 0;
+    for (int index = text.indexOf(term); index >= 0; index = text.indexOf(term, index + term.length())) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * 一致箇所の前後を抜粋し、一致箇所を <mark> で囲む（抜粋はHTMLエスケープ済み）
+   * @param text 抜粋元
+   * @param terms 検索語
+   * @param highlights 抜粋の追加先（MAX_HIGHLIGHTS件まで）
+   */
+  private static void highlight(String text, List<String> terms, List<String> highlights) {
+    if (text == null || highlights.size() >= MAX_HIGHLIGHTS) {
+      return;
+    }
+    String lower = lower(text);
+    // 小文字化で長さが変わる文字を含む場合は、位置を合わせるため小文字化した文字列から抜粋する
+    String source = lower.length() == text.length() ? text : lower;
+
+    boolean[] matched = new boolean[lower.length()];
+    for (String term : terms) {
+      for (int index = lower.indexOf(term); index >= 0; index = lower.indexOf(term, index + 1)) {
+        for (int i = index; i < index + term.length(); i++) {
+          matched[i] = true;
+        }
+      }
+    }
+
+    int position = 0;
+    while (highlights.size() < MAX_HIGHLIGHTS) {
+      int first = position;
+      while (first < matched.length && !matched[first]) {
+        first++;
+      }
+      if (first >= matched.length) {
+        return;
+      }
+      // 前後の文脈が重なる一致箇所は1つの抜粋にまとめる
+      int end = first;
+      for (int i = first; i < matched.length && i < end + SNIPPET_CONTEXT; i++) {
+        if (matched[i]) {
+          end = i + 1;
+        }
+      }
+      int start = Math.max(position, first - SNIPPET_CONTEXT);
+      int stop = Math.min(matched.length, end + SNIPPET_CONTEXT);
+
+      StringBuilder snippet = new StringBuilder();
+      if (start > 0) {
+        snippet.append('…');
+      }
+      int i = start;
+      while (i < stop) {
+        int j = i;
+        while (j < stop && matched[j] == matched[i]) {
+          j++;
+        }
+        String segment = HtmlUtils.htmlEscape(source.substring(i, j));
+        snippet.append(matched[i] ? "<mark>" + segment + "</mark>" : segment);
+        i = j;
+      }
+      if (stop < matched.length) {
+        snippet.append('…');
+      }
+      highlights.add(snippet.toString());
+      position = stop;
+    }
+  }
+
+  private static String lower(String value) {
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+
+  /**
+   * 順位付け前の検索結果
+   */
+  private static final class Candidate {
+
+    private final SearchDocumentType type;
+    private final long id;
+    private final long fieldId;
+    private final String fieldName;
+    private final String title;
+    private final String keywords;
+    private final String body;
+    private double score;
+
+    private Candidate(SearchDocumentType type, long id, long fieldId, String fieldName, String title,
+                      String keywords, String body) {
+      this.type = type;
+      this.id = id;
+      this.fieldId = fieldId;
+      this.fieldName = fieldName;
+      this.title = title;
+      this.keywords = keywords;
+      this.body = body;
+    }
+  }
+}
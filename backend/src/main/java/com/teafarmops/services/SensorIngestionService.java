@@ -0,0 +1,352 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.SensorReadingDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.SensorReading;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.WeatherSamplesChangedEvent;
+import com.teafarmops.monitoring.MetricsService;
+import com.teafarmops.utils.BoundedRingBuffer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * センサー計測値取り込みサービス
+ * 受け付けた計測値をフィールドごとのリングバッファに蓄え、件数または時間を契機にまとめて書き込む
+ * バッファの取り出しと書き込みは専用の1スレッドだけが行う
+ */
+@Service
+public class SensorIngestionService implements SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(SensorIngestionService.class);
+
+  // Webサーバー（DEFAULT_PHASE - 2048）より後に停止させる
+  private static final int LIFECYCLE_PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+  /**
+   * 取り込み結果
+   */
+  public enum Result {
+    ACCEPTED,
+    BUFFER_FULL,
+    UNKNOWN_FIELD
+  }
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final FieldCatalog fieldCatalog;
+  private final MetricsService metricsService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate flushTransaction;
+  private final int bufferCapacity;
+  private final int flushBatchSize;
+  private final long flushIntervalMillis;
+  private final int maxFlushAttempts;
+
+  private final ConcurrentMap<Long, FieldBuffer> buffers = new ConcurrentHashMap<>();
+  private final AtomicLong bufferedReadings = new AtomicLong();
+  private final AtomicBoolean flushRequested = new AtomicBoolean();
+  private final AtomicBoolean running = new AtomicBoolean();
+  private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "sensor-flush");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  @Autowired
+  public SensorIngestionService(FieldCatalog fieldCatalog,
+                                MetricsService metricsService,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${teafarmops.sensor.buffer-capacity:4096}") int bufferCapacity,
+                                @Value("${teafarmops.sensor.flush-batch-size:500}") int flushBatchSize,
+                                @Value("${teafarmops.sensor.flush-interval-ms:1000}") long flushIntervalMillis,
+                                @Value("${teafarmops.sensor.max-flush-attempts:3}") int maxFlushAttempts) {
+    this.fieldCatalog = fieldCatalog;
+    this.metricsService = metricsService;
+    this.eventPublisher = eventPublisher;
+    this.flushTransaction = new TransactionTemplate(transactionManager);
+    this.bufferCapacity = bufferCapacity;
+    this.flushBatchSize = flushBatchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxFlushAttempts = maxFlushAttempts;
+  }
+
+  /**
+   * 書き込みスレッドを開始
+   */
+  @Override
+  public void start() {
+    if (running.compareAndSet(false, true)) {
+      flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * 停止時に書き込みスレッドを止め、残っている計測値を書き込む
+   * Webサーバーが受け付けを止めた後、かつ他のBeanが破棄される前（天候集計への反映が可能なうち）に呼ばれる
+   */
+  @Override
+  public void stop() {
+    if (!running.compareAndSet(true, false)) {
+      return;
+    }
+    flusher.shutdown();
+    try {
+      if (!flusher.awaitTermination(flushIntervalMillis * 5, TimeUnit.MILLISECONDS)) {
+        logger.warn("センサー計測値の書き込みスレッドが停止しませんでした");
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    flushSafely();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running.get();
+  }
+
+  @Override
+  public int getPhase() {
+    return LIFECYCLE_PHASE;
+  }
+
+  /**
+   * センサー計測値をバッファに受け付け
+   * 1回の送信分はすべて受け付けるか、すべて拒否する
+   * @param fieldId フィールドID
+   * @param readings センサー計測値
+   * @return 取り込み結果
+   * @throws IllegalArgumentException 計測値が不正な場合
+   */
+  public Result accept(Long fieldId, List<SensorReadingDto> readings) {
+    if (readings.size() > bufferCapacity) {
+      throw new IllegalArgumentException("1回の送信件数が上限を超えています: " + bufferCapacity);
+    }
+    for (SensorReadingDto reading : readings) {
+      if (reading == null || reading.getRecordedAt() == null) {
+        throw new IllegalArgumentException("計測日時は必須です");
+      }
+    }
+
+    FieldBuffer buffer = bufferFor(fieldId);
+    if (buffer == null || buffer.closed) {
+      return Result.UNKNOWN_FIELD;
+    }
+
+    long acceptedAt = System.nanoTime();
+    List<PendingReading> pending = new ArrayList<>(readings.size());
+    for (SensorReadingDto reading : readings) {
+      pending.add(new PendingReading(reading, acceptedAt));
+    }
+    if (!buffer.ring.offerAll(pending)) {
+      metricsService.recordSensorReadingsRejected(readings.size());
+      return Result.BUFFER_FULL;
+    }
+
+    metricsService.recordSensorReadingsAccepted(readings.size());
+    metricsService.setSensorBufferedReadings(bufferedReadings.addAndGet(readings.size()));
+    if (buffer.closed) {
+      // フィールドの削除と競合した場合、削除時の破棄より後に入った可能性があるため、もう一度破棄する
+      flusher.execute(() -> discard(buffer));
+      return Result.UNKNOWN_FIELD;
+    }
+    if (buffer.ring.size() >= flushBatchSize && flushRequested.compareAndSet(false, true)) {
+      flusher.execute(this::flushSafely);
+    }
+    return Result.ACCEPTED;
+  }
+
+  /**
+   * 時間契機での書き込み間隔を取得
+   * @return 書き込み間隔（ミリ秒）
+   */
+  public long getFlushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  /**
+   * 削除されたフィールドのバッファを破棄
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isAbout(Field.class) && event.getChangeType() == ChangeType.DELETED) {
+      FieldBuffer removed = buffers.remove(event.getEntityId());
+      if (removed != null) {
+        // 閉じてから破棄を予約し、この後に追加した受け付け側が自分で破棄を予約できるようにする
+        removed.closed = true;
+        flusher.execute(() -> discard(removed));
+      }
+    }
+  }
+
+  private FieldBuffer bufferFor(Long fieldId) {
+    FieldBuffer buffer = buffers.get(fieldId);
+    if (buffer != null) {
+      return buffer;
+    }
+    // フィールドの存在確認はバッファ生成時の1回だけ、フィールドカタログで行う
+    if (!fieldCatalog.contains(fieldId)) {
+      return null;
+    }
+    return buffers.computeIfAbsent(fieldId, id -> new FieldBuffer(id, bufferCapacity));
+  }
+
+  private void flushSafely() {
+    try {
+      flushAll();
+    } catch (RuntimeException e) {
+      // 例外で定期実行が止まらないようにする
+      logger.error("センサー計測値の書き込みに失敗しました", e);
+    }
+  }
+
+  private void flushAll() {
+    flushRequested.set(false);
+    for (FieldBuffer buffer : buffers.values()) {
+      flush(buffer);
+    }
+    metricsService.setSensorBufferedReadings(bufferedReadings.get());
+  }
+
+  private void flush(FieldBuffer buffer) {
+    if (!buffer.retryBatch.isEmpty() && !write(buffer, buffer.retryBatch)) {
+      return;
+    }
+    List<PendingReading> batch = new ArrayList<>(flushBatchSize);
+    while (buffer.ring.drainTo(batch, flushBatchSize) > 0) {
+      if (!write(buffer, batch)) {
+        return;
+      }
+      batch = new ArrayList<>(flushBatchSize);
+    }
+  }
+
+  /**
+   * バッチを書き込み
+   * 失敗したバッチは次回の書き込みで再試行し、上限回数に達したら破棄する
+   * @param buffer フィールドのバッファ
+   * @param batch 書き込むバッチ
+   * @return 書き込みに成功した場合true
+   */
+  private boolean write(FieldBuffer buffer, List<PendingReading> batch) {
+    try {
+      flushTransaction.executeWithoutResult(status -> persist(buffer.fieldId, batch));
+    } catch (RuntimeException e) {
+      buffer.retryAttempts++;
+      if (buffer.retryAttempts < maxFlushAttempts) {
+        logger.warn("フィールド{}のセンサー計測値{}件の書き込みに失敗したため再試行します: {}",
+            buffer.fieldId, batch.size(), e.getMessage());
+        buffer.retryBatch = batch;
+      } else {
+        logger.error("フィールド{}のセンサー計測値{}件を破棄しました: {}",
+            buffer.fieldId, batch.size(), e.getMessage());
+        drop(buffer, batch.size());
+      }
+      return false;
+    }
+
+    long oldestAcceptedAt = batch.get(0).acceptedAtNanos;
+    metricsService.recordSensorFlush(batch.size(), System.nanoTime() - oldestAcceptedAt);
+    bufferedReadings.addAndGet(-batch.size());
+    buffer.retryBatch = List.of();
+    buffer.retryAttempts = 0;
+    return true;
+  }
+
+  private void persist(Long fieldId, List<PendingReading> batch) {
+    entityManager.unwrap(Session.class).setJdbcBatchSize(flushBatchSize);
+    Field field = entityManager.getReference(Field.class, fieldId);
+    List<LocalDateTime> recordedAt = new ArrayList<>(batch.size());
+    for (PendingReading pending : batch) {
+      SensorReadingDto reading = pending.reading;
+      entityManager.persist(new SensorReading(field, reading.getRecordedAt(),
+          reading.getTemperature(), reading.getHumidity(), reading.getRainfall()));
+      recordedAt.add(reading.getRecordedAt());
+    }
+    entityManager.flush();
+    entityManager.clear();
+    // コミット後に天候集計へ反映される
+    eventPublisher.publishEvent(new WeatherSamplesChangedEvent(fieldId, recordedAt));
+  }
+
+  private void discard(FieldBuffer buffer) {
+    List<PendingReading> remaining = new ArrayList<>(buffer.retryBatch);
+    buffer.ring.drainTo(remaining, bufferCapacity);
+    drop(buffer, remaining.size());
+  }
+
+  /**
+   * 書き込まずに破棄した計測値を記録し、再試行状態を解除
+   * @param buffer フィールドのバッファ
+   * @param count 破棄した件数
+   */
+  private void drop(FieldBuffer buffer, int count) {
+    metricsService.recordSensorReadingsDropped(count);
+    metricsService.setSensorBufferedReadings(bufferedReadings.addAndGet(-count));
+    buffer.retryBatch = List.of();
+    buffer.retryAttempts = 0;
+  }
+
+  /**
+   * フィールドごとのバッファ
+   * retryBatchとretryAttemptsは書き込みスレッドからのみ参照する
+   */
+  private static final class FieldBuffer {
+
+    private final Long fieldId;
+    private final BoundedRingBuffer<PendingReading> ring;
+    private List<PendingReading> retryBatch = List.of();
+    private int retryAttempts;
+    // フィールドの削除でバッファを外した後はtrue（以降の受け付けは破棄する）
+    private volatile boolean closed;
+
+    private FieldBuffer(Long fieldId, int capacity) {
+      this.fieldId = fieldId;
+      this.ring = new BoundedRingBuffer<>(capacity);
+    }
+  }
+
+  /**
+   * 書き込み待ちの計測値と受け付け時刻
+   */
+  private static final class PendingReading {
+
+    private final SensorReadingDto reading;
+    private final long acceptedAtNanos;
+
+    private PendingReading(SensorReadingDto reading, long acceptedAtNanos) {
+      this.reading = reading;
+      this.acceptedAtNanos = acceptedAtNanos;
+    }
+  }
+}
@@ -0,0 +1,326 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.TaskOverlapDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.repositories.TaskRepository;
+import com.teafarmops.repositories.TaskSpecifications;
+import com.teafarmops.utils.IntervalTree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * タスクカレンダー
+ * 全タスクを期間の区間木（全体・フィールド別・担当者別）に索引付けしてメモリ上に保持し、
+ * 「期間中に実施中のタスク」と「同じ担当者で期間が重なるタスク」をデータベースにアクセスせずに求める
+ * 区間木は不変で、タスクの変更はコミット後に変更されたタスクだけを差し替えた新しい木を作って参照を入れ替える
+ */
+@Service
+public class TaskCalendar {
+
+  private final TaskRepository taskRepository;
+  private final FieldCatalog fieldCatalog;
+  private final TransactionTemplate loadTransaction;
+  private final Object writeLock = new Object();
+
+  // 変更前の区間を削除するために使う、索引に入っているタスク（writeLock で保護）
+  private final Map<Long, TaskDto> indexed = new HashMap<>();
+
+  private volatile Snapshot snapshot;
+
+  @Autowired
+  public TaskCalendar(TaskRepository taskRepository, FieldCatalog fieldCatalog,
+                      PlatformTransactionManager transactionManager) {
+    this.taskRepository = taskRepository;
+    this.fieldCatalog = fieldCatalog;
+    // 変更直後に読み込むため、読み取り専用トランザクション中に呼ばれても読み取りレプリカではなくプライマリから読む
+    this.loadTransaction = new TransactionTemplate(transactionManager);
+    this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 期間中に実施中のタスクを取得（期間より前に開始し期間中も続くタスクを含む）
+   * フィールドと担当者の両方を指定した場合は、件数の少ない方の区間木から求めて残りの条件で絞り込む
+   * @param from 期間の開始日（この日を含む）
+   * @param to 期間の終了日（この日を含む）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @param worker 担当者名（完全一致、空の場合は条件なし）
+   * @param status タスクステータス（nullの場合は条件なし）
+   * @return タスクDTOリスト（開始日・終了日・ID順）
+   */
+  public List<TaskDto> findActive(LocalDate from, LocalDate to, Long fieldId, String worker, TaskStatus status) {
+    String workerName = trim(worker);
+    Snapshot current = current();
+    IntervalTree<TaskDto> tree = current.all;
+    if (fieldId != null) {
+      tree = current.byField.getOrDefault(fieldId, IntervalTree.empty());
+    }
+    if (workerName != null) {
+      IntervalTree<TaskDto> workerTree = current.byWorker.getOrDefault(workerName, IntervalTree.empty());
+      if (workerTree.size() < tree.size()) {
+        tree = workerTree;
+      }
+    }
+
+    List<TaskDto> tasks = new ArrayList<>();
+    for (TaskDto task : tree.overlapping(from, to)) {
+      if ((fieldId == null || fieldId.equals(task.getFieldId()))
+          && (workerName == null || workerName.equals(trim(task.getAssignedWorker())))
+          && (status == null || status == task.getStatus())) {
+        tasks.add(withFieldName(task));
+      }
+    }
+    return tasks;
+  }
+
+  /**
+   * 同じ担当者で期間が重なる未完了のタスクの組を取得
+   * 担当者ごとに期間中のタスクを開始日順に走査し、重なりのうち期間内の部分を返す
+   * @param from 期間の開始日（この日を含む）
+   * @param to 期間の終了日（この日を含む）
+   * @param worker 担当者名（完全一致、空の場合は全担当者）
+   * @return タスクの重なりリスト（担当者ごとに重なりの開始日順）
+   */
+  public List<TaskOverlapDto> findOverlaps(LocalDate from, LocalDate to, String worker) {
+    String workerName = trim(worker);
+    Snapshot current = current();
+    IntervalTree<TaskDto> tree = workerName == null
+        ? current.all : current.byWorker.getOrDefault(workerName, IntervalTree.empty());
+
+    Map<String, List<TaskDto>> byWorker = new LinkedHashMap<>();
+    for (TaskDto task : tree.overlapping(from, to)) {
+      String name = trim(task.getAssignedWorker());
+      if (name != null && task.getStatus() != TaskStatus.COMPLETED) {
+        byWorker.computeIfAbsent(name, key -> new ArrayList<>()).add(task);
+      }
+    }
+
+    List<TaskOverlapDto> overlaps = new ArrayList<>();
+    byWorker.forEach((name, tasks) -> {
+      // 区間木の結果は開始日順のため、終了済みのタスクを除きながら開いているタスクと組にする
+      List<TaskDto> open = new ArrayList<>();
+      for (TaskDto task : tasks) {
+        open.removeIf(other -> endOf(other).isBefore(task.getStartDate()));
+        for (TaskDto other : open) {
+          LocalDate overlapStart = max(task.getStartDate(), from);
+          LocalDate overlapEnd = min(min(endOf(other), endOf(task)), to);
+          if (!overlapStart.isAfter(overlapEnd)) {
+            overlaps.add(new TaskOverlapDto(name, withFieldName(other), withFieldName(task),
+                overlapStart, overlapEnd));
+          }
+        }
+        open.add(task);
+      }
+    });
+    return overlaps;
+  }
+
+  /**
+   * 索引に入っているタスク数を取得
+   * @return タスク数
+   */
+  public int size() {
+    return current().all.size();
+  }
+
+  /**
+   * 起動時に全タスクを読み込む
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  /**
+   * タスクの変更を受けて、変更されたタスクだけをプライマリから読み直して区間木を差し替える
+   * IDがない場合と、フィールドの削除（タスクも連鎖して削除される）の場合は全件を読み直す
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isAbout(Field.class) && event.getChangeType() == ChangeType.DELETED) {
+      reload();
+      return;
+    }
+    if (!event.isAbout(Task.class)) {
+      return;
+    }
+    Long id = event.getEntityId();
+    if (id == null) {
+      reload();
+      return;
+    }
+    synchronized (writeLock) {
+      Snapshot current = snapshot;
+      if (current == null) {
+        reload();
+        return;
+      }
+      // 同じタスクへの変更が続いた場合も、最後に読み直した時点の確定値が残る
+      List<TaskDto> loaded = loadTransaction.execute(status ->
+          taskRepository.findDtos(TaskSpecifications.hasId(id), Sort.unsorted(), 1));
+      Snapshot next = current;
+      TaskDto previous = indexed.remove(id);
+      if (previous != null) {
+        next = next.without(previous);
+      }
+      if (loaded != null && !loaded.isEmpty() && loaded.get(0).getStartDate() != null) {
+        TaskDto task = loaded.get(0);
+        indexed.put(id, task);
+        next = next.with(task);
+      }
+      snapshot = next;
+    }
+  }
+
+  /**
+   * 全タスクを読み込み、区間木を作り直す
+   */
+  private void reload() {
+    synchronized (writeLock) {
+      List<TaskDto> tasks = loadTransaction.execute(status ->
+          taskRepository.findDtos(null, Sort.unsorted(), 0));
+      indexed.clear();
+      for (TaskDto task : tasks) {
+        if (task.getStartDate() != null) {
+          indexed.put(task.getId(), task);
+        }
+      }
+      snapshot = Snapshot.of(indexed.values());
+    }
+  }
+
+  private Snapshot current() {
+    Snapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    // 起動完了前の参照に備え、未読み込みの場合だけ読み込む
+    synchronized (writeLock) {
+      if (snapshot == null) {
+        reload();
+      }
+      return snapshot;
+    }
+  }
+
+  /**
+   * フィールド名をフィールドカタログの現在の値にしたコピーを作成（索引のDTOは変更しない）
+   */
+  private TaskDto withFieldName(TaskDto task) {
+    return new TaskDto(task.getId(), task.getTaskType(), task.getFieldId(), fieldCatalog.getName(task.getFieldId()),
+        task.getAssignedWorker(), task.getStartDate(), task.getEndDate(), task.getStatus(), task.getNotes());
+  }
+
+  private static LocalDate endOf(TaskDto task) {
+    return task.getEndDate() != null && !task.getEndDate().isBefore(task.getStartDate())
+        ? task.getEndDate() : task.getStartDate();
+  }
+
+  private static LocalDate max(LocalDate a, LocalDate b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static LocalDate min(LocalDate a, LocalDate b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static String trim(String value) {
+    return value == null || value.trim().isEmpty() ? null : value.trim();
+  }
+
+  /**
+   * ある時点の区間木（作成後は変更しない）
+   * 変更時はフィールド別・担当者別のマップだけを複製し、区間木は経路上のノードだけを複製する
+   */
+  private static final class Snapshot {
+
+    private final IntervalTree<TaskDto> all;
+    private final Map<Long, IntervalTree<TaskDto>> byField;
+    private final Map<String, IntervalTree<TaskDto>> byWorker;
+
+    private Snapshot(IntervalTree<TaskDto> all, Map<Long, IntervalTree<TaskDto>> byField,
+                     Map<String, IntervalTree<TaskDto>> byWorker) {
+      this.all = all;
+      this.byField = byField;
+      this.byWorker = byWorker;
+    }
+
+    private static Snapshot of(Collection<TaskDto> tasks) {
+      IntervalTree<TaskDto> all = IntervalTree.empty();
+      Map<Long, IntervalTree<TaskDto>> byField = new HashMap<>();
+      Map<String, IntervalTree<TaskDto>> byWorker = new HashMap<>();
+      for (TaskDto task : tasks) {
+        all = add(all, task);
+        if (task.getFieldId() != null) {
+          byField.put(task.getFieldId(), add(byField.getOrDefault(task.getFieldId(), IntervalTree.empty()), task));
+        }
+        String worker = trim(task.getAssignedWorker());
+        if (worker != null) {
+          byWorker.put(worker, add(byWorker.getOrDefault(worker, IntervalTree.empty()), task));
+        }
+      }
+      return new Snapshot(all, Collections.unmodifiableMap(byField), Collections.unmodifiableMap(byWorker));
+    }
+
+    private Snapshot with(TaskDto task) {
+      Map<Long, IntervalTree<TaskDto>> fields = new HashMap<>(byField);
+      Map<String, IntervalTree<TaskDto>> workers = new HashMap<>(byWorker);
+      if (task.getFieldId() != null) {
+        fields.merge(task.getFieldId(), add(IntervalTree.empty(), task), (tree, ignored) -> add(tree, task));
+      }
+      String worker = trim(task.getAssignedWorker());
+      if (worker != null) {
+        workers.merge(worker, add(IntervalTree.empty(), task), (tree, ignored) -> add(tree, task));
+      }
+      return new Snapshot(add(all, task), Collections.unmodifiableMap(fields),
+          Collections.unmodifiableMap(workers));
+    }
+
+    private Snapshot without(TaskDto task) {
+      Map<Long, IntervalTree<TaskDto>> fields = new HashMap<>(byField);
+      Map<String, IntervalTree<TaskDto>> workers = new HashMap<>(byWorker);
+      if (task.getFieldId() != null) {
+        fields.computeIfPresent(task.getFieldId(), (key, tree) -> emptyToNull(remove(tree, task)));
+      }
+      String worker = trim(task.getAssignedWorker());
+      if (worker != null) {
+        workers.computeIfPresent(worker, (key, tree) -> emptyToNull(remove(tree, task)));
+      }
+      return new Snapshot(remove(all, task), Collections.unmodifiableMap(fields),
+          Collections.unmodifiableMap(workers));
+    }
+
+    private static IntervalTree<TaskDto> add(IntervalTree<TaskDto> tree, TaskDto task) {
+      return tree.with(task.getId(), task.getStartDate(), task.getEndDate(), task);
+    }
+
+    private static IntervalTree<TaskDto> remove(IntervalTree<TaskDto> tree, TaskDto task) {
+      return tree.without(task.getId(), task.getStartDate(), task.getEndDate());
+    }
+
+    private static IntervalTree<TaskDto> emptyToNull(IntervalTree<TaskDto> tree) {
+      return tree.isEmpty() ? null : tree;
+    }
+  }
+}
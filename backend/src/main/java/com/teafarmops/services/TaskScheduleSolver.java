@@ -0,0 +1,693 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.TaskSchedulePlan.UnassignedReason;
+import com.teafarmops.entities.TaskType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * タスク割り当てのヒューリスティックソルバー
+ * 作業者ごとの予定を互いに重ならない期間の索引（開始日順の木）で持ち、重なりの判定と前後の予定の取得を対数時間で行う
+ * 制約の厳しいタスクから貪欲に割り当てた後、移し替え・交換・押し出しの局所探索で時間の上限まで改善する
+ * 割り当て件数を最優先とし、次に移動コスト（作業者の連続する予定のフィールド間）と担当者の変更を小さくする
+ * 乱数を使わないため、同じ入力には同じ結果を返す
+ */
+public final class TaskScheduleSolver {
+
+  /**
+   * 同じ場所にある別のフィールドへの移動コスト
+   */
+  public static final int NEAR_TRAVEL_COST = 2;
+
+  /**
+   * 別の場所のフィールドへの移動コスト
+   */
+  public static final int FAR_TRAVEL_COST = 4;
+
+  /**
+   * 担当者を変更するコスト（移動コストが減らない限り現在の担当者を残す）
+   */
+  public static final int CHANGE_COST = 1;
+
+  private static final int NONE = -1;
+  private static final int UNKNOWN_WORKER = -2;
+  private static final int DEADLINE_CHECK_INTERVAL = 64;
+
+  private final Job[] jobs;
+  private final Worker[] workers;
+  private final List<Commitment> commitments;
+  private final Schedule[] schedules;
+  private final int[][] eligible;
+  private final int[] current;
+  private final int[] assigned;
+  private final Slot[] slots;
+  private final boolean[] pinned;
+  private final UnassignedReason[] reasons;
+
+  private TaskScheduleSolver(List<Job> jobList, List<Worker> workerList, List<Commitment> commitmentList) {
+    this.jobs = jobList.toArray(new Job[0]);
+    this.commitments = commitmentList;
+
+    // 同名の作業者は先に指定したものを使う
+    Map<String, Integer> workerIndex = new HashMap<>();
+    List<Worker> distinct = new ArrayList<>();
+    for (Worker worker : workerList) {
+      if (workerIndex.putIfAbsent(worker.name, distinct.size()) == null) {
+        distinct.add(worker);
+      }
+    }
+    this.workers = distinct.toArray(new Worker[0]);
+    this.schedules = new Schedule[workers.length];
+    for (int w = 0; w < workers.length; w++) {
+      schedules[w] = new Schedule();
+    }
+    for (Commitment commitment : commitmentList) {
+      Integer w = workerIndex.get(commitment.worker);
+      if (w != null) {
+        schedules[w].addFixed(new Slot(commitment.start, commitment.end, NONE, commitment.fieldId,
+            commitment.location));
+      }
+    }
+
+    this.eligible = new int[jobs.length][];
+    this.current = new int[jobs.length];
+    this.assigned = new int[jobs.length];
+    this.slots = new Slot[jobs.length];
+    this.pinned = new boolean[jobs.length];
+    this.reasons = new UnassignedReason[jobs.length];
+    for (int j = 0; j < jobs.length; j++) {
+      Job job = jobs[j];
+      current[j] = job.currentWorker == null ? NONE : workerIndex.getOrDefault(job.currentWorker, UNKNOWN_WORKER);
+      assigned[j] = NONE;
+      boolean skilled = false;
+      int[] candidates = new int[workers.length];
+      int count = 0;
+      for (int w = 0; w < workers.length; w++) {
+        if (workers[w].hasSkill(job.taskType)) {
+          skilled = true;
+          if (workers[w].isAvailable(job.start, job.end)) {
+            candidates[count++] = w;
+          }
+        }
+      }
+      eligible[j] = count == candidates.length ? candidates : Arrays.copyOf(candidates, count);
+      if (count == 0) {
+        reasons[j] = skilled ? UnassignedReason.NOT_AVAILABLE : UnassignedReason.NO_SKILLED_WORKER;
+      }
+    }
+  }
+
+  /**
+   * タスクを作業者に割り当てる
+   * @param jobs 割り当て対象のタスク
+   * @param workers 作業者
+   * @param commitments 作業者の確定済みの予定（進行中のタスクなど、動かさない）
+   * @param timeLimitMillis 局所探索の時間の上限（ミリ秒）
+   * @return 割り当て結果
+   */
+  public static Result solve(List<Job> jobs, List<Worker> workers, List<Commitment> commitments,
+                             long timeLimitMillis) {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+    return new TaskScheduleSolver(jobs, workers, commitments).run(deadline);
+  }
+
+  private Result run(long deadline) {
+    long[] previous = evaluateCurrent();
+
+    // 担当者を維持するタスクを先に配置し、以降は動かさない
+    for (int j = 0; j < jobs.length; j++) {
+      int w = current[j];
+      if (jobs[j].locked && w >= 0 && contains(eligible[j], w)
+          && !schedules[w].overlaps(jobs[j].start, jobs[j].end)) {
+        place(j, w);
+        pinned[j] = true;
+      }
+    }
+
+    // 候補の作業者が少ないタスク、開始日が早いタスク、期間が長いタスクの順に割り当てる
+    List<Integer> order = new ArrayList<>();
+    for (int j = 0; j < jobs.length; j++) {
+      if (!pinned[j] && eligible[j].length > 0) {
+        order.add(j);
+      }
+    }
+    order.sort(Comparator.<Integer>comparingInt(j -> eligible[j].length)
+        .thenComparingLong(j -> jobs[j].start)
+        .thenComparingLong(j -> jobs[j].start - jobs[j].end)
+        .thenComparingLong(j -> jobs[j].id));
+    for (int j : order) {
+      if (!insert(j)) {
+        reasons[j] = UnassignedReason.CONFLICT;
+      }
+    }
+
+    boolean timedOut = improve(deadline);
+
+    Map<Long, String> assignments = new LinkedHashMap<>();
+    Map<Long, UnassignedReason> unassigned = new LinkedHashMap<>();
+    for (int j = 0; j < jobs.length; j++) {
+      if (assigned[j] != NONE) {
+        assignments.put(jobs[j].id, workers[assigned[j]].name);
+      } else {
+        unassigned.put(jobs[j].id, reasons[j] != null ? reasons[j] : UnassignedReason.CONFLICT);
+      }
+    }
+    long travelCost = 0;
+    for (Schedule schedule : schedules) {
+      travelCost += schedule.travelCost();
+    }
+    return new Result(assignments, unassigned, travelCost, previous[0], (int) previous[1], timedOut);
+  }
+
+  /**
+   * 局所探索
+   * 未割り当てのタスクは空いている作業者への割り当てか、重なる1件を別の作業者へ押し出して割り当てる
+   * 割り当て済みのタスクはコストが下がる場合だけ別の作業者へ移し替えるか、重なる1件と交換する
+   * 改善のたびに割り当て件数が増えるかコストが下がるため、必ず終了する
+   * @param deadline 期限（System.nanoTime の値）
+   * @return 期限で打ち切った場合true
+   */
+  private boolean improve(long deadline) {
+    int steps = 0;
+    boolean improved = true;
+    while (improved) {
+      improved = false;
+      for (int j = 0; j < jobs.length; j++) {
+        if (++steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() - deadline > 0) {
+          return true;
+        }
+        if (pinned[j] || eligible[j].length == 0) {
+          continue;
+        }
+        if (assigned[j] == NONE) {
+          improved |= insert(j) || eject(j);
+        } else {
+          improved |= relocate(j) || swap(j);
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 予定が重ならない作業者のうち、追加コストが最小の作業者に割り当てる（同じ場合は割り当て日数が少ない作業者）
+   */
+  private boolean insert(int j) {
+    Job job = jobs[j];
+    int best = NONE;
+    int bestCost = Integer.MAX_VALUE;
+    for (int w : eligible[j]) {
+      Schedule schedule = schedules[w];
+      if (schedule.overlaps(job.start, job.end)) {
+        continue;
+      }
+      int cost = schedule.insertionCost(job.start, job.fieldId, job.location) + changeCost(j, w);
+      if (cost < bestCost || (cost == bestCost && schedule.assignedDays < schedules[best].assignedDays)) {
+        best = w;
+        bestCost = cost;
+      }
+    }
+    if (best == NONE) {
+      return false;
+    }
+    place(j, best);
+    return true;
+  }
+
+  /**
+   * 重なる予定が1件だけの作業者について、その予定を別の空いている作業者へ押し出して割り当てる
+   */
+  private boolean eject(int j) {
+    Job job = jobs[j];
+    for (int b : eligible[j]) {
+      List<Slot> blocking = schedules[b].overlapping(job.start, job.end, 2);
+      if (blocking.size() != 1 || !isMovable(blocking.get(0).job)) {
+        continue;
+      }
+      int k = blocking.get(0).job;
+      Job other = jobs[k];
+      for (int c : eligible[k]) {
+        if (c != b && !schedules[c].overlaps(other.start, other.end)) {
+          unplace(k);
+          place(k, c);
+          place(j, b);
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * コストが最も下がる作業者へ移し替える
+   */
+  private boolean relocate(int j) {
+    Job job = jobs[j];
+    int from = assigned[j];
+    int gain = schedules[from].removalGain(slots[j]) + changeCost(j, from);
+    int best = NONE;
+    int bestDelta = 0;
+    for (int w : eligible[j]) {
+      if (w == from || schedules[w].overlaps(job.start, job.end)) {
+        continue;
+      }
+      int delta = schedules[w].insertionCost(job.start, job.fieldId, job.location) + changeCost(j, w) - gain;
+      if (delta < bestDelta) {
+        best = w;
+        bestDelta = delta;
+      }
+    }
+    if (best == NONE) {
+      return false;
+    }
+    unplace(j);
+    place(j, best);
+    return true;
+  }
+
+  /**
+   * 別の作業者の重なる予定が1件だけの場合、その予定と担当者を入れ替えてコストが下がれば交換する
+   */
+  private boolean swap(int j) {
+    Job job = jobs[j];
+    int a = assigned[j];
+    for (int b : eligible[j]) {
+      if (b == a) {
+        continue;
+      }
+      List<Slot> blocking = schedules[b].overlapping(job.start, job.end, 2);
+      if (blocking.size() != 1 || !isMovable(blocking.get(0).job) || !contains(eligible[blocking.get(0).job], a)) {
+        continue;
+      }
+      int k = blocking.get(0).job;
+      Job other = jobs[k];
+      int before = schedules[a].removalGain(slots[j]) + schedules[b].removalGain(slots[k])
+          + changeCost(j, a) + changeCost(k, b);
+      unplace(j);
+      unplace(k);
+      if (!schedules[a].overlaps(other.start, other.end) && !schedules[b].overlaps(job.start, job.end)) {
+        int after = schedules[a].insertionCost(other.start, other.fieldId, other.location)
+            + schedules[b].insertionCost(job.start, job.fieldId, job.location)
+            + changeCost(j, b) + changeCost(k, a);
+        if (after < before) {
+          place(j, b);
+          place(k, a);
+          return true;
+        }
+      }
+      place(j, a);
+      place(k, b);
+    }
+    return false;
+  }
+
+  private boolean isMovable(int j) {
+    return j != NONE && !pinned[j];
+  }
+
+  private int changeCost(int j, int w) {
+    return current[j] == NONE || current[j] == w ? 0 : CHANGE_COST;
+  }
+
+  private void place(int j, int w) {
+    Job job = jobs[j];
+    Slot slot = new Slot(job.start, job.end, j, job.fieldId, job.location);
+    schedules[w].add(slot);
+    slots[j] = slot;
+    assigned[j] = w;
+    reasons[j] = null;
+  }
+
+  private void unplace(int j) {
+    schedules[assigned[j]].remove(slots[j]);
+    slots[j] = null;
+    assigned[j] = NONE;
+  }
+
+  /**
+   * 現在の担当者のままの移動コストと、他の予定と重なっているタスク数を求める
+   * @return {移動コスト, 重なっているタスク数}
+   */
+  private long[] evaluateCurrent() {
+    Map<String, List<Slot>> byWorker = new HashMap<>();
+    for (int j = 0; j < jobs.length; j++) {
+      Job job = jobs[j];
+      if (job.currentWorker != null) {
+        byWorker.computeIfAbsent(job.currentWorker, name -> new ArrayList<>())
+            .add(new Slot(job.start, job.end, j, job.fieldId, job.location));
+      }
+    }
+    for (Commitment commitment : commitments) {
+      List<Slot> planned = byWorker.get(commitment.worker);
+      if (planned != null) {
+        planned.add(new Slot(commitment.start, commitment.end, NONE, commitment.fieldId, commitment.location));
+      }
+    }
+
+    long travelCost = 0;
+    boolean[] conflicting = new boolean[jobs.length];
+    for (List<Slot> planned : byWorker.values()) {
+      planned.sort(Comparator.comparingLong((Slot slot) -> slot.start).thenComparingLong(slot -> slot.end));
+      // 開始日順に走査し、それまでで最も遅く終わる予定と重なるかを調べる
+      Slot latest = null;
+      for (int i = 0; i < planned.size(); i++) {
+        Slot slot = planned.get(i);
+        if (i > 0) {
+          travelCost += travel(planned.get(i - 1), slot);
+        }
+        if (latest != null && slot.start <= latest.end) {
+          mark(conflicting, slot);
+          mark(conflicting, latest);
+        }
+        if (latest == null || slot.end > latest.end) {
+          latest = slot;
+        }
+      }
+    }
+    int conflicts = 0;
+    for (boolean value : conflicting) {
+      if (value) {
+        conflicts++;
+      }
+    }
+    return new long[] {travelCost, conflicts};
+  }
+
+  private static void mark(boolean[] conflicting, Slot slot) {
+    if (slot.job != NONE) {
+      conflicting[slot.job] = true;
+    }
+  }
+
+  private static boolean contains(int[] values, int value) {
+    for (int v : values) {
+      if (v == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int travel(Slot from, Slot to) {
+    return from == null || to == null ? 0 : travel(from.fieldId, from.location, to.fieldId, to.location);
+  }
+
+  private static int travel(Slot from, long fieldId, String location) {
+    return from == null ? 0 : travel(from.fieldId, from.location, fieldId, location);
+  }
+
+  private static int travel(long fromFieldId, String fromLocation, long toFieldId, String toLocation) {
+    if (fromFieldId == toFieldId) {
+      return 0;
+    }
+    return fromLocation != null && fromLocation.equals(toLocation) ? NEAR_TRAVEL_COST : FAR_TRAVEL_COST;
+  }
+
+  /**
+   * 割り当て対象のタスク
+   */
+  public static final class Job {
+
+    private final long id;
+    private final TaskType taskType;
+    private final long fieldId;
+    private final String location;
+    private final long start;
+    private final long end;
+    private final String currentWorker;
+    private final boolean locked;
+
+    /**
+     * コンストラクタ
+     * @param id タスクID
+     * @param taskType タスクタイプ
+     * @param fieldId フィールドID
+     * @param location フィールドの場所（移動コストの算出用）
+     * @param startDate 開始日
+     * @param endDate 終了日（nullの場合は開始日のみ）
+     * @param currentWorker 現在の担当者（いない場合null）
+     * @param locked 現在の担当者が勤務できる場合は変更しない場合true
+     */
+    public Job(long id, TaskType taskType, long fieldId, String location, LocalDate startDate, LocalDate endDate,
+               String currentWorker, boolean locked) {
+      this.id = id;
+      this.taskType = taskType;
+      this.fieldId = fieldId;
+      this.location = location;
+      this.start = startDate.toEpochDay();
+      this.end = endDate == null || endDate.isBefore(startDate) ? start : endDate.toEpochDay();
+      this.currentWorker = currentWorker;
+      this.locked = locked;
+    }
+  }
+
+  /**
+   * 作業者の技能と勤務可能日
+   */
+  public static final class Worker {
+
+    private final String name;
+    private final EnumSet<TaskType> skills;
+    private final long availableFrom;
+    private final long availableTo;
+    private final TreeSet<Long> unavailable = new TreeSet<>();
+
+    /**
+     * コンストラクタ
+     * @param name 作業者名
+     * @param skills 担当できるタスクタイプ（空の場合はすべて）
+     * @param availableFrom 勤務開始日（nullの場合は制限なし）
+     * @param availableTo 勤務終了日（nullの場合は制限なし）
+     * @param unavailableDates 休日
+     */
+    public Worker(String name, Collection<TaskType> skills, LocalDate availableFrom, LocalDate availableTo,
+                  Collection<LocalDate> unavailableDates) {
+      this.name = name;
+      this.skills = skills == null || skills.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(skills);
+      this.availableFrom = availableFrom == null ? Long.MIN_VALUE : availableFrom.toEpochDay();
+      this.availableTo = availableTo == null ? Long.MAX_VALUE : availableTo.toEpochDay();
+      if (unavailableDates != null) {
+        for (LocalDate date : unavailableDates) {
+          unavailable.add(date.toEpochDay());
+        }
+      }
+    }
+
+    private boolean hasSkill(TaskType taskType) {
+      return skills.isEmpty() || skills.contains(taskType);
+    }
+
+    private boolean isAvailable(long start, long end) {
+      if (start < availableFrom || end > availableTo) {
+        return false;
+      }
+      Long dayOff = unavailable.ceiling(start);
+      return dayOff == null || dayOff > end;
+    }
+  }
+
+  /**
+   * 作業者の確定済みの予定
+   */
+  public static final class Commitment {
+
+    private final String worker;
+    private final long fieldId;
+    private final String location;
+    private final long start;
+    private final long end;
+
+    /**
+     * コンストラクタ
+     * @param worker 作業者名
+     * @param fieldId フィールドID
+     * @param location フィールドの場所
+     * @param startDate 開始日
+     * @param endDate 終了日（nullの場合は開始日のみ）
+     */
+    public Commitment(String worker, long fieldId, String location, LocalDate startDate, LocalDate endDate) {
+      this.worker = worker;
+      this.fieldId = fieldId;
+      this.location = location;
+      this.start = startDate.toEpochDay();
+      this.end = endDate == null || endDate.isBefore(startDate) ? start : endDate.toEpochDay();
+    }
+  }
+
+  /**
+   * 割り当て結果
+   */
+  public static final class Result {
+
+    private final Map<Long, String> assignments;
+    private final Map<Long, UnassignedReason> unassigned;
+    private final long travelCost;
+    private final long previousTravelCost;
+    private final int previousConflicts;
+    private final boolean timedOut;
+
+    private Result(Map<Long, String> assignments, Map<Long, UnassignedReason> unassigned, long travelCost,
+                   long previousTravelCost, int previousConflicts, boolean timedOut) {
+      this.assignments = Collections.unmodifiableMap(assignments);
+      this.unassigned = Collections.unmodifiableMap(unassigned);
+      this.travelCost = travelCost;
+      this.previousTravelCost = previousTravelCost;
+      this.previousConflicts = previousConflicts;
+      this.timedOut = timedOut;
+    }
+
+    /**
+     * @return タスクIDごとの担当者（入力順）
+     */
+    public Map<Long, String> getAssignments() {
+      return assignments;
+    }
+
+    /**
+     * @return 割り当てられなかったタスクIDごとの理由（入力順）
+     */
+    public Map<Long, UnassignedReason> getUnassigned() {
+      return unassigned;
+    }
+
+    public long getTravelCost() {
+      return travelCost;
+    }
+
+    public long getPreviousTravelCost() {
+      return previousTravelCost;
+    }
+
+    public int getPreviousConflicts() {
+      return previousConflicts;
+    }
+
+    public boolean isTimedOut() {
+      return timedOut;
+    }
+  }
+
+  /**
+   * 作業者の予定1件（タスクまたは確定済みの予定）
+   */
+  private static final class Slot {
+
+    private final long start;
+    private final long end;
+    private final int job;
+    private final long fieldId;
+    private final String location;
+
+    private Slot(long start, long end, int job, long fieldId, String location) {
+      this.start = start;
+      this.end = end;
+      this.job = job;
+      this.fieldId = fieldId;
+      this.location = location;
+    }
+  }
+
+  /**
+   * 作業者1人の予定（互いに重ならない期間を開始日で索引付け）
+   */
+  private static final class Schedule {
+
+    private final TreeMap<Long, Slot> slots = new TreeMap<>();
+    private long assignedDays;
+
+    /**
+     * 期間と重なる予定があるかを判定
+     * 予定は重ならないため、期間の終了日以前に始まる最後の予定だけを見ればよい
+     */
+    private boolean overlaps(long start, long end) {
+      Map.Entry<Long, Slot> last = slots.floorEntry(end);
+      return last != null && last.getValue().end >= start;
+    }
+
+    /**
+     * 期間と重なる予定を開始日順に最大limit件取得
+     */
+    private List<Slot> overlapping(long start, long end, int limit) {
+      List<Slot> result = new ArrayList<>();
+      Map.Entry<Long, Slot> first = slots.floorEntry(start);
+      long from = first != null && first.getValue().end >= start ? first.getKey() : start;
+      for (Slot slot : slots.subMap(from, true, end, true).values()) {
+        result.add(slot);
+        if (result.size() >= limit) {
+          break;
+        }
+      }
+      return result;
+    }
+
+    /**
+     * 未登録の予定を追加した場合の移動コストの増分
+     */
+    private int insertionCost(long start, long fieldId, String location) {
+      Slot previous = value(slots.lowerEntry(start));
+      Slot next = value(slots.higherEntry(start));
+      return travel(previous, fieldId, location) + travel(next, fieldId, location) - travel(previous, next);
+    }
+
+    /**
+     * 登録済みの予定を取り除いた場合の移動コストの減少分
+     */
+    private int removalGain(Slot slot) {
+      Slot previous = value(slots.lowerEntry(slot.start));
+      Slot next = value(slots.higherEntry(slot.start));
+      return travel(previous, slot.fieldId, slot.location) + travel(next, slot.fieldId, slot.location)
+          - travel(previous, next);
+    }
+
+    private long travelCost() {
+      long cost = 0;
+      Slot previous = null;
+      for (Slot slot : slots.values()) {
+        cost += travel(previous, slot);
+        previous = slot;
+      }
+      return cost;
+    }
+
+    private void add(Slot slot) {
+      slots.put(slot.start, slot);
+      assignedDays += slot.end - slot.start + 1;
+    }
+
+    private void remove(Slot slot) {
+      slots.remove(slot.start);
+      assignedDays -= slot.end - slot.start + 1;
+    }
+
+    /**
+     * 確定済みの予定を追加（既存の予定と重なる場合はまとめて1件にする）
+     */
+    private void addFixed(Slot slot) {
+      long start = slot.start;
+      long end = slot.end;
+      for (Slot other : overlapping(slot.start, slot.end, Integer.MAX_VALUE)) {
+        remove(other);
+        start = Math.min(start, other.start);
+        end = Math.max(end, other.end);
+      }
+      add(new Slot(start, end, NONE, slot.fieldId, slot.location));
+    }
+
+    private static Slot value(Map.Entry<Long, Slot> entry) {
+      return entry == null ? null : entry.getValue();
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.FieldDto;
+import com.teafarmops.dto.TaskDto;
+import com.teafarmops.dto.TaskSchedulePlan;
+import com.teafarmops.dto.TaskScheduleRequest;
+import com.teafarmops.entities.Task;
+import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskWorkerLock;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.repositories.TaskRepository;
+import com.teafarmops.repositories.TaskSpecifications;
+import com.teafarmops.repositories.TaskWorkerLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * タスク割り当てサービス
+ * 未着手タスクを作業者に割り当てる計画を作成し（プレビュー）、確認後に担当者を更新する（適用）
+ * 計画は {@link TaskScheduleSolver} で作成し、進行中のタスクと対象外の未着手タスクは作業者の確定済みの予定として扱う
+ */
+@Service
+public class TaskSchedulingService {
+
+  private static final Set<TaskStatus> ACTIVE_STATUSES = EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+  private final TaskRepository taskRepository;
+  private final TaskWorkerLockRepository taskWorkerLockRepository;
+  private final TransactionTemplate lockRowTransaction;
+  private final FieldCatalog fieldCatalog;
+  private final ApplicationEventPublisher eventPublisher;
+  private final long timeLimitMillis;
+
+  @Autowired
+  public TaskSchedulingService(TaskRepository taskRepository,
+                               TaskWorkerLockRepository taskWorkerLockRepository,
+                               PlatformTransactionManager transactionManager,
+                               FieldCatalog fieldCatalog,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${teafarmops.schedule.time-limit-ms:300}") long timeLimitMillis) {
+    this.taskRepository = taskRepository;
+    this.taskWorkerLockRepository = taskWorkerLockRepository;
+    // ロック行は適用のトランザクションとは別にコミットし、他の適用からも見えるようにする
+    this.lockRowTransaction = new TransactionTemplate(transactionManager);
+    this.lockRowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.fieldCatalog = fieldCatalog;
+    this.eventPublisher = eventPublisher;
+    this.timeLimitMillis = timeLimitMillis;
+  }
+
+  /**
+   * 割り当て計画を作成（データは変更しない）
+   * 作業者を指定しない場合は、進行中・未着手タスクの担当者全員をすべての技能を持ち常に勤務できるものとして扱う
+   * @param request 作成条件
+   * @return 割り当て計画
+   * @throws IllegalArgumentException 期間が不正な場合
+   */
+  @Transactional(readOnly = true)
+  public TaskSchedulePlan preview(TaskScheduleRequest request) {
+    long started = System.nanoTime();
+    LocalDate from = request.getStartDate();
+    LocalDate to = request.getEndDate();
+    if (from != null && to != null && from.isAfter(to)) {
+      throw new IllegalArgumentException("開始日は終了日以前を指定してください");
+    }
+
+    List<TaskDto> active = taskRepository.findDtos(TaskSpecifications.hasStatusIn(ACTIVE_STATUSES),
+        Sort.by("startDate", "id"), 0);
+    List<TaskDto> targets = new ArrayList<>();
+    List<TaskScheduleSolver.Commitment> commitments = new ArrayList<>();
+    for (TaskDto task : active) {
+      boolean inScope = task.getStatus() == TaskStatus.PENDING
+          && (from == null || !task.getStartDate().isBefore(from))
+          && (to == null || !task.getStartDate().isAfter(to));
+      String worker = blankToNull(task.getAssignedWorker());
+      if (inScope) {
+        targets.add(task);
+      } else if (worker != null) {
+        commitments.add(new TaskScheduleSolver.Commitment(worker, task.getFieldId(), locationOf(task.getFieldId()),
+            task.getStartDate(), task.getEndDate()));
+      }
+    }
+
+    List<TaskScheduleSolver.Job> jobs = new ArrayList<>(targets.size());
+    for (TaskDto task : targets) {
+      jobs.add(new TaskScheduleSolver.Job(task.getId(), task.getTaskType(), task.getFieldId(),
+          locationOf(task.getFieldId()), task.getStartDate(), task.getEndDate(),
+          blankToNull(task.getAssignedWorker()), request.isKeepAssigned()));
+    }
+    TaskScheduleSolver.Result result =
+        TaskScheduleSolver.solve(jobs, workersOf(request, active), commitments, timeLimitMillis);
+
+    TaskSchedulePlan plan = new TaskSchedulePlan();
+    int changed = 0;
+    for (TaskDto task : targets) {
+      String previousWorker = blankToNull(task.getAssignedWorker());
+      String worker = result.getAssignments().get(task.getId());
+      if (worker != null) {
+        TaskSchedulePlan.Assignment assignment = new TaskSchedulePlan.Assignment(task.getId(), task.getTaskType(),
+            task.getFieldId(), task.getFieldName(), task.getStartDate(), task.getEndDate(), previousWorker, worker);
+        plan.getAssignments().add(assignment);
+        if (assignment.isChanged()) {
+          changed++;
+        }
+      } else {
+        plan.getUnassigned().add(new TaskSchedulePlan.Unassigned(task.getId(), task.getTaskType(),
+            task.getFieldId(), task.getFieldName(), task.getStartDate(), task.getEndDate(), previousWorker,
+            result.getUnassigned().get(task.getId())));
+      }
+    }
+    plan.setChangedCount(changed);
+    plan.setTravelCost(result.getTravelCost());
+    plan.setPreviousTravelCost(result.getPreviousTravelCost());
+    plan.setPreviousConflicts(result.getPreviousConflicts());
+    plan.setTimedOut(result.isTimedOut());
+    plan.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+    return plan;
+  }
+
+  /**
+   * 割り当て計画を適用し、担当者が変わるタスクだけを更新する
+   * 計画の作成後に対象タスクが変更された場合や、変更後の担当者の進行中・未着手の予定と重なる場合は何も更新しない
+   * @param assignments 計画の割り当て
+   * @return 更新したタスク
+   * @throws IllegalArgumentException 割り当てが不正な場合
+   * @throws IllegalStateException 計画の作成後の変更により適用できない場合
+   */
+  @Transactional
+  public List<TaskDto> apply(List<TaskSchedulePlan.Assignment> assignments) {
+    Map<Long, TaskSchedulePlan.Assignment> changes = new LinkedHashMap<>();
+    for (TaskSchedulePlan.Assignment assignment : assignments) {
+      if (assignment.getTaskId() == null || blankToNull(assignment.getWorker()) == null) {
+        throw new IllegalArgumentException("タスクIDと担当者は必須です");
+      }
+      if (assignment.isChanged()) {
+        changes.put(assignment.getTaskId(), assignment);
+      }
+    }
+    if (changes.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    // 変更後の担当者を名前順にロックし、同じ担当者への同時の適用を直列化する（予定のない担当者も含む）
+    Set<String> workers = new TreeSet<>();
+    changes.values().forEach(assignment -> workers.add(assignment.getWorker()));
+    lockWorkers(workers);
+
+    // 変更するタスクと担当者の予定をID順にロックしてから読み込み、先に確定した適用の結果を見て検証する
+    List<Task> tasks = new ArrayList<>(changes.size());
+    List<Task> scheduled = new ArrayList<>();
+    for (Task task : taskRepository.findForScheduleUpdate(changes.keySet(), workers, ACTIVE_STATUSES)) {
+      if (changes.containsKey(task.getId())) {
+        tasks.add(task);
+      } else {
+        scheduled.add(task);
+      }
+    }
+    if (tasks.size() != changes.size()) {
+      throw new IllegalStateException("計画の作成後に削除されたタスクがあります");
+    }
+    for (Task task : tasks) {
+      TaskSchedulePlan.Assignment assignment = changes.get(task.getId());
+      if (task.getStatus() != TaskStatus.PENDING
+          || !Objects.equals(blankToNull(task.getAssignedWorker()), blankToNull(assignment.getPreviousWorker()))) {
+        throw new IllegalStateException("計画の作成後にタスクが変更されました: " + task.getId());
+      }
+    }
+
+    // 変更後の担当者ごとに、変更するタスクが他の予定と重ならないかを確認する
+    Map<String, List<Task>> byWorker = new HashMap<>();
+    for (Task task : scheduled) {
+      byWorker.computeIfAbsent(task.getAssignedWorker(), name -> new ArrayList<>()).add(task);
+    }
+    for (Task task : tasks) {
+      byWorker.computeIfAbsent(changes.get(task.getId()).getWorker(), name -> new ArrayList<>()).add(task);
+    }
+    byWorker.forEach((worker, planned) -> checkNoOverlap(worker, planned, changes.keySet()));
+
+    for (Task task : tasks) {
+      task.setAssignedWorker(changes.get(task.getId()).getWorker());
+    }
+    List<Task> saved = taskRepository.saveAll(tasks);
+    List<TaskDto> updated = new ArrayList<>(saved.size());
+    for (Task task : saved) {
+      eventPublisher.publishEvent(new EntityChangedEvent(Task.class, ChangeType.UPDATED, task.getId()));
+      Long fieldId = task.getField() != null ? task.getField().getId() : null;
+      updated.add(new TaskDto(task.getId(), task.getTaskType(), fieldId, fieldCatalog.getName(fieldId),
+          task.getAssignedWorker(), task.getStartDate(), task.getEndDate(), task.getStatus(), task.getNotes()));
+    }
+    return updated;
+  }
+
+  /**
+   * 作業者のロック行を書き込みロックする（未作成の行は別トランザクションで作成してから取る）
+   * @param workers 作業者名（名前順）
+   */
+  private void lockWorkers(Set<String> workers) {
+    Set<String> missing = new TreeSet<>(workers);
+    taskWorkerLockRepository.findAllById(workers).forEach(lock -> missing.remove(lock.getWorker()));
+    for (String worker : missing) {
+      try {
+        lockRowTransaction.executeWithoutResult(status -> taskWorkerLockRepository.saveAndFlush(new TaskWorkerLock(worker)));
+      } catch (DataIntegrityViolationException e) {
+        // 同時の適用が先に作成した
+      }
+    }
+    taskWorkerLockRepository.findByWorkerInOrderByWorker(workers);
+  }
+
+  /**
+   * 作業者の予定を開始日順に走査し、変更するタスクが関わる重なりがあれば例外を投げる
+   * （変更しないタスク同士の既存の重なりは対象外）
+   */
+  private static void checkNoOverlap(String worker, List<Task> planned, Set<Long> changedIds) {
+    planned.sort(Comparator.comparing(Task::getStartDate).thenComparing(TaskSchedulingService::endOf));
+    List<Task> open = new ArrayList<>();
+    for (Task task : planned) {
+      open.removeIf(other -> endOf(other).isBefore(task.getStartDate()));
+      for (Task other : open) {
+        if (changedIds.contains(task.getId()) || changedIds.contains(other.getId())) {
+          throw new IllegalStateException(
+              worker + " の予定が重なります: タスク " + other.getId() + " と " + task.getId());
+        }
+      }
+      open.add(task);
+    }
+  }
+
+  /**
+   * 計画に使う作業者
+   */
+  private static List<TaskScheduleSolver.Worker> workersOf(TaskScheduleRequest request, List<TaskDto> active) {
+    List<TaskScheduleSolver.Worker> workers = new ArrayList<>();
+    if (request.getWorkers() != null && !request.getWorkers().isEmpty()) {
+      for (TaskScheduleRequest.WorkerAvailability worker : request.getWorkers()) {
+        String name = blankToNull(worker.getName());
+        if (name == null) {
+          throw new IllegalArgumentException("作業者名は必須です");
+        }
+        if (worker.getAvailableFrom() != null && worker.getAvailableTo() != null
+            && worker.getAvailableFrom().isAfter(worker.getAvailableTo())) {
+          throw new IllegalArgumentException("勤務開始日は勤務終了日以前を指定してください: " + name);
+        }
+        workers.add(new TaskScheduleSolver.Worker(name, worker.getSkills(), worker.getAvailableFrom(),
+            worker.getAvailableTo(), worker.getUnavailableDates()));
+      }
+      return workers;
+    }
+    Set<String> names = new LinkedHashSet<>();
+    for (TaskDto task : active) {
+      String name = blankToNull(task.getAssignedWorker());
+      if (name != null) {
+        names.add(name);
+      }
+    }
+    for (String name : names) {
+      workers.add(new TaskScheduleSolver.Worker(name, null, null, null, null));
+    }
+    return workers;
+  }
+
+  private String locationOf(Long fieldId) {
+    return fieldCatalog.findById(fieldId).map(FieldDto::getLocation).orElse(null);
+  }
+
+  private static LocalDate endOf(Task task) {
+    return task.getEndDate() != null && !task.getEndDate().isBefore(task.getStartDate())
+        ? task.getEndDate() : task.getStartDate();
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.trim().isEmpty() ? null : value.trim();
+  }
+}
@@ -1,11 +1,20 @@
 package com.teafarmops.services;
 
+import com.teafarmops.dto.CursorPage;
+import com.teafarmops.dto.TaskDto;
 import com.teafarmops.entities.Field;
 import com.teafarmops.entities.Task;
 import com.teafarmops.entities.TaskStatus;
+import com.teafarmops.entities.TaskType;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
 import com.teafarmops.repositories.FieldRepository;
 import com.teafarmops.repositories.TaskRepository;
+import com.teafarmops.repositories.TaskSpecifications;
+import com.teafarmops.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -22,21 +31,94 @@ public class TaskService {
 
   private final TaskRepository taskRepository;
   private final FieldRepository fieldRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public TaskService(TaskRepository taskRepository, FieldRepository fieldRepository) {
+  public TaskService(TaskRepository taskRepository, FieldRepository fieldRepository,
+                     ApplicationEventPublisher eventPublisher) {
     this.taskRepository = taskRepository;
     this.fieldRepository = fieldRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * 全タスクを取得
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getAllTasks() {
     return taskRepository.findAll();
   }
 
+  /**
+   * 条件に一致するタスクを取得
+   * 全ての条件はSQLで適用され、開始日降順・ID降順で返される
+   * @param taskType タスクタイプ（nullの場合は条件なし）
+   * @param status タスクステータス（nullの場合は条件なし）
+   * @param assignedWorker 担当者名（空の場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @param startDate 開始日の下限（nullの場合は条件なし）
+   * @param endDate 終了日の上限（nullの場合は条件なし）
+   * @return タスクリスト
+   */
+  @Transactional(readOnly = true)
+  public List<Task> searchTasks(TaskType taskType, TaskStatus status, String assignedWorker,
+                                Long fieldId, LocalDate startDate, LocalDate endDate) {
+    return taskRepository.findAll(
+        TaskSpecifications.matching(taskType, status, assignedWorker, fieldId, startDate, endDate),
+        TaskSpecifications.KEYSET_SORT);
+  }
+
+  /**
+   * 条件に一致するタスクをDTOとして取得
+   * 条件と並び順は {@link #searchTasks} と同じで、エンティティを読み込まず必要な列だけをDTOに直接射影する
+   * @param taskType タスクタイプ（nullの場合は条件なし）
+   * @param status タスクステータス（nullの場合は条件なし）
+   * @param assignedWorker 担当者名（空の場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @param startDate 開始日の下限（nullの場合は条件なし）
+   * @param endDate 終了日の上限（nullの場合は条件なし）
+   * @return タスクDTOリスト
+   */
+  @Transactional(readOnly = true)
+  public List<TaskDto> searchTaskDtos(TaskType taskType, TaskStatus status, String assignedWorker,
+                                      Long fieldId, LocalDate startDate, LocalDate endDate) {
+    return taskRepository.findDtos(
+        TaskSpecifications.matching(taskType, status, assignedWorker, fieldId, startDate, endDate),
+        TaskSpecifications.KEYSET_SORT, 0);
+  }
+
+  /**
+   * 条件に一致するタスクをキーセットページネーションでDTOとして取得
+   * @param taskType タスクタイプ（nullの場合は条件なし）
+   * @param status タスクステータス（nullの場合は条件なし）
+   * @param assignedWorker 担当者名（空の場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @param startDate 開始日の下限（nullの場合は条件なし）
+   * @param endDate 終了日の上限（nullの場合は条件なし）
+   * @param cursor 継続トークン（nullの場合は先頭ページ）
+   * @param limit ページサイズ
+   * @return タスクDTOページ
+   * @throws IllegalArgumentException 継続トークンが不正な場合
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<TaskDto> searchTaskPage(TaskType taskType, TaskStatus status, String assignedWorker,
+                                            Long fieldId, LocalDate startDate, LocalDate endDate,
+                                            String cursor, Integer limit) {
+    int pageSize = CursorPage.normalizePageSize(limit);
+    Specification<Task> spec =
+        TaskSpecifications.matching(taskType, status, assignedWorker, fieldId, startDate, endDate);
+    if (cursor != null && !cursor.isEmpty()) {
+      KeysetCursor position = KeysetCursor.decode(cursor);
+      spec = spec.and(TaskSpecifications.after(position.getDate(), position.getId()));
+    }
+
+    // 次ページの有無を判定するため1件多く取得
+    List<TaskDto> rows = taskRepository.findDtos(spec, TaskSpecifications.KEYSET_SORT, pageSize + 1);
+    return CursorPage.fromLookahead(rows, pageSize,
+        last -> KeysetCursor.encode(last.getStartDate(), last.getId()));
+  }
+
   /**
    * IDでタスクを取得
    * @param id タスクID
@@ -52,7 +134,10 @@ public class TaskService {
    * @return 保存されたタスク
    */
   public Task saveTask(Task task) {
-    return taskRepository.save(task);
+    ChangeType changeType = task.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+    Task saved = taskRepository.save(task);
+    publishChange(changeType, saved.getId());
+    return saved;
   }
 
   /**
@@ -73,7 +158,9 @@ public class TaskService {
     task.setStatus(taskDetails.getStatus());
     task.setNotes(taskDetails.getNotes());
 
-    return taskRepository.save(task);
+    Task saved = taskRepository.save(task);
+    publishChange(ChangeType.UPDATED, id);
+    return saved;
   }
 
   /**
@@ -84,6 +171,7 @@ public class TaskService {
     Task task = taskRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("タスクが見つかりません: " + id));
     taskRepository.delete(task);
+    publishChange(ChangeType.DELETED, id);
   }
 
   /**
@@ -91,6 +179,7 @@ public class TaskService {
    * @param fieldId フィールドID
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getTasksByFieldId(Long fieldId) {
     return taskRepository.findByFieldId(fieldId);
   }
@@ -100,7 +189,8 @@ public class TaskService {
    * @param taskType タスクタイプ
    * @return タスクリスト
    */
-  public List<Task> getTasksByType(String taskType) {
+  @Transactional(readOnly = true)
+  public List<Task> getTasksByType(TaskType taskType) {
     return taskRepository.findByTaskType(taskType);
   }
 
@@ -109,6 +199,7 @@ public class TaskService {
    * @param status タスクステータス
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getTasksByStatus(TaskStatus status) {
     return taskRepository.findByStatus(status);
   }
@@ -118,6 +209,7 @@ public class TaskService {
    * @param assignedWorker 担当者名
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getTasksByWorker(String assignedWorker) {
     return taskRepository.findByAssignedWorkerContainingIgnoreCase(assignedWorker);
   }
@@ -127,24 +219,27 @@ public class TaskService {
    * @param startDate 開始日
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getTasksByStartDate(LocalDate startDate) {
     return taskRepository.findByStartDate(startDate);
   }
 
   /**
-   * 開始日範囲でタスクを検索
-   * @param startDate 開始日
-   * @param endDate 終了日
+   * 期間と重なるタスクを検索（期間より前に開始し期間中も続くタスクを含む）
+   * @param startDate 期間の開始日
+   * @param endDate 期間の終了日
    * @return タスクリスト
    */
+  @Transactional(readOnly = true)
   public List<Task> getTasksByDateRange(LocalDate startDate, LocalDate endDate) {
-    return taskRepository.findByStartDateBetween(startDate, endDate);
+    return taskRepository.findOverlapping(startDate, endDate);
   }
 
   /**
    * 完了タスク数を取得
    * @return 完了タスク数
    */
+  @Transactional(readOnly = true)
   public Long getCompletedTaskCount() {
     return taskRepository.getCompletedTaskCount();
   }
@@ -153,6 +248,7 @@ public class TaskService {
    * 進行中タスク数を取得
    * @return 進行中タスク数
    */
+  @Transactional(readOnly = true)
   public Long getInProgressTaskCount() {
     return taskRepository.getInProgressTaskCount();
   }
@@ -161,6 +257,7 @@ public class TaskService {
    * 未着手タスク数を取得
    * @return 未着手タスク数
    */
+  @Transactional(readOnly = true)
   public Long getPendingTaskCount() {
     return taskRepository.getPendingTaskCount();
   }
@@ -173,4 +270,13 @@ public class TaskService {
   public Optional<Field> getFieldById(Long fieldId) {
     return fieldRepository.findById(fieldId);
   }
-} 
\ No newline at end of file
+
+  /**
+   * 変更イベントを発行
+   * @param changeType 変更種別
+   * @param id エンティティID
+   */
+  private void publishChange(ChangeType changeType, Long id) {
+    eventPublisher.publishEvent(new EntityChangedEvent(Task.class, changeType, id));
+  }
+}
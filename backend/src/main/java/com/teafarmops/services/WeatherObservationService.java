@@ -1,14 +1,22 @@
 package com.teafarmops.services;
 
+import com.teafarmops.dto.WeatherObservationDto;
 import com.teafarmops.entities.Field;
 import com.teafarmops.entities.WeatherObservation;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.WeatherSamplesChangedEvent;
 import com.teafarmops.repositories.FieldRepository;
 import com.teafarmops.repositories.WeatherObservationRepository;
+import com.teafarmops.repositories.WeatherObservationSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -21,22 +29,43 @@ public class WeatherObservationService {
 
   private final WeatherObservationRepository weatherObservationRepository;
   private final FieldRepository fieldRepository;
+  private final WeatherRollupService weatherRollupService;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
   public WeatherObservationService(WeatherObservationRepository weatherObservationRepository, 
-                                 FieldRepository fieldRepository) {
+                                 FieldRepository fieldRepository,
+                                   WeatherRollupService weatherRollupService,
+                                   ApplicationEventPublisher eventPublisher) {
     this.weatherObservationRepository = weatherObservationRepository;
     this.fieldRepository = fieldRepository;
+    this.weatherRollupService = weatherRollupService;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * 全天候観測を取得
    * @return 天候観測リスト
    */
+  @Transactional(readOnly = true)
   public List<WeatherObservation> getAllWeatherObservations() {
     return weatherObservationRepository.findAll();
   }
 
+  /**
+   * 条件に一致する天候観測をDTOとして取得（読み取り専用、エンティティを読み込まない）
+   * @param startDate 開始日（nullの場合は条件なし）
+   * @param endDate 終了日（nullの場合は条件なし）
+   * @param fieldId フィールドID（nullの場合は条件なし）
+   * @return 天候観測DTOリスト
+   */
+  @Transactional(readOnly = true)
+  public List<WeatherObservationDto> searchWeatherObservationDtos(LocalDate startDate, LocalDate endDate,
+                                                                  Long fieldId) {
+    return weatherObservationRepository.findDtos(
+        WeatherObservationSpecifications.matching(startDate, endDate, fieldId), Sort.unsorted(), 0);
+  }
+
   /**
    * IDで天候観測を取得
    * @param id 天候観測ID
@@ -52,7 +81,16 @@ public class WeatherObservationService {
    * @return 保存された天候観測
    */
   public WeatherObservation saveWeatherObservation(WeatherObservation weatherObservation) {
-    return weatherObservationRepository.save(weatherObservation);
+    ChangeType changeType = weatherObservation.getId() == null ? ChangeType.CREATED : ChangeType.UPDATED;
+    if (changeType == ChangeType.UPDATED) {
+      weatherObservationRepository.findById(weatherObservation.getId())
+          .filter(existing -> existing != weatherObservation)
+          .ifPresent(this::publishSampleChange);
+    }
+    WeatherObservation saved = weatherObservationRepository.save(weatherObservation);
+    publishChange(changeType, saved.getId());
+    publishSampleChange(saved);
+    return saved;
   }
 
   /**
@@ -64,6 +102,8 @@ public class WeatherObservationService {
   public WeatherObservation updateWeatherObservation(Long id, WeatherObservation weatherObservationDetails) {
     WeatherObservation weatherObservation = weatherObservationRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("天候観測が見つかりません: " + id));
+    Long previousFieldId = fieldIdOf(weatherObservation);
+    LocalDate previousDate = weatherObservation.getDate();
 
     weatherObservation.setDate(weatherObservationDetails.getDate());
     weatherObservation.setField(weatherObservationDetails.getField());
@@ -73,7 +113,13 @@ public class WeatherObservationService {
     weatherObservation.setPestsSeen(weatherObservationDetails.getPestsSeen());
     weatherObservation.setNotes(weatherObservationDetails.getNotes());
 
-    return weatherObservationRepository.save(weatherObservation);
+    WeatherObservation saved = weatherObservationRepository.save(weatherObservation);
+    publishChange(ChangeType.UPDATED, id);
+    if (!Objects.equals(previousFieldId, fieldIdOf(saved)) || !Objects.equals(previousDate, saved.getDate())) {
+      publishSampleChange(previousFieldId, previousDate);
+    }
+    publishSampleChange(saved);
+    return saved;
   }
 
   /**
@@ -84,6 +130,8 @@ public class WeatherObservationService {
     WeatherObservation weatherObservation = weatherObservationRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("天候観測が見つかりません: " + id));
     weatherObservationRepository.delete(weatherObservation);
+    publishChange(ChangeType.DELETED, id);
+    publishSampleChange(weatherObservation);
   }
 
   /**
@@ -91,6 +139,7 @@ public class WeatherObservationService {
    * @param fieldId フィールドID
    * @return 天候観測リスト
    */
+  @Transactional(readOnly = true)
   public List<WeatherObservation> getWeatherObservationsByFieldId(Long fieldId) {
     return weatherObservationRepository.findByFieldId(fieldId);
   }
@@ -100,6 +149,7 @@ public class WeatherObservationService {
    * @param date 観測日
    * @return 天候観測リスト
    */
+  @Transactional(readOnly = true)
   public List<WeatherObservation> getWeatherObservationsByDate(LocalDate date) {
     return weatherObservationRepository.findByDate(date);
   }
@@ -110,6 +160,7 @@ public class WeatherObservationService {
    * @param endDate 終了日
    * @return 天候観測リスト
    */
+  @Transactional(readOnly = true)
   public List<WeatherObservation> getWeatherObservationsByDateRange(LocalDate startDate, LocalDate endDate) {
     return weatherObservationRepository.findByDateBetween(startDate, endDate);
   }
@@ -119,38 +170,42 @@ public class WeatherObservationService {
    * @param pestsSeen 害虫名
    * @return 天候観測リスト
    */
+  @Transactional(readOnly = true)
   public List<WeatherObservation> getWeatherObservationsByPests(String pestsSeen) {
     return weatherObservationRepository.findByPestsSeenContainingIgnoreCase(pestsSeen);
   }
 
   /**
-   * 指定期間の平均気温を取得
+   * 指定期間の平均気温を取得（天候集計から算出）
    * @param startDate 開始日
    * @param endDate 終了日
    * @return 平均気温
    */
+  @Transactional(readOnly = true)
   public Double getAverageTemperatureBetween(LocalDate startDate, LocalDate endDate) {
-    return weatherObservationRepository.getAverageTemperatureBetween(startDate, endDate);
+    return weatherRollupService.summarize(null, startDate, endDate).getTemperature().getAverage();
   }
 
   /**
-   * 指定期間の総降雨量を取得
+   * 指定期間の総降雨量を取得（天候集計から算出）
    * @param startDate 開始日
    * @param endDate 終了日
    * @return 総降雨量
    */
+  @Transactional(readOnly = true)
   public Double getTotalRainfallBetween(LocalDate startDate, LocalDate endDate) {
-    return weatherObservationRepository.getTotalRainfallBetween(startDate, endDate);
+    return weatherRollupService.summarize(null, startDate, endDate).getRainfall().getSum();
   }
 
   /**
-   * 指定期間の平均湿度を取得
+   * 指定期間の平均湿度を取得（天候集計から算出）
    * @param startDate 開始日
    * @param endDate 終了日
    * @return 平均湿度
    */
+  @Transactional(readOnly = true)
   public Double getAverageHumidityBetween(LocalDate startDate, LocalDate endDate) {
-    return weatherObservationRepository.getAverageHumidityBetween(startDate, endDate);
+    return weatherRollupService.summarize(null, startDate, endDate).getHumidity().getAverage();
   }
 
   /**
@@ -161,4 +216,31 @@ public class WeatherObservationService {
   public Optional<Field> getFieldById(Long fieldId) {
     return fieldRepository.findById(fieldId);
   }
-} 
\ No newline at end of file
+
+  /**
+   * 変更イベントを発行
+   * @param changeType 変更種別
+   * @param id エンティティID
+   */
+  private void publishChange(ChangeType changeType, Long id) {
+    eventPublisher.publishEvent(new EntityChangedEvent(WeatherObservation.class, changeType, id));
+  }
+
+  /**
+   * 天候集計へサンプルの変更を通知（観測日の0時のサンプルとして扱う）
+   * @param weatherObservation 天候観測
+   */
+  private void publishSampleChange(WeatherObservation weatherObservation) {
+    publishSampleChange(fieldIdOf(weatherObservation), weatherObservation.getDate());
+  }
+
+  private void publishSampleChange(Long fieldId, LocalDate date) {
+    if (fieldId != null && date != null) {
+      eventPublisher.publishEvent(new WeatherSamplesChangedEvent(fieldId, List.of(date.atStartOfDay())));
+    }
+  }
+
+  private static Long fieldIdOf(WeatherObservation weatherObservation) {
+    return weatherObservation.getField() == null ? null : weatherObservation.getField().getId();
+  }
+}
@@ -0,0 +1,443 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.WeatherRollupDto;
+import com.teafarmops.dto.WeatherRollupDto.MetricStats;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.RollupGranularity;
+import com.teafarmops.entities.WeatherRollup;
+import com.teafarmops.events.EntityChangedEvent;
+import com.teafarmops.events.EntityChangedEvent.ChangeType;
+import com.teafarmops.events.WeatherSamplesChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 天候集計サービス
+ * フィールドごとに時間・日・月単位の天候集計を保持し、期間の問い合わせを最も粗い集計で処理する
+ * 集計はサンプルの変更をコミット後に受け取り、影響するバケットだけを下位の粒度から再計算する
+ */
+@Service
+public class WeatherRollupService {
+
+  private static final Logger logger = LoggerFactory.getLogger(WeatherRollupService.class);
+
+  private static final LocalDateTime MIN_BUCKET = LocalDateTime.of(1900, 1, 1, 0, 0);
+  private static final LocalDateTime MAX_BUCKET = LocalDateTime.of(3000, 1, 1, 0, 0);
+  private static final long MAX_SERIES_BUCKETS = 5000;
+
+  private static final String ROLLUP_COLUMNS =
+      "field_id, granularity, bucket_start, "
+      + "temperature_min, temperature_max, temperature_sum, temperature_count, "
+      + "humidity_min, humidity_max, humidity_sum, humidity_count, "
+      + "rainfall_min, rainfall_max, rainfall_sum, rainfall_count";
+
+  private static final String ROLLUP_AGGREGATES =
+      "MIN(temperature_min), MAX(temperature_max), SUM(temperature_sum), SUM(temperature_count), "
+      + "MIN(humidity_min), MAX(humidity_max), SUM(humidity_sum), SUM(humidity_count), "
+      + "MIN(rainfall_min), MAX(rainfall_max), SUM(rainfall_sum), SUM(rainfall_count)";
+
+  private static final String DELETE_SQL =
+      "DELETE FROM weather_rollups WHERE field_id = :fieldId AND granularity = :granularity "
+      + "AND bucket_start >= :fromTs AND bucket_start < :toTs";
+
+  /**
+   * センサー計測値と天候観測（観測日の0時として扱う）から時間単位の集計を作成
+   */
+  private static final String INSERT_HOURLY_SQL =
+      "INSERT INTO weather_rollups (" + ROLLUP_COLUMNS + ") "
+      + "SELECT field_id, 'HOURLY', DATE_TRUNC('hour', sampled_at), "
+      + "MIN(temperature), MAX(temperature), SUM(temperature), COUNT(temperature), "
+      + "MIN(humidity), MAX(humidity), SUM(humidity), COUNT(humidity), "
+      + "MIN(rainfall), MAX(rainfall), SUM(rainfall), COUNT(rainfall) "
+      + "FROM (SELECT field_id, recorded_at AS sampled_at, temperature, humidity, rainfall "
+      + "FROM sensor_readings "
+      + "WHERE field_id = :fieldId AND recorded_at >= :fromTs AND recorded_at < :toTs "
+      + "UNION ALL SELECT field_id, CAST(date AS TIMESTAMP), temperature, humidity, rainfall "
+      + "FROM weather_observations "
+      + "WHERE field_id = :fieldId AND date >= :fromDate AND date < :toDate) s "
+      + "GROUP BY field_id, DATE_TRUNC('hour', sampled_at)";
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate refreshTransaction;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  @Autowired
+  public WeatherRollupService(PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher) {
+    this.eventPublisher = eventPublisher;
+    // コミット後のイベントから呼ばれるため、常に新しいトランザクションで書き込む
+    this.refreshTransaction = new TransactionTemplate(transactionManager);
+    this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * 期間の天候統計を取得
+   * 期間内に完全に含まれる月・日は月単位・日単位の集計を使い、端数だけを時間単位の集計で補う
+   * @param fieldId フィールドID（nullの場合は全フィールド）
+   * @param startDate 開始日
+   * @param endDate 終了日（この日を含む）
+   * @return 天候統計
+   */
+  @Transactional(readOnly = true)
+  public WeatherRollupDto summarize(Long fieldId, LocalDate startDate, LocalDate endDate) {
+    return summarize(fieldId, startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+  }
+
+  /**
+   * 期間の天候統計を取得
+   * 期間は時間単位に広げて扱う
+   * @param fieldId フィールドID（nullの場合は全フィールド）
+   * @param from 開始日時
+   * @param to 終了日時（この日時を含まない）
+   * @return 天候統計
+   */
+  @Transactional(readOnly = true)
+  public WeatherRollupDto summarize(Long fieldId, LocalDateTime from, LocalDateTime to) {
+    LocalDateTime start = RollupGranularity.HOURLY.truncate(from);
+    LocalDateTime end = RollupGranularity.HOURLY.ceil(to);
+    List<BucketRange> ranges = coveringRanges(start, end);
+    if (ranges.isEmpty()) {
+      return toDto(null, null, new Object[12]);
+    }
+
+    StringBuilder sql = new StringBuilder("SELECT ").append(ROLLUP_AGGREGATES)
+        .append(" FROM weather_rollups WHERE ");
+    if (fieldId != null) {
+      sql.append("field_id = :fieldId AND ");
+    }
+    sql.append('(');
+    for (int i = 0; i < ranges.size(); i++) {
+      if (i > 0) {
+        sql.append(" OR ");
+      }
+      sql.append("(granularity = '").append(ranges.get(i).granularity.name())
+          .append("' AND bucket_start >= :from").append(i)
+          .append(" AND bucket_start < :to").append(i).append(')');
+    }
+    sql.append(')');
+
+    Query query = entityManager.createNativeQuery(sql.toString());
+    if (fieldId != null) {
+      query.setParameter("fieldId", fieldId);
+    }
+    for (int i = 0; i < ranges.size(); i++) {
+      query.setParameter("from" + i, ranges.get(i).from);
+      query.setParameter("to" + i, ranges.get(i).to);
+    }
+    return toDto(null, null, (Object[]) query.getSingleResult());
+  }
+
+  /**
+   * 時系列の天候統計を取得（トレンドグラフ用）
+   * @param fieldId フィールドID（nullの場合は全フィールド）
+   * @param granularity 時間粒度
+   * @param from 開始日時
+   * @param to 終了日時（この日時を含まない）
+   * @return バケットごとの天候統計（データのないバケットは含まない）
+   * @throws IllegalArgumentException バケット数が上限を超える場合
+   */
+  @Transactional(readOnly = true)
+  public List<WeatherRollupDto> getSeries(Long fieldId, RollupGranularity granularity,
+                                          LocalDateTime from, LocalDateTime to) {
+    LocalDateTime start = granularity.truncate(from);
+    LocalDateTime end = granularity.ceil(to);
+    if (bucketsBetween(granularity, start, end) > MAX_SERIES_BUCKETS) {
+      throw new IllegalArgumentException("期間が長すぎます。より粗い時間粒度を指定してください");
+    }
+
+    String sql = "SELECT " + ROLLUP_AGGREGATES + ", bucket_start FROM weather_rollups WHERE "
+        + (fieldId != null ? "field_id = :fieldId AND " : "")
+        + "granularity = :granularity AND bucket_start >= :fromTs AND bucket_start < :toTs "
+        + "GROUP BY bucket_start ORDER BY bucket_start";
+    Query query = entityManager.createNativeQuery(sql)
+        .setParameter("granularity", granularity.name())
+        .setParameter("fromTs", start)
+        .setParameter("toTs", end);
+    if (fieldId != null) {
+      query.setParameter("fieldId", fieldId);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = query.getResultList();
+    List<WeatherRollupDto> series = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      series.add(toDto(granularity, toLocalDateTime(row[12]), row));
+    }
+    return series;
+  }
+
+  /**
+   * サンプルの変更を受けて、影響するバケットを再計算
+   * @param event 天候サンプル変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onWeatherSamplesChanged(WeatherSamplesChangedEvent event) {
+    if (event.getSampledAt().isEmpty()) {
+      return;
+    }
+    List<BucketRange> ranges = new ArrayList<>();
+    for (RollupGranularity granularity : RollupGranularity.values()) {
+      ranges.addAll(contiguousRanges(granularity, event.getSampledAt()));
+    }
+    try {
+      refresh(event.getFieldId(), ranges);
+    } catch (RuntimeException e) {
+      // 元の書き込みは確定済みのため、呼び出し元には伝えない
+      logger.error("フィールド{}の天候集計の更新に失敗しました", event.getFieldId(), e);
+    }
+  }
+
+  /**
+   * フィールドの削除を受けて、そのフィールドの集計を削除
+   * 天候観測とセンサー計測値はフィールドと連鎖して削除され、サンプル変更イベントが発行されないため、ここで取り除く
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (!event.isAbout(Field.class) || event.getChangeType() != ChangeType.DELETED
+        || event.getEntityId() == null) {
+      return;
+    }
+    Long fieldId = event.getEntityId();
+    try {
+      refreshLock.lock();
+      try {
+        refreshTransaction.executeWithoutResult(status -> entityManager
+            .createNativeQuery("DELETE FROM weather_rollups WHERE field_id = :fieldId")
+            .setParameter("fieldId", fieldId)
+            .executeUpdate());
+      } finally {
+        refreshLock.unlock();
+      }
+      eventPublisher.publishEvent(new EntityChangedEvent(WeatherRollup.class, ChangeType.DELETED, fieldId));
+    } catch (RuntimeException e) {
+      // 元の削除は確定済みのため、呼び出し元には伝えない
+      logger.error("フィールド{}の天候集計の削除に失敗しました", fieldId, e);
+    }
+  }
+
+  /**
+   * 集計が空の場合に既存のサンプルから全件作成
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfEmpty() {
+    Number existing = (Number) entityManager
+        .createNativeQuery("SELECT COUNT(*) FROM weather_rollups")
+        .getSingleResult();
+    if (existing.longValue() > 0) {
+      return;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<Number> fieldIds = entityManager.createNativeQuery("SELECT id FROM fields").getResultList();
+    List<BucketRange> ranges = new ArrayList<>();
+    for (RollupGranularity granularity : RollupGranularity.values()) {
+      ranges.add(new BucketRange(granularity, MIN_BUCKET, MAX_BUCKET));
+    }
+    for (Number fieldId : fieldIds) {
+      refresh(fieldId.longValue(), ranges);
+    }
+    logger.info("天候集計を作成しました（フィールド数: {}）", fieldIds.size());
+  }
+
+  /**
+   * バケット範囲を再計算
+   * 日単位は時間単位から、月単位は日単位から作成するため、範囲は時間・日・月の順に並べること
+   * @param fieldId フィールドID
+   * @param ranges 再計算するバケット範囲
+   */
+  private void refresh(Long fieldId, List<BucketRange> ranges) {
+    refreshLock.lock();
+    try {
+      refreshTransaction.executeWithoutResult(status -> {
+        for (BucketRange range : ranges) {
+          recompute(fieldId, range);
+        }
+      });
+    } finally {
+      refreshLock.unlock();
+    }
+    eventPublisher.publishEvent(new EntityChangedEvent(WeatherRollup.class, ChangeType.UPDATED, fieldId));
+  }
+
+  private void recompute(Long fieldId, BucketRange range) {
+    entityManager.createNativeQuery(DELETE_SQL)
+        .setParameter("fieldId", fieldId)
+        .setParameter("granularity", range.granularity.name())
+        .setParameter("fromTs", range.from)
+        .setParameter("toTs", range.to)
+        .executeUpdate();
+
+    if (range.granularity == RollupGranularity.HOURLY) {
+      // 天候観測は観測日の0時が範囲に含まれる場合だけ対象にする
+      entityManager.createNativeQuery(INSERT_HOURLY_SQL)
+          .setParameter("fieldId", fieldId)
+          .setParameter("fromTs", range.from)
+          .setParameter("toTs", range.to)
+          .setParameter("fromDate", RollupGranularity.DAILY.ceil(range.from).toLocalDate())
+          .setParameter("toDate", RollupGranularity.DAILY.ceil(range.to).toLocalDate())
+          .executeUpdate();
+      return;
+    }
+
+    RollupGranularity source = range.granularity == RollupGranularity.DAILY
+        ? RollupGranularity.HOURLY
+        : RollupGranularity.DAILY;
+    String unit = range.granularity.getSqlUnit();
+    entityManager.createNativeQuery(
+        "INSERT INTO weather_rollups (" + ROLLUP_COLUMNS + ") "
+        + "SELECT field_id, '" + range.granularity.name() + "', DATE_TRUNC('" + unit + "', bucket_start), "
+        + ROLLUP_AGGREGATES + " FROM weather_rollups "
+        + "WHERE field_id = :fieldId AND granularity = '" + source.name() + "' "
+        + "AND bucket_start >= :fromTs AND bucket_start < :toTs "
+        + "GROUP BY field_id, DATE_TRUNC('" + unit + "', bucket_start)")
+        .setParameter("fieldId", fieldId)
+        .setParameter("fromTs", range.from)
+        .setParameter("toTs", range.to)
+        .executeUpdate();
+  }
+
+  /**
+   * 期間を覆うバケット範囲を、できるだけ粗い粒度で分割
+   * @param from 開始日時（時間単位の境界）
+   * @param to 終了日時（時間単位の境界）
+   * @return バケット範囲のリスト
+   */
+  private List<BucketRange> coveringRanges(LocalDateTime from, LocalDateTime to) {
+    List<BucketRange> ranges = new ArrayList<>();
+    LocalDateTime firstMonth = RollupGranularity.MONTHLY.ceil(from);
+    LocalDateTime lastMonth = RollupGranularity.MONTHLY.truncate(to);
+    if (firstMonth.isBefore(lastMonth)) {
+      addDailyRanges(ranges, from, firstMonth);
+      ranges.add(new BucketRange(RollupGranularity.MONTHLY, firstMonth, lastMonth));
+      addDailyRanges(ranges, lastMonth, to);
+    } else {
+      addDailyRanges(ranges, from, to);
+    }
+    return ranges;
+  }
+
+  private void addDailyRanges(List<BucketRange> ranges, LocalDateTime from, LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      return;
+    }
+    LocalDateTime firstDay = RollupGranularity.DAILY.ceil(from);
+    LocalDateTime lastDay = RollupGranularity.DAILY.truncate(to);
+    if (firstDay.isBefore(lastDay)) {
+      addHourlyRange(ranges, from, firstDay);
+      ranges.add(new BucketRange(RollupGranularity.DAILY, firstDay, lastDay));
+      addHourlyRange(ranges, lastDay, to);
+    } else {
+      addHourlyRange(ranges, from, to);
+    }
+  }
+
+  private void addHourlyRange(List<BucketRange> ranges, LocalDateTime from, LocalDateTime to) {
+    if (from.isBefore(to)) {
+      ranges.add(new BucketRange(RollupGranularity.HOURLY, from, to));
+    }
+  }
+
+  /**
+   * サンプルの日時を含むバケットを、連続するものごとに1つの範囲へまとめる
+   * @param granularity 時間粒度
+   * @param sampledAt サンプルの日時
+   * @return バケット範囲のリスト
+   */
+  private List<BucketRange> contiguousRanges(RollupGranularity granularity, Collection<LocalDateTime> sampledAt) {
+    TreeSet<LocalDateTime> buckets = new TreeSet<>();
+    for (LocalDateTime time : sampledAt) {
+      buckets.add(granularity.truncate(time));
+    }
+
+    List<BucketRange> ranges = new ArrayList<>();
+    LocalDateTime rangeStart = null;
+    LocalDateTime rangeEnd = null;
+    for (LocalDateTime bucket : buckets) {
+      if (rangeEnd != null && rangeEnd.equals(bucket)) {
+        rangeEnd = granularity.next(bucket);
+        continue;
+      }
+      if (rangeStart != null) {
+        ranges.add(new BucketRange(granularity, rangeStart, rangeEnd));
+      }
+      rangeStart = bucket;
+      rangeEnd = granularity.next(bucket);
+    }
+    if (rangeStart != null) {
+      ranges.add(new BucketRange(granularity, rangeStart, rangeEnd));
+    }
+    return ranges;
+  }
+
+  private static long bucketsBetween(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    switch (granularity) {
+      case HOURLY:
+        return ChronoUnit.HOURS.between(from, to);
+      case DAILY:
+        return ChronoUnit.DAYS.between(from, to);
+      default:
+        return ChronoUnit.MONTHS.between(from, to);
+    }
+  }
+
+  private static WeatherRollupDto toDto(RollupGranularity granularity, LocalDateTime bucketStart,
+                                        Object[] row) {
+    return new WeatherRollupDto(granularity, bucketStart, toStats(row, 0), toStats(row, 4), toStats(row, 8));
+  }
+
+  private static MetricStats toStats(Object[] row, int offset) {
+    return new MetricStats(toDouble(row[offset]), toDouble(row[offset + 1]), toDouble(row[offset + 2]),
+        row[offset + 3] == null ? 0 : ((Number) row[offset + 3]).longValue());
+  }
+
+  private static Double toDouble(Object value) {
+    return value == null ? null : ((Number) value).doubleValue();
+  }
+
+  private static LocalDateTime toLocalDateTime(Object value) {
+    return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
+  }
+
+  /**
+   * 時間粒度とバケット開始日時の範囲（終了は含まない）
+   */
+  private static final class BucketRange {
+
+    private final RollupGranularity granularity;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    private BucketRange(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+      this.granularity = granularity;
+      this.from = from;
+      this.to = to;
+    }
+  }
+}
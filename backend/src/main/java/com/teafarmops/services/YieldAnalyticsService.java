@@ -0,0 +1,167 @@
+package com.teafarmops.services;
+
+import com.teafarmops.dto.FieldYieldDto;
+import com.teafarmops.entities.Field;
+import com.teafarmops.entities.HarvestCubeCell;
+import com.teafarmops.entities.HarvestPeriod;
+import com.teafarmops.events.EntityChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 収量分析サービス
+ * フィールドの面積と収穫集計の季節単位のセルを1本のSQLで結合し、季節ごとの面積あたり収穫量を算出する
+ * 算出結果は季節ごとにメモリ上に保持し、フィールドか収穫集計が変更されるまで再利用する
+ */
+@Service
+public class YieldAnalyticsService {
+
+  /**
+   * フィールドごとの当季節・前年同季節の収穫量と、当季節の面積あたり収穫量の順位
+   * 収穫のないフィールドは収穫量0として順位に含める
+   */
+  private static final String YIELD_SQL =
+      "SELECT f.id, f.name, f.area_size, COALESCE(c.total_kg, 0), p.total_kg, "
+      + "RANK() OVER (ORDER BY COALESCE(c.total_kg, 0) / f.area_size DESC) "
+      + "FROM fields f "
+      + "LEFT JOIN (SELECT field_id, SUM(total_kg) AS total_kg FROM harvest_cube "
+      + "WHERE period = 'SEASONAL' AND period_start = :season GROUP BY field_id) c ON c.field_id = f.id "
+      + "LEFT JOIN (SELECT field_id, SUM(total_kg) AS total_kg FROM harvest_cube "
+      + "WHERE period = 'SEASONAL' AND period_start = :previousSeason GROUP BY field_id) p ON p.field_id = f.id "
+      + "WHERE f.area_size > 0 "
+      + "ORDER BY 6, f.id";
+
+  private static final int MAX_CACHED_SEASONS = 64;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private final TransactionTemplate readOnlyTransaction;
+  private final long replicaSettleNanos;
+  private final AtomicLong changeVersion = new AtomicLong();
+  private final Map<LocalDate, SeasonYield> cache = new ConcurrentHashMap<>();
+
+  private volatile long lastChangeNanos;
+
+  @Autowired
+  public YieldAnalyticsService(PlatformTransactionManager transactionManager,
+                               @Value("${teafarmops.datasource.replica.enabled:false}") boolean replicaEnabled,
+                               @Value("${teafarmops.datasource.replica.max-lag-ms:5000}") long replicaMaxLagMillis) {
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.replicaSettleNanos = replicaEnabled ? TimeUnit.MILLISECONDS.toNanos(replicaMaxLagMillis) : 0;
+    this.lastChangeNanos = System.nanoTime() - replicaSettleNanos;
+  }
+
+  /**
+   * 季節の面積あたり収穫量を取得
+   * @param date 季節に含まれる日付
+   * @return 季節の収量（面積あたり収穫量の降順）
+   */
+  public SeasonYield getSeasonYield(LocalDate date) {
+    LocalDate season = HarvestPeriod.SEASONAL.truncate(date);
+    long version = changeVersion.get();
+    SeasonYield cached = cache.get(season);
+    if (cached != null && cached.version == version) {
+      return cached;
+    }
+
+    boolean settled = System.nanoTime() - lastChangeNanos >= replicaSettleNanos;
+    SeasonYield computed = new SeasonYield(season, compute(season), version);
+    // 読み取りレプリカへの反映前に算出した値は保持せず、次回読み取り時に再計算する
+    if (settled) {
+      if (cache.size() >= MAX_CACHED_SEASONS) {
+        cache.clear();
+      }
+      cache.put(season, computed);
+    }
+    return computed;
+  }
+
+  /**
+   * フィールドか収穫集計の変更を受けて、保持している収量を無効化
+   * @param event エンティティ変更イベント
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEntityChanged(EntityChangedEvent event) {
+    if (event.isAbout(Field.class) || event.isAbout(HarvestCubeCell.class)) {
+      lastChangeNanos = System.nanoTime();
+      changeVersion.incrementAndGet();
+    }
+  }
+
+  private List<FieldYieldDto> compute(LocalDate season) {
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows = readOnlyTransaction.execute(status -> entityManager.createNativeQuery(YIELD_SQL)
+        .setParameter("season", season)
+        .setParameter("previousSeason", season.minusYears(1))
+        .getResultList());
+    List<FieldYieldDto> yields = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      double areaSize = ((Number) row[2]).doubleValue();
+      double harvestKg = ((Number) row[3]).doubleValue();
+      Double previousYield = row[4] == null ? null : ((Number) row[4]).doubleValue() / areaSize;
+      yields.add(new FieldYieldDto(((Number) row[0]).longValue(), (String) row[1], season, areaSize,
+          harvestKg, harvestKg / areaSize, previousYield, ((Number) row[5]).intValue()));
+    }
+    return Collections.unmodifiableList(yields);
+  }
+
+  /**
+   * 季節の収量と、その内容から求めたETag
+   */
+  public static final class SeasonYield {
+
+    private final LocalDate season;
+    private final List<FieldYieldDto> fields;
+    private final String eTag;
+    private final long version;
+
+    private SeasonYield(LocalDate season, List<FieldYieldDto> fields, long version) {
+      this.season = season;
+      this.fields = fields;
+      this.version = version;
+      this.eTag = "\"" + season + "-" + digest(fields) + "\"";
+    }
+
+    public LocalDate getSeason() {
+      return season;
+    }
+
+    public List<FieldYieldDto> getFields() {
+      return fields;
+    }
+
+    public String getETag() {
+      return eTag;
+    }
+
+    // 再起動後や他のインスタンスでも同じ内容なら同じETagになるよう、値から求める
+    private static String digest(List<FieldYieldDto> fields) {
+      StringBuilder content = new StringBuilder();
+      for (FieldYieldDto field : fields) {
+        content.append(field.getFieldId()).append('|').append(field.getFieldName()).append('|')
+            .append(field.getAreaSize()).append('|').append(field.getHarvestKg()).append('|')
+            .append(field.getPreviousYieldPerHectare()).append('|').append(field.getRank()).append('\n');
+      }
+      return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+}
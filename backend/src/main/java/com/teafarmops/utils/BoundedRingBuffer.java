@@ -0,0 +1,119 @@
+package com.teafarmops.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 容量固定のロックフリーなリングバッファ
+ * 複数スレッドからの追加と、単一スレッドからの取り出しに対応する
+ * 各スロットのシーケンス番号で書き込み完了を公開する方式（Vyukov方式）
+ * @param <E> 要素の型
+ */
+public class BoundedRingBuffer<E> {
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<E> elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * コンストラクタ
+   * @param requestedCapacity 容量（2のべき乗に切り上げる）
+   */
+  public BoundedRingBuffer(int requestedCapacity) {
+    if (requestedCapacity < 1 || requestedCapacity > (1 << 30)) {
+      throw new IllegalArgumentException("容量が不正です: " + requestedCapacity);
+    }
+    this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+    this.mask = capacity - 1;
+    this.elements = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * 要素をまとめて追加
+   * 空きが足りない場合は1件も追加しない
+   * @param batch 追加する要素
+   * @return 追加できた場合true
+   */
+  public boolean offerAll(List<? extends E> batch) {
+    int size = batch.size();
+    if (size == 0) {
+      return true;
+    }
+    if (size > capacity) {
+      return false;
+    }
+
+    long position;
+    while (true) {
+      position = tail.get();
+      long last = position + size - 1;
+      // 取り出しは先頭から順に行われるため、最後のスロットが空いていれば途中のスロットもすべて空いている
+      long difference = sequences.get((int) (last & mask)) - last;
+      if (difference < 0) {
+        return false;
+      }
+      if (difference == 0 && tail.compareAndSet(position, position + size)) {
+        break;
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      long slot = position + i;
+      int index = (int) (slot & mask);
+      elements.lazySet(index, batch.get(i));
+      sequences.set(index, slot + 1);
+    }
+    return true;
+  }
+
+  /**
+   * 要素を取り出してリストに追加（単一スレッドからのみ呼び出すこと）
+   * 書き込み途中のスロットに達した時点で終了する
+   * @param target 取り出した要素の追加先
+   * @param maxElements 最大取り出し件数
+   * @return 取り出した件数
+   */
+  public int drainTo(List<? super E> target, int maxElements) {
+    long position = head.get();
+    int drained = 0;
+    while (drained < maxElements) {
+      int index = (int) (position & mask);
+      if (sequences.get(index) != position + 1) {
+        break;
+      }
+      target.add(elements.get(index));
+      elements.lazySet(index, null);
+      sequences.set(index, position + capacity);
+      position++;
+      drained++;
+    }
+    head.set(position);
+    return drained;
+  }
+
+  /**
+   * 格納されている要素数（概算）
+   * @return 要素数
+   */
+  public int size() {
+    long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity));
+  }
+
+  /**
+   * 容量を取得
+   * @return 容量
+   */
+  public int capacity() {
+    return capacity;
+  }
+}
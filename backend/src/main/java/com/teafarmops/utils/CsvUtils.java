@@ -0,0 +1,91 @@
+package com.teafarmops.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSVユーティリティクラス
+ * RFC 4180形式のレコードの読み込みとエスケープを提供
+ */
+public class CsvUtils {
+
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+
+  /**
+   * CSVの1レコードを読み込んで列に分解
+   * ダブルクォートで囲まれた列内のカンマ・改行と、二重化されたダブルクォートに対応する
+   * 改行を含む列は複数行にまたがって読み込む（行末のCRは無視する）
+   * @param reader 読み込み元
+   * @return 列のリスト（入力の終わりの場合はnull）
+   * @throws IOException 読み込みに失敗した場合
+   * @throws IllegalArgumentException クォートが閉じられないまま入力が終わった場合
+   */
+  public static List<String> readRecord(Reader reader) throws IOException {
+    int c = reader.read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> columns = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+
+    while (c != -1) {
+      if (quoted) {
+        if (c == QUOTE) {
+          int next = reader.read();
+          if (next != QUOTE) {
+            // 閉じクォートの次の文字はクォート外として処理する
+            quoted = false;
+            c = next;
+            continue;
+          }
+          current.append(QUOTE);
+        } else {
+          current.append((char) c);
+        }
+      } else if (c == QUOTE) {
+        quoted = true;
+      } else if (c == SEPARATOR) {
+        columns.add(current.toString());
+        current.setLength(0);
+      } else if (c == '\n') {
+        break;
+      } else if (c != '\r') {
+        current.append((char) c);
+      }
+      c = reader.read();
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException("クォートが閉じられていません");
+    }
+    columns.add(current.toString());
+    return columns;
+  }
+
+  /**
+   * 値をCSVの列としてエスケープ
+   * @param value 値
+   * @return エスケープされた文字列（nullの場合は空文字）
+   */
+  public static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    boolean needsQuote = false;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+        needsQuote = true;
+        break;
+      }
+    }
+    if (!needsQuote) {
+      return value;
+    }
+    return QUOTE + value.replace("\"", "\"\"") + QUOTE;
+  }
+}
@@ -0,0 +1,221 @@
+package com.teafarmops.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 日付区間の不変な区間木
+ * 開始日・終了日・IDの順に並べたトリープで、各ノードに部分木の最大終了日を持たせる
+ * 追加・削除は経路上のノードだけを複製した新しい木を返すため（期待 O(log n)）、
+ * 変更前の木を参照している読み取り側はロックなしでそのまま使い続けられる
+ * 区間は開始日・終了日の両端を含み、終了日がnullまたは開始日より前の場合は開始日だけの区間として扱う
+ * @param <V> 値の型
+ */
+public final class IntervalTree<V> {
+
+  private static final IntervalTree<?> EMPTY = new IntervalTree<>(null);
+
+  private final Node<V> root;
+
+  private IntervalTree(Node<V> root) {
+    this.root = root;
+  }
+
+  /**
+   * 空の区間木を取得
+   * @param <V> 値の型
+   * @return 空の区間木
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> IntervalTree<V> empty() {
+    return (IntervalTree<V>) EMPTY;
+  }
+
+  /**
+   * 区間を追加した木を作成（同じIDの区間が既にある場合は先に削除しておくこと）
+   * @param id ID
+   * @param start 開始日
+   * @param end 終了日
+   * @param value 値
+   * @return 追加後の木
+   */
+  public IntervalTree<V> with(long id, LocalDate start, LocalDate end, V value) {
+    long from = start.toEpochDay();
+    Node<V> node = new Node<>(from, endOf(from, end), id, value, null, null);
+    Node<V>[] parts = split(root, node.start, node.end, id);
+    return new IntervalTree<>(merge(merge(parts[0], node), parts[1]));
+  }
+
+  /**
+   * 区間を削除した木を作成（追加時と同じ開始日・終了日を指定する）
+   * @param id ID
+   * @param start 開始日
+   * @param end 終了日
+   * @return 削除後の木（該当する区間がない場合はこの木）
+   */
+  public IntervalTree<V> without(long id, LocalDate start, LocalDate end) {
+    long from = start.toEpochDay();
+    Node<V> removed = remove(root, from, endOf(from, end), id);
+    return removed == root ? this : new IntervalTree<>(removed);
+  }
+
+  /**
+   * 期間と重なる区間の値を取得
+   * 最大終了日が期間の開始日より前の部分木と、開始日が期間の終了日より後の部分木は辿らない
+   * @param from 期間の開始日（この日を含む）
+   * @param to 期間の終了日（この日を含む）
+   * @return 値のリスト（開始日・終了日・ID順）
+   */
+  public List<V> overlapping(LocalDate from, LocalDate to) {
+    List<V> values = new ArrayList<>();
+    collect(root, from.toEpochDay(), to.toEpochDay(), values);
+    return values;
+  }
+
+  /**
+   * 区間の数を取得
+   * @return 区間の数
+   */
+  public int size() {
+    return root == null ? 0 : root.size;
+  }
+
+  /**
+   * 空かを判定
+   * @return 区間がない場合true
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  private static long endOf(long start, LocalDate end) {
+    return end == null ? start : Math.max(start, end.toEpochDay());
+  }
+
+  private static <V> void collect(Node<V> node, long from, long to, List<V> values) {
+    while (node != null && node.maxEnd >= from) {
+      collect(node.left, from, to, values);
+      if (node.start > to) {
+        return;
+      }
+      if (node.end >= from) {
+        values.add(node.value);
+      }
+      node = node.right;
+    }
+  }
+
+  /**
+   * キーより前のノードと、キー以降のノードに分割
+   */
+  @SuppressWarnings("unchecked")
+  private static <V> Node<V>[] split(Node<V> node, long start, long end, long id) {
+    if (node == null) {
+      return (Node<V>[]) new Node<?>[2];
+    }
+    if (node.compareTo(start, end, id) < 0) {
+      Node<V>[] parts = split(node.right, start, end, id);
+      parts[0] = node.withChildren(node.left, parts[0]);
+      return parts;
+    }
+    Node<V>[] parts = split(node.left, start, end, id);
+    parts[1] = node.withChildren(parts[1], node.right);
+    return parts;
+  }
+
+  /**
+   * すべてのキーが right より前の left と right を結合
+   */
+  private static <V> Node<V> merge(Node<V> left, Node<V> right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority >= right.priority) {
+      return left.withChildren(left.left, merge(left.right, right));
+    }
+    return right.withChildren(merge(left, right.left), right.right);
+  }
+
+  private static <V> Node<V> remove(Node<V> node, long start, long end, long id) {
+    if (node == null) {
+      return null;
+    }
+    int compared = node.compareTo(start, end, id);
+    if (compared == 0) {
+      return merge(node.left, node.right);
+    }
+    if (compared < 0) {
+      Node<V> right = remove(node.right, start, end, id);
+      return right == node.right ? node : node.withChildren(node.left, right);
+    }
+    Node<V> left = remove(node.left, start, end, id);
+    return left == node.left ? node : node.withChildren(left, node.right);
+  }
+
+  /**
+   * 木のノード（作成後は変更しない）
+   */
+  private static final class Node<V> {
+
+    private final long start;
+    private final long end;
+    private final long id;
+    private final V value;
+    private final int priority;
+    private final Node<V> left;
+    private final Node<V> right;
+    private final long maxEnd;
+    private final int size;
+
+    private Node(long start, long end, long id, V value, Node<V> left, Node<V> right) {
+      this(start, end, id, value, priority(id), left, right);
+    }
+
+    private Node(long start, long end, long id, V value, int priority, Node<V> left, Node<V> right) {
+      this.start = start;
+      this.end = end;
+      this.id = id;
+      this.value = value;
+      this.priority = priority;
+      this.left = left;
+      this.right = right;
+      long maxEnd = end;
+      int size = 1;
+      if (left != null) {
+        maxEnd = Math.max(maxEnd, left.maxEnd);
+        size += left.size;
+      }
+      if (right != null) {
+        maxEnd = Math.max(maxEnd, right.maxEnd);
+        size += right.size;
+      }
+      this.maxEnd = maxEnd;
+      this.size = size;
+    }
+
+    private Node<V> withChildren(Node<V> left, Node<V> right) {
+      return new Node<>(start, end, id, value, priority, left, right);
+    }
+
+    private int compareTo(long otherStart, long otherEnd, long otherId) {
+      int compared = Long.compare(start, otherStart);
+      if (compared == 0) {
+        compared = Long.compare(end, otherEnd);
+      }
+      return compared != 0 ? compared : Long.compare(id, otherId);
+    }
+
+    /**
+     * IDから決まる優先度（連番のIDでも木の形が偏らないよう混ぜる）
+     */
+    private static int priority(long id) {
+      long mixed = id * 0x9E3779B97F4A7C15L;
+      mixed ^= mixed >>> 32;
+      return (int) mixed;
+    }
+  }
+}
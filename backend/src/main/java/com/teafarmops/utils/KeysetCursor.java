@@ -0,0 +1,64 @@
+package com.teafarmops.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * キーセットカーソル
+ * (日付, ID) の組をページ継続トークンとしてエンコード・デコードする
+ */
+public final class KeysetCursor {
+
+  private static final char SEPARATOR = ':';
+
+  private final LocalDate date;
+  private final Long id;
+
+  private KeysetCursor(LocalDate date, Long id) {
+    this.date = date;
+    this.id = id;
+  }
+
+  /**
+   * 日付とIDから継続トークンを生成
+   * @param date 最終行の日付
+   * @param id 最終行のID
+   * @return 継続トークン
+   */
+  public static String encode(LocalDate date, Long id) {
+    String raw = DateUtils.formatForInput(date) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 継続トークンをデコード
+   * @param token 継続トークン
+   * @return カーソル
+   * @throws IllegalArgumentException トークンが不正な場合
+   */
+  public static KeysetCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(SEPARATOR);
+      if (separator <= 0) {
+        throw new IllegalArgumentException("不正なカーソルです: " + token);
+      }
+      LocalDate date = DateUtils.parseDate(raw.substring(0, separator));
+      Long id = Long.valueOf(raw.substring(separator + 1));
+      return new KeysetCursor(date, id);
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw new IllegalArgumentException("不正なカーソルです: " + token, e);
+    }
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public Long getId() {
+    return id;
+  }
+}
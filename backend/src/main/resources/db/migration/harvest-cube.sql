@@ -0,0 +1,23 @@
+-- ========================================
+-- 収穫集計テーブルの作成（PostgreSQL）
+-- ========================================
+-- 集計はアプリケーション起動時にテーブルが空であれば既存の収穫記録から作成される。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f harvest-cube.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS harvest_cube (
+    field_id BIGINT NOT NULL,
+    tea_grade VARCHAR(16) NOT NULL,
+    period VARCHAR(16) NOT NULL,
+    period_start DATE NOT NULL,
+    total_kg DOUBLE PRECISION NOT NULL,
+    record_count BIGINT NOT NULL,
+    min_kg DOUBLE PRECISION NOT NULL,
+    max_kg DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (field_id, tea_grade, period, period_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_harvest_cube_period_start ON harvest_cube (period, period_start);
+
+COMMIT;
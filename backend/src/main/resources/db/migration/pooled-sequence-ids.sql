@@ -0,0 +1,40 @@
+-- ========================================
+-- IDENTITY列からpooled-loシーケンスへの移行（PostgreSQL）
+-- ========================================
+-- 既存のテーブルを保持したまま、各エンティティの主キー採番をシーケンスに切り替える。
+-- INCREMENT BY は spring.jpa.properties.teafarmops.id.allocation_size と同じ値にすること。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f pooled-sequence-ids.sql
+
+BEGIN;
+
+-- フィールド
+CREATE SEQUENCE IF NOT EXISTS fields_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE fields ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE fields ALTER COLUMN id DROP DEFAULT;
+SELECT setval('fields_seq', COALESCE((SELECT MAX(id) FROM fields), 0) + 1, false);
+
+-- タスク
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP DEFAULT;
+SELECT setval('tasks_seq', COALESCE((SELECT MAX(id) FROM tasks), 0) + 1, false);
+
+-- 収穫記録
+CREATE SEQUENCE IF NOT EXISTS harvest_records_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE harvest_records ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE harvest_records ALTER COLUMN id DROP DEFAULT;
+SELECT setval('harvest_records_seq', COALESCE((SELECT MAX(id) FROM harvest_records), 0) + 1, false);
+
+-- 天候観測
+CREATE SEQUENCE IF NOT EXISTS weather_observations_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE weather_observations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE weather_observations ALTER COLUMN id DROP DEFAULT;
+SELECT setval('weather_observations_seq', COALESCE((SELECT MAX(id) FROM weather_observations), 0) + 1, false);
+
+-- serial型で作成されていた場合の旧シーケンスを削除
+DROP SEQUENCE IF EXISTS fields_id_seq;
+DROP SEQUENCE IF EXISTS tasks_id_seq;
+DROP SEQUENCE IF EXISTS harvest_records_id_seq;
+DROP SEQUENCE IF EXISTS weather_observations_id_seq;
+
+COMMIT;
@@ -0,0 +1,37 @@
+-- ========================================
+-- 全文検索の索引の作成（PostgreSQL）
+-- ========================================
+-- pg_trgm のトライグラム索引で部分一致（LIKE '%語%'）を索引から検索する。
+-- 3文字未満の語（害虫・剪定など）はトライグラムを作れないため索引で絞り込めず、全件走査になる。
+-- 日本語の文字をトライグラムに含めるため、データベースはUTF-8かつ C 以外のロケールで作成すること。
+-- 検索文書はアプリケーション起動時にテーブルが空であれば既存のデータから作成される。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f search-index.sql
+
+BEGIN;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE IF NOT EXISTS search_documents (
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    field_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    keywords TEXT,
+    body TEXT,
+    search_text TEXT NOT NULL,
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_search_documents_field ON search_documents (field_id);
+CREATE INDEX IF NOT EXISTS idx_search_documents_text
+    ON search_documents USING gin (search_text gin_trgm_ops);
+
+-- 既存の部分一致検索（大文字・小文字を区別しない UPPER(列) LIKE。検索側も同じ式で比較すること）用
+CREATE INDEX IF NOT EXISTS idx_fields_name_trgm ON fields USING gin (UPPER(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_fields_location_trgm ON fields USING gin (UPPER(location) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_tasks_assigned_worker_trgm
+    ON tasks USING gin (UPPER(assigned_worker) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_weather_observations_pests_seen_trgm
+    ON weather_observations USING gin (UPPER(pests_seen) gin_trgm_ops);
+
+COMMIT;
@@ -0,0 +1,30 @@
+-- ========================================
+-- センサー計測値テーブルの作成（PostgreSQL）
+-- ========================================
+-- INCREMENT BY は spring.jpa.properties.teafarmops.id.allocation_size と同じ値にすること。
+-- 計測値はフィールドの削除時に連鎖して削除する（エンティティを読み込まずデータベースで削除する）。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f sensor-readings.sql
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS sensor_readings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS sensor_readings (
+    id BIGINT PRIMARY KEY,
+    field_id BIGINT NOT NULL,
+    recorded_at TIMESTAMP(6) NOT NULL,
+    temperature DOUBLE PRECISION,
+    humidity DOUBLE PRECISION,
+    rainfall DOUBLE PRECISION
+);
+
+-- 以前の版で作成した連鎖削除なしの外部キーを置き換える
+ALTER TABLE sensor_readings DROP CONSTRAINT IF EXISTS sensor_readings_field_id_fkey;
+ALTER TABLE sensor_readings DROP CONSTRAINT IF EXISTS fk_sensor_readings_field;
+ALTER TABLE sensor_readings ADD CONSTRAINT fk_sensor_readings_field
+    FOREIGN KEY (field_id) REFERENCES fields(id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_sensor_readings_field_recorded
+    ON sensor_readings (field_id, recorded_at);
+
+COMMIT;
@@ -0,0 +1,14 @@
+-- ========================================
+-- 作業者ロックテーブルの作成（PostgreSQL）
+-- ========================================
+-- タスクの割り当ての適用（TaskSchedulingService.apply）を作業者ごとに直列化するための行。
+-- 行は適用時に作業者名ごとに1行作成し、削除しない。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f task-worker-locks.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS task_worker_locks (
+    worker VARCHAR(255) PRIMARY KEY
+);
+
+COMMIT;
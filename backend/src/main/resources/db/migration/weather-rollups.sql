@@ -0,0 +1,28 @@
+-- ========================================
+-- 天候集計テーブルの作成（PostgreSQL）
+-- ========================================
+-- 集計はアプリケーション起動時にテーブルが空であれば既存のサンプルから作成される。
+-- 実行例: psql -h localhost -U postgres -d teafarmops -f weather-rollups.sql
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS weather_rollups (
+    field_id BIGINT NOT NULL,
+    granularity VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP(6) NOT NULL,
+    temperature_min DOUBLE PRECISION,
+    temperature_max DOUBLE PRECISION,
+    temperature_sum DOUBLE PRECISION,
+    temperature_count BIGINT NOT NULL,
+    humidity_min DOUBLE PRECISION,
+    humidity_max DOUBLE PRECISION,
+    humidity_sum DOUBLE PRECISION,
+    humidity_count BIGINT NOT NULL,
+    rainfall_min DOUBLE PRECISION,
+    rainfall_max DOUBLE PRECISION,
+    rainfall_sum DOUBLE PRECISION,
+    rainfall_count BIGINT NOT NULL,
+    PRIMARY KEY (field_id, granularity, bucket_start)
+);
+
+COMMIT;
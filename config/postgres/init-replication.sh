@@ -0,0 +1,10 @@
+#!/bin/sh
+# プライマリの初期化時にレプリケーション用ユーザーと接続許可を追加する
+# docker-compose.replica.yml から /docker-entrypoint-initdb.d に配置して使う
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+	CREATE ROLE ${POSTGRES_REPLICATION_USER} WITH REPLICATION LOGIN PASSWORD '${POSTGRES_REPLICATION_PASSWORD}';
+EOSQL
+
+echo "host replication ${POSTGRES_REPLICATION_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -23,7 +23,7 @@ import FieldForm from "../components/fields/FieldForm";
 import DeleteFieldDialog from "../components/fields/DeleteFieldDialog";
 import FieldSearch, { FieldFilters } from "../components/fields/FieldSearch";
 import Pagination from "../components/common/Pagination";
-import { exportFieldsToCSV } from "../utils/exportUtils";
+import apiClient from "../services/api";
 
 const FieldsPage: React.FC = () => {
   const dispatch = useAppDispatch();
@@ -120,8 +120,9 @@ const FieldsPage: React.FC = () => {
     setCurrentPage(1);
   };
 
+  // 全フィールドをサーバー側のエクスポートAPIからダウンロードする
   const handleExport = () => {
-    exportFieldsToCSV(filteredFields);
+    apiClient.downloadExport("fields");
   };
 
   if (loading) {
@@ -11,6 +11,8 @@ import {
   FieldSearchParams,
   TaskSearchParams,
   HarvestRecordSearchParams,
+  CursorPage,
+  CursorPageParams,
   WeatherObservationSearchParams,
 } from "../types";
 
@@ -127,6 +129,16 @@ class ApiClient {
     return response.data;
   }
 
+  async getTaskPage(
+    params?: TaskSearchParams & CursorPageParams,
+  ): Promise<CursorPage<Task>> {
+    const response: AxiosResponse<CursorPage<Task>> = await this.client.get(
+      "/tasks/page",
+      { params },
+    );
+    return response.data;
+  }
+
   async getTask(id: number): Promise<Task> {
     const response: AxiosResponse<Task> = await this.client.get(`/tasks/${id}`);
     return response.data;
@@ -163,6 +175,14 @@ class ApiClient {
     return response.data;
   }
 
+  async getHarvestRecordPage(
+    params?: HarvestRecordSearchParams & CursorPageParams,
+  ): Promise<CursorPage<HarvestRecord>> {
+    const response: AxiosResponse<CursorPage<HarvestRecord>> =
+      await this.client.get("/harvest-records/page", { params });
+    return response.data;
+  }
+
   async getHarvestRecord(id: number): Promise<HarvestRecord> {
     const response: AxiosResponse<HarvestRecord> = await this.client.get(
       `/harvest-records/${id}`,
@@ -237,6 +257,27 @@ class ApiClient {
   async deleteWeatherObservation(id: number): Promise<void> {
     await this.client.delete(`/weather-observations/${id}`);
   }
+
+  // データエクスポート関連（サーバー側でストリーム生成したファイルをダウンロード）
+  getExportUrl(
+    dataset: "fields" | "tasks" | "harvest-records" | "weather-observations",
+    format: "csv" | "ndjson" = "csv",
+  ): string {
+    return `${API_BASE_URL}/exports/${dataset}?format=${format}`;
+  }
+
+  // リンクのナビゲーションでダウンロードし、ブラウザが応答をそのままファイルに書き出す（メモリに溜めない）
+  downloadExport(
+    dataset: "fields" | "tasks" | "harvest-records" | "weather-observations",
+    format: "csv" | "ndjson" = "csv",
+  ): void {
+    const link = document.createElement("a");
+    link.href = this.getExportUrl(dataset, format);
+    link.download = "";
+    document.body.appendChild(link);
+    link.click();
+    document.body.removeChild(link);
+  }
 }
 
 // シングルトンインスタンス
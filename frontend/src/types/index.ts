@@ -136,6 +136,7 @@ export interface TaskSearchParams {
   taskType?: TaskType;
   status?: TaskStatus;
   assignedWorker?: string;
+  fieldId?: number;
   startDate?: string;
   endDate?: string;
 }
@@ -147,6 +148,18 @@ export interface HarvestRecordSearchParams {
   fieldId?: number;
 }
 
+export interface CursorPageParams {
+  cursor?: string;
+  limit?: number;
+}
+
+// キーセットページネーションのレスポンス
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 export interface WeatherObservationSearchParams {
   startDate?: string;
   endDate?: string;
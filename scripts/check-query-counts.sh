@@ -0,0 +1,47 @@
+#!/bin/bash
+
+# TeaFarmOps 一覧APIのSQL文数チェックスクリプト
+# 使用方法: ./scripts/check-query-counts.sh [--spring.*=VALUE ...]
+# データを増やす前後で一覧APIのSQL文数が増えた場合（N+1）や上限を超えた場合は終了コード1で終了する
+
+set -e
+
+# 色付き出力
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# ログ関数
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+PROJECT_ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BACKEND_DIR="$PROJECT_ROOT/backend"
+BENCHMARK_DIR="$BACKEND_DIR/benchmarks"
+
+if ! command -v mvn >/dev/null 2>&1; then
+    log_error "mvn が見つかりません"
+    exit 1
+fi
+
+# リポジトリ直下の集約POMで、バックエンド（実行可能JARに再パッケージしない）とチェックをまとめてビルド
+log_info "バックエンドとチェックをビルドしています..."
+mvn -B -q -f "$PROJECT_ROOT/pom.xml" -Pbenchmarks clean package -DskipTests
+
+log_info "一覧APIのSQL文数を計測しています..."
+if java -cp "$BENCHMARK_DIR/target/benchmarks.jar" com.teafarmops.querycount.QueryCountCheck "$@"; then
+    log_success "SQL文数チェックに合格しました"
+else
+    log_error "SQL文数チェックに失敗しました（N+1または上限超過）"
+    exit 1
+fi
@@ -0,0 +1,50 @@
+#!/bin/bash
+
+# TeaFarmOps JMHベンチマーク実行スクリプト
+# 使用方法: ./scripts/run-benchmarks.sh [JMHオプション]
+#   例: ./scripts/run-benchmarks.sh JwtBenchmark -f 1 -wi 1 -i 3
+# 結果は benchmarks/results/<バージョン>-<日時>.json に出力される（リリース間の比較用）
+
+set -e
+
+# 色付き出力
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# ログ関数
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+PROJECT_ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BACKEND_DIR="$PROJECT_ROOT/backend"
+BENCHMARK_DIR="$BACKEND_DIR/benchmarks"
+RESULTS_DIR="$PROJECT_ROOT/benchmarks/results"
+
+if ! command -v mvn >/dev/null 2>&1; then
+    log_error "mvn が見つかりません"
+    exit 1
+fi
+
+# リポジトリ直下の集約POMで、バックエンド（実行可能JARに再パッケージしない）とベンチマークをまとめてビルド
+log_info "バックエンドとベンチマークをビルドしています..."
+mvn -B -q -f "$PROJECT_ROOT/pom.xml" -Pbenchmarks clean package -DskipTests
+
+VERSION=$(mvn -B -q -f "$BACKEND_DIR/pom.xml" help:evaluate -Dexpression=project.version -DforceStdout)
+RESULT_FILE="$RESULTS_DIR/${VERSION}-$(date +%Y%m%d-%H%M%S).json"
+mkdir -p "$RESULTS_DIR"
+
+log_info "ベンチマークを実行しています..."
+java -jar "$BENCHMARK_DIR/target/benchmarks.jar" -rf json -rff "$RESULT_FILE" "$@"
+
+log_success "結果を出力しました: $RESULT_FILE"
@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# TeaFarmOps HTTP負荷試験スクリプト
+# 使用方法: ./scripts/run-loadtest.sh [負荷試験オプション]
+#   例: ./scripts/run-loadtest.sh --duration=120s --concurrency=32
+#       ./scripts/run-loadtest.sh --jdbc-url=jdbc:postgresql://localhost:5432/teafarmops --spring.datasource.hikari.maximum-pool-size=30
+#       ./scripts/run-loadtest.sh --target=http://staging.example.com:8080 --compare=benchmarks/results/loadtest-1.0.0-20240101-000000.json
+# 結果は benchmarks/results/loadtest-<バージョン>-<日時>.json に出力される（--report で変更可能）
+
+set -e
+
+# 色付き出力
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# ログ関数
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+PROJECT_ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+BACKEND_DIR="$PROJECT_ROOT/backend"
+BENCHMARK_DIR="$BACKEND_DIR/benchmarks"
+RESULTS_DIR="$PROJECT_ROOT/benchmarks/results"
+
+if ! command -v mvn >/dev/null 2>&1; then
+    log_error "mvn が見つかりません"
+    exit 1
+fi
+
+# リポジトリ直下の集約POMで、バックエンド（実行可能JARに再パッケージしない）と負荷試験をまとめてビルド
+log_info "バックエンドと負荷試験をビルドしています..."
+mvn -B -q -f "$PROJECT_ROOT/pom.xml" -Pbenchmarks clean package -DskipTests
+
+VERSION=$(mvn -B -q -f "$BACKEND_DIR/pom.xml" help:evaluate -Dexpression=project.version -DforceStdout)
+REPORT_ARGS=()
+if [[ " $* " != *" --report="* ]]; then
+    mkdir -p "$RESULTS_DIR"
+    REPORT_ARGS+=("--report=$RESULTS_DIR/loadtest-${VERSION}-$(date +%Y%m%d-%H%M%S).json")
+fi
+
+log_info "負荷試験を実行しています..."
+java -cp "$BENCHMARK_DIR/target/benchmarks.jar" com.teafarmops.loadtest.LoadTest "${REPORT_ARGS[@]}" "$@"
+
+log_success "負荷試験が完了しました"